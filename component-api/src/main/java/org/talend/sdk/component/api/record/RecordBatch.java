@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.api.record;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+
+/**
+ * A columnar view of records sharing the same schema. Each entry of the schema is stored as one vector:
+ * <ul>
+ * <li>INT, LONG and DATETIME (epoch milliseconds) entries in a {@code long[]},</li>
+ * <li>FLOAT and DOUBLE entries in a {@code double[]},</li>
+ * <li>BOOLEAN entries in a {@code boolean[]},</li>
+ * <li>other entries in an {@code Object[]}.</li>
+ * </ul>
+ *
+ * An {@link org.talend.sdk.component.api.processor.ElementListener} taking a {@link RecordBatch} parameter
+ * receives the records by batches (bounded by {@code $maxBatchSize} and the group) instead of one by one.
+ * A batch can also be emitted through an {@link org.talend.sdk.component.api.processor.OutputEmitter}, it is
+ * then forwarded record by record.
+ *
+ * The columns are the only storage of a batch: iterating over it creates the records from the vectors
+ * (DATETIME values are then UTC {@link ZonedDateTime}).
+ */
+public interface RecordBatch extends Iterable<Record> {
+
+    /**
+     * @return the schema shared by all the records of this batch.
+     */
+    Schema getSchema();
+
+    /**
+     * @return the number of records (rows) of this batch.
+     */
+    int size();
+
+    /**
+     * @param index the index of the entry in {@link Schema#getEntries()}.
+     * @return the column for this entry.
+     */
+    Column getColumn(int index);
+
+    /**
+     * @param name the entry name.
+     * @return the column for this entry or null if the schema does not have this entry.
+     */
+    Column getColumn(String name);
+
+    /**
+     * The values of one schema entry for all the rows of the batch.
+     *
+     * IMPORTANT: the vectors are the storage of the batch, they must not be modified and
+     * only their first {@link RecordBatch#size()} values are meaningful.
+     */
+    interface Column {
+
+        /**
+         * @return the schema entry this column stores.
+         */
+        Schema.Entry getEntry();
+
+        /**
+         * @param row the row index.
+         * @return true if the value is null for this row, in such a case the primitive vectors contain 0/false.
+         */
+        boolean isNull(int row);
+
+        /**
+         * @param row the row index.
+         * @return the value (boxed for primitive columns, {@link ZonedDateTime} for DATETIME ones).
+         */
+        Object get(int row);
+
+        int getInt(int row);
+
+        long getLong(int row);
+
+        float getFloat(int row);
+
+        double getDouble(int row);
+
+        boolean getBoolean(int row);
+
+        String getString(int row);
+
+        byte[] getBytes(int row);
+
+        ZonedDateTime getDateTime(int row);
+
+        Record getRecord(int row);
+
+        <T> Collection<T> getArray(Class<T> type, int row);
+
+        /**
+         * @return the vector of an INT, LONG or DATETIME column.
+         */
+        long[] getLongVector();
+
+        /**
+         * @return the vector of a FLOAT or DOUBLE column.
+         */
+        double[] getDoubleVector();
+
+        /**
+         * @return the vector of a BOOLEAN column.
+         */
+        boolean[] getBooleanVector();
+
+        /**
+         * @return the vector of a STRING, BYTES, RECORD or ARRAY column.
+         */
+        Object[] getObjectVector();
+    }
+
+    /**
+     * Builds a batch appending records which all have the same schema.
+     */
+    interface Builder {
+
+        /**
+         * @return the schema of the batch.
+         */
+        Schema getSchema();
+
+        /**
+         * @return the number of records appended so far.
+         */
+        int size();
+
+        /**
+         * @param record the record to add to the batch, it must have the schema of the batch.
+         * @return this builder.
+         */
+        Builder append(Record record);
+
+        /**
+         * @return the batch containing all the appended records, the builder is reset.
+         */
+        RecordBatch build();
+    }
+}
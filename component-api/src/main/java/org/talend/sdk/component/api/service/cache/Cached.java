@@ -27,6 +27,11 @@ import org.talend.sdk.component.api.service.interceptor.Intercepts;
 
 /**
  * Can mark a method (or all methods) of a service as being cached in the {@link LocalCache}.
+ *
+ * By default the cache key is the method and a snapshot of all its parameters taken at call time: strings,
+ * primitive wrappers, enums and arrays are compared by value, other parameters by their {@code toString()} and
+ * {@code hashCode()} so mutating them after the call does not alter the cached key.
+ * Use {@link #key()} to only use a part of the parameters or to build a structured key from mutable ones.
  */
 @Intercepts(InterceptorHandler.class)
 @Target({ TYPE, METHOD })
@@ -37,4 +42,25 @@ public @interface Cached {
      * @return the cache ttl in milliseconds.
      */
     long timeout() default Integer.MAX_VALUE;
+
+    /**
+     * @return the extractor computing the cache key from the parameters, the default uses all the parameters.
+     */
+    Class<? extends KeyExtractor> key() default KeyExtractor.class;
+
+    /**
+     * Computes the cache key of an invocation. An implementation must have a public no-arg constructor
+     * and be thread safe, it is instantiated once per cached method.
+     */
+    @FunctionalInterface
+    interface KeyExtractor {
+
+        /**
+         * @param parameters the method parameters.
+         * @return the key for these parameters, it must implement {@code equals} and {@code hashCode}
+         * and must not be modified afterwards (it is not copied, so don't return a mutable parameter as is).
+         * The method itself is always part of the final key.
+         */
+        Object extract(Object[] parameters);
+    }
 }
@@ -15,6 +15,9 @@
  */
 package org.talend.sdk.component.api.service.http;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
 
 /**
@@ -28,4 +31,28 @@ public interface Decoder {
      * @return the instantiated payload respecting expectedType.
      */
     Object decode(byte[] value, Type expectedType);
+
+    /**
+     * Decodes the payload directly from the response stream. It is used when the response type is
+     * a streaming one ({@code JsonParser}, {@code Stream<T>} or {@code Iterator<T>}) or when the decoded
+     * value is directly returned. Default implementation buffers the payload and delegates to
+     * {@link #decode(byte[], Type)}, override it to decode the payload incrementally.
+     *
+     * @param value the payload stream, the decoder closes it once the payload is consumed.
+     * @param expectedType the user type.
+     * @return the instantiated payload respecting expectedType.
+     */
+    default Object decode(final InputStream value, final Type expectedType) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (final InputStream stream = value) {
+            final byte[] bytes = new byte[8192];
+            int count;
+            while ((count = stream.read(bytes)) >= 0) {
+                buffer.write(bytes, 0, count);
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return decode(buffer.toByteArray(), expectedType);
+    }
 }
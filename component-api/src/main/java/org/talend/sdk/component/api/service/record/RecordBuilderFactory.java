@@ -16,6 +16,7 @@
 package org.talend.sdk.component.api.service.record;
 
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.RecordBatch;
 import org.talend.sdk.component.api.record.Schema;
 
 /**
@@ -62,4 +63,16 @@ public interface RecordBuilderFactory {
      * @return a builder to create a schema entry.
      */
     Schema.Entry.Builder newEntryBuilder();
+
+    /**
+     * The default implementation keeps the appended records and reads the columns from them,
+     * factories should override it to store the batch in vectors.
+     *
+     * @param schema the schema of the records of the batch.
+     * @param capacity the expected number of records.
+     * @return a builder to create a columnar batch of records.
+     */
+    default RecordBatch.Builder newRecordBatchBuilder(final Schema schema, final int capacity) {
+        return new RecordListBatch.Builder(schema, capacity);
+    }
 }
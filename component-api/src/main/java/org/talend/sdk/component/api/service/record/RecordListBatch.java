@@ -0,0 +1,264 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.api.service.record;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.RecordBatch;
+import org.talend.sdk.component.api.record.Schema;
+
+/**
+ * Default batch of {@link RecordBuilderFactory#newRecordBatchBuilder(Schema, int)}: it keeps the appended records
+ * and reads the columns from them, the vectors are only created when requested.
+ */
+final class RecordListBatch implements RecordBatch {
+
+    private final Schema schema;
+
+    private final List<Record> records;
+
+    private final ListColumn[] columns;
+
+    private RecordListBatch(final Schema schema, final List<Record> records) {
+        this.schema = schema;
+        this.records = records;
+        this.columns = schema.getEntries().stream().map(ListColumn::new).toArray(ListColumn[]::new);
+    }
+
+    @Override
+    public Schema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public int size() {
+        return records.size();
+    }
+
+    @Override
+    public Column getColumn(final int index) {
+        return columns[index];
+    }
+
+    @Override
+    public Column getColumn(final String name) {
+        for (final ListColumn column : columns) {
+            if (column.entry.getName().equals(name)) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Iterator<Record> iterator() {
+        return records.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "RecordBatch{size=" + records.size() + ", schema=" + schema + '}';
+    }
+
+    private final class ListColumn implements Column {
+
+        private final Schema.Entry entry;
+
+        private ListColumn(final Schema.Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Schema.Entry getEntry() {
+            return entry;
+        }
+
+        @Override
+        public boolean isNull(final int row) {
+            return records.get(row).get(Object.class, entry.getName()) == null;
+        }
+
+        @Override
+        public Object get(final int row) {
+            if (entry.getType() == Schema.Type.DATETIME) {
+                return getDateTime(row);
+            }
+            return records.get(row).get(Object.class, entry.getName());
+        }
+
+        @Override
+        public int getInt(final int row) {
+            return (int) getLong(row);
+        }
+
+        @Override
+        public long getLong(final int row) {
+            final Object value = get(row);
+            if (value == null) {
+                return 0;
+            }
+            if (ZonedDateTime.class.isInstance(value)) {
+                return ZonedDateTime.class.cast(value).toInstant().toEpochMilli();
+            }
+            return Number.class.cast(value).longValue();
+        }
+
+        @Override
+        public float getFloat(final int row) {
+            return (float) getDouble(row);
+        }
+
+        @Override
+        public double getDouble(final int row) {
+            final Object value = get(row);
+            return value == null ? 0 : Number.class.cast(value).doubleValue();
+        }
+
+        @Override
+        public boolean getBoolean(final int row) {
+            final Object value = get(row);
+            return value != null && Boolean.class.cast(value);
+        }
+
+        @Override
+        public String getString(final int row) {
+            final Object value = get(row);
+            return value == null ? null : String.valueOf(value);
+        }
+
+        @Override
+        public byte[] getBytes(final int row) {
+            return byte[].class.cast(get(row));
+        }
+
+        @Override
+        public ZonedDateTime getDateTime(final int row) {
+            return isNull(row) ? null : records.get(row).getDateTime(entry.getName());
+        }
+
+        @Override
+        public Record getRecord(final int row) {
+            return Record.class.cast(get(row));
+        }
+
+        @Override
+        public <T> Collection<T> getArray(final Class<T> type, final int row) {
+            return records.get(row).getArray(type, entry.getName());
+        }
+
+        @Override
+        public long[] getLongVector() {
+            checkType(Schema.Type.INT, Schema.Type.LONG, Schema.Type.DATETIME);
+            final long[] vector = new long[records.size()];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = getLong(i);
+            }
+            return vector;
+        }
+
+        @Override
+        public double[] getDoubleVector() {
+            checkType(Schema.Type.FLOAT, Schema.Type.DOUBLE);
+            final double[] vector = new double[records.size()];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = getDouble(i);
+            }
+            return vector;
+        }
+
+        @Override
+        public boolean[] getBooleanVector() {
+            checkType(Schema.Type.BOOLEAN);
+            final boolean[] vector = new boolean[records.size()];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = getBoolean(i);
+            }
+            return vector;
+        }
+
+        @Override
+        public Object[] getObjectVector() {
+            checkType(Schema.Type.STRING, Schema.Type.BYTES, Schema.Type.RECORD, Schema.Type.ARRAY);
+            final Object[] vector = new Object[records.size()];
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] = get(i);
+            }
+            return vector;
+        }
+
+        private void checkType(final Schema.Type... types) {
+            for (final Schema.Type type : types) {
+                if (entry.getType() == type) {
+                    return;
+                }
+            }
+            throw new IllegalStateException(
+                    "Column " + entry.getName() + " is of type " + entry.getType() + ", use the matching vector");
+        }
+    }
+
+    static final class Builder implements RecordBatch.Builder {
+
+        private final Schema schema;
+
+        private final int capacity;
+
+        private List<Record> records;
+
+        Builder(final Schema schema, final int capacity) {
+            this.schema = schema;
+            this.capacity = capacity <= 0 ? Integer.MAX_VALUE : capacity;
+        }
+
+        @Override
+        public Schema getSchema() {
+            return schema;
+        }
+
+        @Override
+        public int size() {
+            return records == null ? 0 : records.size();
+        }
+
+        @Override
+        public RecordBatch.Builder append(final Record record) {
+            if (record.getSchema() != schema && !schema.equals(record.getSchema())) {
+                throw new IllegalArgumentException(
+                        "Record schema " + record.getSchema() + " does not match the batch schema " + schema);
+            }
+            if (records == null) {
+                records = new ArrayList<>(Math.min(capacity, 1024));
+            } else if (records.size() == capacity) {
+                throw new IllegalStateException("Batch is full (" + capacity + " records)");
+            }
+            records.add(record);
+            return this;
+        }
+
+        @Override
+        public RecordBatch build() {
+            final RecordBatch batch = new RecordListBatch(schema, records == null ? Collections.emptyList() : records);
+            records = null;
+            return batch;
+        }
+    }
+}
@@ -106,7 +106,7 @@ abstract class BaseProcessorFn<O> extends DoFn<Record, O> {
         if (maxBatchSize > 0 && currentCount >= maxBatchSize) {
             currentCount = 0;
             final BeamOutputFactory ago = new BeamMultiOutputFactory(toEmitter(context), recordFactory, jsonb);
-            processor.afterGroup(output);
+            processor.afterGroup(ago);
             ago.postProcessing();
         }
     }
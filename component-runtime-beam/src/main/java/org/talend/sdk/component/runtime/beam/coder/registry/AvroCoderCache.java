@@ -15,45 +15,166 @@
  */
 package org.talend.sdk.component.runtime.beam.coder.registry;
 
-import static lombok.AccessLevel.PRIVATE;
-
-import java.util.LinkedHashMap;
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.IndexedRecord;
 import org.apache.beam.sdk.coders.AvroCoder;
 
-import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Bounded cache of the avro coders per schema, lookups are lock free.
+ * When full, the eviction uses a second chance (clock) policy: the hand resumes where the previous eviction
+ * stopped and an entry used since the hand last passed it is skipped once.
+ * The shared instance statistics are published in JMX unless {@code talend.component.manager.jmx.skip} is set.
+ */
 @Slf4j
-@NoArgsConstructor(access = PRIVATE)
-class AvroCoderCache {
+public final class AvroCoderCache implements AvroCoderCacheMBean {
+
+    private static final AvroCoderCache INSTANCE =
+            new AvroCoderCache(Integer.getInteger("component.runtime.beam.avrocoder.cache.size", 1024));
 
-    private static final Map<Schema, AvroCoder<IndexedRecord>> CACHED_CODERS =
-            new LinkedHashMap<Schema, AvroCoder<IndexedRecord>>() {
+    static {
+        if (!Boolean.getBoolean("talend.component.manager.jmx.skip")) {
+            INSTANCE.registerMBean(ManagementFactory.getPlatformMBeanServer());
+        }
+    }
 
-                private final int MAX_SIZE = Integer.getInteger("component.runtime.beam.avrocoder.cache.size", 1024);
+    private final int maxSize;
 
-                @Override
-                protected boolean removeEldestEntry(final Map.Entry<Schema, AvroCoder<IndexedRecord>> eldest) {
-                    return size() > MAX_SIZE;
-                }
+    private final ConcurrentMap<Schema, CachedCoder> coders = new ConcurrentHashMap<>();
 
-                @Override
-                public synchronized AvroCoder<IndexedRecord> get(final Object key) {
-                    AvroCoder<IndexedRecord> coder = super.get(key);
-                    if (coder == null) {
-                        final Schema schema = Schema.class.cast(key);
-                        coder = AvroCoder.of(IndexedRecord.class, schema);
-                        put(schema, coder);
-                    }
-                    return coder;
-                }
-            };
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    // clock hand, the map iterators are weakly consistent so it survives concurrent updates, guarded by this
+    private Iterator<Map.Entry<Schema, CachedCoder>> hand;
+
+    // the server the MBean was registered on, guarded by this
+    private MBeanServer jmxServer;
+
+    private ObjectName jmxName;
+
+    AvroCoderCache(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public static AvroCoderCache getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public int getSize() {
+        return coders.size();
+    }
+
+    synchronized void registerMBean(final MBeanServer server) {
+        try {
+            final ObjectName name = new ObjectName("org.talend.sdk.component:type=avro-coder-cache");
+            server.registerMBean(new StandardMBean(this, AvroCoderCacheMBean.class), name);
+            jmxServer = server;
+            jmxName = name;
+        } catch (final JMException e) { // already registered by another classloader for instance
+            log.debug(e.getMessage(), e);
+        }
+    }
+
+    synchronized void unregisterMBean() {
+        final ObjectName name = jmxName;
+        if (name == null) {
+            return;
+        }
+        final MBeanServer server = jmxServer;
+        jmxName = null;
+        jmxServer = null;
+        try {
+            server.unregisterMBean(name);
+        } catch (final JMException e) {
+            log.warn(e.getMessage(), e);
+        }
+    }
 
     static AvroCoder<IndexedRecord> getCoder(final Schema avro) {
-        return CACHED_CODERS.get(avro);
+        return INSTANCE.get(avro);
+    }
+
+    AvroCoder<IndexedRecord> get(final Schema avro) {
+        final CachedCoder cached = coders.get(avro);
+        if (cached != null) {
+            hits.increment();
+            if (!cached.referenced) { // avoid to write a shared field on each hit
+                cached.referenced = true;
+            }
+            return cached.coder;
+        }
+        misses.increment();
+        final AvroCoder<IndexedRecord> coder = AvroCoder.of(IndexedRecord.class, avro);
+        if (maxSize <= 0) {
+            return coder;
+        }
+        while (coders.size() >= maxSize && evict()) {
+            // no-op
+        }
+        final CachedCoder existing = coders.putIfAbsent(avro, new CachedCoder(coder));
+        return existing == null ? coder : existing.coder;
+    }
+
+    private synchronized boolean evict() {
+        // a full turn can only clear the reference flags, the second one finds a victim
+        for (int remaining = 2 * coders.size() + 1; remaining > 0; remaining--) {
+            if (hand == null || !hand.hasNext()) {
+                hand = coders.entrySet().iterator();
+                if (!hand.hasNext()) {
+                    return false;
+                }
+            }
+            final Map.Entry<Schema, CachedCoder> entry = hand.next();
+            final CachedCoder value = entry.getValue();
+            if (value.referenced) {
+                value.referenced = false;
+            } else if (coders.remove(entry.getKey(), value)) {
+                evictions.increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedCoder {
+
+        private final AvroCoder<IndexedRecord> coder;
+
+        private volatile boolean referenced;
     }
 }
@@ -16,13 +16,17 @@
 package org.talend.sdk.component.runtime.beam.coder.registry;
 
 import static org.talend.sdk.component.runtime.beam.coder.registry.AvroCoderCache.getCoder;
+import static org.talend.sdk.component.runtime.beam.spi.record.SchemaIdGenerator.fingerprint;
 import static org.talend.sdk.component.runtime.beam.spi.record.SchemaIdGenerator.generateRecordName;
 
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericData;
@@ -31,6 +35,7 @@ import org.apache.beam.sdk.coders.CustomCoder;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.runtime.beam.avro.AvroSchemas;
 import org.talend.sdk.component.runtime.beam.spi.record.AvroRecord;
+import org.talend.sdk.component.runtime.beam.spi.record.AvroSchema;
 import org.talend.sdk.component.runtime.manager.service.api.Unwrappable;
 import org.talend.sdk.component.runtime.record.Schemas;
 
@@ -38,9 +43,27 @@ import lombok.extern.slf4j.Slf4j;
 
 // advantage is that it does not need any record mutation but
 // it implies a mutation of the binary format on persistence
+//
+// binary format (default): [BINARY_FORMAT][varint field count][fingerprint as 8 bytes, big endian][avro record]
+// text format (legacy): [schema id][\n][avro record]
+//
+// both formats are read (the textual ids always start with a letter) but only one is written,
+// set talend.component.beam.coder.registry.format=text while readers of the legacy format are still running
 @Slf4j
 public class SchemaRegistryCoder extends CustomCoder<Record> {
 
+    static final int BINARY_FORMAT = 1;
+
+    private static final boolean TEXT_FORMAT =
+            "text".equalsIgnoreCase(System.getProperty("talend.component.beam.coder.registry.format", "binary"));
+
+    private static final int MAX_CACHED_SCHEMAS =
+            Integer.getInteger("talend.component.beam.coder.registry.cache.size", 1024);
+
+    // fingerprint -> schema already put in the registry, avoids to rebuild the id for known schemas
+    private static final ConcurrentMap<Long, org.talend.sdk.component.api.record.Schema> SCHEMAS =
+            new ConcurrentHashMap<>();
+
     private static final GenericData.Record EMPTY_RECORD = new GenericData.Record(AvroSchemas.getEmptySchema());
 
     @Override
@@ -49,13 +72,28 @@ public class SchemaRegistryCoder extends CustomCoder<Record> {
                 value == null ? Schemas.EMPTY_RECORD : value.getSchema();
         final Schema avro =
                 value == null ? AvroSchemas.getEmptySchema() : Unwrappable.class.cast(schema).unwrap(Schema.class);
-        final String id = generateRecordName(avro.getFields());
-        // write the id first
-        outputStream.write(id.getBytes(StandardCharsets.UTF_8));
-        outputStream.write('\n');
+        if (TEXT_FORMAT) {
+            final String id = AvroSchema.class.isInstance(schema) ? AvroSchema.class.cast(schema).getId()
+                    : generateRecordName(avro.getFields());
+            // write the id first
+            outputStream.write(id.getBytes(StandardCharsets.UTF_8));
+            outputStream.write('\n');
+            registry().putIfAbsent(id, schema);
+        } else {
+            final long fingerprint =
+                    AvroSchema.class.isInstance(schema) ? AvroSchema.class.cast(schema).getFingerprint()
+                            : fingerprint(avro.getFields());
+            final int fieldCount = avro.getFields().size();
+            writeHeader(outputStream, fieldCount, fingerprint);
+            if (!SCHEMAS.containsKey(fingerprint)) {
+                registry().putIfAbsent(generateRecordName(fieldCount, fingerprint), schema);
+                if (SCHEMAS.size() < MAX_CACHED_SCHEMAS) {
+                    SCHEMAS.putIfAbsent(fingerprint, schema);
+                }
+            }
+        }
 
         // then the record with the default avro coder
-        registry().putIfAbsent(id, schema);
         if (value != null) {
             getCoder(avro).encode(Unwrappable.class.cast(value).unwrap(IndexedRecord.class), outputStream);
         }
@@ -64,20 +102,16 @@ public class SchemaRegistryCoder extends CustomCoder<Record> {
 
     @Override
     public Record decode(final InputStream inputStream) throws IOException {
-        final ByteArrayOutputStream firstLineData = new ByteArrayOutputStream();
-        int b;
-        while ((b = inputStream.read()) >= 0 && b != '\n') {
-            firstLineData.write(b);
-        }
-        final String id = firstLineData.toString("UTF-8");
-        final org.talend.sdk.component.api.record.Schema schema = registry().get(id);
-        if (schema == null) {
-            throw new IllegalStateException("Invalid schema id: '" + id + "'");
+        final int first = inputStream.read();
+        if (first < 0) {
+            throw new EOFException("No schema header");
         }
-        final Schema unwrappedSchema = Unwrappable.class.cast(schema).unwrap(Schema.class);
+        final org.talend.sdk.component.api.record.Schema schema =
+                first == BINARY_FORMAT ? readBinarySchema(inputStream) : readTextSchema(first, inputStream);
         if (Schemas.EMPTY_RECORD == schema) {
             return new AvroRecord(EMPTY_RECORD);
         }
+        final Schema unwrappedSchema = Unwrappable.class.cast(schema).unwrap(Schema.class);
         final IndexedRecord decoded = getCoder(unwrappedSchema).decode(inputStream);
         return new AvroRecord(decoded);
     }
@@ -92,6 +126,86 @@ public class SchemaRegistryCoder extends CustomCoder<Record> {
         return SchemaRegistryCoder.class.isInstance(obj);
     }
 
+    private org.talend.sdk.component.api.record.Schema readBinarySchema(final InputStream inputStream)
+            throws IOException {
+        final int fieldCount = readVarInt(inputStream);
+        final byte[] bytes = new byte[Long.BYTES];
+        int offset = 0;
+        while (offset < bytes.length) {
+            final int read = inputStream.read(bytes, offset, bytes.length - offset);
+            if (read < 0) {
+                throw new EOFException("Truncated schema fingerprint");
+            }
+            offset += read;
+        }
+        long fingerprint = 0;
+        for (final byte b : bytes) {
+            fingerprint = (fingerprint << 8) | (b & 0xFF);
+        }
+
+        final org.talend.sdk.component.api.record.Schema cached = SCHEMAS.get(fingerprint);
+        if (cached != null) {
+            return cached;
+        }
+        final String id = generateRecordName(fieldCount, fingerprint);
+        final org.talend.sdk.component.api.record.Schema schema = registry().get(id);
+        if (schema == null) {
+            throw new IllegalStateException("Invalid schema id: '" + id + "'");
+        }
+        if (SCHEMAS.size() < MAX_CACHED_SCHEMAS) {
+            SCHEMAS.putIfAbsent(fingerprint, schema);
+        }
+        return schema;
+    }
+
+    private org.talend.sdk.component.api.record.Schema readTextSchema(final int first, final InputStream inputStream)
+            throws IOException {
+        final ByteArrayOutputStream firstLineData = new ByteArrayOutputStream();
+        int b = first;
+        while (b >= 0 && b != '\n') {
+            firstLineData.write(b);
+            b = inputStream.read();
+        }
+        final String id = firstLineData.toString("UTF-8");
+        final org.talend.sdk.component.api.record.Schema schema = registry().get(id);
+        if (schema == null) {
+            throw new IllegalStateException("Invalid schema id: '" + id + "'");
+        }
+        return schema;
+    }
+
+    private void writeHeader(final OutputStream outputStream, final int fieldCount, final long fingerprint)
+            throws IOException {
+        final byte[] header = new byte[1 + 5 + Long.BYTES];
+        int position = 0;
+        header[position++] = BINARY_FORMAT;
+        int count = fieldCount;
+        while ((count & ~0x7F) != 0) {
+            header[position++] = (byte) ((count & 0x7F) | 0x80);
+            count >>>= 7;
+        }
+        header[position++] = (byte) count;
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            header[position++] = (byte) (fingerprint >>> shift);
+        }
+        outputStream.write(header, 0, position);
+    }
+
+    private int readVarInt(final InputStream inputStream) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int b = inputStream.read();
+            if (b < 0) {
+                throw new EOFException("Truncated schema header");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Invalid schema header");
+    }
+
     private SchemaRegistry registry() { // don't serialize
         return SchemaRegistry.Instance.get();
     }
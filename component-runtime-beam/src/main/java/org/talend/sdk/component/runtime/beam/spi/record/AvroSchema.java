@@ -30,7 +30,11 @@ import org.apache.avro.Schema;
 import org.talend.sdk.component.runtime.manager.service.api.Unwrappable;
 import org.talend.sdk.component.runtime.record.SchemaImpl;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 
 @Data
@@ -48,6 +52,43 @@ public class AvroSchema implements org.talend.sdk.component.api.record.Schema, A
 
     private volatile Schema actualDelegate;
 
+    // record schemas only, see SchemaIdGenerator
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile Long fingerprint;
+
+    @EqualsAndHashCode.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile String id;
+
+    /**
+     * @return the fingerprint of the fields of this record schema, computed once.
+     */
+    @JsonbTransient
+    public long getFingerprint() {
+        Long value = fingerprint;
+        if (value == null) {
+            value = SchemaIdGenerator.fingerprint(delegate.getFields());
+            fingerprint = value;
+        }
+        return value;
+    }
+
+    /**
+     * @return the generated name of this record schema (used as id by the schema registry), computed once.
+     */
+    @JsonbTransient
+    public String getId() {
+        String value = id;
+        if (value == null) {
+            value = SchemaIdGenerator.generateRecordName(delegate.getFields().size(), getFingerprint());
+            id = value;
+        }
+        return value;
+    }
+
     private Schema getActualDelegate() {
         if (actualDelegate != null) {
             return actualDelegate;
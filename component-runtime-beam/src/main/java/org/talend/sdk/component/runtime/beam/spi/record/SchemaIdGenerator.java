@@ -29,12 +29,15 @@ import lombok.NoArgsConstructor;
 public class SchemaIdGenerator {
 
     public static String generateRecordName(final List<Schema.Field> fields) {
-        final long fingerprint = fingerprint(fields);
-        return "org.talend.sdk.component.schema.generated.Record_" + fields.size()
+        return generateRecordName(fields.size(), fingerprint(fields));
+    }
+
+    public static String generateRecordName(final int fieldCount, final long fingerprint) {
+        return "org.talend.sdk.component.schema.generated.Record_" + fieldCount
                 + (fingerprint < 0 ? "_n_" + (-fingerprint) : ("_" + fingerprint));
     }
 
-    private static long fingerprint(final List<Schema.Field> fields) {
+    public static long fingerprint(final List<Schema.Field> fields) {
         return SchemaNormalization
                 .parsingFingerprint64(Schema
                         .createRecord(fields
@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.beam.coder.registry;
+
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.apache.avro.Schema;
+import org.junit.jupiter.api.Test;
+
+class AvroCoderCacheTest {
+
+    @Test
+    void cache() {
+        final AvroCoderCache cache = new AvroCoderCache(16);
+        final Schema schema = newSchema("first");
+        assertSame(cache.get(schema), cache.get(schema));
+        assertSame(cache.get(schema), cache.get(newSchema("first")));
+        assertEquals(1, cache.getMisses());
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    void secondChanceEviction() {
+        final AvroCoderCache cache = new AvroCoderCache(2);
+        final Schema used = newSchema("used");
+        final Schema unused = newSchema("unused");
+        cache.get(used);
+        cache.get(unused);
+        cache.get(used); // marked as referenced
+
+        cache.get(newSchema("third"));
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getEvictions());
+
+        final long misses = cache.getMisses();
+        cache.get(used);
+        assertEquals(misses, cache.getMisses());
+        cache.get(unused);
+        assertEquals(misses + 1, cache.getMisses());
+    }
+
+    @Test
+    void evictionResumesFromTheHand() {
+        final AvroCoderCache cache = new AvroCoderCache(4);
+        for (int i = 0; i < 100; i++) {
+            final Schema schema = newSchema("field" + i);
+            cache.get(schema);
+            cache.get(schema); // referenced, the hand must clear it before evicting it
+        }
+        assertEquals(4, cache.getSize());
+        assertEquals(96, cache.getEvictions());
+        assertEquals(100, cache.getMisses());
+        assertEquals(100, cache.getHits());
+    }
+
+    @Test
+    void jmx() throws Exception {
+        final AvroCoderCache cache = new AvroCoderCache(16);
+        cache.get(newSchema("first"));
+        final MBeanServer server = MBeanServerFactory.newMBeanServer();
+        final ObjectName name = new ObjectName("org.talend.sdk.component:type=avro-coder-cache");
+        cache.registerMBean(server);
+        try {
+            assertEquals(0L, server.getAttribute(name, "Hits"));
+            assertEquals(1L, server.getAttribute(name, "Misses"));
+            assertEquals(0L, server.getAttribute(name, "Evictions"));
+            assertEquals(1, server.getAttribute(name, "Size"));
+        } finally {
+            cache.unregisterMBean();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    void disabled() {
+        final AvroCoderCache cache = new AvroCoderCache(0);
+        final Schema schema = newSchema("first");
+        assertNotSame(cache.get(schema), cache.get(schema));
+        assertEquals(0, cache.getSize());
+    }
+
+    private Schema newSchema(final String field) {
+        final Schema schema = Schema.createRecord("Test", null, "test", false);
+        schema.setFields(singletonList(new Schema.Field(field, Schema.create(Schema.Type.STRING), null, null)));
+        return schema;
+    }
+}
@@ -23,18 +23,22 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import javax.json.Json;
 import javax.json.JsonBuilderFactory;
 import javax.json.bind.Jsonb;
 import javax.json.bind.JsonbBuilder;
 
+import org.apache.avro.generic.IndexedRecord;
 import org.junit.jupiter.api.Test;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.beam.spi.AvroRecordBuilderFactoryProvider;
 import org.talend.sdk.component.runtime.beam.spi.record.AvroRecord;
+import org.talend.sdk.component.runtime.beam.spi.record.AvroSchema;
 import org.talend.sdk.component.runtime.beam.spi.record.SchemaIdGenerator;
 import org.talend.sdk.component.runtime.manager.service.api.Unwrappable;
 import org.talend.sdk.component.runtime.record.RecordConverters;
@@ -122,4 +126,40 @@ class SchemaRegistryCoderTest {
         final double actual = decoded.getArray(Record.class, "__default__").iterator().next().getDouble("len");
         assertEquals(2., actual);
     }
+
+    @Test
+    void binaryHeader() throws IOException {
+        final Record record = new AvroRecord(new RecordImpl.BuilderImpl().withString("test", "data").build());
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        SchemaRegistryCoder.of().encode(record, buffer);
+
+        final byte[] bytes = buffer.toByteArray();
+        assertEquals(SchemaRegistryCoder.BINARY_FORMAT, bytes[0]);
+        assertEquals(1, bytes[1]); // field count
+        final AvroSchema schema = AvroSchema.class.cast(record.getSchema());
+        assertEquals(schema.getFingerprint(), ByteBuffer.wrap(bytes, 2, Long.BYTES).getLong());
+        assertEquals(SchemaIdGenerator.generateRecordName(schema.unwrap(org.apache.avro.Schema.class).getFields()),
+                schema.getId());
+    }
+
+    @Test
+    void decodeTextFormat() throws IOException {
+        final Record record = new AvroRecord(new RecordImpl.BuilderImpl().withString("legacy", "data").build());
+        final org.apache.avro.Schema avro =
+                Unwrappable.class.cast(record.getSchema()).unwrap(org.apache.avro.Schema.class);
+        final String id = SchemaIdGenerator.generateRecordName(avro.getFields());
+        SchemaRegistry.Instance.get().putIfAbsent(id, record.getSchema());
+
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        buffer.write(id.getBytes(StandardCharsets.UTF_8));
+        buffer.write('\n');
+        AvroCoderCache.getCoder(avro).encode(Unwrappable.class.cast(record).unwrap(IndexedRecord.class), buffer);
+        buffer.write(new byte[] { 1, 2, 3 }); // next element in the stream, must not be consumed
+
+        final ByteArrayInputStream input = new ByteArrayInputStream(buffer.toByteArray());
+        final Record decoded = SchemaRegistryCoder.of().decode(input);
+        assertEquals("data", decoded.getString("legacy"));
+        assertEquals(3, input.available());
+    }
 }
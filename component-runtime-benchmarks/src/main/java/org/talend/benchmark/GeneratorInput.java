@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.benchmark;
+
+import java.io.Serializable;
+
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Emitter;
+import org.talend.sdk.component.api.input.Producer;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.benchmark.Datasets;
+
+@Emitter(family = "benchmark", name = "generator")
+public class GeneratorInput implements Serializable {
+
+    private final int rows;
+
+    private final int width;
+
+    private final int depth;
+
+    private final RecordBuilderFactory factory;
+
+    private transient Schema schema;
+
+    private int emitted;
+
+    public GeneratorInput(@Option("rows") final int rows, @Option("width") final int width,
+            @Option("depth") final int depth, final RecordBuilderFactory factory) {
+        this.rows = rows;
+        this.width = width;
+        this.depth = depth;
+        this.factory = factory;
+    }
+
+    @Producer
+    public Record next() {
+        if (emitted >= rows) {
+            return null;
+        }
+        if (schema == null) {
+            schema = Datasets.schema(factory, width, depth);
+        }
+        return Datasets.record(factory, schema, width, depth, emitted++);
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.benchmark;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.beam.spi.AvroRecordBuilderFactoryProvider;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+/**
+ * Creation of avro records and field access compared to the default record flavor.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Benchmark)
+public class AvroRecordBenchmark {
+
+    @Param({ "4", "16", "64" })
+    private int width;
+
+    @Param({ "0", "2" })
+    private int depth;
+
+    private RecordBuilderFactory avroFactory;
+
+    private Schema avroSchema;
+
+    private Record record;
+
+    private Record avroRecord;
+
+    private long seed;
+
+    @Setup
+    public void setup() {
+        final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("benchmark");
+        record = Datasets.record(factory, Datasets.schema(factory, width, depth), width, depth, 1);
+        avroFactory = new AvroRecordBuilderFactoryProvider().apply("benchmark");
+        avroSchema = Datasets.schema(avroFactory, width, depth);
+        avroRecord = Datasets.record(avroFactory, avroSchema, width, depth, 1);
+    }
+
+    @Benchmark
+    public Record buildAvro() {
+        return Datasets.record(avroFactory, avroSchema, width, depth, seed++);
+    }
+
+    @Benchmark
+    public void readAvro(final Blackhole blackhole) {
+        read(avroRecord, blackhole);
+    }
+
+    @Benchmark
+    public void readRecord(final Blackhole blackhole) {
+        read(record, blackhole);
+    }
+
+    private void read(final Record data, final Blackhole blackhole) {
+        for (final Schema.Entry entry : data.getSchema().getEntries()) {
+            switch (entry.getType()) {
+            case STRING:
+                blackhole.consume(data.getString(entry.getName()));
+                break;
+            case INT:
+                blackhole.consume(data.getInt(entry.getName()));
+                break;
+            case LONG:
+                blackhole.consume(data.getLong(entry.getName()));
+                break;
+            case DOUBLE:
+                blackhole.consume(data.getDouble(entry.getName()));
+                break;
+            case BOOLEAN:
+                blackhole.consume(data.getBoolean(entry.getName()));
+                break;
+            case RECORD:
+                read(data.getRecord(entry.getName()), blackhole);
+                break;
+            default:
+                blackhole.consume(data.get(Object.class, entry.getName()));
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Runs the JMH benchmarks of this module, results are written as JSON (by default in jmh-result.json)
+ * to be able to diff them between releases. All the JMH options are supported.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Benchmarks {
+
+    public static void main(final String[] args) throws Exception {
+        final List<String> options = new ArrayList<>(args.length + 4);
+        boolean hasFormat = false;
+        boolean hasFile = false;
+        for (final String arg : args) {
+            if (arg == null || arg.isEmpty()) {
+                continue;
+            }
+            hasFormat = hasFormat || "-rf".equals(arg);
+            hasFile = hasFile || "-rff".equals(arg);
+            options.add(arg);
+        }
+        if (!hasFormat) {
+            options.add("-rf");
+            options.add("json");
+        }
+        if (!hasFile) {
+            options.add("-rff");
+            options.add("jmh-result.json");
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+}
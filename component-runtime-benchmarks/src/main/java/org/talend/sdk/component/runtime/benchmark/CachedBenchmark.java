@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.benchmark;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.joining;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.talend.sdk.component.api.service.cache.Cached;
+import org.talend.sdk.component.runtime.manager.interceptor.CacheHandler;
+import org.talend.sdk.component.runtime.manager.service.LocalCacheService;
+
+/**
+ * Per-call overhead of a {@code @Cached} service method when the value is cached.
+ * {@code direct} is the uncached call, {@code stringKey} the string key built from all the parameters
+ * the interceptor used before the structured keys. Run it with {@code -prof gc} to see the allocation rate.
+ */
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@State(Scope.Benchmark)
+public class CachedBenchmark {
+
+    private final BiFunction<Method, Object[], Object> invoker = (m, args) -> args[0] + "/" + args[1];
+
+    private ScheduledExecutorService executor;
+
+    private LocalCacheService cache;
+
+    private CacheHandler handler;
+
+    private Method method;
+
+    private Object[] args;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        cache = new LocalCacheService("benchmark", System::currentTimeMillis, () -> executor);
+        handler = new CacheHandler(invoker, cache);
+        method = Service.class.getMethod("find", String.class, Integer.class);
+        args = new Object[] { "dataset", 12345 };
+        handler.invoke(method, args);
+        stringKey();
+    }
+
+    @TearDown
+    public void tearDown() {
+        cache.release();
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object direct() {
+        return invoker.apply(method, args);
+    }
+
+    @Benchmark
+    public Object cached() {
+        return handler.invoke(method, args);
+    }
+
+    @Benchmark
+    public Object stringKey() {
+        final String key = method.getDeclaringClass().getName() + "#" + method.getName() + "("
+                + Stream.of(args).map(s -> s + "/" + (s == null ? 0 : s.hashCode())).collect(joining(",")) + ")";
+        return cache.computeIfAbsent(Object.class, key, Integer.MAX_VALUE, () -> invoker.apply(method, args));
+    }
+
+    public interface Service {
+
+        @Cached
+        String find(String name, Integer size);
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.benchmark;
+
+import static org.talend.sdk.component.api.record.Schema.Type.BOOLEAN;
+import static org.talend.sdk.component.api.record.Schema.Type.DOUBLE;
+import static org.talend.sdk.component.api.record.Schema.Type.INT;
+import static org.talend.sdk.component.api.record.Schema.Type.LONG;
+import static org.talend.sdk.component.api.record.Schema.Type.RECORD;
+import static org.talend.sdk.component.api.record.Schema.Type.STRING;
+
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Generates the data used by the benchmarks: each level has {@code width} primitive fields
+ * (string, int, long, double and boolean in turn) and, while {@code depth} is positive, a nested {@code child} record.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class Datasets {
+
+    private static final Schema.Type[] TYPES = { STRING, INT, LONG, DOUBLE, BOOLEAN };
+
+    public static Schema schema(final RecordBuilderFactory factory, final int width, final int depth) {
+        final Schema.Builder builder = factory.newSchemaBuilder(RECORD);
+        for (int i = 0; i < width; i++) {
+            builder
+                    .withEntry(factory
+                            .newEntryBuilder()
+                            .withName(name(i))
+                            .withType(TYPES[i % TYPES.length])
+                            .withNullable(true)
+                            .build());
+        }
+        if (depth > 0) {
+            builder
+                    .withEntry(factory
+                            .newEntryBuilder()
+                            .withName("child")
+                            .withType(RECORD)
+                            .withNullable(true)
+                            .withElementSchema(schema(factory, width, depth - 1))
+                            .build());
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param factory the factory to use to create the record.
+     * @param schema the schema created with {@link #schema(RecordBuilderFactory, int, int)}, null to let the builder
+     * infer it.
+     * @param width the number of primitive fields per level.
+     * @param depth the nesting depth.
+     * @param seed the value used to generate the field values.
+     * @return a new record.
+     */
+    public static Record record(final RecordBuilderFactory factory, final Schema schema, final int width,
+            final int depth, final long seed) {
+        final Record.Builder builder = schema == null ? factory.newRecordBuilder() : factory.newRecordBuilder(schema);
+        for (int i = 0; i < width; i++) {
+            final String name = name(i);
+            switch (TYPES[i % TYPES.length]) {
+            case STRING:
+                builder.withString(name, "value_" + seed);
+                break;
+            case INT:
+                builder.withInt(name, (int) seed + i);
+                break;
+            case LONG:
+                builder.withLong(name, seed * i);
+                break;
+            case DOUBLE:
+                builder.withDouble(name, seed / (i + 1.));
+                break;
+            default:
+                builder.withBoolean(name, (seed + i) % 2 == 0);
+            }
+        }
+        if (depth > 0) {
+            final Schema child = schema == null ? null : schema.getEntries().get(width).getElementSchema();
+            builder.withRecord("child", record(factory, child, width, depth - 1, seed + 1));
+        }
+        return builder.build();
+    }
+
+    public static JsonObject json(final JsonBuilderFactory factory, final int width, final int depth, final long seed) {
+        final JsonObjectBuilder builder = factory.createObjectBuilder();
+        for (int i = 0; i < width; i++) {
+            final String name = name(i);
+            switch (TYPES[i % TYPES.length]) {
+            case STRING:
+                builder.add(name, "value_" + seed);
+                break;
+            case INT:
+                builder.add(name, (int) seed + i);
+                break;
+            case LONG:
+                builder.add(name, seed * i);
+                break;
+            case DOUBLE:
+                builder.add(name, seed / (i + 1.));
+                break;
+            default:
+                builder.add(name, (seed + i) % 2 == 0);
+            }
+        }
+        if (depth > 0) {
+            builder.add("child", json(factory, width, depth - 1, seed + 1));
+        }
+        return builder.build();
+    }
+
+    /**
+     * POJO are not parameterized by width since their shape is fixed at compile time, only the depth varies.
+     *
+     * @param depth the nesting depth.
+     * @param seed the value used to generate the field values.
+     * @return a new row.
+     */
+    public static Row row(final int depth, final long seed) {
+        final Row row = new Row();
+        row.setName("value_" + seed);
+        row.setIndex((int) seed);
+        row.setTimestamp(seed * 1000);
+        row.setScore(seed / 3.);
+        row.setActive(seed % 2 == 0);
+        if (depth > 0) {
+            row.setChild(row(depth - 1, seed + 1));
+        }
+        return row;
+    }
+
+    private static String name(final int index) {
+        return "field" + index;
+    }
+
+    @Data
+    public static class Row {
+
+        private String name;
+
+        private int index;
+
+        private long timestamp;
+
+        private double score;
+
+        private boolean active;
+
+        private Row child;
+    }
+}
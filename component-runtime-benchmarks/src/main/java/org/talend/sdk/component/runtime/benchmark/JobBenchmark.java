@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.benchmark;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.talend.benchmark.GeneratorInput;
+import org.talend.benchmark.PassThroughProcessor;
+import org.talend.benchmark.SinkOutput;
+import org.talend.sdk.component.runtime.manager.ComponentManager;
+import org.talend.sdk.component.runtime.manager.chain.Job;
+
+/**
+ * Local execution of a generator - passthrough - sink job, the components are deployed as a plugin built at setup.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@State(Scope.Benchmark)
+public class JobBenchmark {
+
+    @Param({ "1000" })
+    private int rows;
+
+    @Param({ "4", "16", "64" })
+    private int width;
+
+    @Param({ "0", "2" })
+    private int depth;
+
+    private Path work;
+
+    private ComponentManager manager;
+
+    private Job.ExecutorBuilder job;
+
+    @Setup
+    public void setup() throws IOException {
+        work = Files.createTempDirectory("tacokit-benchmark");
+        final File plugin = createPlugin(work.resolve("benchmark-components.jar").toFile());
+        manager = new ComponentManager(work.resolve("m2").toFile(), "TALEND-INF/dependencies.txt", null) {
+
+            private final ComponentManager original = contextualInstance().get();
+
+            {
+                contextualInstance().set(this);
+                addPlugin(plugin.getAbsolutePath());
+            }
+
+            @Override
+            public void close() {
+                super.close();
+                contextualInstance().set(original);
+            }
+        };
+        job = Job
+                .components()
+                .component("generator", "benchmark://generator?rows=" + rows + "&width=" + width + "&depth=" + depth)
+                .component("passthrough", "benchmark://passthrough")
+                .component("sink", "benchmark://sink")
+                .connections()
+                .from("generator")
+                .to("passthrough")
+                .from("passthrough")
+                .to("sink")
+                .build()
+                .property(Job.ExecutorBuilder.class.getName(), "local");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        manager.close();
+        try (final Stream<Path> files = Files.walk(work)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public void run() {
+        job.run();
+    }
+
+    private File createPlugin(final File target) throws IOException {
+        final ClassLoader loader = JobBenchmark.class.getClassLoader();
+        try (final JarOutputStream jar = new JarOutputStream(Files.newOutputStream(target.toPath()))) {
+            for (final Class<?> component : new Class<?>[] { GeneratorInput.class, PassThroughProcessor.class,
+                    SinkOutput.class }) {
+                final String resource = component.getName().replace('.', '/') + ".class";
+                jar.putNextEntry(new JarEntry(resource));
+                try (final InputStream stream = loader.getResourceAsStream(resource)) {
+                    copy(stream, jar);
+                }
+                jar.closeEntry();
+            }
+        }
+        return target;
+    }
+
+    private static void copy(final InputStream from, final OutputStream to) throws IOException {
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = from.read(buffer)) >= 0) {
+            to.write(buffer, 0, read);
+        }
+    }
+}
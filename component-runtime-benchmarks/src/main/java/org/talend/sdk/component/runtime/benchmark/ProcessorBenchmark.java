@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.benchmark;
+
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import java.io.Serializable;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.talend.sdk.component.api.processor.ElementListener;
+import org.talend.sdk.component.api.processor.Output;
+import org.talend.sdk.component.api.processor.OutputEmitter;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.output.InputFactory;
+import org.talend.sdk.component.runtime.output.OutputFactory;
+import org.talend.sdk.component.runtime.output.Processor;
+import org.talend.sdk.component.runtime.output.ProcessorImpl;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+/**
+ * {@link ProcessorImpl#onNext(InputFactory, OutputFactory)} dispatch overhead with a pass-through processor.
+ *
+ * The runtime reads the {@code talend.component.runtime.invoker} system property once, when its classes are loaded,
+ * so each invoker has its own benchmark method forking a JVM with the property set.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Benchmark)
+public class ProcessorBenchmark {
+
+    @Param({ "4", "64" })
+    private int width;
+
+    @Param({ "0", "2" })
+    private int depth;
+
+    private Processor processor;
+
+    private InputFactory input;
+
+    private OutputFactory output;
+
+    private Blackhole blackhole;
+
+    @Setup
+    public void setup(final Blackhole blackhole) {
+        this.blackhole = blackhole;
+
+        final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("benchmark");
+        final Record record = Datasets.record(factory, Datasets.schema(factory, width, depth), width, depth, 1);
+        input = name -> record;
+        final OutputEmitter<Object> emitter = this.blackhole::consume;
+        output = name -> emitter;
+
+        processor = new ProcessorImpl("benchmark", "passthrough", "benchmark", emptyMap(), new PassThrough());
+        processor.start();
+        processor.beforeGroup();
+    }
+
+    @TearDown
+    public void tearDown() {
+        processor.afterGroup(output);
+        processor.stop();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dtalend.component.runtime.invoker=methodhandle")
+    public void methodHandle() {
+        processor.onNext(input, output);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Dtalend.component.runtime.invoker=reflection")
+    public void reflection() {
+        processor.onNext(input, output);
+    }
+
+    public static class PassThrough implements Serializable {
+
+        @ElementListener
+        public void onNext(final Record record, @Output final OutputEmitter<Record> main) {
+            main.emit(record);
+        }
+    }
+}
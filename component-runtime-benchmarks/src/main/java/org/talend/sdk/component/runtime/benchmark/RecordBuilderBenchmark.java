@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.benchmark;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+import org.talend.sdk.component.runtime.record.RecordImpl;
+
+/**
+ * Record creation with the plain {@link RecordImpl.BuilderImpl} and with the factory (which reuses the schemas),
+ * with a provided or an inferred schema.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Benchmark)
+public class RecordBuilderBenchmark {
+
+    @Param({ "4", "16", "64" })
+    private int width;
+
+    @Param({ "0", "2" })
+    private int depth;
+
+    private RecordBuilderFactory builderImpl;
+
+    private RecordBuilderFactory factory;
+
+    private Schema schema;
+
+    private long seed;
+
+    @Setup
+    public void setup() {
+        factory = new RecordBuilderFactoryImpl("benchmark");
+        builderImpl = new RecordBuilderFactoryImpl("benchmark") {
+
+            @Override
+            public Record.Builder newRecordBuilder(final Schema schema) {
+                return new RecordImpl.BuilderImpl(schema);
+            }
+
+            @Override
+            public Record.Builder newRecordBuilder() {
+                return new RecordImpl.BuilderImpl();
+            }
+        };
+        schema = Datasets.schema(factory, width, depth);
+    }
+
+    @Benchmark
+    public Record builderImplProvidedSchema() {
+        return Datasets.record(builderImpl, schema, width, depth, seed++);
+    }
+
+    @Benchmark
+    public Record builderImplInferredSchema() {
+        return Datasets.record(builderImpl, null, width, depth, seed++);
+    }
+
+    @Benchmark
+    public Record factoryProvidedSchema() {
+        return Datasets.record(factory, schema, width, depth, seed++);
+    }
+
+    @Benchmark
+    public Record factoryInferredSchema() {
+        return Datasets.record(factory, null, width, depth, seed++);
+    }
+}
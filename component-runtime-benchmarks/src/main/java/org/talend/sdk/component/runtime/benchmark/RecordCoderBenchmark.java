@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.benchmark;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.apache.beam.sdk.coders.Coder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.beam.coder.record.FullSerializationRecordCoder;
+import org.talend.sdk.component.runtime.beam.coder.registry.SchemaRegistryCoder;
+import org.talend.sdk.component.runtime.beam.spi.AvroRecordBuilderFactoryProvider;
+
+/**
+ * Beam record coders, the schema registry one only writes a schema id when the full serialization one writes
+ * the schema with each record.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Benchmark)
+public class RecordCoderBenchmark {
+
+    @Param({ "registry", "full" })
+    private String coder;
+
+    @Param({ "4", "16", "64" })
+    private int width;
+
+    @Param({ "0", "2" })
+    private int depth;
+
+    private Coder<Record> recordCoder;
+
+    private Record record;
+
+    private byte[] encoded;
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    @Setup
+    public void setup() throws IOException {
+        recordCoder = "full".equals(coder) ? FullSerializationRecordCoder.of() : SchemaRegistryCoder.of();
+        final RecordBuilderFactory factory = new AvroRecordBuilderFactoryProvider().apply("benchmark");
+        record = Datasets.record(factory, Datasets.schema(factory, width, depth), width, depth, 1);
+        encoded = encode();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        buffer.reset();
+        recordCoder.encode(record, buffer);
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public Record decode() throws IOException {
+        return recordCoder.decode(new ByteArrayInputStream(encoded));
+    }
+}
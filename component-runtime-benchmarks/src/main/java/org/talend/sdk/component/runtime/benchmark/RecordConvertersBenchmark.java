@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.benchmark;
+
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.spi.JsonProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+import org.talend.sdk.component.runtime.record.RecordConverters;
+
+/**
+ * Conversions done by the runtime between the component inputs/outputs and the records.
+ * The POJO flavors only depend on the depth (see {@link Datasets#row(int, long)}).
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@State(Scope.Benchmark)
+public class RecordConvertersBenchmark {
+
+    @Param({ "4", "16", "64" })
+    private int width;
+
+    @Param({ "0", "2" })
+    private int depth;
+
+    private final RecordConverters converters = new RecordConverters();
+
+    private final RecordConverters.MappingMetaRegistry registry = new RecordConverters.MappingMetaRegistry();
+
+    private JsonProvider jsonProvider;
+
+    private JsonBuilderFactory jsonBuilderFactory;
+
+    private Jsonb jsonb;
+
+    private RecordBuilderFactory factory;
+
+    private JsonObject json;
+
+    private Datasets.Row row;
+
+    private Record record;
+
+    private Record rowRecord;
+
+    @Setup
+    public void setup() {
+        jsonProvider = JsonProvider.provider();
+        jsonBuilderFactory = jsonProvider.createBuilderFactory(emptyMap());
+        jsonb = JsonbBuilder.create();
+        factory = new RecordBuilderFactoryImpl("benchmark");
+        json = Datasets.json(jsonBuilderFactory, width, depth, 1);
+        row = Datasets.row(depth, 1);
+        record = Datasets.record(factory, Datasets.schema(factory, width, depth), width, depth, 1);
+        rowRecord = converters.toRecord(registry, row, () -> jsonb, () -> factory);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        jsonb.close();
+    }
+
+    @Benchmark
+    public Record jsonToRecord() {
+        return converters.toRecord(registry, json, () -> jsonb, () -> factory);
+    }
+
+    @Benchmark
+    public Record pojoToRecord() {
+        return converters.toRecord(registry, row, () -> jsonb, () -> factory);
+    }
+
+    @Benchmark
+    public Object recordToRecord() {
+        return toType(record, Record.class);
+    }
+
+    @Benchmark
+    public Object recordToJson() {
+        return toType(record, JsonObject.class);
+    }
+
+    @Benchmark
+    public Object recordToPojo() {
+        return toType(rowRecord, Datasets.Row.class);
+    }
+
+    private Object toType(final Record data, final Class<?> type) {
+        return converters
+                .toType(registry, data, type, () -> jsonBuilderFactory, () -> jsonProvider, () -> jsonb, () -> factory);
+    }
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.base;
+
+/**
+ * A delegate method bound once, see {@link LifecycleImpl#toInvoker(java.lang.reflect.Method)}.
+ */
+@FunctionalInterface
+public interface Invoker {
+
+    /**
+     * @param args the method parameters, its length must be the method parameter count.
+     * @return the method result, null for void methods.
+     */
+    Object invoke(Object... args);
+}
@@ -18,6 +18,9 @@ package org.talend.sdk.component.runtime.base;
 import static org.talend.sdk.component.runtime.base.lang.exception.InvocationExceptionWrapper.toRuntimeException;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Objects;
@@ -31,6 +34,9 @@ import org.talend.sdk.component.runtime.serialization.ContainerFinder;
 // base class to handle postconstruct/predestroy
 public class LifecycleImpl extends Named implements Lifecycle {
 
+    private static final boolean REFLECTION_INVOKER =
+            "reflection".equalsIgnoreCase(System.getProperty("talend.component.runtime.invoker", "methodhandle"));
+
     protected Object delegate;
 
     private transient ClassLoader loader;
@@ -90,6 +96,54 @@ public class LifecycleImpl extends Named implements Lifecycle {
         }
     }
 
+    /**
+     * Binds a delegate method once to invoke it on hot paths (per record).
+     * Compared to {@link #doInvoke(Method, Object...)} it avoids the reflection and only switches the thread
+     * context classloader when it is not already the component one.
+     * Setting the system property {@code talend.component.runtime.invoker} to {@code reflection} disables it.
+     *
+     * @param m the method to bind, it must be accessible.
+     * @return an invoker of this method on the delegate.
+     */
+    protected Invoker toInvoker(final Method m) {
+        if (REFLECTION_INVOKER) {
+            return args -> doInvoke(m, args);
+        }
+        final MethodHandle handle;
+        try {
+            handle = MethodHandles
+                    .lookup()
+                    .unreflect(m)
+                    .bindTo(delegate)
+                    .asSpreader(Object[].class, m.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (final IllegalAccessException e) {
+            return args -> doInvoke(m, args);
+        }
+        final ClassLoader componentLoader = findLoader();
+        return args -> {
+            final Thread thread = Thread.currentThread();
+            final ClassLoader oldLoader = thread.getContextClassLoader();
+            if (oldLoader == componentLoader) {
+                return invokeExact(handle, args);
+            }
+            thread.setContextClassLoader(componentLoader);
+            try {
+                return invokeExact(handle, args);
+            } finally {
+                thread.setContextClassLoader(oldLoader);
+            }
+        };
+    }
+
+    private static Object invokeExact(final MethodHandle handle, final Object[] args) {
+        try {
+            return (Object) handle.invokeExact(args);
+        } catch (final Throwable e) { // same wrapping as reflection to keep the same error handling
+            throw toRuntimeException(new InvocationTargetException(e));
+        }
+    }
+
     // mainly done by instance to avoid to rely on a registry maybe not initialized
     // after serialization
     protected Stream<Method> findMethods(final Class<? extends Annotation> marker) {
@@ -28,6 +28,7 @@ import javax.json.bind.Jsonb;
 import org.talend.sdk.component.api.input.Producer;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.base.Delegated;
+import org.talend.sdk.component.runtime.base.Invoker;
 import org.talend.sdk.component.runtime.base.LifecycleImpl;
 import org.talend.sdk.component.runtime.record.RecordConverters;
 import org.talend.sdk.component.runtime.serialization.ContainerFinder;
@@ -40,6 +41,8 @@ public class InputImpl extends LifecycleImpl implements Input, Delegated {
 
     private transient Method next;
 
+    private transient Invoker nextInvoker;
+
     private transient RecordConverters converters;
 
     private transient RecordConverters.MappingMetaRegistry registry;
@@ -79,11 +82,12 @@ public class InputImpl extends LifecycleImpl implements Input, Delegated {
     }
 
     protected Object readNext() {
-        return doInvoke(this.next);
+        return nextInvoker.invoke();
     }
 
     protected void init() {
         next = findMethods(Producer.class).findFirst().get();
+        nextInvoker = toInvoker(next);
         converters = new RecordConverters();
         registry = new RecordConverters.MappingMetaRegistry();
     }
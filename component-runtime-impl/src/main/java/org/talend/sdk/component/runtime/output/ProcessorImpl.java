@@ -31,6 +31,7 @@ import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -54,8 +55,12 @@ import org.talend.sdk.component.api.processor.BeforeGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
 import org.talend.sdk.component.api.processor.Input;
 import org.talend.sdk.component.api.processor.Output;
+import org.talend.sdk.component.api.processor.OutputEmitter;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.RecordBatch;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.base.Delegated;
+import org.talend.sdk.component.runtime.base.Invoker;
 import org.talend.sdk.component.runtime.base.LifecycleImpl;
 import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
 import org.talend.sdk.component.runtime.record.RecordConverters;
@@ -66,12 +71,16 @@ import lombok.AllArgsConstructor;
 
 public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated {
 
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
     private transient List<Method> beforeGroup;
 
     private transient List<Method> afterGroup;
 
     private transient Method process;
 
+    private transient Invoker processInvoker;
+
     private transient List<BiFunction<InputFactory, OutputFactory, Object>> parameterBuilderProcess;
 
     private transient Map<Method, List<Function<OutputFactory, Object>>> parameterBuilderAfterGroup;
@@ -92,6 +101,14 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
 
     private transient Collection<Object> records;
 
+    private transient boolean batchListener;
+
+    private transient int batchSize;
+
+    private transient RecordBatch.Builder batchBuilder;
+
+    private transient RecordBatch batch;
+
     private Map<String, String> internalConfiguration;
 
     private RecordConverters.MappingMetaRegistry mappings;
@@ -120,6 +137,7 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
             // IMPORTANT: ensure you call only once the create(....), see studio integration (mojo)
             parameterBuilderProcess = process == null ? emptyList()
                     : Stream.of(process.getParameters()).map(this::buildProcessParamBuilder).collect(toList());
+            processInvoker = process == null ? null : toInvoker(process);
             parameterBuilderAfterGroup = afterGroup
                     .stream()
                     .map(after -> new AbstractMap.SimpleEntry<>(after, Stream.of(after.getParameters()).map(param -> {
@@ -141,6 +159,18 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
                     }).collect(toList())))
                     .collect(toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
             forwardReturn = process != null && process.getReturnType() != void.class;
+            batchListener = process != null
+                    && Stream.of(process.getParameters()).anyMatch(it -> it.getType() == RecordBatch.class);
+            if (batchListener) {
+                if (Stream
+                        .of(process.getParameters())
+                        .filter(it -> !it.isAnnotationPresent(Output.class))
+                        .count() != 1) {
+                    throw new IllegalArgumentException(
+                            "A RecordBatch @ElementListener can only have the batch as input: " + process);
+                }
+                batchSize = findMaxBatchSize();
+            }
 
             converter = new RecordConverters();
 
@@ -155,25 +185,69 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
 
     private BiFunction<InputFactory, OutputFactory, Object> buildProcessParamBuilder(final Parameter parameter) {
         if (parameter.isAnnotationPresent(Output.class)) {
+            final boolean batchEmitter = isBatchEmitter(parameter);
             return (inputs, outputs) -> {
                 final String name = parameter.getAnnotation(Output.class).value();
-                return outputs.create(name);
+                return batchEmitter ? toBatchEmitter(outputs.create(name)) : outputs.create(name);
             };
         }
 
         final Class<?> parameterType = parameter.getType();
+        if (parameterType == RecordBatch.class) {
+            return (inputs, outputs) -> batch;
+        }
         final String inputName =
                 ofNullable(parameter.getAnnotation(Input.class)).map(Input::value).orElse(Branches.DEFAULT_BRANCH);
         return (inputs, outputs) -> doConvertInput(parameterType, inputs.read(inputName));
     }
 
     private Function<OutputFactory, Object> toOutputParamBuilder(final Parameter parameter) {
+        final boolean batchEmitter = isBatchEmitter(parameter);
         return outputs -> {
             final String name = parameter.getAnnotation(Output.class).value();
-            return outputs.create(name);
+            return batchEmitter ? toBatchEmitter(outputs.create(name)) : outputs.create(name);
         };
     }
 
+    private boolean isBatchEmitter(final Parameter parameter) {
+        final Type type = parameter.getParameterizedType();
+        return ParameterizedType.class.isInstance(type)
+                && ParameterizedType.class.cast(type).getActualTypeArguments().length == 1
+                && ParameterizedType.class.cast(type).getActualTypeArguments()[0] == RecordBatch.class;
+    }
+
+    // batches are forwarded record per record
+    private OutputEmitter toBatchEmitter(final OutputEmitter emitter) {
+        return value -> emit(emitter, value);
+    }
+
+    private void emit(final OutputEmitter emitter, final Object value) {
+        if (RecordBatch.class.isInstance(value)) {
+            for (final Record record : RecordBatch.class.cast(value)) {
+                emitter.emit(record);
+            }
+        } else {
+            emitter.emit(value);
+        }
+    }
+
+    private int findMaxBatchSize() {
+        return getInternalConfiguration()
+                .entrySet()
+                .stream()
+                .filter(it -> it.getKey().endsWith("$maxBatchSize") && it.getValue() != null
+                        && !it.getValue().trim().isEmpty())
+                .findFirst()
+                .map(it -> {
+                    try {
+                        return Integer.parseInt(it.getValue().trim());
+                    } catch (final NumberFormatException nfe) {
+                        return null;
+                    }
+                })
+                .orElse(DEFAULT_BATCH_SIZE);
+    }
+
     private Object doConvertInput(final Class<?> parameterType, final Object data) {
         if (data == null || parameterType.isInstance(data)
                 || parameterType.isPrimitive() /* mainly for tests, no > manager */) {
@@ -241,6 +315,9 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
 
     @Override
     public void afterGroup(final OutputFactory output) {
+        if (batchListener) {
+            flushBatch(output);
+        }
         afterGroup
                 .forEach(after -> doInvoke(after,
                         parameterBuilderAfterGroup
@@ -258,15 +335,49 @@ public class ProcessorImpl extends LifecycleImpl implements Processor, Delegated
         if (process == null) {
             // todo: handle @Input there too? less likely it becomes useful
             records.add(doConvertInput(expectedRecordType, inputFactory.read(Branches.DEFAULT_BRANCH)));
-        } else {
-            final Object[] args = parameterBuilderProcess
-                    .stream()
-                    .map(b -> b.apply(inputFactory, outputFactory))
-                    .toArray(Object[]::new);
-            final Object out = doInvoke(process, args);
-            if (forwardReturn) {
-                outputFactory.create(Branches.DEFAULT_BRANCH).emit(out);
+        } else if (batchListener) {
+            final Record record =
+                    Record.class.cast(doConvertInput(Record.class, inputFactory.read(Branches.DEFAULT_BRANCH)));
+            if (record == null) {
+                return;
             }
+            if (batchBuilder != null && batchBuilder.getSchema() != record.getSchema()
+                    && !batchBuilder.getSchema().equals(record.getSchema())) {
+                flushBatch(outputFactory);
+            }
+            if (batchBuilder == null) {
+                batchBuilder = recordBuilderFactory().newRecordBatchBuilder(record.getSchema(), batchSize);
+            }
+            batchBuilder.append(record);
+            if (batchSize > 0 && batchBuilder.size() >= batchSize) {
+                flushBatch(outputFactory);
+            }
+        } else {
+            invokeProcess(inputFactory, outputFactory);
+        }
+    }
+
+    private void flushBatch(final OutputFactory outputFactory) {
+        if (batchBuilder == null || batchBuilder.size() == 0) {
+            return;
+        }
+        batch = batchBuilder.build();
+        batchBuilder = null;
+        try {
+            invokeProcess(null, outputFactory);
+        } finally {
+            batch = null;
+        }
+    }
+
+    private void invokeProcess(final InputFactory inputFactory, final OutputFactory outputFactory) {
+        final Object[] args = new Object[parameterBuilderProcess.size()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = parameterBuilderProcess.get(i).apply(inputFactory, outputFactory);
+        }
+        final Object out = processInvoker.invoke(args);
+        if (forwardReturn) {
+            emit(outputFactory.create(Branches.DEFAULT_BRANCH), out);
         }
     }
 
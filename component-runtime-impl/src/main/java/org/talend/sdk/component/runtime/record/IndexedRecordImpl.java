@@ -0,0 +1,864 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static java.util.Collections.emptyMap;
+import static org.talend.sdk.component.api.record.Schema.Type.ARRAY;
+import static org.talend.sdk.component.api.record.Schema.Type.BOOLEAN;
+import static org.talend.sdk.component.api.record.Schema.Type.BYTES;
+import static org.talend.sdk.component.api.record.Schema.Type.DATETIME;
+import static org.talend.sdk.component.api.record.Schema.Type.DOUBLE;
+import static org.talend.sdk.component.api.record.Schema.Type.FLOAT;
+import static org.talend.sdk.component.api.record.Schema.Type.INT;
+import static org.talend.sdk.component.api.record.Schema.Type.LONG;
+import static org.talend.sdk.component.api.record.Schema.Type.RECORD;
+import static org.talend.sdk.component.api.record.Schema.Type.STRING;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+import javax.json.bind.annotation.JsonbTransient;
+import javax.json.bind.config.PropertyOrderStrategy;
+import javax.json.spi.JsonProvider;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+
+/**
+ * A record storing its values by entry position instead of by name.
+ * Primitives are kept unboxed in side arrays (long, double and a bitset for booleans)
+ * and the name to position resolution is done once per schema in a {@link Layout}.
+ */
+public final class IndexedRecordImpl implements Record {
+
+    private static final RecordConverters RECORD_CONVERTERS = new RecordConverters();
+
+    private final Layout layout;
+
+    private final Object[] references;
+
+    private final long[] longs;
+
+    private final double[] doubles;
+
+    private final long[] booleans;
+
+    private final long[] present;
+
+    private IndexedRecordImpl(final Layout layout, final Object[] references, final long[] longs,
+            final double[] doubles, final long[] booleans, final long[] present) {
+        this.layout = layout;
+        this.references = references;
+        this.longs = longs;
+        this.doubles = doubles;
+        this.booleans = booleans;
+        this.present = present;
+    }
+
+    @Override
+    @JsonbTransient
+    public Schema getSchema() {
+        return layout.schema;
+    }
+
+    @Override
+    public <T> T get(final Class<T> expectedType, final String name) {
+        final int position = layout.indexOf(name);
+        if (position < 0 || !isSet(present, position)) {
+            return null;
+        }
+        final Object value = valueAt(position);
+        if (expectedType.isInstance(value)) {
+            return expectedType.cast(value);
+        }
+        return RECORD_CONVERTERS.coerce(expectedType, value, name);
+    }
+
+    boolean has(final String name) {
+        final int position = layout.indexOf(name);
+        return position >= 0 && isSet(present, position);
+    }
+
+    @Override
+    public int getInt(final String name) {
+        final int position = layout.indexOf(name);
+        if (position >= 0 && layout.types[position] == INT && isSet(present, position)) {
+            return (int) longs[layout.slots[position]];
+        }
+        return Record.super.getInt(name);
+    }
+
+    @Override
+    public long getLong(final String name) {
+        final int position = layout.indexOf(name);
+        if (position >= 0 && layout.types[position] == LONG && isSet(present, position)) {
+            return longs[layout.slots[position]];
+        }
+        return Record.super.getLong(name);
+    }
+
+    @Override
+    public double getDouble(final String name) {
+        final int position = layout.indexOf(name);
+        if (position >= 0 && layout.types[position] == DOUBLE && isSet(present, position)) {
+            return doubles[layout.slots[position]];
+        }
+        return Record.super.getDouble(name);
+    }
+
+    @Override
+    public boolean getBoolean(final String name) {
+        final int position = layout.indexOf(name);
+        if (position >= 0 && layout.types[position] == BOOLEAN && isSet(present, position)) {
+            return isSet(booleans, layout.slots[position]);
+        }
+        return Record.super.getBoolean(name);
+    }
+
+    private Object valueAt(final int position) {
+        final int slot = layout.slots[position];
+        switch (layout.types[position]) {
+        case INT:
+            return (int) longs[slot];
+        case LONG:
+        case DATETIME:
+            return longs[slot];
+        case FLOAT:
+            return (float) doubles[slot];
+        case DOUBLE:
+            return doubles[slot];
+        case BOOLEAN:
+            return isSet(booleans, slot);
+        default:
+            return references[slot];
+        }
+    }
+
+    @Override // for debug purposes, don't use it for anything else
+    public String toString() {
+        try (final Jsonb jsonb = JsonbBuilder
+                .create(new JsonbConfig()
+                        .withFormatting(true)
+                        .withPropertyOrderStrategy(PropertyOrderStrategy.LEXICOGRAPHICAL)
+                        .setProperty("johnzon.cdi.activated", false))) {
+            return new RecordConverters()
+                    .toType(new RecordConverters.MappingMetaRegistry(), this, JsonObject.class,
+                            () -> Json.createBuilderFactory(emptyMap()), JsonProvider::provider, () -> jsonb,
+                            () -> new RecordBuilderFactoryImpl("tostring"))
+                    .toString();
+        } catch (final Exception e) {
+            return super.toString();
+        }
+    }
+
+    // used when a record was built by the map based builder but its schema can be indexed
+    static IndexedRecordImpl copy(final Layout layout, final Record record) {
+        final Object[] references = new Object[layout.referenceCount];
+        final long[] longs = new long[layout.longCount];
+        final double[] doubles = new double[layout.doubleCount];
+        final long[] booleans = newBits(layout.booleanCount);
+        final long[] present = newBits(layout.size());
+        for (int i = 0; i < layout.entries.length; i++) {
+            final Object value = record.get(Object.class, layout.entries[i].getName());
+            if (value == null) {
+                continue;
+            }
+            final int slot = layout.slots[i];
+            switch (layout.types[i]) {
+            case INT:
+            case LONG:
+            case DATETIME:
+                longs[slot] = Number.class.cast(value).longValue();
+                break;
+            case FLOAT:
+            case DOUBLE:
+                doubles[slot] = Number.class.cast(value).doubleValue();
+                break;
+            case BOOLEAN:
+                set(booleans, slot, Boolean.class.cast(value));
+                break;
+            default:
+                references[slot] = value;
+            }
+            set(present, i, true);
+        }
+        return new IndexedRecordImpl(layout, references, longs, doubles, booleans, present);
+    }
+
+    private static long[] newBits(final int size) {
+        return new long[(size + 63) >>> 6];
+    }
+
+    private static boolean isSet(final long[] bits, final int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(final long[] bits, final int index, final boolean value) {
+        if (value) {
+            bits[index >>> 6] |= 1L << index;
+        } else {
+            bits[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Resolved view of a record schema: position of each entry name and slot of each position
+     * in the storage arrays of {@link IndexedRecordImpl}.
+     */
+    static final class Layout {
+
+        private final Schema schema;
+
+        private final Schema.Entry[] entries;
+
+        private final Schema.Type[] types;
+
+        private final int[] slots;
+
+        private final boolean[] canonicalNames;
+
+        private final Map<String, Integer> positions;
+
+        // for inferred schemas, the name (String) or Entry used to set each position, null for provided schemas
+        private final Object[] keys;
+
+        private final int referenceCount;
+
+        private final int longCount;
+
+        private final int doubleCount;
+
+        private final int booleanCount;
+
+        private Layout(final Schema schema, final Schema.Entry[] entries, final Map<String, Integer> positions,
+                final Object[] keys) {
+            this.schema = schema;
+            this.entries = entries;
+            this.positions = positions;
+            this.keys = keys;
+            this.types = new Schema.Type[entries.length];
+            this.slots = new int[entries.length];
+            this.canonicalNames = new boolean[entries.length];
+
+            int references = 0;
+            int longs = 0;
+            int doubles = 0;
+            int booleans = 0;
+            for (int i = 0; i < entries.length; i++) {
+                final Schema.Entry entry = entries[i];
+                types[i] = entry.getType();
+                canonicalNames[i] = entry
+                        .getName()
+                        .equals(SchemaImpl.EntryImpl.BuilderImpl.sanitizeConnectionName(entry.getName()));
+                switch (types[i]) {
+                case INT:
+                case LONG:
+                case DATETIME:
+                    slots[i] = longs++;
+                    break;
+                case FLOAT:
+                case DOUBLE:
+                    slots[i] = doubles++;
+                    break;
+                case BOOLEAN:
+                    slots[i] = booleans++;
+                    break;
+                default:
+                    slots[i] = references++;
+                }
+            }
+            this.referenceCount = references;
+            this.longCount = longs;
+            this.doubleCount = doubles;
+            this.booleanCount = booleans;
+        }
+
+        private Layout(final Layout layout, final Object[] keys) {
+            this.schema = layout.schema;
+            this.entries = layout.entries;
+            this.positions = layout.positions;
+            this.types = layout.types;
+            this.slots = layout.slots;
+            this.canonicalNames = layout.canonicalNames;
+            this.referenceCount = layout.referenceCount;
+            this.longCount = layout.longCount;
+            this.doubleCount = layout.doubleCount;
+            this.booleanCount = layout.booleanCount;
+            this.keys = keys;
+        }
+
+        /**
+         * @param schema the record schema to index.
+         * @param keys the names or entries used to build the schema if inferred, null otherwise.
+         * @return the layout or null if the schema can't be indexed (not a record, duplicated names...).
+         */
+        static Layout of(final Schema schema, final Object[] keys) {
+            if (schema == null || schema.getType() != RECORD || schema.getEntries() == null) {
+                return null;
+            }
+            final List<Schema.Entry> list = schema.getEntries();
+            final Schema.Entry[] entries = list.toArray(new Schema.Entry[0]);
+            final Map<String, Integer> positions = new HashMap<>((int) (entries.length / .75f) + 1);
+            for (int i = 0; i < entries.length; i++) {
+                final Schema.Entry entry = entries[i];
+                if (entry == null || entry.getName() == null || entry.getType() == null
+                        || positions.putIfAbsent(entry.getName(), i) != null) {
+                    return null;
+                }
+            }
+            return new Layout(schema, entries, positions, keys);
+        }
+
+        Schema getSchema() {
+            return schema;
+        }
+
+        Object[] getKeys() {
+            return keys;
+        }
+
+        Layout withKeys(final Object[] keys) {
+            return new Layout(this, keys);
+        }
+
+        int size() {
+            return entries.length;
+        }
+
+        int indexOf(final String name) {
+            final Integer position = positions.get(name);
+            return position == null ? -1 : position;
+        }
+
+        // same resolution as the entry builder (name sanitization) but avoids it when the name is already valid
+        private String normalize(final String name) {
+            final Integer position = positions.get(name);
+            if (position != null && canonicalNames[position]) {
+                return name;
+            }
+            return SchemaImpl.EntryImpl.BuilderImpl.sanitizeConnectionName(name);
+        }
+    }
+
+    /**
+     * Builder filling positional storage.
+     *
+     * With a provided schema, values are validated against it exactly as {@link RecordImpl.BuilderImpl} does.
+     * Without schema the builder speculates the record has the same shape than the previous one (layout hint)
+     * and falls back on {@link RecordImpl.BuilderImpl} as soon as a call does not match it.
+     * In that case the built schema is interned in the {@link SchemaPool} and becomes the hint of the next builder.
+     */
+    public static class BuilderImpl implements Builder {
+
+        private final boolean provided;
+
+        private final SchemaPool pool;
+
+        private final Consumer<Layout> onInferredLayout;
+
+        private Layout layout;
+
+        private Object[] references;
+
+        private long[] longs;
+
+        private double[] doubles;
+
+        private long[] booleans;
+
+        private long[] present;
+
+        private int position;
+
+        private RecordImpl.BuilderImpl fallback;
+
+        private List<Object> keys;
+
+        BuilderImpl(final Layout providedLayout) {
+            this(providedLayout, true, null, null);
+        }
+
+        BuilderImpl(final Layout hint, final SchemaPool pool, final Consumer<Layout> onInferredLayout) {
+            this(hint, false, pool, onInferredLayout);
+        }
+
+        private BuilderImpl(final Layout layout, final boolean provided, final SchemaPool pool,
+                final Consumer<Layout> onInferredLayout) {
+            this.layout = layout;
+            this.provided = provided;
+            this.pool = pool;
+            this.onInferredLayout = onInferredLayout;
+            if (layout != null) {
+                references = new Object[layout.referenceCount];
+                longs = new long[layout.longCount];
+                doubles = new double[layout.doubleCount];
+                booleans = newBits(layout.booleanCount);
+                present = newBits(layout.size());
+            }
+        }
+
+        @Override
+        public Record build() {
+            if (!provided && fallback == null && (layout == null || position != layout.size())) {
+                fallback();
+            }
+            if (fallback != null) {
+                final Record record = fallback.build();
+                final Layout inferred = pool.layout(record.getSchema(), keys.toArray());
+                if (inferred == null) {
+                    return record;
+                }
+                onInferredLayout.accept(inferred);
+                return copy(inferred, record);
+            }
+            if (provided) {
+                final StringBuilder missing = new StringBuilder();
+                for (int i = 0; i < layout.entries.length; i++) {
+                    if (!layout.entries[i].isNullable() && !isSet(present, i)) {
+                        if (missing.length() > 0) {
+                            missing.append(", ");
+                        }
+                        missing.append(layout.entries[i].getName());
+                    }
+                }
+                if (missing.length() > 0) {
+                    throw new IllegalArgumentException("Missing entries: " + missing);
+                }
+            }
+            return new IndexedRecordImpl(layout, references, longs, doubles, booleans, present);
+        }
+
+        @Override
+        public Builder withString(final String name, final String value) {
+            final int index = provided ? resolve(name, STRING, value == null) : next(name, STRING, true, null);
+            if (index < 0) {
+                fallback.withString(pool.entry(name, STRING, true), value);
+            } else {
+                setReference(index, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withString(final Schema.Entry entry, final String value) {
+            assertType(entry.getType(), STRING);
+            final int index = provided ? validate(entry.getName(), STRING, value == null) : next(entry);
+            if (index < 0) {
+                fallback.withString(entry, value);
+            } else {
+                setReference(index, entry, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withBytes(final String name, final byte[] value) {
+            final int index = provided ? resolve(name, BYTES, value == null) : next(name, BYTES, true, null);
+            if (index < 0) {
+                fallback.withBytes(pool.entry(name, BYTES, true), value);
+            } else {
+                setReference(index, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withBytes(final Schema.Entry entry, final byte[] value) {
+            assertType(entry.getType(), BYTES);
+            final int index = provided ? validate(entry.getName(), BYTES, value == null) : next(entry);
+            if (index < 0) {
+                fallback.withBytes(entry, value);
+            } else {
+                setReference(index, entry, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withDateTime(final String name, final Date value) {
+            final int index = provided ? resolve(name, DATETIME, value == null) : next(name, DATETIME, true, null);
+            if (index < 0) {
+                fallback.withDateTime(pool.entry(name, DATETIME, true), value);
+            } else {
+                setLong(index, value == null ? -1 : value.getTime());
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withDateTime(final Schema.Entry entry, final Date value) {
+            if (value == null && !entry.isNullable()) {
+                throw new IllegalArgumentException("date '" + entry.getName() + "' is not allowed to be null");
+            }
+            if (provided) {
+                validate(entry.getName(), DATETIME, value == null);
+            }
+            return withTimestamp(entry, value == null ? -1 : value.getTime());
+        }
+
+        @Override
+        public Builder withDateTime(final String name, final ZonedDateTime value) {
+            final int index = provided ? resolve(name, DATETIME, value == null) : next(name, DATETIME, true, null);
+            if (index < 0) {
+                fallback.withDateTime(pool.entry(name, DATETIME, true), value);
+            } else {
+                setLong(index, value == null ? -1 : value.toInstant().toEpochMilli());
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withDateTime(final Schema.Entry entry, final ZonedDateTime value) {
+            if (value == null && !entry.isNullable()) {
+                throw new IllegalArgumentException("datetime '" + entry.getName() + "' is not allowed to be null");
+            }
+            if (provided) {
+                validate(entry.getName(), DATETIME, value == null);
+            }
+            return withTimestamp(entry, value == null ? -1 : value.toInstant().toEpochMilli());
+        }
+
+        @Override
+        public Builder withTimestamp(final String name, final long value) {
+            final int index = provided ? resolve(name, DATETIME, false) : next(name, DATETIME, false, null);
+            if (index < 0) {
+                fallback.withTimestamp(pool.entry(name, DATETIME, false), value);
+            } else {
+                setLong(index, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withTimestamp(final Schema.Entry entry, final long value) {
+            assertType(entry.getType(), DATETIME);
+            final int index = provided ? validate(entry.getName(), DATETIME, false) : next(entry);
+            if (index < 0) {
+                fallback.withTimestamp(entry, value);
+            } else {
+                setLong(index, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withInt(final String name, final int value) {
+            final int index = provided ? resolve(name, INT, false) : next(name, INT, false, null);
+            if (index < 0) {
+                fallback.withInt(pool.entry(name, INT, false), value);
+            } else {
+                setLong(index, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withInt(final Schema.Entry entry, final int value) {
+            assertType(entry.getType(), INT);
+            final int index = provided ? validate(entry.getName(), INT, false) : next(entry);
+            if (index < 0) {
+                fallback.withInt(entry, value);
+            } else {
+                setLong(index, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withLong(final String name, final long value) {
+            final int index = provided ? resolve(name, LONG, false) : next(name, LONG, false, null);
+            if (index < 0) {
+                fallback.withLong(pool.entry(name, LONG, false), value);
+            } else {
+                setLong(index, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withLong(final Schema.Entry entry, final long value) {
+            assertType(entry.getType(), LONG);
+            final int index = provided ? validate(entry.getName(), LONG, false) : next(entry);
+            if (index < 0) {
+                fallback.withLong(entry, value);
+            } else {
+                setLong(index, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withFloat(final String name, final float value) {
+            final int index = provided ? resolve(name, FLOAT, false) : next(name, FLOAT, false, null);
+            if (index < 0) {
+                fallback.withFloat(pool.entry(name, FLOAT, false), value);
+            } else {
+                setDouble(index, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withFloat(final Schema.Entry entry, final float value) {
+            assertType(entry.getType(), FLOAT);
+            final int index = provided ? validate(entry.getName(), FLOAT, false) : next(entry);
+            if (index < 0) {
+                fallback.withFloat(entry, value);
+            } else {
+                setDouble(index, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withDouble(final String name, final double value) {
+            final int index = provided ? resolve(name, DOUBLE, false) : next(name, DOUBLE, false, null);
+            if (index < 0) {
+                fallback.withDouble(pool.entry(name, DOUBLE, false), value);
+            } else {
+                setDouble(index, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withDouble(final Schema.Entry entry, final double value) {
+            assertType(entry.getType(), DOUBLE);
+            final int index = provided ? validate(entry.getName(), DOUBLE, false) : next(entry);
+            if (index < 0) {
+                fallback.withDouble(entry, value);
+            } else {
+                setDouble(index, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withBoolean(final String name, final boolean value) {
+            final int index = provided ? resolve(name, BOOLEAN, false) : next(name, BOOLEAN, false, null);
+            if (index < 0) {
+                fallback.withBoolean(pool.entry(name, BOOLEAN, false), value);
+            } else {
+                setBoolean(index, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withBoolean(final Schema.Entry entry, final boolean value) {
+            assertType(entry.getType(), BOOLEAN);
+            final int index = provided ? validate(entry.getName(), BOOLEAN, false) : next(entry);
+            if (index < 0) {
+                fallback.withBoolean(entry, value);
+            } else {
+                setBoolean(index, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withRecord(final Schema.Entry entry, final Record value) {
+            assertType(entry.getType(), RECORD);
+            if (entry.getElementSchema() == null) {
+                throw new IllegalArgumentException("No schema for the nested record");
+            }
+            final int index = provided ? validate(entry.getName(), RECORD, value == null) : next(entry);
+            if (index < 0) {
+                fallback.withRecord(entry, value);
+            } else {
+                setReference(index, entry, value);
+            }
+            return this;
+        }
+
+        @Override
+        public Builder withRecord(final String name, final Record value) {
+            final Schema elementSchema = value.getSchema();
+            if (elementSchema == null) {
+                throw new IllegalArgumentException("No schema for the nested record");
+            }
+            final int index = provided ? resolve(name, RECORD, false) : next(name, RECORD, true, elementSchema);
+            if (index < 0) {
+                fallback.withRecord(name, value);
+            } else {
+                setReference(index, value);
+            }
+            return this;
+        }
+
+        @Override
+        public <T> Builder withArray(final Schema.Entry entry, final Collection<T> values) {
+            assertType(entry.getType(), ARRAY);
+            if (entry.getElementSchema() == null) {
+                throw new IllegalArgumentException("No schema for the collection items");
+            }
+            final int index = provided ? validate(entry.getName(), ARRAY, values == null) : next(entry);
+            if (index < 0) {
+                fallback.withArray(entry, values);
+            } else {
+                setReference(index, entry, values);
+            }
+            return this;
+        }
+
+        private void assertType(final Schema.Type actual, final Schema.Type expected) {
+            if (actual != expected) {
+                throw new IllegalArgumentException("Expected entry type: " + expected + ", got: " + actual);
+            }
+        }
+
+        private int resolve(final String name, final Schema.Type type, final boolean nullValue) {
+            return validate(layout.normalize(name), type, nullValue);
+        }
+
+        private int validate(final String name, final Schema.Type type, final boolean nullValue) {
+            final int index = layout.indexOf(name);
+            if (index < 0) {
+                throw new IllegalArgumentException(
+                        "No entry '" + name + "' expected in provided schema: " + layout.positions.keySet());
+            }
+            final Schema.Entry entry = layout.entries[index];
+            if (entry.getType() != type) {
+                throw new IllegalArgumentException(
+                        "Entry '" + name + "' expected to be a " + entry.getType() + ", got a " + type);
+            }
+            if (nullValue && !entry.isNullable()) {
+                throw new IllegalArgumentException("Entry '" + name + "' is not nullable");
+            }
+            return index;
+        }
+
+        // the entry the name based method would create is the layout one if it was created from the same call
+        private int next(final String name, final Schema.Type type, final boolean nullable,
+                final Schema elementSchema) {
+            if (layout != null && position < layout.size() && layout.keys != null
+                    && name.equals(layout.keys[position])) {
+                final Schema.Entry expected = layout.entries[position];
+                if (expected.getType() == type && expected.isNullable() == nullable
+                        && (elementSchema == null || elementSchema.equals(expected.getElementSchema()))) {
+                    return position++;
+                }
+            }
+            fallback().add(name);
+            return -1;
+        }
+
+        private int next(final Schema.Entry entry) {
+            if (layout != null && position < layout.size()) {
+                final Schema.Entry expected = layout.entries[position];
+                if (entry == expected || entry.equals(expected)) {
+                    return position++;
+                }
+            }
+            fallback().add(entry);
+            return -1;
+        }
+
+        // switches to the map based builder replaying what was already set
+        private List<Object> fallback() {
+            if (fallback != null) {
+                return keys;
+            }
+            fallback = new RecordImpl.BuilderImpl();
+            keys = new ArrayList<>(layout == null ? 8 : layout.size());
+            for (int i = 0; i < position; i++) {
+                keys.add(layout.keys == null ? layout.entries[i] : layout.keys[i]);
+                replay(i);
+            }
+            layout = null;
+            return keys;
+        }
+
+        private void replay(final int index) {
+            final Schema.Entry entry = layout.entries[index];
+            final int slot = layout.slots[index];
+            switch (layout.types[index]) {
+            case STRING:
+                fallback.withString(entry, String.class.cast(references[slot]));
+                break;
+            case BYTES:
+                fallback.withBytes(entry, byte[].class.cast(references[slot]));
+                break;
+            case RECORD:
+                fallback.withRecord(entry, Record.class.cast(references[slot]));
+                break;
+            case ARRAY:
+                fallback.withArray(entry, Collection.class.cast(references[slot]));
+                break;
+            case INT:
+                fallback.withInt(entry, (int) longs[slot]);
+                break;
+            case LONG:
+                fallback.withLong(entry, longs[slot]);
+                break;
+            case DATETIME:
+                fallback.withTimestamp(entry, longs[slot]);
+                break;
+            case FLOAT:
+                fallback.withFloat(entry, (float) doubles[slot]);
+                break;
+            case DOUBLE:
+                fallback.withDouble(entry, doubles[slot]);
+                break;
+            case BOOLEAN:
+                fallback.withBoolean(entry, isSet(booleans, slot));
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported entry type: " + entry);
+            }
+        }
+
+        private void setReference(final int index, final Schema.Entry entry, final Object value) {
+            if (value == null && !entry.isNullable()) {
+                throw new IllegalArgumentException(entry.getName() + " is not nullable but got a null value");
+            }
+            setReference(index, value);
+        }
+
+        private void setReference(final int index, final Object value) {
+            if (value != null) {
+                references[layout.slots[index]] = value;
+                set(present, index, true);
+            }
+        }
+
+        private void setLong(final int index, final long value) {
+            longs[layout.slots[index]] = value;
+            set(present, index, true);
+        }
+
+        private void setDouble(final int index, final double value) {
+            doubles[layout.slots[index]] = value;
+            set(present, index, true);
+        }
+
+        private void setBoolean(final int index, final boolean value) {
+            set(booleans, layout.slots[index], value);
+            set(present, index, true);
+        }
+    }
+}
@@ -0,0 +1,327 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static java.util.Collections.emptyMap;
+
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import javax.json.bind.annotation.JsonbProperty;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
+
+import org.apache.johnzon.core.JsonProviderImpl;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+/**
+ * Builds records from the events of a {@link JsonParser} without materializing a JSON tree.
+ * It is equivalent to walking the matching {@link JsonObject}, null values are skipped and array items keep the
+ * number of the JSON value.
+ *
+ * The type of a number entry does not depend on the value of a single row:
+ * <ul>
+ * <li>when the reader is created for a class, the declared type of the field gives it (INT for int, short and byte,
+ * LONG for long, DOUBLE otherwise),</li>
+ * <li>else the first value seen for the path gives it (INT, LONG when it does not fit an int, DOUBLE when it is not
+ * integral) and it is only widened afterwards (INT to LONG to DOUBLE).</li>
+ * </ul>
+ *
+ * The RECORD and ARRAY entries and the number types are cached per path (the plan) so an instance is meant to be
+ * reused for the same kind of data, typically one per class.
+ */
+public class JsonRecordReader {
+
+    private static final JsonParserFactory PARSER_FACTORY = new JsonProviderImpl().createParserFactory(emptyMap());
+
+    // bounds the plan when the keys are data (maps) and not a structure
+    private static final int MAX_PLAN_ENTRIES = 256;
+
+    private static final BigDecimal MIN_LONG = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    private static final BigDecimal MAX_LONG = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private final Plan root;
+
+    public JsonRecordReader() {
+        this(null);
+    }
+
+    /**
+     * @param type the class the JSON is the serialization of, null if unknown.
+     */
+    public JsonRecordReader(final Class<?> type) {
+        this.root = new Plan(type);
+    }
+
+    public Record read(final RecordBuilderFactory factory, final JsonObject object) {
+        try (final JsonParser parser = PARSER_FACTORY.createParser(object)) {
+            return read(factory, parser);
+        }
+    }
+
+    public Record read(final RecordBuilderFactory factory, final String json) {
+        try (final JsonParser parser = PARSER_FACTORY.createParser(new StringReader(json))) {
+            return read(factory, parser);
+        }
+    }
+
+    /**
+     * @param factory the factory to create the records with.
+     * @param parser a parser positioned before an object.
+     * @return the record for the next object of the parser.
+     */
+    public Record read(final RecordBuilderFactory factory, final JsonParser parser) {
+        if (!parser.hasNext() || parser.next() != JsonParser.Event.START_OBJECT) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return readObject(factory, parser, root);
+    }
+
+    private Record readObject(final RecordBuilderFactory factory, final JsonParser parser, final Plan plan) {
+        final Record.Builder builder = factory.newRecordBuilder();
+        String key = null;
+        while (parser.hasNext()) {
+            final JsonParser.Event event = parser.next();
+            switch (event) {
+            case KEY_NAME:
+                key = parser.getString();
+                break;
+            case VALUE_STRING:
+                builder.withString(key, parser.getString());
+                break;
+            case VALUE_NUMBER:
+                withNumber(builder, key, parser, plan);
+                break;
+            case VALUE_TRUE:
+                builder.withBoolean(key, true);
+                break;
+            case VALUE_FALSE:
+                builder.withBoolean(key, false);
+                break;
+            case VALUE_NULL:
+                break;
+            case START_OBJECT: {
+                final Record record = readObject(factory, parser, plan.child(key));
+                builder.withRecord(plan.entry(factory, key, Schema.Type.RECORD, record.getSchema()), record);
+                break;
+            }
+            case START_ARRAY: {
+                final List<Object> items = readArray(factory, parser, plan.child(key));
+                builder
+                        .withArray(plan
+                                .entry(factory, key, Schema.Type.ARRAY,
+                                        RecordConverters.getArrayElementSchema(factory, items)),
+                                items);
+                break;
+            }
+            case END_OBJECT:
+                return builder.build();
+            default:
+                throw new IllegalStateException("Unexpected event: " + event);
+            }
+        }
+        throw new IllegalArgumentException("Unterminated JSON object");
+    }
+
+    private void withNumber(final Record.Builder builder, final String key, final JsonParser parser, final Plan plan) {
+        final BigDecimal value = parser.getBigDecimal();
+        final Schema.Type observed;
+        if (parser.isIntegralNumber() && value.compareTo(MIN_LONG) >= 0 && value.compareTo(MAX_LONG) <= 0) {
+            final long longValue = value.longValue();
+            observed = longValue == (int) longValue ? Schema.Type.INT : Schema.Type.LONG;
+        } else {
+            observed = Schema.Type.DOUBLE;
+        }
+        switch (plan.numberType(key, observed)) {
+        case INT:
+            builder.withInt(key, value.intValue());
+            break;
+        case LONG:
+            builder.withLong(key, value.longValue());
+            break;
+        default:
+            builder.withDouble(key, value.doubleValue());
+        }
+    }
+
+    // INT < LONG < DOUBLE
+    private static Schema.Type widest(final Schema.Type first, final Schema.Type second) {
+        if (first == null || first == second) {
+            return second;
+        }
+        if (first == Schema.Type.DOUBLE || second == Schema.Type.DOUBLE) {
+            return Schema.Type.DOUBLE;
+        }
+        return Schema.Type.LONG;
+    }
+
+    private static Schema.Type numberType(final Class<?> type) {
+        if (type == int.class || type == Integer.class || type == short.class || type == Short.class
+                || type == byte.class || type == Byte.class) {
+            return Schema.Type.INT;
+        }
+        if (type == long.class || type == Long.class) {
+            return Schema.Type.LONG;
+        }
+        if (type.isPrimitive() || Number.class.isAssignableFrom(type)) {
+            return Schema.Type.DOUBLE;
+        }
+        return null;
+    }
+
+    // the fields of a POJO, the JSON of other types (maps, JSON values, JDK types) has no declared structure
+    private static Map<String, Field> declaredFields(final Class<?> type) {
+        if (type == null || type.isPrimitive() || type.isArray() || type.isEnum() || type.getName().startsWith("java")
+                || JsonValue.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)
+                || Collection.class.isAssignableFrom(type)) {
+            return emptyMap();
+        }
+        final Map<String, Field> fields = new HashMap<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (final Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+                    continue;
+                }
+                final JsonbProperty property = field.getAnnotation(JsonbProperty.class);
+                final String name = property == null || property.value().isEmpty() ? field.getName() : property.value();
+                fields.putIfAbsent(name, field);
+            }
+        }
+        return fields;
+    }
+
+    // type of the objects found under a field: the field type or the item type for arrays and collections
+    private static Class<?> objectType(final Field field) {
+        if (field == null) {
+            return null;
+        }
+        final Class<?> type = field.getType();
+        if (type.isArray()) {
+            return type.getComponentType();
+        }
+        if (Collection.class.isAssignableFrom(type) && ParameterizedType.class.isInstance(field.getGenericType())) {
+            final Type item = ParameterizedType.class.cast(field.getGenericType()).getActualTypeArguments()[0];
+            return Class.class.isInstance(item) ? Class.class.cast(item) : null;
+        }
+        return type;
+    }
+
+    private List<Object> readArray(final RecordBuilderFactory factory, final JsonParser parser, final Plan plan) {
+        final List<Object> items = new ArrayList<>();
+        while (parser.hasNext()) {
+            final JsonParser.Event event = parser.next();
+            switch (event) {
+            case VALUE_STRING:
+                items.add(parser.getString());
+                break;
+            case VALUE_NUMBER:
+                items.add(JsonNumber.class.cast(parser.getValue()).numberValue());
+                break;
+            case VALUE_TRUE:
+                items.add(true);
+                break;
+            case VALUE_FALSE:
+                items.add(false);
+                break;
+            case VALUE_NULL:
+                items.add(null);
+                break;
+            case START_OBJECT:
+                items.add(readObject(factory, parser, plan));
+                break;
+            case START_ARRAY:
+                items.add(readArray(factory, parser, plan));
+                break;
+            case END_ARRAY:
+                return items;
+            default:
+                throw new IllegalStateException("Unexpected event: " + event);
+            }
+        }
+        throw new IllegalArgumentException("Unterminated JSON array");
+    }
+
+    private static class Plan {
+
+        private final Map<String, Field> fields;
+
+        private final Map<String, Plan> children = new ConcurrentHashMap<>();
+
+        private final Map<String, Schema.Entry> entries = new ConcurrentHashMap<>();
+
+        private final Map<String, Schema.Type> numberTypes = new ConcurrentHashMap<>();
+
+        private Plan(final Class<?> type) {
+            this.fields = declaredFields(type);
+        }
+
+        private Plan child(final String name) {
+            final Plan existing = children.get(name);
+            if (existing != null) {
+                return existing;
+            }
+            if (children.size() >= MAX_PLAN_ENTRIES) {
+                return new Plan(objectType(fields.get(name)));
+            }
+            return children.computeIfAbsent(name, k -> new Plan(objectType(fields.get(name))));
+        }
+
+        private Schema.Type numberType(final String name, final Schema.Type observed) {
+            final Field field = fields.get(name);
+            final Schema.Type declared = field == null ? null : JsonRecordReader.numberType(field.getType());
+            if (declared != null) { // only wider if the field is not what the JSON was serialized from
+                return widest(declared, observed);
+            }
+            final Schema.Type existing = numberTypes.get(name);
+            final Schema.Type type = widest(existing, observed);
+            if (type != existing && (existing != null || numberTypes.size() < MAX_PLAN_ENTRIES)) {
+                return numberTypes.merge(name, type, JsonRecordReader::widest);
+            }
+            return type;
+        }
+
+        private Schema.Entry entry(final RecordBuilderFactory factory, final String name, final Schema.Type type,
+                final Schema elementSchema) {
+            final Schema.Entry existing = entries.get(name);
+            if (existing != null && existing.getType() == type && (existing.getElementSchema() == elementSchema
+                    || existing.getElementSchema().equals(elementSchema))) {
+                return existing;
+            }
+            final Schema.Entry entry =
+                    factory.newEntryBuilder().withName(name).withType(type).withElementSchema(elementSchema).build();
+            if (existing != null || entries.size() < MAX_PLAN_ENTRIES) {
+                entries.put(name, entry);
+            }
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.lang.reflect.Field;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Maps the public fields of a linear POJO (studio row) to a record and back without reflection.
+ */
+public interface PojoRecordMapper {
+
+    /**
+     * @param record the record to read.
+     * @return a new instance of the POJO with the values of the record.
+     */
+    Object toInstance(Record record);
+
+    /**
+     * @param instance the POJO to read.
+     * @param builder the builder to fill with the fields of the POJO.
+     */
+    void toRecord(Object instance, Record.Builder builder);
+
+    @FunctionalInterface
+    interface Generator {
+
+        /**
+         * @param type the POJO type, it has a public no-arg constructor.
+         * @param fields the fields to map, their types are supported by {@link PojoRecordMappers}.
+         * @param entries the schema entries of the fields, in the same order.
+         * @return the mapper or null if it can't be generated for this type.
+         */
+        PojoRecordMapper generate(Class<?> type, List<Field> fields, List<Schema.Entry> entries);
+    }
+
+    @NoArgsConstructor(access = PRIVATE)
+    final class Instance {
+
+        private static volatile Generator generator;
+
+        public static Generator get() {
+            if (generator == null) {
+                synchronized (Instance.class) {
+                    if (generator == null) {
+                        final Iterator<Generator> loader =
+                                ServiceLoader.load(Generator.class, Generator.class.getClassLoader()).iterator();
+                        generator = loader.hasNext() ? loader.next() : (type, fields, entries) -> null;
+                    }
+                }
+            }
+            return generator;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * Conversions used by the generated {@link PojoRecordMapper}, they match the reflective mapping of
+ * {@link RecordConverters.MappingMeta}.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class PojoRecordMappers {
+
+    public static boolean isSupported(final Class<?> type) {
+        return type == String.class || type == int.class || type == Integer.class || type == long.class
+                || type == Long.class || type == float.class || type == Float.class || type == double.class
+                || type == Double.class || type == short.class || type == Short.class || type == byte.class
+                || type == Byte.class || type == boolean.class || type == Boolean.class || type == Character.class
+                || type == BigDecimal.class || type == byte[].class || type == Date.class;
+    }
+
+    public static String readString(final Record record, final String name) {
+        return record.getOptionalString(name).orElse(null);
+    }
+
+    public static int readInt(final Record record, final String name) {
+        return record.getOptionalInt(name).orElse(0);
+    }
+
+    public static Integer readInteger(final Record record, final String name) {
+        final OptionalInt value = record.getOptionalInt(name);
+        return value.isPresent() ? value.getAsInt() : null;
+    }
+
+    public static long readLong(final Record record, final String name) {
+        return record.getOptionalLong(name).orElse(0L);
+    }
+
+    public static Long readLongObject(final Record record, final String name) {
+        final OptionalLong value = record.getOptionalLong(name);
+        return value.isPresent() ? value.getAsLong() : null;
+    }
+
+    public static float readFloat(final Record record, final String name) {
+        return (float) record.getOptionalFloat(name).orElse(0f);
+    }
+
+    public static Float readFloatObject(final Record record, final String name) {
+        final OptionalDouble value = record.getOptionalFloat(name);
+        return value.isPresent() ? (float) value.getAsDouble() : null;
+    }
+
+    public static double readDouble(final Record record, final String name) {
+        return record.getOptionalDouble(name).orElse(0.);
+    }
+
+    public static Double readDoubleObject(final Record record, final String name) {
+        final OptionalDouble value = record.getOptionalDouble(name);
+        return value.isPresent() ? value.getAsDouble() : null;
+    }
+
+    public static short readShort(final Record record, final String name) {
+        return (short) record.getOptionalInt(name).orElse(0);
+    }
+
+    public static Short readShortObject(final Record record, final String name) {
+        final OptionalInt value = record.getOptionalInt(name);
+        return value.isPresent() ? (short) value.getAsInt() : null;
+    }
+
+    public static byte readByte(final Record record, final String name) {
+        return (byte) record.getOptionalInt(name).orElse(0);
+    }
+
+    public static Byte readByteObject(final Record record, final String name) {
+        final OptionalInt value = record.getOptionalInt(name);
+        return value.isPresent() ? (byte) value.getAsInt() : null;
+    }
+
+    public static boolean readBoolean(final Record record, final String name) {
+        return record.getOptionalBoolean(name).orElse(false);
+    }
+
+    public static Boolean readBooleanObject(final Record record, final String name) {
+        return record.getOptionalBoolean(name).orElse(null);
+    }
+
+    public static Character readCharacter(final Record record, final String name) {
+        return record.getOptionalString(name).map(s -> s.isEmpty() ? null : s.charAt(0)).orElse(null);
+    }
+
+    public static byte[] readBytes(final Record record, final String name) {
+        return record.getOptionalBytes(name).orElse(null);
+    }
+
+    public static Date readDate(final Record record, final String name) {
+        return record.getOptionalDateTime(name).map(dt -> new Date(dt.toInstant().toEpochMilli())).orElse(null);
+    }
+
+    public static BigDecimal readBigDecimal(final Record record, final String name, final BigDecimal current) {
+        for (final Schema.Entry entry : record.getSchema().getEntries()) {
+            if (!name.equals(entry.getName())) {
+                continue;
+            }
+            switch (entry.getType()) {
+            case DOUBLE:
+                final OptionalDouble value = record.getOptionalDouble(name);
+                return value.isPresent() ? BigDecimal.valueOf(value.getAsDouble()) : current;
+            case STRING:
+                return record.getOptionalString(name).map(BigDecimal::new).orElse(current);
+            default:
+                return current;
+            }
+        }
+        throw new IllegalStateException("No entry '" + name + "' in " + record.getSchema());
+    }
+
+    public static void writeString(final Record.Builder builder, final Schema.Entry entry, final Object value) {
+        if (value != null) {
+            builder.withString(entry, value.toString());
+        }
+    }
+
+    public static void writeInt(final Record.Builder builder, final Schema.Entry entry, final Number value) {
+        if (value != null) {
+            builder.withInt(entry, value.intValue());
+        }
+    }
+
+    public static void writeLong(final Record.Builder builder, final Schema.Entry entry, final Long value) {
+        if (value != null) {
+            builder.withLong(entry, value);
+        }
+    }
+
+    public static void writeFloat(final Record.Builder builder, final Schema.Entry entry, final Float value) {
+        if (value != null) {
+            builder.withFloat(entry, value);
+        }
+    }
+
+    public static void writeDouble(final Record.Builder builder, final Schema.Entry entry, final Double value) {
+        if (value != null) {
+            builder.withDouble(entry, value);
+        }
+    }
+
+    public static void writeBoolean(final Record.Builder builder, final Schema.Entry entry, final Boolean value) {
+        if (value != null) {
+            builder.withBoolean(entry, value);
+        }
+    }
+
+    public static void writeBytes(final Record.Builder builder, final Schema.Entry entry, final byte[] value) {
+        if (value != null) {
+            builder.withBytes(entry, value);
+        }
+    }
+
+    public static void writeDateTime(final Record.Builder builder, final Schema.Entry entry, final Date value) {
+        if (value != null) {
+            builder.withDateTime(entry, value);
+        }
+    }
+}
@@ -0,0 +1,494 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.RecordBatch;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import lombok.Getter;
+
+public final class RecordBatchImpl implements RecordBatch {
+
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    private final RecordBuilderFactory factory;
+
+    @Getter
+    private final Schema schema;
+
+    private final int size;
+
+    private final ColumnImpl[] columns;
+
+    private RecordBatchImpl(final RecordBuilderFactory factory, final Schema schema, final int size,
+            final ColumnImpl[] columns) {
+        this.factory = factory;
+        this.schema = schema;
+        this.size = size;
+        this.columns = columns;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Column getColumn(final int index) {
+        return columns[index];
+    }
+
+    @Override
+    public Column getColumn(final String name) {
+        for (final ColumnImpl column : columns) {
+            if (column.entry.getName().equals(name)) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Iterator<Record> iterator() {
+        return new Iterator<Record>() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public Record next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return toRecord(index++);
+            }
+        };
+    }
+
+    // the columns are the only storage, records are recreated on demand
+    private Record toRecord(final int row) {
+        final Record.Builder builder = factory.newRecordBuilder(schema);
+        for (final ColumnImpl column : columns) {
+            if (!column.isNull(row)) {
+                column.write(row, builder);
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return "RecordBatch{size=" + size + ", schema=" + schema + '}';
+    }
+
+    private enum Storage {
+        LONG,
+        DOUBLE,
+        BOOLEAN,
+        OBJECT;
+
+        private static Storage of(final Schema.Type type) {
+            switch (type) {
+            case INT:
+            case LONG:
+            case DATETIME:
+                return LONG;
+            case FLOAT:
+            case DOUBLE:
+                return DOUBLE;
+            case BOOLEAN:
+                return BOOLEAN;
+            default:
+                return OBJECT;
+            }
+        }
+    }
+
+    private static final class ColumnImpl implements Column {
+
+        private final Schema.Entry entry;
+
+        private final Storage storage;
+
+        private long[] longs;
+
+        private double[] doubles;
+
+        private boolean[] booleans;
+
+        private Object[] objects;
+
+        private long[] nulls;
+
+        private ColumnImpl(final Schema.Entry entry, final int capacity) {
+            this.entry = entry;
+            this.storage = Storage.of(entry.getType());
+            switch (storage) {
+            case LONG:
+                longs = new long[capacity];
+                break;
+            case DOUBLE:
+                doubles = new double[capacity];
+                break;
+            case BOOLEAN:
+                booleans = new boolean[capacity];
+                break;
+            default:
+                objects = new Object[capacity];
+            }
+            nulls = new long[(capacity + 63) >>> 6];
+        }
+
+        private void grow(final int capacity) {
+            switch (storage) {
+            case LONG:
+                longs = Arrays.copyOf(longs, capacity);
+                break;
+            case DOUBLE:
+                doubles = Arrays.copyOf(doubles, capacity);
+                break;
+            case BOOLEAN:
+                booleans = Arrays.copyOf(booleans, capacity);
+                break;
+            default:
+                objects = Arrays.copyOf(objects, capacity);
+            }
+            nulls = Arrays.copyOf(nulls, (capacity + 63) >>> 6);
+        }
+
+        private void read(final int row, final Record record) {
+            final String name = entry.getName();
+            if (IndexedRecordImpl.class.isInstance(record)) { // read the primitives without boxing them
+                final IndexedRecordImpl indexed = IndexedRecordImpl.class.cast(record);
+                if (!indexed.has(name)) {
+                    nulls[row >>> 6] |= 1L << row;
+                    return;
+                }
+                switch (entry.getType()) {
+                case INT:
+                    longs[row] = indexed.getInt(name);
+                    return;
+                case LONG:
+                    longs[row] = indexed.getLong(name);
+                    return;
+                case DOUBLE:
+                    doubles[row] = indexed.getDouble(name);
+                    return;
+                case BOOLEAN:
+                    booleans[row] = indexed.getBoolean(name);
+                    return;
+                default:
+                }
+            }
+            set(row, record.get(Object.class, name));
+        }
+
+        private void set(final int row, final Object value) {
+            if (value == null) {
+                nulls[row >>> 6] |= 1L << row;
+                return;
+            }
+            switch (storage) {
+            case LONG:
+                if (Number.class.isInstance(value)) {
+                    longs[row] = Number.class.cast(value).longValue();
+                } else if (ZonedDateTime.class.isInstance(value)) {
+                    longs[row] = ZonedDateTime.class.cast(value).toInstant().toEpochMilli();
+                } else if (Date.class.isInstance(value)) {
+                    longs[row] = Date.class.cast(value).getTime();
+                } else {
+                    throw new IllegalArgumentException(
+                            "Unsupported value for " + entry.getName() + ": " + value.getClass());
+                }
+                break;
+            case DOUBLE:
+                doubles[row] = Number.class.cast(value).doubleValue();
+                break;
+            case BOOLEAN:
+                booleans[row] = Boolean.class.cast(value);
+                break;
+            default:
+                objects[row] = value;
+            }
+        }
+
+        private void write(final int row, final Record.Builder builder) {
+            switch (entry.getType()) {
+            case INT:
+                builder.withInt(entry, (int) longs[row]);
+                break;
+            case LONG:
+                builder.withLong(entry, longs[row]);
+                break;
+            case DATETIME:
+                builder.withTimestamp(entry, longs[row]);
+                break;
+            case FLOAT:
+                builder.withFloat(entry, (float) doubles[row]);
+                break;
+            case DOUBLE:
+                builder.withDouble(entry, doubles[row]);
+                break;
+            case BOOLEAN:
+                builder.withBoolean(entry, booleans[row]);
+                break;
+            case STRING:
+                builder.withString(entry, String.valueOf(objects[row]));
+                break;
+            case BYTES:
+                builder.withBytes(entry, byte[].class.cast(objects[row]));
+                break;
+            case RECORD:
+                builder.withRecord(entry, Record.class.cast(objects[row]));
+                break;
+            case ARRAY:
+                builder.withArray(entry, Collection.class.cast(objects[row]));
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported entry type: " + entry);
+            }
+        }
+
+        @Override
+        public Schema.Entry getEntry() {
+            return entry;
+        }
+
+        @Override
+        public boolean isNull(final int row) {
+            return (nulls[row >>> 6] & (1L << row)) != 0;
+        }
+
+        @Override
+        public Object get(final int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            switch (entry.getType()) {
+            case INT:
+                return (int) longs[row];
+            case LONG:
+                return longs[row];
+            case DATETIME:
+                return getDateTime(row);
+            case FLOAT:
+                return (float) doubles[row];
+            case DOUBLE:
+                return doubles[row];
+            case BOOLEAN:
+                return booleans[row];
+            default:
+                return objects[row];
+            }
+        }
+
+        @Override
+        public int getInt(final int row) {
+            return (int) getLong(row);
+        }
+
+        @Override
+        public long getLong(final int row) {
+            switch (storage) {
+            case LONG:
+                return longs[row];
+            case DOUBLE:
+                return (long) doubles[row];
+            default:
+                return Number.class.cast(get(row)).longValue();
+            }
+        }
+
+        @Override
+        public float getFloat(final int row) {
+            return (float) getDouble(row);
+        }
+
+        @Override
+        public double getDouble(final int row) {
+            switch (storage) {
+            case LONG:
+                return longs[row];
+            case DOUBLE:
+                return doubles[row];
+            default:
+                return Number.class.cast(get(row)).doubleValue();
+            }
+        }
+
+        @Override
+        public boolean getBoolean(final int row) {
+            if (storage == Storage.BOOLEAN) {
+                return booleans[row];
+            }
+            return Boolean.class.cast(get(row));
+        }
+
+        @Override
+        public String getString(final int row) {
+            final Object value = get(row);
+            return value == null ? null : String.valueOf(value);
+        }
+
+        @Override
+        public byte[] getBytes(final int row) {
+            return byte[].class.cast(get(row));
+        }
+
+        @Override
+        public ZonedDateTime getDateTime(final int row) {
+            if (isNull(row)) {
+                return null;
+            }
+            if (storage == Storage.LONG) {
+                return ZonedDateTime.ofInstant(Instant.ofEpochMilli(longs[row]), UTC);
+            }
+            return ZonedDateTime.class.cast(get(row));
+        }
+
+        @Override
+        public Record getRecord(final int row) {
+            return Record.class.cast(get(row));
+        }
+
+        @Override
+        public <T> Collection<T> getArray(final Class<T> type, final int row) {
+            return (Collection<T>) get(row);
+        }
+
+        @Override
+        public long[] getLongVector() {
+            return vector(longs);
+        }
+
+        @Override
+        public double[] getDoubleVector() {
+            return vector(doubles);
+        }
+
+        @Override
+        public boolean[] getBooleanVector() {
+            return vector(booleans);
+        }
+
+        @Override
+        public Object[] getObjectVector() {
+            return vector(objects);
+        }
+
+        private <T> T vector(final T vector) {
+            if (vector == null) {
+                throw new IllegalStateException(
+                        "Column " + entry.getName() + " is of type " + entry.getType() + ", use the matching vector");
+            }
+            return vector;
+        }
+    }
+
+    public static class BuilderImpl implements RecordBatch.Builder {
+
+        private final RecordBuilderFactory factory;
+
+        private final Schema schema;
+
+        private final int capacity;
+
+        private final List<Schema.Entry> entries;
+
+        private ColumnImpl[] columns;
+
+        private int allocated;
+
+        private int size;
+
+        public BuilderImpl(final RecordBuilderFactory factory, final Schema schema, final int capacity) {
+            this.factory = factory;
+            this.schema = schema;
+            this.capacity = capacity <= 0 ? Integer.MAX_VALUE : capacity;
+            this.entries = schema.getEntries();
+        }
+
+        @Override
+        public Schema getSchema() {
+            return schema;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public RecordBatch.Builder append(final Record record) {
+            if (record.getSchema() != schema && !schema.equals(record.getSchema())) {
+                throw new IllegalArgumentException(
+                        "Record schema " + record.getSchema() + " does not match the batch schema " + schema);
+            }
+            if (columns == null) {
+                allocated = Math.min(capacity, 1024);
+                columns = newColumns(allocated);
+            } else if (size == allocated) {
+                final int newCapacity = (int) Math.min((long) capacity, Math.max(16L, allocated * 2L));
+                if (newCapacity <= size) {
+                    throw new IllegalStateException("Batch is full (" + capacity + " records)");
+                }
+                for (final ColumnImpl column : columns) {
+                    column.grow(newCapacity);
+                }
+                allocated = newCapacity;
+            }
+            for (final ColumnImpl column : columns) {
+                column.read(size, record);
+            }
+            size++;
+            return this;
+        }
+
+        @Override
+        public RecordBatch build() {
+            final RecordBatch batch =
+                    new RecordBatchImpl(factory, schema, size, columns == null ? newColumns(0) : columns);
+            columns = null;
+            allocated = 0;
+            size = 0;
+            return batch;
+        }
+
+        private ColumnImpl[] newColumns(final int initialCapacity) {
+            final ColumnImpl[] newColumns = new ColumnImpl[entries.size()];
+            for (int i = 0; i < newColumns.length; i++) {
+                newColumns[i] = new ColumnImpl(entries.get(i), initialCapacity);
+            }
+            return newColumns;
+        }
+    }
+}
@@ -21,19 +21,38 @@ import static java.util.stream.Collectors.toMap;
 import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.RecordBatch;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
 import org.talend.sdk.component.runtime.serialization.SerializableService;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
 
 @Data
 public class RecordBuilderFactoryImpl implements RecordBuilderFactory, Serializable {
 
     protected final String plugin;
 
+    // layout of the last schema-less record, most streams build records with the same shape
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    private final transient AtomicReference<IndexedRecordImpl.Layout> inferredLayout = new AtomicReference<>();
+
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    private final transient AtomicReference<ProvidedLayout> providedLayout = new AtomicReference<>();
+
+    // canonical schemas, identical shapes built record after record share the same instance
+    @ToString.Exclude
+    private final transient SchemaPool schemaPool = new SchemaPool();
+
     @Override
     public Schema.Builder newSchemaBuilder(final Schema.Type type) {
         switch (type) {
@@ -126,12 +145,13 @@ public class RecordBuilderFactoryImpl implements RecordBuilderFactory, Serializa
 
     @Override
     public Record.Builder newRecordBuilder(final Schema schema) {
-        return new RecordImpl.BuilderImpl(schema);
+        final IndexedRecordImpl.Layout layout = findLayout(schema);
+        return layout == null ? new RecordImpl.BuilderImpl(schema) : new IndexedRecordImpl.BuilderImpl(layout);
     }
 
     @Override
     public Record.Builder newRecordBuilder() {
-        return new RecordImpl.BuilderImpl();
+        return new IndexedRecordImpl.BuilderImpl(inferredLayout.get(), schemaPool, inferredLayout::set);
     }
 
     @Override
@@ -139,7 +159,36 @@ public class RecordBuilderFactoryImpl implements RecordBuilderFactory, Serializa
         return new SchemaImpl.EntryImpl.BuilderImpl();
     }
 
+    @Override
+    public RecordBatch.Builder newRecordBatchBuilder(final Schema schema, final int capacity) {
+        return new RecordBatchImpl.BuilderImpl(this, schema, capacity);
+    }
+
+    private IndexedRecordImpl.Layout findLayout(final Schema schema) {
+        final ProvidedLayout provided = providedLayout.get();
+        if (provided != null && provided.schema == schema) {
+            return provided.layout;
+        }
+        final IndexedRecordImpl.Layout inferred = inferredLayout.get();
+        if (inferred != null && inferred.getSchema() == schema) {
+            return inferred;
+        }
+        final IndexedRecordImpl.Layout layout = schemaPool.layout(schema, null);
+        if (layout != null) {
+            providedLayout.set(new ProvidedLayout(schema, layout));
+        }
+        return layout;
+    }
+
     Object writeReplace() throws ObjectStreamException {
         return new SerializableService(plugin, RecordBuilderFactory.class.getName());
     }
+
+    @RequiredArgsConstructor
+    private static class ProvidedLayout {
+
+        private final Schema schema;
+
+        private final IndexedRecordImpl.Layout layout;
+    }
 }
@@ -16,7 +16,6 @@
 package org.talend.sdk.component.runtime.record;
 
 import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.talend.sdk.component.api.record.Schema.Type.ARRAY;
 import static org.talend.sdk.component.api.record.Schema.Type.BOOLEAN;
@@ -109,11 +108,10 @@ public class RecordConverters implements Serializable {
         if (Record.class.isInstance(data)) {
             return Record.class.cast(data);
         }
+        final MappingMeta meta = registry.find(data.getClass(), recordBuilderProvider);
         if (JsonObject.class.isInstance(data)) {
-            return json2Record(recordBuilderProvider.get(), JsonObject.class.cast(data));
+            return meta.getJsonReader().read(recordBuilderProvider.get(), JsonObject.class.cast(data));
         }
-
-        final MappingMeta meta = registry.find(data.getClass(), recordBuilderProvider);
         if (meta.isLinearMapping()) {
             return meta.newRecord(data, recordBuilderProvider.get());
         }
@@ -128,57 +126,12 @@ public class RecordConverters implements Serializable {
             }
             return holder.getRecord();
         }
-        return json2Record(recordBuilderProvider.get(), jsonb.fromJson(jsonb.toJson(data), JsonObject.class));
-    }
-
-    private Record json2Record(final RecordBuilderFactory factory, final JsonObject object) {
-        final Record.Builder builder = factory.newRecordBuilder();
-        object.forEach((key, value) -> {
-            switch (value.getValueType()) {
-            case ARRAY: {
-                final List<Object> items =
-                        value.asJsonArray().stream().map(it -> mapJson(factory, it)).collect(toList());
-                builder
-                        .withArray(factory
-                                .newEntryBuilder()
-                                .withName(key)
-                                .withType(Schema.Type.ARRAY)
-                                .withElementSchema(getArrayElementSchema(factory, items))
-                                .build(), items);
-                break;
-            }
-            case OBJECT: {
-                final Record record = json2Record(factory, value.asJsonObject());
-                builder
-                        .withRecord(factory
-                                .newEntryBuilder()
-                                .withName(key)
-                                .withType(Schema.Type.RECORD)
-                                .withElementSchema(record.getSchema())
-                                .build(), record);
-                break;
-            }
-            case TRUE:
-            case FALSE:
-                builder.withBoolean(key, JsonValue.TRUE.equals(value));
-                break;
-            case STRING:
-                builder.withString(key, JsonString.class.cast(value).getString());
-                break;
-            case NUMBER:
-                final JsonNumber number = JsonNumber.class.cast(value);
-                builder.withDouble(key, number.doubleValue());
-                break;
-            case NULL:
-                break;
-            default:
-                throw new IllegalArgumentException("Unsupported value type: " + value);
-            }
-        });
-        return builder.build();
+        // JSON-B has no event level API: a Jsonb which is not a PojoJsonbProvider (the container one always is)
+        // can only be read back from its text output, it is streamed to avoid the intermediate JsonObject tree
+        return meta.getJsonReader().read(recordBuilderProvider.get(), jsonb.toJson(data));
     }
 
-    private Schema getArrayElementSchema(final RecordBuilderFactory factory, final List<Object> items) {
+    static Schema getArrayElementSchema(final RecordBuilderFactory factory, final List<Object> items) {
         if (items.isEmpty()) {
             return factory.newSchemaBuilder(Schema.Type.STRING).build();
         }
@@ -212,31 +165,6 @@ public class RecordConverters implements Serializable {
         }
     }
 
-    private Object mapJson(final RecordBuilderFactory factory, final JsonValue it) {
-        if (JsonObject.class.isInstance(it)) {
-            return json2Record(factory, JsonObject.class.cast(it));
-        }
-        if (JsonArray.class.isInstance(it)) {
-            return JsonArray.class.cast(it).stream().map(i -> mapJson(factory, i)).collect(toList());
-        }
-        if (JsonString.class.isInstance(it)) {
-            return JsonString.class.cast(it).getString();
-        }
-        if (JsonNumber.class.isInstance(it)) {
-            return JsonNumber.class.cast(it).numberValue();
-        }
-        if (JsonValue.FALSE.equals(it)) {
-            return false;
-        }
-        if (JsonValue.TRUE.equals(it)) {
-            return true;
-        }
-        if (JsonValue.NULL.equals(it)) {
-            return null;
-        }
-        return it;
-    }
-
     static Schema toSchema(final RecordBuilderFactory factory, final Object next) {
         if (String.class.isInstance(next) || JsonString.class.isInstance(next)) {
             return factory.newSchemaBuilder(Schema.Type.STRING).build();
@@ -518,14 +446,20 @@ public class RecordConverters implements Serializable {
 
         private final Collection<BiConsumer<Record.Builder, Object>> recordProvisionners;
 
+        private final PojoRecordMapper mapper;
+
+        private final JsonRecordReader jsonReader;
+
         private MappingMeta(final Class<?> type, final MappingMetaRegistry registry,
                 final Supplier<RecordBuilderFactory> factory) {
+            jsonReader = new JsonRecordReader(type);
             linearMapping = Stream.of(type.getInterfaces()).anyMatch(it -> it.getName().startsWith("routines.system."));
             if (!linearMapping) {
                 instanceProvisionners = null;
                 recordProvisionners = null;
                 recordSchema = null;
                 constructor = null;
+                mapper = null;
             } else {
                 final RecordBuilderFactory builderFactory = factory.get();
                 final Schema.Builder schemaBuilder = builderFactory.newSchemaBuilder(RECORD);
@@ -761,12 +695,45 @@ public class RecordConverters implements Serializable {
 
                 recordSchema = schemaBuilder.build();
 
-                try {
-                    constructor = type.getConstructor();
-                } catch (final NoSuchMethodException e) {
-                    throw new IllegalStateException("No constructor for " + type.getName(), e);
+                constructor = findConstructor(type);
+                mapper = generateMapper(type, registry, factory);
+            }
+        }
+
+        private Constructor<?> findConstructor(final Class<?> type) {
+            try {
+                return type.getConstructor();
+            } catch (final NoSuchMethodException e) {
+                throw new IllegalStateException("No constructor for " + type.getName(), e);
+            }
+        }
+
+        // when all the fields are simple ones, avoid the reflection and boxing of the provisionners
+        private PojoRecordMapper generateMapper(final Class<?> type, final MappingMetaRegistry registry,
+                final Supplier<RecordBuilderFactory> factory) {
+            final List<Field> mappedFields = findMappedFields(type, registry, factory);
+            if (mappedFields == null || mappedFields.size() != recordSchema.getEntries().size()) {
+                return null;
+            }
+            return PojoRecordMapper.Instance.get().generate(type, mappedFields, recordSchema.getEntries());
+        }
+
+        private List<Field> findMappedFields(final Class<?> type, final MappingMetaRegistry registry,
+                final Supplier<RecordBuilderFactory> factory) {
+            final List<Field> mapped = new ArrayList<>();
+            for (final Field field : type.getFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
                 }
+                final Class<?> fieldType = field.getType();
+                if (PojoRecordMappers.isSupported(fieldType)) {
+                    mapped.add(field);
+                } else if (fieldType.isArray() || Collection.class.isAssignableFrom(fieldType)
+                        || Date.class.isAssignableFrom(fieldType) || registry.find(fieldType, factory).linearMapping) {
+                    return null;
+                } // else ignored by the mapping
             }
+            return mapped;
         }
 
         private Schema.Entry getEntryForArrayType(final RecordBuilderFactory builderFactory,
@@ -909,6 +876,9 @@ public class RecordConverters implements Serializable {
         }
 
         Object newInstance(final Record record) {
+            if (mapper != null) {
+                return mapper.toInstance(record);
+            }
             try {
                 final Object instance = constructor.newInstance();
                 instanceProvisionners.forEach(consumer -> consumer.accept(instance, record));
@@ -922,7 +892,11 @@ public class RecordConverters implements Serializable {
 
         <T> Record newRecord(final T data, final RecordBuilderFactory factory) {
             final Record.Builder builder = factory.newRecordBuilder(recordSchema);
-            recordProvisionners.forEach(consumer -> consumer.accept(builder, data));
+            if (mapper != null) {
+                mapper.toRecord(data, builder);
+            } else {
+                recordProvisionners.forEach(consumer -> consumer.accept(builder, data));
+            }
             return builder.build();
         }
 
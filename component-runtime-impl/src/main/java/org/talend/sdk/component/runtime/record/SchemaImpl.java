@@ -154,7 +154,7 @@ public class SchemaImpl implements Schema {
 
             private String comment;
 
-            private static String sanitizeConnectionName(final String name) {
+            static String sanitizeConnectionName(final String name) {
                 if (name.isEmpty()) {
                     return name;
                 }
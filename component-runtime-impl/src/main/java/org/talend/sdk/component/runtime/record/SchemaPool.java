@@ -0,0 +1,308 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static org.talend.sdk.component.api.record.Schema.Type.RECORD;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.talend.sdk.component.api.record.Schema;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Interns record schemas by structure: two structurally identical schemas resolve to the same canonical instance
+ * (and its {@link IndexedRecordImpl.Layout}) so comparing them is an identity check.
+ * It also caches the entries created by the name based record builder methods.
+ *
+ * Both caches are bounded: the schemas are evicted in least recently used order and the entries are no more cached
+ * once the entry cache is full. The schema statistics can be published in JMX with {@link #registerMBean}.
+ */
+@Slf4j
+public final class SchemaPool implements SchemaPoolMBean {
+
+    private final int maxSchemas;
+
+    private final int maxEntries;
+
+    // access ordered, guarded by itself
+    private final Map<Key, IndexedRecordImpl.Layout> layouts;
+
+    // indexed by type ordinal and nullability since the name based methods only vary on these
+    private final ConcurrentMap<String, Schema.Entry>[] entries;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    // the server the MBean was registered on, guarded by this
+    private MBeanServer jmxServer;
+
+    private ObjectName jmxName;
+
+    public SchemaPool() {
+        this(Integer.getInteger("talend.component.record.schema.pool.size", 1024),
+                Integer.getInteger("talend.component.record.entry.cache.size", 1024));
+    }
+
+    public SchemaPool(final int maxSchemas, final int maxEntries) {
+        this.maxSchemas = maxSchemas;
+        this.maxEntries = maxEntries;
+        this.entries = newEntryCaches();
+        this.layouts = new LinkedHashMap<Key, IndexedRecordImpl.Layout>(16, .75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, IndexedRecordImpl.Layout> eldest) {
+                if (size() > maxSchemas) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public int getSize() {
+        synchronized (layouts) {
+            return layouts.size();
+        }
+    }
+
+    public synchronized void registerMBean(final MBeanServer server, final String plugin) {
+        try {
+            final ObjectName name =
+                    new ObjectName("org.talend.sdk.component:type=schema-pool,plugin=" + ObjectName.quote(plugin));
+            server.registerMBean(new StandardMBean(this, SchemaPoolMBean.class), name);
+            jmxServer = server;
+            jmxName = name;
+        } catch (final JMException e) {
+            log.warn(e.getMessage(), e);
+        }
+    }
+
+    public synchronized void unregisterMBean() {
+        final ObjectName name = jmxName;
+        if (name == null) {
+            return;
+        }
+        final MBeanServer server = jmxServer;
+        jmxName = null;
+        jmxServer = null;
+        try {
+            server.unregisterMBean(name);
+        } catch (final JMException e) {
+            log.warn(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @param schema the schema to intern.
+     * @return the canonical schema structurally equal to the parameter (can be the parameter itself).
+     */
+    public Schema intern(final Schema schema) {
+        final IndexedRecordImpl.Layout layout = layout(schema, null);
+        return layout == null ? schema : layout.getSchema();
+    }
+
+    /**
+     * @param schema the schema to find the layout for.
+     * @param keys the names/entries used to build the schema when inferred by a builder, null otherwise.
+     * @return the layout of the canonical schema or null if the schema can't be indexed.
+     */
+    IndexedRecordImpl.Layout layout(final Schema schema, final Object[] keys) {
+        if (schema == null || schema.getType() != RECORD || schema.getEntries() == null) {
+            return null;
+        }
+        if (maxSchemas <= 0) {
+            return IndexedRecordImpl.Layout.of(schema, keys);
+        }
+        final Key key = new Key(schema);
+        final IndexedRecordImpl.Layout existing;
+        synchronized (layouts) {
+            existing = layouts.get(key);
+        }
+        if (existing != null) {
+            hits.increment();
+            return withKeys(key, existing, keys);
+        }
+        misses.increment();
+        final IndexedRecordImpl.Layout layout = IndexedRecordImpl.Layout.of(schema, keys);
+        if (layout == null) {
+            return null;
+        }
+        final IndexedRecordImpl.Layout previous;
+        synchronized (layouts) {
+            previous = layouts.putIfAbsent(key, layout);
+        }
+        return previous == null ? layout : withKeys(key, previous, keys);
+    }
+
+    Schema.Entry entry(final String name, final Schema.Type type, final boolean nullable) {
+        final ConcurrentMap<String, Schema.Entry> cache = entries[type.ordinal() * 2 + (nullable ? 1 : 0)];
+        final Schema.Entry cached = cache.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        final Schema.Entry entry =
+                new SchemaImpl.EntryImpl.BuilderImpl().withName(name).withType(type).withNullable(nullable).build();
+        if (cache.size() < maxEntries) {
+            final Schema.Entry previous = cache.putIfAbsent(name, entry);
+            return previous == null ? entry : previous;
+        }
+        return entry;
+    }
+
+    private IndexedRecordImpl.Layout withKeys(final Key key, final IndexedRecordImpl.Layout layout,
+            final Object[] keys) {
+        if (keys == null || Arrays.equals(keys, layout.getKeys())) {
+            return layout;
+        }
+        final IndexedRecordImpl.Layout keyed = layout.withKeys(keys);
+        if (layout.getKeys() == null) { // provided schema seen first, keep the builder friendly flavor
+            synchronized (layouts) {
+                layouts.replace(key, layout, keyed);
+            }
+        }
+        return keyed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<String, Schema.Entry>[] newEntryCaches() {
+        final ConcurrentMap<String, Schema.Entry>[] caches = new ConcurrentMap[Schema.Type.values().length * 2];
+        for (int i = 0; i < caches.length; i++) {
+            caches[i] = new ConcurrentHashMap<>();
+        }
+        return caches;
+    }
+
+    static long fingerprint(final Schema schema) {
+        if (schema == null) {
+            return 0;
+        }
+        long hash = 1125899906842597L + (schema.getType() == null ? -1 : schema.getType().ordinal());
+        hash = 31 * hash + fingerprint(schema.getElementSchema());
+        final List<Schema.Entry> schemaEntries = schema.getEntries();
+        if (schemaEntries != null) {
+            for (final Schema.Entry entry : schemaEntries) {
+                hash = 31 * hash + Objects.hashCode(entry.getName());
+                hash = 31 * hash + Objects.hashCode(entry.getRawName());
+                hash = 31 * hash + (entry.getType() == null ? -1 : entry.getType().ordinal());
+                hash = 31 * hash + (entry.isNullable() ? 1 : 0);
+                hash = 31 * hash + Objects.hashCode(entry.getDefaultValue());
+                hash = 31 * hash + Objects.hashCode(entry.getComment());
+                hash = 31 * hash + fingerprint(entry.getElementSchema());
+            }
+        }
+        return hash;
+    }
+
+    static boolean sameStructure(final Schema first, final Schema second) {
+        if (first == second) {
+            return true;
+        }
+        if (first == null || second == null || first.getClass() != second.getClass()
+                || first.getType() != second.getType()
+                || !sameStructure(first.getElementSchema(), second.getElementSchema())) {
+            return false;
+        }
+        final List<Schema.Entry> firstEntries = first.getEntries();
+        final List<Schema.Entry> secondEntries = second.getEntries();
+        if (firstEntries == secondEntries) {
+            return true;
+        }
+        if (firstEntries == null || secondEntries == null || firstEntries.size() != secondEntries.size()) {
+            return false;
+        }
+        for (int i = 0; i < firstEntries.size(); i++) {
+            final Schema.Entry firstEntry = firstEntries.get(i);
+            final Schema.Entry secondEntry = secondEntries.get(i);
+            if (firstEntry == secondEntry) {
+                continue;
+            }
+            if (firstEntry == null || secondEntry == null || firstEntry.getClass() != secondEntry.getClass()
+                    || firstEntry.getType() != secondEntry.getType()
+                    || firstEntry.isNullable() != secondEntry.isNullable()
+                    || !Objects.equals(firstEntry.getName(), secondEntry.getName())
+                    || !Objects.equals(firstEntry.getRawName(), secondEntry.getRawName())
+                    || !Objects.equals(firstEntry.getDefaultValue(), secondEntry.getDefaultValue())
+                    || !Objects.equals(firstEntry.getComment(), secondEntry.getComment())
+                    || !sameStructure(firstEntry.getElementSchema(), secondEntry.getElementSchema())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Key {
+
+        private final Schema schema;
+
+        private final int hash;
+
+        private Key(final Schema schema) {
+            this.schema = schema;
+            final long fingerprint = fingerprint(schema);
+            this.hash = (int) (fingerprint ^ (fingerprint >>> 32));
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!Key.class.isInstance(obj)) {
+                return false;
+            }
+            final Key other = Key.class.cast(obj);
+            return hash == other.hash && sameStructure(schema, other.schema);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -16,6 +16,9 @@
 package org.talend.sdk.component.runtime.base;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.Serializable;
 
@@ -73,9 +76,44 @@ class LifecycleImplTest {
         assertEquals(2, delegate.counter);
     }
 
+    @Test
+    void invoker() throws NoSuchMethodException {
+        final Invokable delegate = new Invokable();
+        final LifecycleImpl impl = new LifecycleImpl(delegate, "Root", "Test", "Plugin");
+        assertEquals("a1", impl.toInvoker(Invokable.class.getMethod("concat", String.class, int.class)).invoke("a", 1));
+        assertNull(impl.toInvoker(Invokable.class.getMethod("increment")).invoke());
+        assertEquals(1, delegate.counter);
+        assertSame(Thread.currentThread().getContextClassLoader(),
+                impl.toInvoker(Invokable.class.getMethod("loader")).invoke());
+        final IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> impl.toInvoker(Invokable.class.getMethod("fail")).invoke());
+        assertEquals("failed", error.getMessage());
+    }
+
     public static class NoLifecycle implements Serializable {
     }
 
+    public static class Invokable implements Serializable {
+
+        private int counter;
+
+        public String concat(final String value, final int suffix) {
+            return value + suffix;
+        }
+
+        public void increment() {
+            counter++;
+        }
+
+        public ClassLoader loader() {
+            return Thread.currentThread().getContextClassLoader();
+        }
+
+        public void fail() {
+            throw new IllegalStateException("failed");
+        }
+    }
+
     public static class StartOnly implements Serializable {
 
         private int counter;
@@ -19,6 +19,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
@@ -37,7 +38,10 @@ import org.junit.jupiter.api.Test;
 import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.BeforeGroup;
 import org.talend.sdk.component.api.processor.ElementListener;
+import org.talend.sdk.component.api.processor.Output;
+import org.talend.sdk.component.api.processor.OutputEmitter;
 import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.RecordBatch;
 import org.talend.sdk.component.runtime.record.RecordImpl;
 import org.talend.sdk.component.runtime.serialization.Serializer;
 
@@ -70,6 +74,26 @@ class ProcessorImplTest {
         processor.stop();
     }
 
+    @Test
+    void batchListener() {
+        final Collection<Object> outputs = new ArrayList<>();
+        final BatchProcessor delegate = new BatchProcessor();
+        final Processor processor =
+                new ProcessorImpl("Root", "Test", "Plugin", singletonMap("Test$maxBatchSize", "2"), delegate);
+        processor.start();
+        processor.beforeGroup();
+        IntStream
+                .rangeClosed(1, 5)
+                .mapToObj(idx -> new RecordImpl.BuilderImpl().withInt("value", idx).build())
+                .forEach(it -> processor.onNext(n -> it, name -> outputs::add));
+        assertEquals(asList(3L, 7L), delegate.sums);
+        processor.afterGroup(name -> outputs::add);
+        assertEquals(asList(3L, 7L, 5L), delegate.sums);
+        assertEquals(asList(1, 2, 3, 4, 5),
+                outputs.stream().map(it -> Record.class.cast(it).getInt("value")).collect(toList()));
+        processor.stop();
+    }
+
     @Test
     void lifecycle() {
         assertLifecycle(new SampleProcessor());
@@ -172,6 +196,22 @@ class ProcessorImplTest {
         }
     }
 
+    public static class BatchProcessor implements Serializable {
+
+        private final Collection<Long> sums = new ArrayList<>();
+
+        @ElementListener
+        public void onBatch(final RecordBatch batch, @Output final OutputEmitter<RecordBatch> output) {
+            final long[] values = batch.getColumn("value").getLongVector();
+            long sum = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                sum += values[i];
+            }
+            sums.add(sum);
+            output.emit(batch);
+        }
+    }
+
     public static class SampleOutput extends Base {
 
         @ElementListener
@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.talend.sdk.component.api.record.Schema.Type.ARRAY;
+import static org.talend.sdk.component.api.record.Schema.Type.BOOLEAN;
+import static org.talend.sdk.component.api.record.Schema.Type.INT;
+import static org.talend.sdk.component.api.record.Schema.Type.RECORD;
+import static org.talend.sdk.component.api.record.Schema.Type.STRING;
+
+import java.time.ZonedDateTime;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+class IndexedRecordImplTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl(null);
+
+    @Test
+    void inferredSchemaIsReused() {
+        final Record first = newRow(1);
+        final Record second = newRow(2);
+        assertTrue(IndexedRecordImpl.class.isInstance(second));
+        assertSame(first.getSchema(), second.getSchema());
+        assertEquals(first.getSchema(), second.getSchema());
+
+        assertEquals("name_2", second.getString("name"));
+        assertEquals(2, second.getInt("age"));
+        assertEquals(2L, second.getLong("id"));
+        assertEquals(1., second.getDouble("score"));
+        assertTrue(second.getBoolean("active"));
+        assertEquals(2L, second.get(Object.class, "id"));
+        assertEquals(2., second.get(Double.class, "age"));
+        assertNull(second.getString("missing"));
+        assertNull(second.getString("comment"));
+        assertNull(second.getDateTime("updated"));
+        assertEquals(ZonedDateTime.parse("1970-01-01T00:00:00.002Z[UTC]"), second.getDateTime("created"));
+    }
+
+    @Test
+    void shapeChange() {
+        final Record first = newRow(1);
+        final Record other = factory.newRecordBuilder().withString("name", "n").withInt("other", 1).build();
+        assertEquals(2, other.getSchema().getEntries().size());
+        assertEquals("n", other.getString("name"));
+        assertEquals(1, other.getInt("other"));
+
+        final Record back = newRow(3);
+        assertEquals(first.getSchema(), back.getSchema());
+        assertEquals(3, back.getInt("age"));
+        assertEquals("name_3", back.getString("name"));
+    }
+
+    @Test
+    void prefixShape() {
+        newRow(1);
+        final Record prefix = factory.newRecordBuilder().withString("name", "n").withInt("age", 5).build();
+        assertEquals(2, prefix.getSchema().getEntries().size());
+        assertEquals("n", prefix.getString("name"));
+        assertEquals(5, prefix.getInt("age"));
+    }
+
+    @Test
+    void sanitizedNames() {
+        final Record first = factory.newRecordBuilder().withString("a-b", "1").build();
+        final Record second = factory.newRecordBuilder().withString("a-b", "2").build();
+        assertSame(first.getSchema(), second.getSchema());
+        assertEquals("a_b", second.getSchema().getEntries().get(0).getName());
+        assertEquals("a-b", second.getSchema().getEntries().get(0).getRawName());
+        assertEquals("2", second.getString("a_b"));
+    }
+
+    @Test
+    void providedSchema() {
+        final Schema schema = factory
+                .newSchemaBuilder(RECORD)
+                .withEntry(factory.newEntryBuilder().withName("name").withType(STRING).withNullable(true).build())
+                .withEntry(factory.newEntryBuilder().withName("age").withType(INT).build())
+                .withEntry(factory.newEntryBuilder().withName("flag").withType(BOOLEAN).withNullable(true).build())
+                .withEntry(factory
+                        .newEntryBuilder()
+                        .withName("tags")
+                        .withType(ARRAY)
+                        .withNullable(true)
+                        .withElementSchema(factory.newSchemaBuilder(STRING).build())
+                        .build())
+                .build();
+
+        final Record record = factory
+                .newRecordBuilder(schema)
+                .withString("name", "ok")
+                .withInt("age", 33)
+                .withArray(schema.getEntries().get(3), asList("a", "b"))
+                .build();
+        assertTrue(IndexedRecordImpl.class.isInstance(record));
+        assertSame(schema, record.getSchema());
+        assertEquals("ok", record.getString("name"));
+        assertEquals(33, record.getInt("age"));
+        assertFalse(record.getOptionalBoolean("flag").isPresent());
+        assertEquals(asList("a", "b"), record.getArray(String.class, "tags"));
+
+        assertThrows(IllegalArgumentException.class, () -> factory.newRecordBuilder(schema).withString("other", "x"));
+        assertThrows(IllegalArgumentException.class, () -> factory.newRecordBuilder(schema).withString("age", "x"));
+        assertThrows(IllegalArgumentException.class,
+                () -> factory.newRecordBuilder(schema).withString("name", "ok").build());
+    }
+
+    @Test
+    void nested() {
+        final Record nested = factory.newRecordBuilder().withString("street", "here").build();
+        final Record record = factory.newRecordBuilder().withRecord("address", nested).build();
+        assertEquals("here", record.getRecord("address").getString("street"));
+        assertEquals("{\"address\":{\"street\":\"here\"}}",
+                factory.newRecordBuilder().withRecord("address", nested).build().toString().replaceAll("\\s", ""));
+    }
+
+    private Record newRow(final int index) {
+        return factory
+                .newRecordBuilder()
+                .withString("name", "name_" + index)
+                .withInt("age", index)
+                .withLong("id", index)
+                .withDouble("score", 1.)
+                .withBoolean("active", true)
+                .withString("comment", null)
+                .withDateTime("created", new Date(index))
+                .withDateTime("updated", (Date) null)
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import javax.json.Json;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonObject;
+import javax.json.bind.annotation.JsonbProperty;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+class JsonRecordReaderTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl(null);
+
+    @Test
+    void readString() {
+        final Record record = new JsonRecordReader()
+                .read(factory, "{\"name\":\"a\",\"age\":1,\"ok\":true,\"missing\":null,"
+                        + "\"address\":{\"street\":\"here\"},\"tags\":[\"x\",\"y\"],\"matrix\":[[1,2.5]]}");
+        assertEquals("a", record.getString("name"));
+        assertEquals(Schema.Type.INT, record.getSchema().getEntries().get(1).getType());
+        assertEquals(1, record.getInt("age"));
+        assertEquals(true, record.getBoolean("ok"));
+        assertFalse(record.getOptionalString("missing").isPresent());
+        assertEquals("here", record.getRecord("address").getString("street"));
+        assertEquals(asList("x", "y"), record.getArray(String.class, "tags"));
+        assertEquals(asList(asList(1L, new BigDecimal("2.5"))), record.getArray(Collection.class, "matrix"));
+    }
+
+    @Test
+    void reusesNestedEntries() {
+        final JsonBuilderFactory json = Json.createBuilderFactory(null);
+        final JsonRecordReader reader = new JsonRecordReader();
+        final Record first = reader.read(factory, nested(json, "a"));
+        final Record second = reader.read(factory, nested(json, "b"));
+        assertEquals("b", second.getRecord("nested").getString("value"));
+        assertSame(first.getSchema().getEntries().get(0), second.getSchema().getEntries().get(0));
+
+        final Record other = reader
+                .read(factory,
+                        json.createObjectBuilder().add("nested", json.createObjectBuilder().add("value", 1)).build());
+        assertNotSame(first.getSchema().getEntries().get(0), other.getSchema().getEntries().get(0));
+        assertEquals(Schema.Type.INT,
+                other.getSchema().getEntries().get(0).getElementSchema().getEntries().get(0).getType());
+    }
+
+    @Test
+    void numbers() {
+        final Record record = new JsonRecordReader()
+                .read(factory, "{\"int\":-12,\"long\":9007199254740993,\"minLong\":-9223372036854775808,"
+                        + "\"huge\":92233720368547758070,\"decimal\":2.5,\"exponent\":1e3}");
+        assertEquals(Schema.Type.INT, record.getSchema().getEntries().get(0).getType());
+        assertEquals(-12, record.getInt("int"));
+        assertEquals(Schema.Type.LONG, record.getSchema().getEntries().get(1).getType());
+        assertEquals(9007199254740993L, record.getLong("long"));
+        assertEquals(Schema.Type.LONG, record.getSchema().getEntries().get(2).getType());
+        assertEquals(Long.MIN_VALUE, record.getLong("minLong"));
+        assertEquals(Schema.Type.DOUBLE, record.getSchema().getEntries().get(3).getType());
+        assertEquals(9.223372036854775807E19, record.getDouble("huge"));
+        assertEquals(Schema.Type.DOUBLE, record.getSchema().getEntries().get(4).getType());
+        assertEquals(2.5, record.getDouble("decimal"));
+        assertEquals(Schema.Type.DOUBLE, record.getSchema().getEntries().get(5).getType());
+        assertEquals(1000., record.getDouble("exponent"));
+    }
+
+    @Test
+    void numberTypesOnlyWiden() {
+        final JsonRecordReader reader = new JsonRecordReader();
+        final Record first = reader.read(factory, "{\"value\":10}");
+        assertEquals(Schema.Type.INT, first.getSchema().getEntries().get(0).getType());
+        final Record second = reader.read(factory, "{\"value\":10.5}");
+        assertEquals(Schema.Type.DOUBLE, second.getSchema().getEntries().get(0).getType());
+        final Record third = reader.read(factory, "{\"value\":10}");
+        assertEquals(Schema.Type.DOUBLE, third.getSchema().getEntries().get(0).getType());
+        assertEquals(10., third.getDouble("value"));
+        assertEquals(second.getSchema(), third.getSchema());
+    }
+
+    @Test
+    void declaredNumberTypes() {
+        final JsonRecordReader reader = new JsonRecordReader(Numbers.class);
+        final Record record = reader
+                .read(factory, "{\"count\":1,\"total\":2,\"ratio\":3,\"amount\":4,\"code\":5,"
+                        + "\"nested\":{\"count\":6},\"items\":[{\"count\":7}]}");
+        assertEquals(Schema.Type.INT, typeOf(record, "count"));
+        assertEquals(Schema.Type.LONG, typeOf(record, "total"));
+        assertEquals(Schema.Type.DOUBLE, typeOf(record, "ratio"));
+        assertEquals(Schema.Type.DOUBLE, typeOf(record, "amount"));
+        assertEquals(Schema.Type.INT, typeOf(record, "code"));
+        assertEquals(Schema.Type.LONG, typeOf(record.getRecord("nested"), "count"));
+        assertEquals(7L, record.getArray(Record.class, "items").iterator().next().getLong("count"));
+        assertEquals(Schema.Type.LONG, typeOf(record.getArray(Record.class, "items").iterator().next(), "count"));
+    }
+
+    public static class Numbers {
+
+        private int count;
+
+        private Long total;
+
+        private double ratio;
+
+        private BigDecimal amount;
+
+        @JsonbProperty("code")
+        private short renamed;
+
+        private Nested nested;
+
+        private List<Nested> items;
+    }
+
+    public static class Nested {
+
+        private long count;
+    }
+
+    private JsonObject nested(final JsonBuilderFactory json, final String value) {
+        return json.createObjectBuilder().add("nested", json.createObjectBuilder().add("value", value)).build();
+    }
+
+    private static Schema.Type typeOf(final Record record, final String name) {
+        return record
+                .getSchema()
+                .getEntries()
+                .stream()
+                .filter(it -> name.equals(it.getName()))
+                .findFirst()
+                .map(Schema.Entry::getType)
+                .orElse(null);
+    }
+
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.RecordBatch;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+class RecordBatchImplTest {
+
+    private final RecordBuilderFactoryImpl factory = new RecordBuilderFactoryImpl(null);
+
+    @Test
+    void columns() {
+        final List<Record> records = IntStream
+                .range(0, 2000)
+                .mapToObj(i -> factory
+                        .newRecordBuilder()
+                        .withString("name", i % 3 == 0 ? null : "n" + i)
+                        .withInt("age", i)
+                        .withDouble("score", i / 2.)
+                        .withBoolean("active", i % 2 == 0)
+                        .build())
+                .collect(toList());
+        final RecordBatch.Builder builder = factory.newRecordBatchBuilder(records.get(0).getSchema(), -1);
+        records.forEach(builder::append);
+        final RecordBatch batch = builder.build();
+        assertEquals(2000, batch.size());
+        assertEquals(0, builder.size());
+
+        final RecordBatch.Column age = batch.getColumn("age");
+        assertEquals(Schema.Type.INT, age.getEntry().getType());
+        assertEquals(1999, age.getInt(1999));
+        assertEquals(1999, age.getLongVector()[1999]);
+        assertEquals(10., batch.getColumn("score").getDoubleVector()[20]);
+        assertTrue(batch.getColumn("active").getBoolean(4));
+        assertFalse(batch.getColumn("active").getBooleanVector()[5]);
+
+        final RecordBatch.Column name = batch.getColumn("name");
+        assertTrue(name.isNull(0));
+        assertNull(name.getString(0));
+        assertEquals("n1", name.getString(1));
+        assertFalse(name.isNull(1));
+        assertThrows(IllegalStateException.class, name::getLongVector);
+
+        final List<Record> materialized = StreamSupport.stream(batch.spliterator(), false).collect(toList());
+        assertEquals(2000, materialized.size());
+        IntStream.range(0, 2000).forEach(i -> {
+            final Record expected = records.get(i);
+            final Record actual = materialized.get(i);
+            assertEquals(expected.getSchema(), actual.getSchema());
+            assertEquals(expected.getString("name"), actual.getString("name"));
+            assertEquals(expected.getInt("age"), actual.getInt("age"));
+            assertEquals(expected.getDouble("score"), actual.getDouble("score"));
+            assertEquals(expected.getBoolean("active"), actual.getBoolean("active"));
+        });
+    }
+
+    @Test
+    void defaultBuilder() {
+        final RecordBuilderFactory custom = new RecordBuilderFactory() { // does not override the batch builder
+
+            @Override
+            public Record.Builder newRecordBuilder(final Schema schema, final Record record) {
+                return factory.newRecordBuilder(schema, record);
+            }
+
+            @Override
+            public Record.Builder newRecordBuilder(final Schema schema) {
+                return factory.newRecordBuilder(schema);
+            }
+
+            @Override
+            public Record.Builder newRecordBuilder() {
+                return factory.newRecordBuilder();
+            }
+
+            @Override
+            public Schema.Builder newSchemaBuilder(final Schema.Type type) {
+                return factory.newSchemaBuilder(type);
+            }
+
+            @Override
+            public Schema.Builder newSchemaBuilder(final Schema schema) {
+                return factory.newSchemaBuilder(schema);
+            }
+
+            @Override
+            public Schema.Entry.Builder newEntryBuilder() {
+                return factory.newEntryBuilder();
+            }
+        };
+        final Record first = custom.newRecordBuilder().withString("name", "a").withInt("age", 1).build();
+        final Record second = custom.newRecordBuilder(first.getSchema()).withInt("age", 2).build();
+        final RecordBatch.Builder builder = custom.newRecordBatchBuilder(first.getSchema(), 2);
+        final RecordBatch batch = builder.append(first).append(second).build();
+        assertEquals(0, builder.size());
+        assertEquals(2, batch.size());
+        assertArrayEquals(new long[] { 1, 2 }, batch.getColumn("age").getLongVector());
+        assertEquals("a", batch.getColumn("name").getString(0));
+        assertTrue(batch.getColumn("name").isNull(1));
+        assertThrows(IllegalStateException.class, batch.getColumn("name")::getLongVector);
+        assertEquals(asList(first, second), StreamSupport.stream(batch.spliterator(), false).collect(toList()));
+    }
+
+    @Test
+    void indexedRecords() {
+        final Schema schema = factory
+                .newSchemaBuilder(Schema.Type.RECORD)
+                .withEntry(factory.newEntryBuilder().withName("id").withType(Schema.Type.LONG).build())
+                .withEntry(factory
+                        .newEntryBuilder()
+                        .withName("at")
+                        .withType(Schema.Type.DATETIME)
+                        .withNullable(true)
+                        .build())
+                .build();
+        final ZonedDateTime date = ZonedDateTime.of(2020, 5, 12, 10, 30, 0, 0, ZoneId.of("Europe/Paris"));
+        final RecordBatch.Builder builder = factory.newRecordBatchBuilder(schema, 10);
+        builder.append(factory.newRecordBuilder(schema).withLong("id", 1).withDateTime("at", date).build());
+        builder.append(factory.newRecordBuilder(schema).withLong("id", 2).build());
+        final RecordBatch batch = builder.build();
+
+        assertArrayEquals(new long[] { 1, 2 }, Arrays.copyOf(batch.getColumn("id").getLongVector(), 2));
+        assertEquals(date.toInstant(), batch.getColumn("at").getDateTime(0).toInstant());
+        assertTrue(batch.getColumn("at").isNull(1));
+
+        final Iterator<Record> iterator = batch.iterator();
+        final Record first = iterator.next();
+        assertEquals(1, first.getLong("id"));
+        assertEquals(date.toInstant(), first.getDateTime("at").toInstant());
+        final Record second = iterator.next();
+        assertEquals(2, second.getLong("id"));
+        assertNull(second.getDateTime("at"));
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void capacity() {
+        final Record record = factory.newRecordBuilder().withInt("value", 1).build();
+        final RecordBatch.Builder builder = factory.newRecordBatchBuilder(record.getSchema(), 2);
+        builder.append(record).append(record);
+        assertThrows(IllegalStateException.class, () -> builder.append(record));
+        final RecordBatch batch = builder.build();
+        assertArrayEquals(new long[] { 1, 1 }, batch.getColumn(0).getLongVector());
+    }
+
+    @Test
+    void schemaMismatch() {
+        final Record record = factory.newRecordBuilder().withInt("value", 1).build();
+        final RecordBatch.Builder builder = factory.newRecordBatchBuilder(record.getSchema(), 2);
+        assertThrows(IllegalArgumentException.class,
+                () -> builder.append(factory.newRecordBuilder().withString("value", "1").build()));
+    }
+}
@@ -87,8 +87,8 @@ class RecordConvertersTest {
                                     () -> jsonBuilderFactory, () -> jsonProvider, () -> jsonb,
                                     () -> recordBuilderFactory));
             assertEquals(
-                    "{\"bd\":10.0,\"binary\":100.0,\"binary2\":100.0," + "\"character\":\"a\",\"character2\":\"a\","
-                            + "\"notLong\":100.0,\"notLong2\":100.0," + "\"today\":\"1970-01-01T00:00:00Z[UTC]\"}",
+                    "{\"bd\":10.0,\"binary\":100,\"binary2\":100," + "\"character\":\"a\",\"character2\":\"a\","
+                            + "\"notLong\":100,\"notLong2\":100," + "\"today\":\"1970-01-01T00:00:00Z[UTC]\"}",
                     recordModel.toString());
             final SimpleRowStruct deserialized = SimpleRowStruct.class
                     .cast(converter
@@ -99,6 +99,19 @@ class RecordConvertersTest {
                 deserialized.bd = record.bd;
             }
             assertEquals(record, deserialized);
+
+            // the entry types come from the declared field types, not from the values of a row
+            final RecordConverters.MappingMetaRegistry registry = new RecordConverters.MappingMetaRegistry();
+            record.bd = new BigDecimal("10.5");
+            record.notLong = Short.MAX_VALUE;
+            final Record first = converter.toRecord(registry, record, () -> jsonb, () -> recordBuilderFactory);
+            record.bd = BigDecimal.ONE;
+            record.notLong = 1;
+            final Record second = converter.toRecord(registry, record, () -> jsonb, () -> recordBuilderFactory);
+            assertEquals(first.getSchema(), second.getSchema());
+            assertEquals(Schema.Type.DOUBLE, typeOf(second, "bd"));
+            assertEquals(Schema.Type.INT, typeOf(second, "notLong"));
+            assertEquals(1., second.getDouble("bd"));
         }
     }
 
@@ -407,7 +420,7 @@ class RecordConvertersTest {
         assertEquals(19, record.getInt("intValue"));
         assertEquals(10.5, record.getDouble("doubleValue"));
         assertEquals(2020l, record.getLong("longValue"));
-        assertEquals("{\"string\":\"strval\",\"number\":2010.0}", record.getRecord("jsonValue").toString());
+        assertEquals("{\"string\":\"strval\",\"number\":2010}", record.getRecord("jsonValue").toString());
         assertEquals("strval", record.getRecord("jsonValue").getString("string"));
         assertEquals(2010, record.getRecord("jsonValue").getDouble("number"));
         Iterator<JsonObject> itJson = record.getArray(JsonObject.class, "jsonListValue").iterator();
@@ -431,7 +444,7 @@ class RecordConvertersTest {
         assertEquals(19, wrapper.getIntValue());
         assertEquals(10.5, wrapper.getDoubleValue());
         assertEquals(2020l, wrapper.getLongValue());
-        assertEquals("{\"string\":\"strval\",\"number\":2010.0}", wrapper.getJsonValue().toString());
+        assertEquals("{\"string\":\"strval\",\"number\":2010}", wrapper.getJsonValue().toString());
         assertEquals("strval", wrapper.getJsonValue().getString("string"));
         assertEquals(2010.0, wrapper.getJsonValue().getJsonNumber("number").doubleValue());
         assertEquals(aryOfJsonObj.toString(), wrapper.getJsonListValue().toString());
@@ -547,4 +560,16 @@ class RecordConvertersTest {
 
         public int myInt;
     }
+
+    private static Schema.Type typeOf(final Record record, final String name) {
+        return record
+                .getSchema()
+                .getEntries()
+                .stream()
+                .filter(it -> name.equals(it.getName()))
+                .findFirst()
+                .map(Schema.Entry::getType)
+                .orElse(null);
+    }
+
 }
@@ -0,0 +1,130 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.record;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.talend.sdk.component.api.record.Schema.Type.INT;
+import static org.talend.sdk.component.api.record.Schema.Type.RECORD;
+import static org.talend.sdk.component.api.record.Schema.Type.STRING;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+
+class SchemaPoolTest {
+
+    @Test
+    void intern() {
+        final SchemaPool pool = new SchemaPool(16, 16);
+        final Schema first = newSchema("name");
+        final Schema second = newSchema("name");
+        assertNotSame(first, second);
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(second));
+        assertNotSame(first, pool.intern(newSchema("other")));
+        assertEquals(2, pool.getMisses());
+        assertEquals(1, pool.getHits());
+        assertEquals(2, pool.getSize());
+    }
+
+    @Test
+    void eviction() {
+        final SchemaPool pool = new SchemaPool(1, 16);
+        pool.intern(newSchema("first"));
+        pool.intern(newSchema("second"));
+        assertEquals(1, pool.getSize());
+        assertEquals(1, pool.getEvictions());
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        final SchemaPool pool = new SchemaPool(2, 16);
+        final Schema first = pool.intern(newSchema("first"));
+        final Schema second = pool.intern(newSchema("second"));
+        assertSame(first, pool.intern(newSchema("first")));
+        pool.intern(newSchema("third")); // evicts second, first was used after it
+        assertEquals(1, pool.getEvictions());
+        assertSame(first, pool.intern(newSchema("first")));
+        assertNotSame(second, pool.intern(newSchema("second")));
+        assertEquals(2, pool.getEvictions());
+        assertEquals(2, pool.getSize());
+    }
+
+    @Test
+    void jmx() throws Exception {
+        final SchemaPool pool = new SchemaPool(16, 16);
+        pool.intern(newSchema("name"));
+        pool.intern(newSchema("name"));
+        final MBeanServer server = MBeanServerFactory.newMBeanServer(); // not the platform one
+        final ObjectName name = new ObjectName("org.talend.sdk.component:type=schema-pool,plugin=\"jmx-test\"");
+        pool.registerMBean(server, "jmx-test");
+        try {
+            assertEquals(1L, server.getAttribute(name, "Hits"));
+            assertEquals(1L, server.getAttribute(name, "Misses"));
+            assertEquals(0L, server.getAttribute(name, "Evictions"));
+            assertEquals(1, server.getAttribute(name, "Size"));
+        } finally {
+            pool.unregisterMBean();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    void alternatingShapes() {
+        final RecordBuilderFactoryImpl factory = new RecordBuilderFactoryImpl(null);
+        final Record first = factory.newRecordBuilder().withString("name", "a").withInt("age", 1).build();
+        final Record second = factory.newRecordBuilder().withString("label", "b").build();
+        final Record third = factory.newRecordBuilder().withString("name", "c").withInt("age", 3).build();
+        final Record fourth = factory.newRecordBuilder().withString("label", "d").build();
+        assertSame(first.getSchema(), third.getSchema());
+        assertSame(second.getSchema(), fourth.getSchema());
+        assertEquals(3, third.getInt("age"));
+        assertEquals("d", fourth.getString("label"));
+        assertEquals(2, factory.getSchemaPool().getSize());
+        assertEquals(2, factory.getSchemaPool().getHits());
+    }
+
+    @Test
+    void providedSchemaIsCanonical() {
+        final RecordBuilderFactoryImpl factory = new RecordBuilderFactoryImpl(null);
+        final Schema schema = newSchema("name");
+        final Record first = factory.newRecordBuilder(schema).withString("name", "a").withInt("age", 1).build();
+        final Record second =
+                factory.newRecordBuilder(newSchema("name")).withString("name", "b").withInt("age", 2).build();
+        assertSame(schema, first.getSchema());
+        assertSame(schema, second.getSchema());
+        assertEquals("b", second.getString("name"));
+    }
+
+    private Schema newSchema(final String stringEntry) {
+        return new SchemaImpl.BuilderImpl()
+                .withType(RECORD)
+                .withEntry(new SchemaImpl.EntryImpl.BuilderImpl()
+                        .withName(stringEntry)
+                        .withType(STRING)
+                        .withNullable(true)
+                        .build())
+                .withEntry(new SchemaImpl.EntryImpl.BuilderImpl().withName("age").withType(INT).build())
+                .build();
+    }
+}
@@ -72,7 +72,14 @@ import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -124,6 +131,7 @@ import org.talend.sdk.component.api.processor.AfterGroup;
 import org.talend.sdk.component.api.processor.Processor;
 import org.talend.sdk.component.api.service.ActionType;
 import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.api.service.cache.LocalCache;
 import org.talend.sdk.component.api.service.configuration.LocalConfiguration;
 import org.talend.sdk.component.api.service.http.HttpClient;
 import org.talend.sdk.component.api.service.http.HttpClientFactory;
@@ -158,12 +166,14 @@ import org.talend.sdk.component.runtime.manager.reflect.ParameterModelService;
 import org.talend.sdk.component.runtime.manager.reflect.ReflectionService;
 import org.talend.sdk.component.runtime.manager.reflect.parameterenricher.BaseParameterEnricher;
 import org.talend.sdk.component.runtime.manager.service.DefaultServiceProvider;
+import org.talend.sdk.component.runtime.manager.service.LocalCacheService;
 import org.talend.sdk.component.runtime.manager.service.record.RecordBuilderFactoryProvider;
 import org.talend.sdk.component.runtime.manager.spi.ContainerListenerExtension;
 import org.talend.sdk.component.runtime.manager.util.Lazy;
 import org.talend.sdk.component.runtime.manager.util.LazyMap;
 import org.talend.sdk.component.runtime.manager.xbean.KnownClassesFilter;
 import org.talend.sdk.component.runtime.manager.xbean.NestedJarArchive;
+import org.talend.sdk.component.runtime.manager.xbean.PluginScanIndex;
 import org.talend.sdk.component.runtime.manager.xbean.registry.EnrichedPropertyEditorRegistry;
 import org.talend.sdk.component.runtime.output.ProcessorImpl;
 import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
@@ -203,9 +213,13 @@ public class ComponentManager implements AutoCloseable {
                 {
                     info("Creating the contextual ComponentManager instance " + getIdentifiers());
 
-                    parallelIf(Boolean.getBoolean("talend.component.manager.plugins.parallel"),
-                            container.getDefinedNestedPlugin().stream().filter(p -> !hasPlugin(p)))
-                                    .forEach(this::addPlugin);
+                    final List<String> plugins =
+                            container.getDefinedNestedPlugin().stream().filter(p -> !hasPlugin(p)).collect(toList());
+                    if (Boolean.getBoolean("talend.component.manager.plugins.parallel")) {
+                        addPlugins(plugins);
+                    } else {
+                        plugins.forEach(this::addPlugin);
+                    }
                     info("Components: " + availablePlugins());
                 }
 
@@ -335,6 +349,19 @@ public class ComponentManager implements AutoCloseable {
 
     private final DefaultServiceProvider defaultServiceProvider;
 
+    private final PluginScanIndex scanIndex =
+            ofNullable(System.getProperty("talend.component.manager.plugins.scan.cache"))
+                    .map(PathFactory::get)
+                    .map(PluginScanIndex::new)
+                    .orElse(null);
+
+    private final boolean lazyDeployment = Boolean.getBoolean("talend.component.manager.plugins.lazy");
+
+    private final int deploymentParallelism = Integer
+            .getInteger("talend.component.manager.plugins.parallelism", Runtime.getRuntime().availableProcessors());
+
+    private final ConcurrentMap<String, Object> deploymentLocks = new ConcurrentHashMap<>();
+
     public ComponentManager(final File m2) {
         this(m2.toPath());
     }
@@ -417,6 +444,10 @@ public class ComponentManager implements AutoCloseable {
                         .parentClassesFilter(isContainerClass)
                         .classesFilter(isContainerClass.negate())
                         .supportsResourceDependencies(true)
+                        .nestedDependenciesCache(
+                                ofNullable(System.getProperty("talend.component.manager.classloader.nested.cache"))
+                                        .map(PathFactory::get)
+                                        .orElse(null))
                         .create();
         this.container = new ContainerManager(ContainerManager.DependenciesResolutionConfiguration
                 .builder()
@@ -554,10 +585,6 @@ public class ComponentManager implements AutoCloseable {
                 });
     }
 
-    private static <T> Stream<T> parallelIf(final boolean condition, final Stream<T> stringStream) {
-        return condition ? stringStream.parallel() : stringStream;
-    }
-
     protected void info(final String msg) {
         switch (logInfoLevelMapping.intValue()) {
         case 500: // FINE
@@ -841,19 +868,96 @@ public class ComponentManager implements AutoCloseable {
         return container.find(plugin);
     }
 
-    public synchronized String addPlugin(final String pluginRootFile) {
+    public String addPlugin(final String pluginRootFile) {
         final Optional<Container> pl = findPlugin(pluginRootFile);
         if (pl.isPresent()) {
             return pl.get().getId();
         }
-        final String id = this.container
-                .builder(pluginRootFile)
-                .withCustomizer(createContainerCustomizer(pluginRootFile))
-                .withAdditionalClasspath(findAdditionalClasspathFor(container.buildAutoIdFromName(pluginRootFile)))
-                .create()
-                .getId();
-        info("Adding plugin: " + pluginRootFile + ", as " + id);
-        return id;
+        final Object lock = deploymentLocks.computeIfAbsent(pluginRootFile, k -> new Object());
+        synchronized (lock) { // other plugins can be deployed concurrently
+            try {
+                final Optional<Container> concurrentlyAdded = findPlugin(pluginRootFile);
+                if (concurrentlyAdded.isPresent()) {
+                    return concurrentlyAdded.get().getId();
+                }
+                final String id = this.container
+                        .builder(pluginRootFile)
+                        .withCustomizer(createContainerCustomizer(pluginRootFile))
+                        .withAdditionalClasspath(
+                                findAdditionalClasspathFor(container.buildAutoIdFromName(pluginRootFile)))
+                        .create()
+                        .getId();
+                info("Adding plugin: " + pluginRootFile + ", as " + id);
+                return id;
+            } finally {
+                deploymentLocks.remove(pluginRootFile, lock);
+            }
+        }
+    }
+
+    /**
+     * Deploys a set of plugins on a bounded pool of threads
+     * (sized with {@code talend.component.manager.plugins.parallelism} system property).
+     *
+     * @param pluginRootFiles the plugins to add.
+     * @return the plugin identifiers in the same order than the plugins.
+     */
+    public List<String> addPlugins(final Collection<String> pluginRootFiles) {
+        return addPlugins(pluginRootFiles, this::addPlugin);
+    }
+
+    /**
+     * Same as {@link #addPlugins(Collection)} but with a custom deployment logic
+     * (it can call {@link #addWithLocationPlugin(String, String)} for example).
+     *
+     * @param plugins the plugins to add.
+     * @param deployer the function deploying a plugin and returning its identifier.
+     * @param <T> the type of plugin reference.
+     * @return the plugin identifiers in the same order than the plugins.
+     */
+    public <T> List<String> addPlugins(final Collection<T> plugins, final Function<T, String> deployer) {
+        final int threads = Math.min(deploymentParallelism, plugins.size());
+        if (threads <= 1) {
+            return plugins.stream().map(deployer).collect(toList());
+        }
+        final long start = System.nanoTime();
+        final AtomicInteger counter = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            final Thread thread = new Thread(r, "talend-component-manager-deployer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<String>> deployments =
+                    plugins.stream().map(p -> executor.submit(() -> deployer.apply(p))).collect(toList());
+            final List<String> ids = new ArrayList<>(deployments.size());
+            RuntimeException error = null;
+            for (final Future<String> deployment : deployments) {
+                try {
+                    ids.add(deployment.get());
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                } catch (final ExecutionException e) {
+                    final RuntimeException failure =
+                            RuntimeException.class.isInstance(e.getCause()) ? RuntimeException.class.cast(e.getCause())
+                                    : new IllegalStateException(e.getCause());
+                    if (error == null) {
+                        error = failure;
+                    } else {
+                        error.addSuppressed(failure);
+                    }
+                }
+            }
+            if (error != null) {
+                throw error;
+            }
+            info("Deployed " + ids.size() + " plugins in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+                    + "ms using " + threads + " threads");
+            return ids;
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
     public String addWithLocationPlugin(final String location, final String pluginRootFile) {
@@ -1098,11 +1202,69 @@ public class ComponentManager implements AutoCloseable {
         private final String value;
     }
 
+    /**
+     * Registry deploying the services and components of the plugin when it is accessed the first time.
+     */
+    private static class LazyContainerComponentRegistry extends ContainerComponentRegistry {
+
+        private volatile Runnable initializer;
+
+        private boolean initializing;
+
+        @Override
+        public Map<String, ComponentFamilyMeta> getComponents() {
+            initialize();
+            return super.getComponents();
+        }
+
+        @Override
+        public Collection<ServiceMeta> getServices() {
+            initialize();
+            return super.getServices();
+        }
+
+        private void initialize() {
+            if (initializer == null) {
+                return;
+            }
+            synchronized (this) {
+                final Runnable task = initializer;
+                if (task == null || initializing) { // initializing means we are the deploying thread
+                    return;
+                }
+                initializing = true;
+                try {
+                    task.run();
+                    initializer = null;
+                } catch (final RuntimeException | Error e) { // don't redeploy a partially registered plugin
+                    initializer = () -> {
+                        throw new IllegalStateException("Deployment failed: " + e.getMessage(), e);
+                    };
+                    throw e;
+                } finally {
+                    initializing = false;
+                }
+            }
+        }
+
+        private synchronized void discard() {
+            initializer = null;
+        }
+    }
+
     @RequiredArgsConstructor
     private class Updater implements ContainerListener {
 
         private final String dependenciesResource;
 
+        private static final String INTERNATIONALIZED = "internationalized";
+
+        private static final String HTTP_CLIENTS = "httpClients";
+
+        private static final String SERVICES = "services";
+
+        private static final String COMPONENTS = "components";
+
         private final ModelVisitor visitor = new ModelVisitor();
 
         private final Collection<String> supportedAnnotations = Stream
@@ -1113,95 +1275,6 @@ public class ComponentManager implements AutoCloseable {
 
         @Override
         public void onCreate(final Container container) {
-            final ConfigurableClassLoader loader = container.getLoader();
-            final OriginalId originalId = OriginalId.class.cast(container.get(OriginalId.class));
-            final Map<java.lang.reflect.Type, Optional<Converter>> xbeanConverterCache = new ConcurrentHashMap<>();
-
-            final AnnotationFinder finder;
-            Archive archive = null;
-            try {
-                String alreadyScannedClasses = null;
-                Filter filter = KnownClassesFilter.INSTANCE;
-                try (final InputStream containerFilterConfig =
-                        container.getLoader().getResourceAsStream("TALEND-INF/scanning.properties")) {
-                    if (containerFilterConfig != null) {
-                        final Properties config = new Properties();
-                        config.load(containerFilterConfig);
-                        filter = createScanningFilter(config);
-                        alreadyScannedClasses = config.getProperty("classes.list");
-                    }
-                } catch (final IOException e) {
-                    log.debug(e.getMessage(), e);
-                }
-
-                AnnotationFinder optimizedFinder = null;
-                if (alreadyScannedClasses != null
-                        && !(alreadyScannedClasses = alreadyScannedClasses.trim()).isEmpty()) {
-                    final List<? extends Class<?>> classes =
-                            Stream.of(alreadyScannedClasses.split(",")).map(String::trim).map(it -> {
-                                try {
-                                    return loader.loadClass(it);
-                                } catch (final ClassNotFoundException e) {
-                                    throw new IllegalArgumentException(e);
-                                }
-                            }).collect(toList());
-                    if (KnownClassesFilter.INSTANCE == filter) {
-                        archive = new ClassesArchive(/* empty */);
-                        optimizedFinder = new AnnotationFinder(archive) {
-
-                            @Override
-                            public List<Class<?>> findAnnotatedClasses(final Class<? extends Annotation> marker) {
-                                return classes.stream().filter(c -> c.isAnnotationPresent(marker)).collect(toList());
-                            }
-
-                            @Override
-                            public List<Method> findAnnotatedMethods(final Class<? extends Annotation> annotation) {
-                                if (Request.class == annotation) { // optimized
-                                    return classes
-                                            .stream()
-                                            .filter(HttpClient.class::isAssignableFrom)
-                                            .flatMap(client -> Stream
-                                                    .of(client.getMethods())
-                                                    .filter(m -> m.isAnnotationPresent(annotation)))
-                                            .collect(toList());
-                                }
-                                return super.findAnnotatedMethods(annotation);
-                            }
-
-                            // finder.findAnnotatedMethods(Request.class)
-                        };
-                    }
-                } else {
-                    /*
-                     * container.findExistingClasspathFiles() - we just scan the root module for
-                     * now, no need to scan all the world
-                     */
-                    archive = toArchive(container.getRootModule(), originalId, loader);
-                }
-                finder = optimizedFinder == null ? new AnnotationFinder(new FilteredArchive(archive, filter)) {
-
-                    @Override
-                    protected boolean cleanOnNaked() {
-                        return true;
-                    }
-
-                    @Override
-                    protected boolean isTracked(final String annotationType) {
-                        return supportedAnnotations.contains(annotationType);
-                    }
-                } : optimizedFinder;
-            } finally {
-                if (AutoCloseable.class.isInstance(archive)) {
-                    try {
-                        AutoCloseable.class.cast(archive).close();
-                    } catch (final Exception e) {
-                        log.warn(e.getMessage());
-                    }
-                }
-            }
-            final ContainerComponentRegistry registry = new ContainerComponentRegistry();
-            container.set(ContainerComponentRegistry.class, registry);
-
             final boolean isGeneric;
             final Iterator<GenericComponentExtension> genericExtension =
                     ServiceLoader.load(GenericComponentExtension.class, container.getLoader()).iterator();
@@ -1211,12 +1284,18 @@ public class ComponentManager implements AutoCloseable {
                 isGeneric = true;
                 if (genericExtension.hasNext()) {
                     throw new IllegalArgumentException("A component can't have two generic component extensions: "
-                            + finder + ", " + genericExtension.next());
+                            + first + ", " + genericExtension.next());
                 }
             } else {
                 isGeneric = false;
             }
 
+            final LazyContainerComponentRegistry lazyRegistry =
+                    lazyDeployment ? new LazyContainerComponentRegistry() : null;
+            final ContainerComponentRegistry registry =
+                    lazyRegistry != null ? lazyRegistry : new ContainerComponentRegistry();
+            container.set(ContainerComponentRegistry.class, registry);
+
             final AtomicReference<Map<Class<?>, Object>> seviceLookupRef = new AtomicReference<>();
             final Map<Class<?>, Object> services = new LazyMap<>(24,
                     type -> defaultServiceProvider
@@ -1227,7 +1306,15 @@ public class ComponentManager implements AutoCloseable {
                                     container.getLocalDependencyRelativeResolver(), type, seviceLookupRef));
             seviceLookupRef.set(services);
 
-            final AllServices allServices = new AllServices(services);
+            final AllServices allServices =
+                    lazyRegistry == null ? new AllServices(services) : new AllServices(services) {
+
+                        @Override
+                        public Map<Class<?>, Object> getServices() {
+                            lazyRegistry.initialize();
+                            return super.getServices();
+                        }
+                    };
             container.set(AllServices.class, allServices);
             // container services
             containerServices(container, services);
@@ -1241,33 +1328,73 @@ public class ComponentManager implements AutoCloseable {
 
                 @Override
                 public <T> T findService(final Class<T> key) {
-                    return key.cast(services.get(key));
+                    return key.cast(allServices.getServices().get(key));
                 }
             });
 
+            container.set(ComponentContexts.class, new ComponentContexts());
+
+            if (lazyRegistry == null) {
+                deploy(container, isGeneric, registry, services, allServices);
+            } else {
+                lazyRegistry.initializer = () -> container.execute(() -> {
+                    deploy(container, isGeneric, registry, services, allServices);
+                    return null;
+                });
+                info("Deferred the deployment of the services and components of " + container.getId());
+            }
+        }
+
+        private void deploy(final Container container, final boolean isGeneric,
+                final ContainerComponentRegistry registry, final Map<Class<?>, Object> services,
+                final AllServices allServices) {
+            final long start = System.nanoTime();
+            final ConfigurableClassLoader loader = container.getLoader();
+            final OriginalId originalId = OriginalId.class.cast(container.get(OriginalId.class));
+            final Map<java.lang.reflect.Type, Optional<Converter>> xbeanConverterCache = new ConcurrentHashMap<>();
+
+            final String scanIndexKey = scanIndex == null ? null
+                    : scanIndex.key(container.getContainerFile().orElse(null), container.findExistingClasspathFiles());
+            Map<String, List<Class<?>>> classes = ofNullable(scanIndexKey)
+                    .map(key -> scanIndex.load(key))
+                    .map(index -> loadIndexedClasses(loader, index))
+                    .orElse(null);
+            final long scanDuration;
+            if (classes == null) {
+                final AnnotationFinder finder = createFinder(container, loader, originalId);
+                scanDuration = System.nanoTime() - start;
+                classes = findClasses(finder, isGeneric);
+                if (scanIndexKey != null) {
+                    scanIndex
+                            .save(scanIndexKey,
+                                    classes
+                                            .entrySet()
+                                            .stream()
+                                            .collect(toMap(Map.Entry::getKey,
+                                                    e -> e.getValue().stream().map(Class::getName).collect(toList()))));
+                }
+            } else {
+                scanDuration = 0;
+            }
+            final long classesLoaded = System.nanoTime();
+
             final Map<String, AnnotatedElement> componentDefaults = new HashMap<>();
 
-            finder.findAnnotatedClasses(Internationalized.class).forEach(proxy -> {
+            classes.get(INTERNATIONALIZED).forEach(proxy -> {
                 final Object instance = javaProxyEnricherFactory
                         .asSerializable(container.getLoader(), container.getId(), proxy.getName(),
                                 internationalizationServiceFactory.create(proxy, container.getLoader()));
                 services.put(proxy, instance);
                 registry.getServices().add(new ServiceMeta(instance, emptyList()));
             });
-            finder
-                    .findAnnotatedMethods(Request.class)
-                    .stream()
-                    .map(Method::getDeclaringClass)
-                    .distinct()
-                    .filter(HttpClient.class::isAssignableFrom) // others are created manually
-                    .forEach(proxy -> {
-                        final Object instance =
-                                HttpClientFactory.class.cast(services.get(HttpClientFactory.class)).create(proxy, null);
-                        services.put(proxy, instance);
-                        registry.getServices().add(new ServiceMeta(instance, emptyList()));
-                    });
-            final Map<Class<?>, Object> userServices = finder
-                    .findAnnotatedClasses(Service.class)
+            classes.get(HTTP_CLIENTS).forEach(proxy -> {
+                final Object instance =
+                        HttpClientFactory.class.cast(services.get(HttpClientFactory.class)).create(proxy, null);
+                services.put(proxy, instance);
+                registry.getServices().add(new ServiceMeta(instance, emptyList()));
+            });
+            final Map<Class<?>, Object> userServices = classes
+                    .get(SERVICES)
                     .stream()
                     .filter(s -> !services.containsKey(s))
                     .collect(toMap(identity(), service -> {
@@ -1315,16 +1442,149 @@ public class ComponentManager implements AutoCloseable {
                 info("Added @Service " + service + " for container-id=" + container.getId());
             });
 
-            final ComponentContexts componentContexts = new ComponentContexts();
-            container.set(ComponentContexts.class, componentContexts);
-            if (!isGeneric) {
-                Stream
-                        .of(PartitionMapper.class, Processor.class, Emitter.class)
-                        .flatMap(a -> finder.findAnnotatedClasses(a).stream())
-                        .filter(t -> Modifier.isPublic(t.getModifiers()))
-                        .forEach(type -> onComponent(container, registry, services, allServices, componentDefaults,
-                                componentContexts, type, xbeanConverterCache));
+            final long servicesCreated = System.nanoTime();
+
+            final ComponentContexts componentContexts = container.get(ComponentContexts.class);
+            classes
+                    .get(COMPONENTS)
+                    .forEach(type -> onComponent(container, registry, services, allServices, componentDefaults,
+                            componentContexts, type, xbeanConverterCache));
+            final long end = System.nanoTime();
+            info("Deployed plugin " + container.getId() + " in " + TimeUnit.NANOSECONDS.toMillis(end - start)
+                    + "ms (scan=" + (scanDuration == 0 ? "indexed" : TimeUnit.NANOSECONDS.toMillis(scanDuration) + "ms")
+                    + ", classes=" + TimeUnit.NANOSECONDS.toMillis(classesLoaded - start - scanDuration)
+                    + "ms, services=" + TimeUnit.NANOSECONDS.toMillis(servicesCreated - classesLoaded)
+                    + "ms, components=" + TimeUnit.NANOSECONDS.toMillis(end - servicesCreated) + "ms)");
+        }
+
+        private Map<String, List<Class<?>>> findClasses(final AnnotationFinder finder, final boolean isGeneric) {
+            final Map<String, List<Class<?>>> classes = new HashMap<>();
+            classes.put(INTERNATIONALIZED, finder.findAnnotatedClasses(Internationalized.class));
+            classes
+                    .put(HTTP_CLIENTS,
+                            finder
+                                    .findAnnotatedMethods(Request.class)
+                                    .stream()
+                                    .<Class<?>> map(Method::getDeclaringClass)
+                                    .distinct()
+                                    .filter(HttpClient.class::isAssignableFrom) // others are created manually
+                                    .collect(toList()));
+            classes.put(SERVICES, finder.findAnnotatedClasses(Service.class));
+            classes
+                    .put(COMPONENTS,
+                            isGeneric ? emptyList()
+                                    : Stream
+                                            .of(PartitionMapper.class, Processor.class, Emitter.class)
+                                            .flatMap(a -> finder.findAnnotatedClasses(a).stream())
+                                            .filter(t -> Modifier.isPublic(t.getModifiers()))
+                                            .collect(toList()));
+            return classes;
+        }
+
+        private Map<String, List<Class<?>>> loadIndexedClasses(final ClassLoader loader,
+                final Map<String, List<String>> index) {
+            final Map<String, List<Class<?>>> classes = new HashMap<>();
+            try {
+                for (final String category : asList(INTERNATIONALIZED, HTTP_CLIENTS, SERVICES, COMPONENTS)) {
+                    final List<String> names = index.getOrDefault(category, emptyList());
+                    final List<Class<?>> loaded = new ArrayList<>(names.size());
+                    for (final String name : names) {
+                        loaded.add(loader.loadClass(name));
+                    }
+                    classes.put(category, loaded);
+                }
+            } catch (final ClassNotFoundException | NoClassDefFoundError e) {
+                log.warn("Invalid scan index, will scan the plugin: " + e.getMessage());
+                return null;
+            }
+            return classes;
+        }
+
+        private AnnotationFinder createFinder(final Container container, final ConfigurableClassLoader loader,
+                final OriginalId originalId) {
+            final AnnotationFinder finder;
+            Archive archive = null;
+            try {
+                String alreadyScannedClasses = null;
+                Filter filter = KnownClassesFilter.INSTANCE;
+                try (final InputStream containerFilterConfig =
+                        container.getLoader().getResourceAsStream("TALEND-INF/scanning.properties")) {
+                    if (containerFilterConfig != null) {
+                        final Properties config = new Properties();
+                        config.load(containerFilterConfig);
+                        filter = createScanningFilter(config);
+                        alreadyScannedClasses = config.getProperty("classes.list");
+                    }
+                } catch (final IOException e) {
+                    log.debug(e.getMessage(), e);
+                }
+
+                AnnotationFinder optimizedFinder = null;
+                if (alreadyScannedClasses != null
+                        && !(alreadyScannedClasses = alreadyScannedClasses.trim()).isEmpty()) {
+                    final List<? extends Class<?>> classes =
+                            Stream.of(alreadyScannedClasses.split(",")).map(String::trim).map(it -> {
+                                try {
+                                    return loader.loadClass(it);
+                                } catch (final ClassNotFoundException e) {
+                                    throw new IllegalArgumentException(e);
+                                }
+                            }).collect(toList());
+                    if (KnownClassesFilter.INSTANCE == filter) {
+                        archive = new ClassesArchive(/* empty */);
+                        optimizedFinder = new AnnotationFinder(archive) {
+
+                            @Override
+                            public List<Class<?>> findAnnotatedClasses(final Class<? extends Annotation> marker) {
+                                return classes.stream().filter(c -> c.isAnnotationPresent(marker)).collect(toList());
+                            }
+
+                            @Override
+                            public List<Method> findAnnotatedMethods(final Class<? extends Annotation> annotation) {
+                                if (Request.class == annotation) { // optimized
+                                    return classes
+                                            .stream()
+                                            .filter(HttpClient.class::isAssignableFrom)
+                                            .flatMap(client -> Stream
+                                                    .of(client.getMethods())
+                                                    .filter(m -> m.isAnnotationPresent(annotation)))
+                                            .collect(toList());
+                                }
+                                return super.findAnnotatedMethods(annotation);
+                            }
+
+                            // finder.findAnnotatedMethods(Request.class)
+                        };
+                    }
+                } else {
+                    /*
+                     * container.findExistingClasspathFiles() - we just scan the root module for
+                     * now, no need to scan all the world
+                     */
+                    archive = toArchive(container.getRootModule(), originalId, loader);
+                }
+                finder = optimizedFinder == null ? new AnnotationFinder(new FilteredArchive(archive, filter)) {
+
+                    @Override
+                    protected boolean cleanOnNaked() {
+                        return true;
+                    }
+
+                    @Override
+                    protected boolean isTracked(final String annotationType) {
+                        return supportedAnnotations.contains(annotationType);
+                    }
+                } : optimizedFinder;
+            } finally {
+                if (AutoCloseable.class.isInstance(archive)) {
+                    try {
+                        AutoCloseable.class.cast(archive).close();
+                    } catch (final Exception e) {
+                        log.warn(e.getMessage());
+                    }
+                }
             }
+            return finder;
         }
 
         private Filter createScanningFilter(final Properties config) {
@@ -1630,6 +1890,9 @@ public class ComponentManager implements AutoCloseable {
             // released
             ofNullable(container.get(ContainerComponentRegistry.class)).ifPresent(r -> {
                 final ContainerComponentRegistry registry = container.remove(ContainerComponentRegistry.class);
+                if (LazyContainerComponentRegistry.class.isInstance(registry)) { // never deployed, don't do it now
+                    LazyContainerComponentRegistry.class.cast(registry).discard();
+                }
                 registry.getComponents().clear();
                 registry
                         .getServices()
@@ -1638,6 +1901,19 @@ public class ComponentManager implements AutoCloseable {
                         .forEach(s -> doInvoke(container.getId(), s.getInstance(), PreDestroy.class));
                 registry.getServices().clear();
             });
+            ofNullable(container.get(AllServices.class))
+                    .map(s -> s.getServices().get(LocalCache.class))
+                    .filter(LocalCacheService.class::isInstance)
+                    .map(LocalCacheService.class::cast)
+                    .ifPresent(LocalCacheService::release);
+            ofNullable(container.get(AllServices.class)) // values() does not create the lazy services
+                    .ifPresent(s -> s
+                            .getServices()
+                            .values()
+                            .stream()
+                            .filter(RecordBuilderFactoryImpl.class::isInstance)
+                            .map(RecordBuilderFactoryImpl.class::cast)
+                            .forEach(f -> f.getSchemaPool().unregisterMBean()));
             ofNullable(container.get(AllServices.class))
                     .map(s -> s.getServices().get(Jsonb.class))
                     .map(Jsonb.class::cast)
@@ -0,0 +1,308 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.asm;
+
+import static org.apache.xbean.asm7.Opcodes.AALOAD;
+import static org.apache.xbean.asm7.Opcodes.ACC_FINAL;
+import static org.apache.xbean.asm7.Opcodes.ACC_PRIVATE;
+import static org.apache.xbean.asm7.Opcodes.ACC_PUBLIC;
+import static org.apache.xbean.asm7.Opcodes.ACC_SUPER;
+import static org.apache.xbean.asm7.Opcodes.ACC_SYNTHETIC;
+import static org.apache.xbean.asm7.Opcodes.ALOAD;
+import static org.apache.xbean.asm7.Opcodes.ARETURN;
+import static org.apache.xbean.asm7.Opcodes.ASTORE;
+import static org.apache.xbean.asm7.Opcodes.BIPUSH;
+import static org.apache.xbean.asm7.Opcodes.CHECKCAST;
+import static org.apache.xbean.asm7.Opcodes.DUP;
+import static org.apache.xbean.asm7.Opcodes.GETFIELD;
+import static org.apache.xbean.asm7.Opcodes.ICONST_0;
+import static org.apache.xbean.asm7.Opcodes.INVOKEINTERFACE;
+import static org.apache.xbean.asm7.Opcodes.INVOKESPECIAL;
+import static org.apache.xbean.asm7.Opcodes.INVOKESTATIC;
+import static org.apache.xbean.asm7.Opcodes.NEW;
+import static org.apache.xbean.asm7.Opcodes.POP;
+import static org.apache.xbean.asm7.Opcodes.PUTFIELD;
+import static org.apache.xbean.asm7.Opcodes.RETURN;
+import static org.apache.xbean.asm7.Opcodes.SIPUSH;
+import static org.apache.xbean.asm7.Opcodes.V1_8;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.xbean.asm7.ClassWriter;
+import org.apache.xbean.asm7.MethodVisitor;
+import org.apache.xbean.asm7.Type;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.runtime.record.PojoRecordMapper;
+import org.talend.sdk.component.runtime.record.PojoRecordMappers;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates, in the classloader of the POJO, a {@link PojoRecordMapper} reading and writing the fields directly.
+ * The mapper class is generated once per POJO class and in its package so it can access it even when it is not
+ * public. When it can't be generated null is returned and the reflective mapping is used.
+ */
+@Slf4j
+public class PojoRecordMapperGenerator implements PojoRecordMapper.Generator {
+
+    private static final Map<Class<?>, Method> READERS = new HashMap<>();
+
+    private static final Map<Class<?>, Method> WRITERS = new HashMap<>();
+
+    static {
+        READERS.put(String.class, reader("readString"));
+        READERS.put(int.class, reader("readInt"));
+        READERS.put(Integer.class, reader("readInteger"));
+        READERS.put(long.class, reader("readLong"));
+        READERS.put(Long.class, reader("readLongObject"));
+        READERS.put(float.class, reader("readFloat"));
+        READERS.put(Float.class, reader("readFloatObject"));
+        READERS.put(double.class, reader("readDouble"));
+        READERS.put(Double.class, reader("readDoubleObject"));
+        READERS.put(short.class, reader("readShort"));
+        READERS.put(Short.class, reader("readShortObject"));
+        READERS.put(byte.class, reader("readByte"));
+        READERS.put(Byte.class, reader("readByteObject"));
+        READERS.put(boolean.class, reader("readBoolean"));
+        READERS.put(Boolean.class, reader("readBooleanObject"));
+        READERS.put(Character.class, reader("readCharacter"));
+        READERS.put(byte[].class, reader("readBytes"));
+        READERS.put(Date.class, reader("readDate"));
+        READERS
+                .put(BigDecimal.class, method(PojoRecordMappers.class, "readBigDecimal", Record.class, String.class,
+                        BigDecimal.class));
+
+        WRITERS.put(String.class, writer("writeString", Object.class));
+        WRITERS.put(Character.class, writer("writeString", Object.class));
+        WRITERS.put(BigDecimal.class, writer("writeString", Object.class));
+        WRITERS.put(Integer.class, writer("writeInt", Number.class));
+        WRITERS.put(Short.class, writer("writeInt", Number.class));
+        WRITERS.put(Byte.class, writer("writeInt", Number.class));
+        WRITERS.put(Long.class, writer("writeLong", Long.class));
+        WRITERS.put(Float.class, writer("writeFloat", Float.class));
+        WRITERS.put(Double.class, writer("writeDouble", Double.class));
+        WRITERS.put(Boolean.class, writer("writeBoolean", Boolean.class));
+        WRITERS.put(byte[].class, writer("writeBytes", byte[].class));
+        WRITERS.put(Date.class, writer("writeDateTime", Date.class));
+        WRITERS.put(int.class, method(Record.Builder.class, "withInt", Schema.Entry.class, int.class));
+        WRITERS.put(short.class, WRITERS.get(int.class));
+        WRITERS.put(byte.class, WRITERS.get(int.class));
+        WRITERS.put(long.class, method(Record.Builder.class, "withLong", Schema.Entry.class, long.class));
+        WRITERS.put(float.class, method(Record.Builder.class, "withFloat", Schema.Entry.class, float.class));
+        WRITERS.put(double.class, method(Record.Builder.class, "withDouble", Schema.Entry.class, double.class));
+        WRITERS.put(boolean.class, method(Record.Builder.class, "withBoolean", Schema.Entry.class, boolean.class));
+    }
+
+    private final ClassValue<Generated> generated = new ClassValue<Generated>() {
+
+        @Override
+        protected Generated computeValue(final Class<?> type) {
+            return new Generated();
+        }
+    };
+
+    @Override
+    public PojoRecordMapper generate(final Class<?> type, final List<Field> fields, final List<Schema.Entry> entries) {
+        final Generated holder = generated.get(type);
+        final Class<?> mapperClass;
+        synchronized (holder) {
+            if (!holder.done) {
+                holder.mapperClass = isAccessible(type, fields) ? doGenerate(type, fields) : null;
+                holder.done = true;
+            }
+            mapperClass = holder.mapperClass;
+        }
+        if (mapperClass == null) {
+            return null;
+        }
+        try {
+            return PojoRecordMapper.class
+                    .cast(mapperClass
+                            .getConstructor(Schema.Entry[].class)
+                            .newInstance(new Object[] { entries.toArray(new Schema.Entry[0]) }));
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Class<?> doGenerate(final Class<?> type, final List<Field> fields) {
+        final ClassLoader loader = type.getClassLoader();
+        final String name = type.getName() + "$$TalendRecordMapper";
+        try {
+            try {
+                return loader.loadClass(name);
+            } catch (final ClassNotFoundException cnfe) {
+                return Unsafes.defineAndLoadClass(loader, name, createMapper(type, name, fields));
+            }
+        } catch (final RuntimeException | LinkageError e) {
+            log.debug("Can't generate a record mapper for {}, will use reflection ({})", type, e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] createMapper(final Class<?> type, final String name, final List<Field> fields) {
+        final String classFileName = name.replace('.', '/');
+        final String typeName = Type.getInternalName(type);
+        final String entriesDescriptor = Type.getDescriptor(Schema.Entry[].class);
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw
+                .visit(V1_8, ACC_PUBLIC + ACC_SUPER + ACC_SYNTHETIC, classFileName, null,
+                        Type.getInternalName(Object.class),
+                        new String[] { Type.getInternalName(PojoRecordMapper.class) });
+        cw.visitField(ACC_PRIVATE + ACC_FINAL, "entries", entriesDescriptor, null, null).visitEnd();
+
+        final MethodVisitor constructor = cw
+                .visitMethod(ACC_PUBLIC, "<init>",
+                        Type.getMethodDescriptor(Type.VOID_TYPE, Type.getType(Schema.Entry[].class)), null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, Type.getInternalName(Object.class), "<init>", "()V", false);
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitVarInsn(ALOAD, 1);
+        constructor.visitFieldInsn(PUTFIELD, classFileName, "entries", entriesDescriptor);
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(-1, -1);
+        constructor.visitEnd();
+
+        // Object toInstance(Record record)
+        final MethodVisitor toInstance = cw
+                .visitMethod(ACC_PUBLIC, "toInstance",
+                        Type.getMethodDescriptor(Type.getType(Object.class), Type.getType(Record.class)), null, null);
+        toInstance.visitCode();
+        toInstance.visitTypeInsn(NEW, typeName);
+        toInstance.visitInsn(DUP);
+        toInstance.visitMethodInsn(INVOKESPECIAL, typeName, "<init>", "()V", false);
+        toInstance.visitVarInsn(ASTORE, 2);
+        for (final Field field : fields) {
+            final String descriptor = Type.getDescriptor(field.getType());
+            toInstance.visitVarInsn(ALOAD, 2);
+            toInstance.visitVarInsn(ALOAD, 1);
+            toInstance.visitLdcInsn(field.getName());
+            if (field.getType() == BigDecimal.class) { // keeps the current value when not convertible
+                toInstance.visitVarInsn(ALOAD, 2);
+                toInstance.visitFieldInsn(GETFIELD, typeName, field.getName(), descriptor);
+            }
+            invoke(toInstance, READERS.get(field.getType()));
+            toInstance.visitFieldInsn(PUTFIELD, typeName, field.getName(), descriptor);
+        }
+        toInstance.visitVarInsn(ALOAD, 2);
+        toInstance.visitInsn(ARETURN);
+        toInstance.visitMaxs(-1, -1);
+        toInstance.visitEnd();
+
+        // void toRecord(Object instance, Record.Builder builder)
+        final MethodVisitor toRecord = cw
+                .visitMethod(ACC_PUBLIC, "toRecord",
+                        Type
+                                .getMethodDescriptor(Type.VOID_TYPE, Type.getType(Object.class),
+                                        Type.getType(Record.Builder.class)),
+                        null, null);
+        toRecord.visitCode();
+        toRecord.visitVarInsn(ALOAD, 1);
+        toRecord.visitTypeInsn(CHECKCAST, typeName);
+        toRecord.visitVarInsn(ASTORE, 3);
+        toRecord.visitVarInsn(ALOAD, 0);
+        toRecord.visitFieldInsn(GETFIELD, classFileName, "entries", entriesDescriptor);
+        toRecord.visitVarInsn(ASTORE, 4);
+        for (int i = 0; i < fields.size(); i++) {
+            final Field field = fields.get(i);
+            toRecord.visitVarInsn(ALOAD, 2);
+            toRecord.visitVarInsn(ALOAD, 4);
+            pushIntOntoStack(toRecord, i);
+            toRecord.visitInsn(AALOAD);
+            toRecord.visitVarInsn(ALOAD, 3);
+            toRecord.visitFieldInsn(GETFIELD, typeName, field.getName(), Type.getDescriptor(field.getType()));
+            final Method writer = WRITERS.get(field.getType());
+            invoke(toRecord, writer);
+            if (writer.getReturnType() != void.class) { // builder methods return the builder
+                toRecord.visitInsn(POP);
+            }
+        }
+        toRecord.visitInsn(RETURN);
+        toRecord.visitMaxs(-1, -1);
+        toRecord.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private boolean isAccessible(final Class<?> type, final List<Field> fields) {
+        final ClassLoader loader = type.getClassLoader();
+        if (loader == null || type.getSigners() != null || Modifier.isAbstract(type.getModifiers())
+                || type.getName().startsWith("java.")) {
+            return false;
+        }
+        try { // the generated class must link against the same API
+            if (loader.loadClass(PojoRecordMapper.class.getName()) != PojoRecordMapper.class) {
+                return false;
+            }
+        } catch (final ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+        return fields
+                .stream()
+                .allMatch(field -> !Modifier.isFinal(field.getModifiers()) && Modifier.isPublic(field.getModifiers())
+                        && READERS.containsKey(field.getType()));
+    }
+
+    private void invoke(final MethodVisitor mv, final Method method) {
+        final Class<?> owner = method.getDeclaringClass();
+        mv
+                .visitMethodInsn(owner.isInterface() ? INVOKEINTERFACE : INVOKESTATIC, Type.getInternalName(owner),
+                        method.getName(), Type.getMethodDescriptor(method), owner.isInterface());
+    }
+
+    private void pushIntOntoStack(final MethodVisitor mv, final int i) {
+        if (i <= 5) {
+            mv.visitInsn(ICONST_0 + i);
+        } else if (i <= Byte.MAX_VALUE) {
+            mv.visitIntInsn(BIPUSH, i);
+        } else {
+            mv.visitIntInsn(SIPUSH, i);
+        }
+    }
+
+    private static Method reader(final String name) {
+        return method(PojoRecordMappers.class, name, Record.class, String.class);
+    }
+
+    private static Method writer(final String name, final Class<?> valueType) {
+        return method(PojoRecordMappers.class, name, Record.Builder.class, Schema.Entry.class, valueType);
+    }
+
+    private static Method method(final Class<?> owner, final String name, final Class<?>... parameterTypes) {
+        try {
+            return owner.getMethod(name, parameterTypes);
+        } catch (final NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Generated {
+
+        private boolean done;
+
+        private Class<?> mapperClass;
+    }
+}
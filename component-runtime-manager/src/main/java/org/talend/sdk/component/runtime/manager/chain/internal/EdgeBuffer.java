@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * FIFO buffer of the records flowing through an edge of a local job.
+ *
+ * Once {@code maxInMemory} records are buffered, the next ones are written to a {@link SpillFile} (the oldest
+ * records, consumed first, stay in memory). When {@code capacity} records are buffered the buffer is full and the
+ * local executor stops reading the sources until it is drained.
+ */
+class EdgeBuffer implements EdgeBufferMBean, AutoCloseable {
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final long capacity;
+
+    private final long maxInMemory;
+
+    private final File spillDirectory;
+
+    private final RecordBuilderFactory factory;
+
+    private final Deque<Slot> slots = new ArrayDeque<>();
+
+    private SpillFile spill;
+
+    @Getter
+    private long inMemoryRecords;
+
+    @Getter
+    private long spilledRecords;
+
+    @Getter
+    private long spilledBytes;
+
+    EdgeBuffer(final String name, final long capacity, final long maxInMemory, final File spillDirectory,
+            final RecordBuilderFactory factory) {
+        this.name = name;
+        this.capacity = capacity;
+        this.maxInMemory = maxInMemory;
+        this.spillDirectory = spillDirectory;
+        this.factory = factory;
+    }
+
+    @Override
+    public long getBufferedRecords() {
+        return slots.size();
+    }
+
+    boolean isEmpty() {
+        return slots.isEmpty();
+    }
+
+    boolean isFull() {
+        return capacity > 0 && slots.size() >= capacity;
+    }
+
+    void add(final String key, final Record record) {
+        final Slot slot = new Slot(key);
+        if (maxInMemory >= 0 && inMemoryRecords >= maxInMemory) {
+            if (spill == null) {
+                spill = new SpillFile(spillDirectory, factory);
+            }
+            slot.offset = spill.write(record);
+            slot.size = spill.getLength() - slot.offset;
+            spilledRecords++;
+            spilledBytes += slot.size;
+        } else {
+            slot.record = record;
+            inMemoryRecords++;
+        }
+        slots.add(slot);
+    }
+
+    /**
+     * @return the key of the next record or null if the buffer is empty.
+     */
+    String peekKey() {
+        final Slot slot = slots.peek();
+        return slot == null ? null : slot.key;
+    }
+
+    /**
+     * @return the oldest record or null if the buffer is empty.
+     */
+    Record poll() {
+        final Slot slot = slots.poll();
+        if (slot == null) {
+            return null;
+        }
+        if (slot.record != null) {
+            inMemoryRecords--;
+            return slot.record;
+        }
+        final Record record = spill.read(slot.offset);
+        spilledRecords--;
+        spilledBytes -= slot.size;
+        if (spilledRecords == 0) { // all spilled records were consumed, reuse the file from its start
+            spill.reset();
+        }
+        return record;
+    }
+
+    @Override
+    public void close() {
+        slots.clear();
+        if (spill != null) {
+            spill.close();
+            spill = null;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Slot {
+
+        private final String key;
+
+        private Record record;
+
+        private long offset;
+
+        private long size;
+    }
+}
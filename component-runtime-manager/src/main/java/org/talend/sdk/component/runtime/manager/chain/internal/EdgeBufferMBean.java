@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+/**
+ * Gauges of the buffer of a job edge (records emitted by a component branch and not yet consumed).
+ */
+public interface EdgeBufferMBean {
+
+    /**
+     * @return the number of records waiting in the buffer (in memory and spilled).
+     */
+    long getBufferedRecords();
+
+    /**
+     * @return the number of buffered records kept in memory.
+     */
+    long getInMemoryRecords();
+
+    /**
+     * @return the number of buffered records spilled to disk.
+     */
+    long getSpilledRecords();
+
+    /**
+     * @return the size in bytes of the buffered records spilled to disk.
+     */
+    long getSpilledBytes();
+
+    /**
+     * @return the number of buffered records above which the sources feeding this edge are paused.
+     */
+    long getCapacity();
+}
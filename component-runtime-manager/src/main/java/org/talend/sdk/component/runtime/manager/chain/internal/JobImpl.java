@@ -15,15 +15,18 @@
  */
 package org.talend.sdk.component.runtime.manager.chain.internal;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.InvocationTargetException;
 import java.util.AbstractMap;
 import java.util.ArrayList;
@@ -45,6 +48,10 @@ import java.util.function.Supplier;
 import javax.json.bind.Jsonb;
 import javax.json.bind.JsonbBuilder;
 import javax.json.bind.JsonbConfig;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
 
 import org.talend.sdk.component.api.processor.OutputEmitter;
 import org.talend.sdk.component.api.record.Record;
@@ -57,6 +64,7 @@ import org.talend.sdk.component.runtime.manager.chain.AutoChunkProcessor;
 import org.talend.sdk.component.runtime.manager.chain.ChainedMapper;
 import org.talend.sdk.component.runtime.manager.chain.GroupKeyProvider;
 import org.talend.sdk.component.runtime.manager.chain.Job;
+import org.talend.sdk.component.runtime.output.Branches;
 import org.talend.sdk.component.runtime.output.InputFactory;
 import org.talend.sdk.component.runtime.output.OutputFactory;
 import org.talend.sdk.component.runtime.output.Processor;
@@ -236,6 +244,8 @@ public class JobImpl implements Job {
 
         private final Map<String, Object> jobProperties = new HashMap<>();
 
+        private static final AtomicLong JOB_IDS = new AtomicLong();
+
         private final ComponentManager manager = ComponentManager.instance();
 
         @Override
@@ -324,50 +334,36 @@ public class JobImpl implements Job {
         private void localRun() {
             final long maxRecords =
                     Long.parseLong(String.valueOf(getJobProperties().getOrDefault("streaming.maxRecords", "-1")));
-            final Map<String, InputRunner> inputs =
-                    levels.values().stream().flatMap(Collection::stream).filter(Component::isSource).map(n -> {
-                        final Mapper mapper = manager
-                                .findMapper(n.getNode().getFamily(), n.getNode().getComponent(),
-                                        n.getNode().getVersion(), n.getNode().getConfiguration())
-                                .orElseThrow(() -> new IllegalStateException("No mapper found for: " + n.getNode()));
-                        return new AbstractMap.SimpleEntry<>(n.getId(), new InputRunner(mapper, maxRecords));
-                    }).collect(toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
+            final int parallelism =
+                    Integer.parseInt(String.valueOf(getJobProperties().getOrDefault("local.parallelism", "1")));
+            if (parallelism > 1) {
+                new ParallelJobRunner(this, parallelism, maxRecords).run();
+                return;
+            }
+            final Map<String, InputRunner> inputs = levels
+                    .values()
+                    .stream()
+                    .flatMap(Collection::stream)
+                    .filter(Component::isSource)
+                    .map(n -> new AbstractMap.SimpleEntry<>(n.getId(), new InputRunner(newMapper(n), maxRecords)))
+                    .collect(toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
 
             final Map<String, AutoChunkProcessor> processors = levels
                     .values()
                     .stream()
                     .flatMap(Collection::stream)
                     .filter(component -> !component.isSource())
-                    .map(component -> {
-                        final Processor processor = manager
-                                .findProcessor(component.getNode().getFamily(), component.getNode().getComponent(),
-                                        component.getNode().getVersion(), component.getNode().getConfiguration())
-                                .orElseThrow(() -> new IllegalStateException(
-                                        "No processor found for:" + component.getNode()));
-                        final AtomicInteger maxBatchSize = new AtomicInteger(1);
-                        if (ProcessorImpl.class.isInstance(processor)) {
-                            ProcessorImpl.class
-                                    .cast(processor)
-                                    .getInternalConfiguration()
-                                    .entrySet()
-                                    .stream()
-                                    .filter(it -> it.getKey().endsWith("$maxBatchSize") && it.getValue() != null
-                                            && !it.getValue().trim().isEmpty())
-                                    .findFirst()
-                                    .ifPresent(val -> {
-                                        try {
-                                            maxBatchSize.set(Integer.parseInt(val.getValue().trim()));
-                                        } catch (final NumberFormatException nfe) {
-                                            throw new IllegalArgumentException("Invalid configuratoin: " + val);
-                                        }
-                                    });
-                        }
-                        return new AbstractMap.SimpleEntry<>(component.getId(),
-                                new AutoChunkProcessor(maxBatchSize.get(), processor));
-                    })
+                    .map(component -> new AbstractMap.SimpleEntry<>(component.getId(), newProcessor(component)))
                     .collect(toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
 
             final RecordConverters.MappingMetaRegistry registry = new RecordConverters.MappingMetaRegistry();
+            final Map<String, JoinEngine> joins = new HashMap<>();
+            final Map<String, EdgeBuffer> buffers = getEdges().stream().collect(toMap(JobExecutor::bufferKey, edge -> {
+                final String fromId = edge.getFrom().getNode().getId();
+                return newEdgeBuffer(edge,
+                        inputs.containsKey(fromId) ? inputs.get(fromId).plugin() : processors.get(fromId).plugin());
+            }));
+            final Collection<ObjectName> mbeans = registerBuffers(buffers.values());
             try {
                 final Map<String, AtomicBoolean> sourcesWithData = levels
                         .values()
@@ -377,93 +373,109 @@ public class JobImpl implements Job {
                         .map(component -> new AbstractMap.SimpleEntry<>(component.getId(), new AtomicBoolean(true)))
                         .collect(toMap(AbstractMap.SimpleEntry::getKey, AbstractMap.SimpleEntry::getValue));
                 processors.values().forEach(Lifecycle::start); // start processor
-                final Map<String, Map<String, Map<String, Collection<Record>>>> flowData = new HashMap<>();
                 final AtomicBoolean running = new AtomicBoolean(true);
+                final Iterator<Set<Component>> levelsToFlush = levels.values().iterator();
                 do {
                     levels.forEach((level, components) -> components.forEach((Component component) -> {
                         if (component.isSource()) {
+                            if (getConnections(getEdges(), component, e -> e.getFrom().getNode())
+                                    .stream()
+                                    .anyMatch(edge -> buffers.get(bufferKey(edge)).isFull())) {
+                                return; // back-pressure, let the downstream components consume first
+                            }
                             final InputRunner source = inputs.get(component.getId());
                             final Record data = source.next();
                             if (data == null) {
                                 sourcesWithData.get(component.getId()).set(false);
                                 return;
                             }
-                            final String key = getKeyProvider(component.getId())
-                                    .apply(new GroupContextImpl(data, component.getId(), "__default__"));
-                            flowData.computeIfAbsent(component.getId(), s -> new HashMap<>());
-                            flowData.get(component.getId()).computeIfAbsent("__default__", s -> new TreeMap<>());
-                            flowData
-                                    .get(component.getId())
-                                    .get("__default__")
-                                    .computeIfAbsent(key, k -> new ArrayList<>())
-                                    .add(data);
+                            emit(buffers, component, Branches.DEFAULT_BRANCH, data);
                         } else {
                             final List<Edge> connections =
                                     getConnections(getEdges(), component, e -> e.getTo().getNode());
                             final DataInputFactory dataInputFactory = new DataInputFactory();
                             if (connections.size() == 1) {
                                 final Edge edge = connections.get(0);
-                                final String fromId = edge.getFrom().getNode().getId();
-                                final String fromBranch = edge.getFrom().getBranch();
-                                final String toBranch = edge.getTo().getBranch();
-
-                                final Map<String, Map<String, Collection<Record>>> idData = flowData.get(fromId);
-                                final Record data = idData == null ? null : pollFirst(idData.get(fromBranch));
+                                final Record data = buffers.get(bufferKey(edge)).poll();
                                 if (data != null) {
-                                    dataInputFactory.withInput(toBranch, singletonList(data));
+                                    dataInputFactory.withInput(edge.getTo().getBranch(), singletonList(data));
                                 }
                             } else { // need grouping
-                                final Map<String, Map<String, Collection<Record>>> availableDataForStep =
-                                        new HashMap<>();
-                                connections.forEach(edge -> {
-                                    final String fromId = edge.getFrom().getNode().getId();
-                                    final String fromBranch = edge.getFrom().getBranch();
-                                    final String toBranch = edge.getTo().getBranch();
-                                    final Map<String, Collection<Record>> data =
-                                            flowData.get(fromId) == null ? null : flowData.get(fromId).get(fromBranch);
-                                    if (data != null && !data.isEmpty()) {
-                                        availableDataForStep.put(toBranch, data);
+                                final JoinEngine join = joins
+                                        .computeIfAbsent(component.getId(),
+                                                id -> newJoinEngine(component,
+                                                        connections
+                                                                .stream()
+                                                                .map(edge -> edge.getTo().getBranch())
+                                                                .collect(toList()),
+                                                        processors.get(id).plugin()));
+                                // pull one record per branch until a match is ready or the join budget is
+                                // consumed, the rest stays in the edge buffers which keep back-pressuring the
+                                // sources and spill on their own limit
+                                long budget = join.getPushBudget();
+                                boolean pulled = true;
+                                while (pulled && budget > 0 && !join.hasReady()) {
+                                    pulled = false;
+                                    for (final Edge edge : connections) {
+                                        final EdgeBuffer buffer = buffers.get(bufferKey(edge));
+                                        if (budget > 0 && !buffer.isEmpty()) {
+                                            final String key = buffer.peekKey();
+                                            join.push(edge.getTo().getBranch(), key, buffer.poll());
+                                            budget--;
+                                            pulled = true;
+                                        }
                                     }
-                                });
-
-                                final Map<String, String> joined = joinWithFusionSort(availableDataForStep);
-                                if (!joined.isEmpty() && connections.size() == joined.size()) {
-                                    joined.forEach((k, v) -> {
-                                        final Collection data = availableDataForStep.get(k).remove(v);
-                                        dataInputFactory.withInput(k, data);
-                                    });
+                                }
+                                final Map<String, Record> joined = join.poll();
+                                if (joined != null) {
+                                    joined
+                                            .forEach((branch, data) -> dataInputFactory
+                                                    .withInput(branch, singletonList(data)));
                                 }
                             }
                             if (dataInputFactory.inputs.isEmpty()) {
-                                if (level.equals(levels.size() - 1)
-                                        && sourcesWithData.entrySet().stream().noneMatch(e -> e.getValue().get())) {
-                                    running.set(false);
-                                }
                                 return;
                             }
                             final AutoChunkProcessor processor = processors.get(component.getId());
 
-                            final DataOutputFactory dataOutputFactory = new DataOutputFactory(getManager()
-                                    .findPlugin(processor.plugin())
-                                    .get()
-                                    .get(ComponentManager.AllServices.class)
-                                    .getServices(), registry);
+                            final DataOutputFactory dataOutputFactory =
+                                    new DataOutputFactory(getServices(processor.plugin()), registry);
                             processor.onElement(dataInputFactory, dataOutputFactory);
-                            dataOutputFactory.getOutputs().forEach((branch, data) -> data.forEach(item -> {
-                                final String key = getKeyProvider(component.getId())
-                                        .apply(new GroupContextImpl(item, component.getId(), branch));
-                                flowData.computeIfAbsent(component.getId(), s -> new HashMap<>());
-                                flowData.get(component.getId()).computeIfAbsent(branch, s -> new TreeMap<>());
-                                flowData
-                                        .get(component.getId())
-                                        .get(branch)
-                                        .computeIfAbsent(key, k -> new ArrayList<>())
-                                        .add(item);
-                            }));
+                            dataOutputFactory
+                                    .getOutputs()
+                                    .forEach((branch, data) -> data
+                                            .forEach(item -> emit(buffers, component, branch, item)));
                         }
                     }));
+                    if (sourcesWithData.values().stream().noneMatch(AtomicBoolean::get)
+                            && buffers.values().stream().allMatch(EdgeBuffer::isEmpty)
+                            && joins.values().stream().noneMatch(JoinEngine::hasReady)) {
+                        // no more data: flush the pending groups (and batches) level after level
+                        // to let the downstream components process what the upstream ones flushed
+                        if (levelsToFlush.hasNext()) {
+                            levelsToFlush
+                                    .next()
+                                    .stream()
+                                    .filter(component -> !component.isSource())
+                                    .forEach(component -> {
+                                        final AutoChunkProcessor processor = processors.get(component.getId());
+                                        final DataOutputFactory dataOutputFactory =
+                                                new DataOutputFactory(getServices(processor.plugin()), registry);
+                                        processor.flush(dataOutputFactory);
+                                        dataOutputFactory
+                                                .getOutputs()
+                                                .forEach((branch, data) -> data
+                                                        .forEach(item -> emit(buffers, component, branch, item)));
+                                    });
+                        } else {
+                            running.set(false);
+                        }
+                    }
                 } while (running.get());
             } finally {
+                unregisterBuffers(mbeans);
+                buffers.values().forEach(EdgeBuffer::close);
+                joins.values().forEach(JoinEngine::close);
                 processors.values().forEach(Lifecycle::stop);
                 inputs.values().forEach(InputRunner::stop);
                 levels
@@ -475,45 +487,118 @@ public class JobImpl implements Job {
             }
         }
 
-        private Map<String, String>
-                joinWithFusionSort(final Map<String, Map<String, Collection<Record>>> dataByBranch) {
-            final Map<String, String> join = new HashMap<>();
-            dataByBranch.forEach((branch1, records1) -> {
-                dataByBranch.forEach((branch2, records2) -> {
-                    if (!branch1.equals(branch2)) {
-                        for (final String key1 : records1.keySet()) {
-                            for (final String key2 : records2.keySet()) {
-                                if (key1.equals(key2)) {
-                                    join.putIfAbsent(branch1, key1);
-                                    join.putIfAbsent(branch2, key2);
-                                } else if (key1.compareTo(key2) < 0) {
-                                    break;// see fusion sort
-                                }
+        Mapper newMapper(final Component component) {
+            return manager
+                    .findMapper(component.getNode().getFamily(), component.getNode().getComponent(),
+                            component.getNode().getVersion(), component.getNode().getConfiguration())
+                    .orElseThrow(() -> new IllegalStateException("No mapper found for: " + component.getNode()));
+        }
+
+        AutoChunkProcessor newProcessor(final Component component) {
+            final Processor processor = manager
+                    .findProcessor(component.getNode().getFamily(), component.getNode().getComponent(),
+                            component.getNode().getVersion(), component.getNode().getConfiguration())
+                    .orElseThrow(() -> new IllegalStateException("No processor found for:" + component.getNode()));
+            final AtomicInteger maxBatchSize = new AtomicInteger(1);
+            if (ProcessorImpl.class.isInstance(processor)) {
+                ProcessorImpl.class
+                        .cast(processor)
+                        .getInternalConfiguration()
+                        .entrySet()
+                        .stream()
+                        .filter(it -> it.getKey().endsWith("$maxBatchSize") && it.getValue() != null
+                                && !it.getValue().trim().isEmpty())
+                        .findFirst()
+                        .ifPresent(val -> {
+                            try {
+                                maxBatchSize.set(Integer.parseInt(val.getValue().trim()));
+                            } catch (final NumberFormatException nfe) {
+                                throw new IllegalArgumentException("Invalid configuratoin: " + val);
                             }
-                        }
-                    }
-                });
-            });
-            return join;
+                        });
+            }
+            return new AutoChunkProcessor(maxBatchSize.get(), processor);
         }
 
-        private Record pollFirst(final Map<String, Collection<Record>> data) {
-            if (data == null || data.isEmpty()) {
-                return null;
+        JoinEngine newJoinEngine(final Component component, final Collection<String> branches, final String plugin) {
+            final String spillDirectory = getProperty(component.getId(), "local.spillDirectory", null);
+            return new JoinEngine(branches,
+                    JoinEngine.Mode.from(getProperty(component.getId(), "local.join.mode", "hash")),
+                    Long.parseLong(getProperty(component.getId(), "local.join.maxPendingRecords", "100000")),
+                    spillDirectory == null ? null : new File(spillDirectory),
+                    RecordBuilderFactory.class.cast(getServices(plugin).get(RecordBuilderFactory.class)));
+        }
+
+        /**
+         * @return the component property if set, the job property otherwise.
+         */
+        String getProperty(final String componentId, final String name, final String defaultValue) {
+            final Map<String, Object> properties = componentProperties.get(componentId);
+            final Object value =
+                    properties == null || properties.get(name) == null ? jobProperties.get(name) : properties.get(name);
+            return value == null ? defaultValue : String.valueOf(value);
+        }
+
+        Map<Class<?>, Object> getServices(final String plugin) {
+            return getManager().findPlugin(plugin).get().get(ComponentManager.AllServices.class).getServices();
+        }
+
+        private void emit(final Map<String, EdgeBuffer> buffers, final Component component, final String branch,
+                final Record record) {
+            final EdgeBuffer buffer = buffers.get(component.getId() + '/' + branch);
+            if (buffer == null) { // not connected
+                return;
             }
-            while (!data.isEmpty()) {
-                final String key = data.keySet().iterator().next();
-                final Collection<Record> items = data.get(key);
-                if (!items.isEmpty()) {
-                    final Iterator<Record> iterator = items.iterator();
-                    final Record item = iterator.next();
-                    iterator.remove();
-                    return item;
-                } else {
-                    data.remove(key);
-                }
+            buffer
+                    .add(getKeyProvider(component.getId())
+                            .apply(new GroupContextImpl(record, component.getId(), branch)), record);
+        }
+
+        private static String bufferKey(final Edge edge) {
+            return edge.getFrom().getNode().getId() + '/' + edge.getFrom().getBranch();
+        }
+
+        private EdgeBuffer newEdgeBuffer(final Edge edge, final String plugin) {
+            final String fromId = edge.getFrom().getNode().getId();
+            final String spillDirectory = getProperty(fromId, "local.spillDirectory", null);
+            return new EdgeBuffer(
+                    fromId + '.' + edge.getFrom().getBranch() + "->" + edge.getTo().getNode().getId() + '.'
+                            + edge.getTo().getBranch(),
+                    Long.parseLong(getProperty(fromId, "local.buffer.capacity", "10000")),
+                    Long.parseLong(getProperty(fromId, "local.buffer.maxInMemory", "-1")),
+                    spillDirectory == null ? null : new File(spillDirectory),
+                    RecordBuilderFactory.class.cast(getServices(plugin).get(RecordBuilderFactory.class)));
+        }
+
+        private Collection<ObjectName> registerBuffers(final Collection<EdgeBuffer> buffers) {
+            if (Boolean.getBoolean("talend.component.manager.jmx.skip")) {
+                return emptyList();
             }
-            return null;
+            final String job = "local-" + JOB_IDS.incrementAndGet();
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final Collection<ObjectName> names = new ArrayList<>();
+            buffers.forEach(buffer -> {
+                try {
+                    final ObjectName name = new ObjectName("org.talend.sdk.component:type=job,job=" + job + ",edge="
+                            + ObjectName.quote(buffer.getName()));
+                    server.registerMBean(new StandardMBean(buffer, EdgeBufferMBean.class), name);
+                    names.add(name);
+                } catch (final JMException e) {
+                    log.warn(e.getMessage(), e);
+                }
+            });
+            return names;
+        }
+
+        private void unregisterBuffers(final Collection<ObjectName> names) {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            names.forEach(name -> {
+                try {
+                    server.unregisterMBean(name);
+                } catch (final JMException e) {
+                    log.warn(e.getMessage(), e);
+                }
+            });
         }
 
         private List<Job.Edge> getConnections(final List<Job.Edge> edges, final Job.Component step,
@@ -544,7 +629,7 @@ public class JobImpl implements Job {
     }
 
     @Data
-    private static class GroupContextImpl implements GroupKeyProvider.GroupContext {
+    static class GroupContextImpl implements GroupKeyProvider.GroupContext {
 
         private final Record data;
 
@@ -602,6 +687,10 @@ public class JobImpl implements Job {
             }
         }
 
+        public String plugin() {
+            return chainedMapper.plugin();
+        }
+
         public Record next() {
             if (maxRecords > 0 && currentRecords >= maxRecords) {
                 return null;
@@ -639,7 +728,7 @@ public class JobImpl implements Job {
     }
 
     @Data
-    private static class DataOutputFactory implements OutputFactory {
+    static class DataOutputFactory implements OutputFactory {
 
         private final Map<Class<?>, Object> services;
 
@@ -671,7 +760,7 @@ public class JobImpl implements Job {
         }
     }
 
-    private static class DataInputFactory implements InputFactory {
+    static class DataInputFactory implements InputFactory {
 
         private final Map<String, Iterator<Object>> inputs = new HashMap<>();
 
@@ -681,7 +770,7 @@ public class JobImpl implements Job {
 
         private volatile RecordConverters.MappingMetaRegistry registry;
 
-        private DataInputFactory withInput(final String branch, final Collection<Object> branchData) {
+        DataInputFactory withInput(final String branch, final Collection<Object> branchData) {
             inputs.put(branch, branchData.iterator());
             return this;
         }
@@ -0,0 +1,278 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Joins the records of several branches on their
+ * {@link org.talend.sdk.component.runtime.manager.chain.GroupKeyProvider}
+ * key, each match is one record per branch.
+ *
+ * <ul>
+ * <li>{@link Mode#HASH}: records are indexed by key and each pushed record probes its key only, unmatched records are
+ * kept until the end of the job. Available matches are consumed by ascending key.</li>
+ * <li>{@link Mode#SORT_MERGE}: the branches must be sorted by key (string order), records which can no more match
+ * are dropped so only the skew between the branches is kept.</li>
+ * </ul>
+ *
+ * When more than {@code maxPendingRecords} records are held in memory, matches not yet polled included, they are moved
+ * to a {@link SpillFile}, only their key and offset stay in memory.
+ */
+class JoinEngine implements AutoCloseable {
+
+    enum Mode {
+        HASH,
+        SORT_MERGE;
+
+        static Mode from(final String value) {
+            return "sort-merge".equalsIgnoreCase(value) || "SORT_MERGE".equalsIgnoreCase(value) ? SORT_MERGE : HASH;
+        }
+    }
+
+    private final Collection<String> branches;
+
+    private final Mode mode;
+
+    private final long maxPendingRecords;
+
+    private final File spillDirectory;
+
+    private final RecordBuilderFactory factory;
+
+    // HASH: branch -> key -> pending records
+    private final Map<String, Map<String, Deque<Slot>>> index = new HashMap<>();
+
+    // SORT_MERGE: branch -> pending records in key order
+    private final Map<String, Deque<Slot>> streams = new HashMap<>();
+
+    // matches (one slot per branch) by key, the smallest key is consumed first as the former fusion sort did
+    private final TreeMap<String, Deque<Slot[]>> ready =
+            new TreeMap<>(Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private SpillFile spill;
+
+    private long inMemory;
+
+    @Getter
+    private long pending;
+
+    @Getter
+    private long spilled;
+
+    @Getter
+    private long dropped;
+
+    JoinEngine(final Collection<String> branches, final Mode mode, final long maxPendingRecords,
+            final File spillDirectory, final RecordBuilderFactory factory) {
+        this.branches = branches;
+        this.mode = mode;
+        this.maxPendingRecords = maxPendingRecords;
+        this.spillDirectory = spillDirectory;
+        this.factory = factory;
+        branches.forEach(branch -> {
+            index.put(branch, new HashMap<>());
+            streams.put(branch, new ArrayDeque<>());
+        });
+    }
+
+    void push(final String branch, final String key, final Record record) {
+        final Slot slot = new Slot(key);
+        slot.record = record;
+        pending++;
+        inMemory++;
+        if (mode == Mode.HASH) {
+            index.get(branch).computeIfAbsent(key, k -> new ArrayDeque<>()).add(slot);
+            probe(key);
+        } else {
+            streams.get(branch).add(slot);
+            merge();
+        }
+        if (maxPendingRecords > 0 && inMemory > maxPendingRecords) {
+            spill();
+        }
+    }
+
+    boolean hasReady() {
+        return !ready.isEmpty();
+    }
+
+    /**
+     * @return how many records the caller can push before the records held in memory exceed
+     * {@code maxPendingRecords}, 0 while a match is ready (it must be consumed first) and at least 1 otherwise
+     * so the join can always progress (pushing over the limit spills the pending records).
+     */
+    long getPushBudget() {
+        if (!ready.isEmpty()) {
+            return 0;
+        }
+        if (maxPendingRecords <= 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(1, maxPendingRecords - inMemory);
+    }
+
+    /**
+     * @return the next match (branch to record) or null if none is available.
+     */
+    Map<String, Record> poll() {
+        final Map.Entry<String, Deque<Slot[]>> first = ready.firstEntry();
+        if (first == null) {
+            return null;
+        }
+        final Slot[] slots = first.getValue().poll();
+        if (first.getValue().isEmpty()) {
+            ready.remove(first.getKey());
+        }
+        final Map<String, Record> match = new LinkedHashMap<>();
+        int index = 0;
+        for (final String branch : branches) {
+            match.put(branch, load(slots[index++]));
+        }
+        return match;
+    }
+
+    @Override
+    public void close() {
+        if (spill != null) {
+            spill.close();
+            spill = null;
+        }
+    }
+
+    private void probe(final String key) {
+        while (true) {
+            for (final String branch : branches) {
+                final Deque<Slot> slots = index.get(branch).get(key);
+                if (slots == null || slots.isEmpty()) {
+                    return;
+                }
+            }
+            final Slot[] match = new Slot[branches.size()];
+            int position = 0;
+            for (final String branch : branches) {
+                final Map<String, Deque<Slot>> branchIndex = index.get(branch);
+                final Deque<Slot> slots = branchIndex.get(key);
+                match[position++] = slots.poll();
+                if (slots.isEmpty()) {
+                    branchIndex.remove(key);
+                }
+            }
+            ready.computeIfAbsent(key, k -> new ArrayDeque<>()).add(match);
+        }
+    }
+
+    private void merge() {
+        while (true) {
+            String max = null;
+            for (final String branch : branches) {
+                final Slot head = streams.get(branch).peek();
+                if (head == null) {
+                    return;
+                }
+                if (max == null || compare(head.key, max) > 0) {
+                    max = head.key;
+                }
+            }
+            boolean matched = true;
+            for (final String branch : branches) {
+                final Deque<Slot> stream = streams.get(branch);
+                if (compare(stream.peek().key, max) < 0) { // can't match anymore since inputs are sorted
+                    remove(stream.poll());
+                    dropped++;
+                    matched = false;
+                }
+            }
+            if (matched) {
+                final Slot[] match = new Slot[branches.size()];
+                int position = 0;
+                for (final String branch : branches) {
+                    match[position++] = streams.get(branch).poll();
+                }
+                ready.computeIfAbsent(max, k -> new ArrayDeque<>()).add(match);
+            }
+        }
+    }
+
+    private Record load(final Slot slot) {
+        final Record record = slot.record == null ? spill.read(slot.offset) : slot.record;
+        remove(slot);
+        return record;
+    }
+
+    private void remove(final Slot slot) {
+        pending--;
+        if (slot.record != null) {
+            inMemory--;
+        }
+    }
+
+    private void spill() {
+        if (spill == null) {
+            spill = new SpillFile(spillDirectory, factory);
+        }
+        if (mode == Mode.HASH) {
+            index.values().forEach(keys -> keys.values().forEach(slots -> slots.forEach(this::spill)));
+        } else {
+            streams.values().forEach(slots -> slots.forEach(this::spill));
+        }
+        ready.values().forEach(matches -> matches.forEach(match -> {
+            for (final Slot slot : match) {
+                spill(slot);
+            }
+        }));
+        inMemory = 0;
+    }
+
+    private void spill(final Slot slot) {
+        if (slot.record != null) {
+            slot.offset = spill.write(slot.record);
+            slot.record = null;
+            spilled++;
+        }
+    }
+
+    private static int compare(final String key1, final String key2) {
+        if (key1 == null) {
+            return key2 == null ? 0 : -1;
+        }
+        return key2 == null ? 1 : key1.compareTo(key2);
+    }
+
+    @RequiredArgsConstructor
+    private static class Slot {
+
+        private final String key;
+
+        private Record record;
+
+        private long offset;
+    }
+}
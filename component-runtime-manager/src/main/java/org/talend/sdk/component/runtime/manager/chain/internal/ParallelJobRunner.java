@@ -0,0 +1,431 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.runtime.input.Input;
+import org.talend.sdk.component.runtime.input.Mapper;
+import org.talend.sdk.component.runtime.manager.chain.AutoChunkProcessor;
+import org.talend.sdk.component.runtime.manager.chain.GroupKeyProvider;
+import org.talend.sdk.component.runtime.manager.chain.Job;
+import org.talend.sdk.component.runtime.output.Branches;
+import org.talend.sdk.component.runtime.record.RecordConverters;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local runner executing the job stages concurrently.
+ *
+ * Each source is split in partitions (using {@link Mapper#assess()} and {@link Mapper#split(long)}) and each
+ * partition is read by its own worker. Each processor runs with {@code local.parallelism} workers (overridable per
+ * component with the same property), each worker owning its processor instance.
+ * Stages are linked by bounded queues ({@code local.queueSize} records) so a slow stage slows down its producers.
+ *
+ * Components with multiple inputs are joined with the {@link GroupKeyProvider} keys: records are routed to a worker
+ * by key so all the records of a key meet in the same worker, which joins them with its own {@link JoinEngine}.
+ * Note that with the default (sequence based) key provider the pairing depends on the arrival order which is not
+ * deterministic with concurrent producers, set a key provider when joining in parallel.
+ */
+@Slf4j
+class ParallelJobRunner {
+
+    private static final Item END = new Item(null, null, null);
+
+    private final JobImpl.JobExecutor executor;
+
+    private final int parallelism;
+
+    private final long maxRecords;
+
+    private final int queueSize;
+
+    private final RecordConverters.MappingMetaRegistry registry = new RecordConverters.MappingMetaRegistry();
+
+    ParallelJobRunner(final JobImpl.JobExecutor executor, final int parallelism, final long maxRecords) {
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.maxRecords = maxRecords;
+        this.queueSize =
+                Integer.parseInt(String.valueOf(executor.getJobProperties().getOrDefault("local.queueSize", "1024")));
+    }
+
+    void run() {
+        final List<Job.Component> components =
+                executor.getLevels().values().stream().flatMap(Collection::stream).collect(toList());
+        final Map<String, Stage> stages = new LinkedHashMap<>();
+        final Map<String, GroupKeyProvider> keyProviders = new HashMap<>();
+        final Map<String, Mapper> mappers = new HashMap<>();
+        final List<Runnable> workers = new ArrayList<>();
+        ExecutorService pool = null;
+        try {
+            // resolve everything in the caller thread, workers only run the components
+            components
+                    .forEach(component -> keyProviders
+                            .put(component.getId(), executor.getKeyProvider(component.getId())));
+            components.stream().filter(it -> !it.isSource()).forEach(component -> {
+                final int inputs = (int) executor
+                        .getEdges()
+                        .stream()
+                        .filter(edge -> edge.getTo().getNode().equals(component))
+                        .count();
+                stages.put(component.getId(), new Stage(component, inputs > 1, getParallelism(component)));
+            });
+            components.forEach(component -> {
+                final Map<String, List<Route>> routes = getRoutes(component, stages);
+                if (component.isSource()) {
+                    final Mapper mapper = executor.newMapper(component);
+                    mappers.put(component.getId(), mapper);
+                    final List<Mapper> partitions = split(mapper, getParallelism(component));
+                    final AtomicLong counter = new AtomicLong();
+                    partitions.forEach(partition -> {
+                        routes
+                                .values()
+                                .stream()
+                                .flatMap(Collection::stream)
+                                .forEach(r -> r.stage.producers.incrementAndGet());
+                        workers
+                                .add(new SourceWorker(component, mapper, partition, counter, routes,
+                                        keyProviders.get(component.getId())));
+                    });
+                } else {
+                    final Stage stage = stages.get(component.getId());
+                    for (int i = 0; i < stage.workers; i++) {
+                        routes
+                                .values()
+                                .stream()
+                                .flatMap(Collection::stream)
+                                .forEach(r -> r.stage.producers.incrementAndGet());
+                        workers
+                                .add(new ProcessorWorker(stage, i, executor.newProcessor(component), routes,
+                                        keyProviders.get(component.getId())));
+                    }
+                }
+            });
+            stages.values().stream().filter(it -> it.producers.get() == 0).forEach(Stage::producerDone);
+
+            final AtomicInteger threadCounter = new AtomicInteger();
+            pool = Executors.newFixedThreadPool(workers.size(), r -> {
+                final Thread thread = new Thread(r, "talend-local-job-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            final CompletionService<Void> completion = new ExecutorCompletionService<>(pool);
+            workers.forEach(worker -> completion.submit(worker, null));
+            for (int i = 0; i < workers.size(); i++) {
+                try {
+                    completion.take().get();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                } catch (final ExecutionException e) {
+                    if (RuntimeException.class.isInstance(e.getCause())) {
+                        throw RuntimeException.class.cast(e.getCause());
+                    }
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdownNow();
+                try {
+                    if (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                        log.warn("Some workers of the job are still running");
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            mappers.values().forEach(mapper -> {
+                try {
+                    mapper.stop();
+                } catch (final RuntimeException re) {
+                    log.error(re.getMessage(), re);
+                }
+            });
+            components.stream().map(Job.Component::getId).forEach(JobImpl.LocalSequenceHolder::clean);
+        }
+    }
+
+    private int getParallelism(final Job.Component component) {
+        return Math
+                .max(1, Integer
+                        .parseInt(executor
+                                .getProperty(component.getId(), "local.parallelism", Integer.toString(parallelism))));
+    }
+
+    private List<Mapper> split(final Mapper mapper, final int partitions) {
+        mapper.start();
+        final long size = mapper.assess();
+        if (partitions <= 1 || size <= 0) {
+            return mapper.split(size);
+        }
+        return mapper.split(Math.max(1, size / partitions));
+    }
+
+    // output branch -> downstream stages
+    private Map<String, List<Route>> getRoutes(final Job.Component component, final Map<String, Stage> stages) {
+        final Map<String, List<Route>> routes = new HashMap<>();
+        executor
+                .getEdges()
+                .stream()
+                .filter(edge -> edge.getFrom().getNode().equals(component))
+                .forEach(edge -> routes
+                        .computeIfAbsent(edge.getFrom().getBranch(), k -> new ArrayList<>())
+                        .add(new Route(stages.get(edge.getTo().getNode().getId()), edge.getTo().getBranch())));
+        return routes;
+    }
+
+    private static <T> T take(final BlockingQueue<T> queue) {
+        try {
+            return queue.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> void put(final BlockingQueue<T> queue, final T item) {
+        try {
+            queue.put(item);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Item {
+
+        private final String branch;
+
+        private final String key;
+
+        private final Record record;
+    }
+
+    @RequiredArgsConstructor
+    private static class Route {
+
+        private final Stage stage;
+
+        private final String branch;
+    }
+
+    private class Stage {
+
+        private final Job.Component component;
+
+        private final boolean join;
+
+        private final int workers;
+
+        // a shared queue or one queue per worker when joining (routed by key)
+        private final List<BlockingQueue<Item>> queues = new ArrayList<>();
+
+        private final AtomicInteger producers = new AtomicInteger();
+
+        private Stage(final Job.Component component, final boolean join, final int workers) {
+            this.component = component;
+            this.join = join;
+            this.workers = workers;
+            for (int i = 0; i < (join ? workers : 1); i++) {
+                queues.add(new ArrayBlockingQueue<>(queueSize));
+            }
+        }
+
+        private BlockingQueue<Item> queue(final int worker) {
+            return join ? queues.get(worker) : queues.get(0);
+        }
+
+        private void send(final Item item) {
+            put(join ? queues.get(Math.floorMod(Objects.hashCode(item.key), workers)) : queues.get(0), item);
+        }
+
+        private void producerDone() {
+            if (producers.decrementAndGet() <= 0) {
+                for (int i = 0; i < workers; i++) {
+                    put(queue(i), END);
+                }
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private abstract class Worker implements Runnable {
+
+        protected final Job.Component component;
+
+        private final Map<String, List<Route>> routes;
+
+        private final GroupKeyProvider keyProvider;
+
+        protected void emit(final String branch, final Record record) {
+            final List<Route> targets = routes.get(branch);
+            if (targets == null) {
+                return;
+            }
+            String key = null;
+            for (final Route route : targets) {
+                if (route.stage.join && key == null) {
+                    key = keyProvider.apply(new JobImpl.GroupContextImpl(record, component.getId(), branch));
+                }
+                route.stage.send(new Item(route.branch, key, record));
+            }
+        }
+
+        protected void done() {
+            routes.values().stream().flatMap(Collection::stream).forEach(route -> route.stage.producerDone());
+        }
+    }
+
+    private class SourceWorker extends Worker {
+
+        private final Mapper root;
+
+        private final Mapper partition;
+
+        private final AtomicLong counter;
+
+        private SourceWorker(final Job.Component component, final Mapper root, final Mapper partition,
+                final AtomicLong counter, final Map<String, List<Route>> routes, final GroupKeyProvider keyProvider) {
+            super(component, routes, keyProvider);
+            this.root = root;
+            this.partition = partition;
+            this.counter = counter;
+        }
+
+        @Override
+        public void run() {
+            if (partition != root) {
+                partition.start();
+            }
+            try {
+                final Input input = partition.create();
+                input.start();
+                try {
+                    while (maxRecords <= 0 || counter.get() < maxRecords) {
+                        final Object next = input.next();
+                        if (next == null || (maxRecords > 0 && counter.incrementAndGet() > maxRecords)) {
+                            break;
+                        }
+                        emit(Branches.DEFAULT_BRANCH, Record.class.cast(next));
+                    }
+                } finally {
+                    input.stop();
+                }
+            } finally {
+                if (partition != root) {
+                    partition.stop();
+                }
+            }
+            done();
+        }
+    }
+
+    private class ProcessorWorker extends Worker {
+
+        private final Stage stage;
+
+        private final int index;
+
+        private final AutoChunkProcessor processor;
+
+        private ProcessorWorker(final Stage stage, final int index, final AutoChunkProcessor processor,
+                final Map<String, List<Route>> routes, final GroupKeyProvider keyProvider) {
+            super(stage.component, routes, keyProvider);
+            this.stage = stage;
+            this.index = index;
+            this.processor = processor;
+        }
+
+        @Override
+        public void run() {
+            final Map<Class<?>, Object> services = executor.getServices(processor.plugin());
+            final JoinEngine join =
+                    stage.join
+                            ? executor
+                                    .newJoinEngine(component,
+                                            executor
+                                                    .getEdges()
+                                                    .stream()
+                                                    .filter(edge -> edge.getTo().getNode().equals(component))
+                                                    .map(edge -> edge.getTo().getBranch())
+                                                    .collect(toList()),
+                                            processor.plugin())
+                            : null;
+            final BlockingQueue<Item> queue = stage.queue(index);
+            processor.start();
+            try {
+                Item item;
+                while ((item = take(queue)) != END) {
+                    if (join == null) {
+                        onElement(services,
+                                new JobImpl.DataInputFactory().withInput(item.branch, singletonList(item.record)));
+                        continue;
+                    }
+                    join.push(item.branch, item.key, item.record);
+                    Map<String, Record> match;
+                    while ((match = join.poll()) != null) {
+                        final JobImpl.DataInputFactory inputs = new JobImpl.DataInputFactory();
+                        match.forEach((branch, record) -> inputs.withInput(branch, singletonList(record)));
+                        onElement(services, inputs);
+                    }
+                }
+                final JobImpl.DataOutputFactory outputs = new JobImpl.DataOutputFactory(services, registry);
+                processor.flush(outputs);
+                forward(outputs);
+            } finally {
+                if (join != null) {
+                    join.close();
+                }
+                processor.stop();
+            }
+            done();
+        }
+
+        private void onElement(final Map<Class<?>, Object> services, final JobImpl.DataInputFactory inputs) {
+            final JobImpl.DataOutputFactory outputs = new JobImpl.DataOutputFactory(services, registry);
+            processor.onElement(inputs, outputs);
+            forward(outputs);
+        }
+
+        private void forward(final JobImpl.DataOutputFactory outputs) {
+            outputs.getOutputs().forEach((branch, data) -> data.forEach(record -> emit(branch, record)));
+        }
+    }
+}
@@ -0,0 +1,499 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append only temporary file storing records, a record is read back from the offset returned when writing it.
+ *
+ * The file only lives as long as the job so schemas are not written, they are kept in memory
+ * and referenced by an index. Writes go through a buffer flushed before reading, reads are buffered too and keep
+ * their buffer while the records are read in write order (FIFO edge buffers).
+ *
+ * The records are written with their own binary encoding because the record model has no serialized form to reuse
+ * here: the record implementations are not {@link java.io.Serializable}, the Avro coder is only in the beam module
+ * and the JSON mapping of {@link org.talend.sdk.component.runtime.record.RecordConverters} does not keep the entry
+ * types (DATETIME and BYTES become strings, FLOAT and DOUBLE can't be told apart).
+ */
+@Slf4j
+class SpillFile implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // array items are tagged with their java type to read them back as they were written
+    private static final byte ITEM_NULL = 0;
+
+    private static final byte ITEM_STRING = 1;
+
+    private static final byte ITEM_RECORD = 2;
+
+    private static final byte ITEM_ARRAY = 3;
+
+    private static final byte ITEM_BYTES = 4;
+
+    private static final byte ITEM_BYTE = 5;
+
+    private static final byte ITEM_SHORT = 6;
+
+    private static final byte ITEM_INT = 7;
+
+    private static final byte ITEM_LONG = 8;
+
+    private static final byte ITEM_FLOAT = 9;
+
+    private static final byte ITEM_DOUBLE = 10;
+
+    private static final byte ITEM_BOOLEAN = 11;
+
+    private static final byte ITEM_DATE = 12;
+
+    private static final byte ITEM_ZONED_DATE_TIME = 13;
+
+    private final RecordBuilderFactory factory;
+
+    private final File file;
+
+    private final FileChannel channel;
+
+    private final Map<Schema, Integer> schemaIds = new HashMap<>();
+
+    private final List<Schema> schemas = new ArrayList<>();
+
+    private final ChannelOutputStream fileOutput = new ChannelOutputStream();
+
+    private final CountingOutputStream written;
+
+    private final DataOutputStream output;
+
+    private CountingInputStream read;
+
+    private DataInputStream input;
+
+    private long inputOffset;
+
+    SpillFile(final File directory, final RecordBuilderFactory factory) {
+        this.factory = factory;
+        try {
+            this.file = directory == null ? Files.createTempFile("talend-job-", ".spill").toFile()
+                    : Files.createTempFile(directory.toPath(), "talend-job-", ".spill").toFile();
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        this.written = new CountingOutputStream(new BufferedOutputStream(fileOutput, BUFFER_SIZE));
+        this.output = new DataOutputStream(written);
+    }
+
+    long getLength() {
+        return written.count;
+    }
+
+    long write(final Record record) {
+        try {
+            final long offset = written.count;
+            writeRecord(record);
+            return offset;
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    Record read(final long offset) {
+        try {
+            output.flush(); // the record can still be in the write buffer
+            if (input == null || inputOffset + read.count != offset) { // else keep the read buffer
+                read = new CountingInputStream(new BufferedInputStream(new ChannelInputStream(offset), BUFFER_SIZE));
+                input = new DataInputStream(read);
+                inputOffset = offset;
+            }
+            return readRecord(input);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Drops the content of the file, previous offsets must no more be used.
+     */
+    void reset() {
+        try {
+            output.flush();
+            channel.truncate(0);
+            fileOutput.position = 0;
+            written.count = 0;
+            input = null;
+            read = null;
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (final IOException e) {
+            log.warn(e.getMessage(), e);
+        } finally {
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    private void writeRecord(final Record record) throws IOException {
+        final Schema schema = record.getSchema();
+        Integer id = schemaIds.get(schema);
+        if (id == null) {
+            id = schemas.size();
+            schemas.add(schema);
+            schemaIds.put(schema, id);
+        }
+        output.writeInt(id);
+        for (final Schema.Entry entry : schema.getEntries()) {
+            final Object value = record.get(Object.class, entry.getName());
+            output.writeBoolean(value != null);
+            if (value != null) {
+                writeValue(entry.getType(), value);
+            }
+        }
+    }
+
+    private void writeValue(final Schema.Type type, final Object value) throws IOException {
+        switch (type) {
+        case RECORD:
+            writeRecord(Record.class.cast(value));
+            break;
+        case ARRAY:
+            final Collection<?> values = Collection.class.cast(value);
+            output.writeInt(values.size());
+            for (final Object item : values) {
+                writeItem(item);
+            }
+            break;
+        case STRING:
+            writeBytes(String.valueOf(value).getBytes(UTF_8));
+            break;
+        case BYTES:
+            writeBytes(byte[].class.cast(value));
+            break;
+        case INT:
+            output.writeInt(Number.class.cast(value).intValue());
+            break;
+        case LONG:
+            output.writeLong(Number.class.cast(value).longValue());
+            break;
+        case FLOAT:
+            output.writeFloat(Number.class.cast(value).floatValue());
+            break;
+        case DOUBLE:
+            output.writeDouble(Number.class.cast(value).doubleValue());
+            break;
+        case BOOLEAN:
+            output.writeBoolean(Boolean.class.cast(value));
+            break;
+        case DATETIME:
+            output.writeLong(toEpochMilli(value));
+            break;
+        default:
+            throw new IllegalArgumentException("Unsupported type: " + type);
+        }
+    }
+
+    private void writeItem(final Object item) throws IOException {
+        if (item == null) {
+            output.writeByte(ITEM_NULL);
+        } else if (String.class.isInstance(item)) {
+            output.writeByte(ITEM_STRING);
+            writeBytes(String.class.cast(item).getBytes(UTF_8));
+        } else if (Record.class.isInstance(item)) {
+            output.writeByte(ITEM_RECORD);
+            writeRecord(Record.class.cast(item));
+        } else if (Collection.class.isInstance(item)) {
+            output.writeByte(ITEM_ARRAY);
+            writeValue(Schema.Type.ARRAY, item);
+        } else if (byte[].class.isInstance(item)) {
+            output.writeByte(ITEM_BYTES);
+            writeBytes(byte[].class.cast(item));
+        } else if (Byte.class.isInstance(item)) {
+            output.writeByte(ITEM_BYTE);
+            output.writeByte(Byte.class.cast(item));
+        } else if (Short.class.isInstance(item)) {
+            output.writeByte(ITEM_SHORT);
+            output.writeShort(Short.class.cast(item));
+        } else if (Integer.class.isInstance(item)) {
+            output.writeByte(ITEM_INT);
+            output.writeInt(Integer.class.cast(item));
+        } else if (Long.class.isInstance(item)) {
+            output.writeByte(ITEM_LONG);
+            output.writeLong(Long.class.cast(item));
+        } else if (Float.class.isInstance(item)) {
+            output.writeByte(ITEM_FLOAT);
+            output.writeFloat(Float.class.cast(item));
+        } else if (Double.class.isInstance(item)) {
+            output.writeByte(ITEM_DOUBLE);
+            output.writeDouble(Double.class.cast(item));
+        } else if (Boolean.class.isInstance(item)) {
+            output.writeByte(ITEM_BOOLEAN);
+            output.writeBoolean(Boolean.class.cast(item));
+        } else if (Date.class.isInstance(item)) {
+            output.writeByte(ITEM_DATE);
+            output.writeLong(Date.class.cast(item).getTime());
+        } else if (ZonedDateTime.class.isInstance(item)) {
+            final ZonedDateTime dateTime = ZonedDateTime.class.cast(item);
+            output.writeByte(ITEM_ZONED_DATE_TIME);
+            output.writeLong(dateTime.toEpochSecond());
+            output.writeInt(dateTime.getNano());
+            output.writeUTF(dateTime.getZone().getId());
+        } else {
+            throw new IllegalArgumentException("Unsupported value: " + item.getClass());
+        }
+    }
+
+    private Record readRecord(final DataInputStream input) throws IOException {
+        final Schema schema = schemas.get(input.readInt());
+        final Record.Builder builder = factory.newRecordBuilder(schema);
+        for (final Schema.Entry entry : schema.getEntries()) {
+            if (!input.readBoolean()) {
+                continue;
+            }
+            switch (entry.getType()) {
+            case RECORD:
+                builder.withRecord(entry, readRecord(input));
+                break;
+            case ARRAY:
+                builder.withArray(entry, readArray(input));
+                break;
+            case STRING:
+                builder.withString(entry, new String(readBytes(input), UTF_8));
+                break;
+            case BYTES:
+                builder.withBytes(entry, readBytes(input));
+                break;
+            case INT:
+                builder.withInt(entry, input.readInt());
+                break;
+            case LONG:
+                builder.withLong(entry, input.readLong());
+                break;
+            case FLOAT:
+                builder.withFloat(entry, input.readFloat());
+                break;
+            case DOUBLE:
+                builder.withDouble(entry, input.readDouble());
+                break;
+            case BOOLEAN:
+                builder.withBoolean(entry, input.readBoolean());
+                break;
+            case DATETIME:
+                builder.withTimestamp(entry, input.readLong());
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported type: " + entry.getType());
+            }
+        }
+        return builder.build();
+    }
+
+    private Collection<Object> readArray(final DataInputStream input) throws IOException {
+        final int size = input.readInt();
+        final Collection<Object> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readItem(input));
+        }
+        return values;
+    }
+
+    private Object readItem(final DataInputStream input) throws IOException {
+        final byte tag = input.readByte();
+        switch (tag) {
+        case ITEM_NULL:
+            return null;
+        case ITEM_STRING:
+            return new String(readBytes(input), UTF_8);
+        case ITEM_RECORD:
+            return readRecord(input);
+        case ITEM_ARRAY:
+            return readArray(input);
+        case ITEM_BYTES:
+            return readBytes(input);
+        case ITEM_BYTE:
+            return input.readByte();
+        case ITEM_SHORT:
+            return input.readShort();
+        case ITEM_INT:
+            return input.readInt();
+        case ITEM_LONG:
+            return input.readLong();
+        case ITEM_FLOAT:
+            return input.readFloat();
+        case ITEM_DOUBLE:
+            return input.readDouble();
+        case ITEM_BOOLEAN:
+            return input.readBoolean();
+        case ITEM_DATE:
+            return new Date(input.readLong());
+        case ITEM_ZONED_DATE_TIME:
+            final Instant instant = Instant.ofEpochSecond(input.readLong(), input.readInt());
+            return ZonedDateTime.ofInstant(instant, ZoneId.of(input.readUTF()));
+        default:
+            throw new IllegalArgumentException("Unsupported item tag: " + tag);
+        }
+    }
+
+    private void writeBytes(final byte[] bytes) throws IOException {
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static byte[] readBytes(final DataInputStream input) throws IOException {
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    private static long toEpochMilli(final Object value) {
+        if (ZonedDateTime.class.isInstance(value)) {
+            return ZonedDateTime.class.cast(value).toInstant().toEpochMilli();
+        }
+        if (Date.class.isInstance(value)) {
+            return Date.class.cast(value).getTime();
+        }
+        return Number.class.cast(value).longValue();
+    }
+
+    // positional writes: the channel position is not shared with the reads
+    private class ChannelOutputStream extends OutputStream {
+
+        private long position;
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int off, final int len) throws IOException {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes, off, len);
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        }
+    }
+
+    private class ChannelInputStream extends InputStream {
+
+        private long position;
+
+        private ChannelInputStream(final long position) {
+            this.position = position;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int off, final int len) throws IOException {
+            final int count = channel.read(ByteBuffer.wrap(bytes, off, len), position);
+            if (count > 0) {
+                position += count;
+            }
+            return count;
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(final OutputStream delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int off, final int len) throws IOException {
+            out.write(bytes, off, len);
+            count += len;
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(final InputStream delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = in.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] bytes, final int off, final int len) throws IOException {
+            final int value = in.read(bytes, off, len);
+            if (value > 0) {
+                count += value;
+            }
+            return value;
+        }
+    }
+}
@@ -15,9 +15,18 @@
  */
 package org.talend.sdk.component.runtime.manager.interceptor;
 
+import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.joining;
 
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiFunction;
@@ -26,35 +35,188 @@ import java.util.stream.Stream;
 import org.talend.sdk.component.api.service.cache.Cached;
 import org.talend.sdk.component.api.service.cache.LocalCache;
 import org.talend.sdk.component.api.service.interceptor.InterceptorHandler;
+import org.talend.sdk.component.runtime.manager.service.LocalCacheService;
 
 public class CacheHandler implements InterceptorHandler {
 
-    private final BiFunction<Method, Object[], Object> invoker;
+    private static final Set<Class<?>> IMMUTABLES =
+            new HashSet<>(asList(String.class, Integer.class, Long.class, Short.class, Byte.class, Double.class,
+                    Float.class, Boolean.class, Character.class, BigInteger.class, BigDecimal.class, Class.class));
 
     private final LocalCache cache;
 
-    private final ConcurrentMap<Method, Long> timeouts = new ConcurrentHashMap<>();
+    // when the cache is the built-in one the keys are not converted to strings
+    private final LocalCacheService localCache;
+
+    private final BiFunction<Method, Object[], Object> invoker;
+
+    private final ConcurrentMap<Method, CachedMethod> methods = new ConcurrentHashMap<>();
 
     public CacheHandler(final BiFunction<Method, Object[], Object> invoker, final LocalCache cache) {
-        this.invoker = invoker;
         this.cache = cache;
+        this.localCache = LocalCacheService.class.isInstance(cache) ? LocalCacheService.class.cast(cache) : null;
+        this.invoker = invoker;
     }
 
     @Override
     public Object invoke(final Method method, final Object[] args) {
-        final String key = toKey(method, args);
-        final long timeout = timeouts.computeIfAbsent(method, m -> findAnnotation(m, Cached.class).get().timeout());
-        return cache.computeIfAbsent(Object.class, key, timeout, () -> invoker.apply(method, args));
+        CachedMethod cachedMethod = methods.get(method);
+        if (cachedMethod == null) {
+            cachedMethod = methods.computeIfAbsent(method, this::createCachedMethod);
+        }
+        final Key key = new Key(cachedMethod,
+                cachedMethod.extractor == null ? snapshot(args) : cachedMethod.extractor.extract(args));
+        if (localCache != null) {
+            return localCache
+                    .computeIfAbsentByKey(Object.class, key, cachedMethod.timeout, k -> invoker.apply(method, args));
+        }
+        return cache
+                .computeIfAbsent(Object.class, key.toString(), cachedMethod.timeout, () -> invoker.apply(method, args));
+    }
+
+    // the key outlives the call so it must not change if the caller mutates a parameter afterwards:
+    // immutable values are kept, arrays are copied and other objects are replaced by their string and hash
+    private static Object snapshot(final Object value) {
+        if (value == null || IMMUTABLES.contains(value.getClass()) || Enum.class.isInstance(value)) {
+            return value;
+        }
+        if (Object[].class.isInstance(value)) {
+            final Object[] array = Object[].class.cast(value);
+            final Object[] copy = new Object[array.length];
+            for (int i = 0; i < array.length; i++) {
+                copy[i] = snapshot(array[i]);
+            }
+            return copy;
+        }
+        if (value.getClass().isArray()) { // primitives
+            final int length = Array.getLength(value);
+            final Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copy;
+        }
+        return new Snapshot(String.valueOf(value), value.hashCode());
+    }
+
+    private CachedMethod createCachedMethod(final Method method) {
+        final Cached cached = findAnnotation(method, Cached.class).get();
+        final Class<? extends Cached.KeyExtractor> extractorType = cached.key();
+        if (extractorType == Cached.KeyExtractor.class) {
+            return new CachedMethod(method, cached.timeout(), null);
+        }
+        try {
+            return new CachedMethod(method, cached.timeout(), extractorType.getConstructor().newInstance());
+        } catch (final InstantiationException | IllegalAccessException | NoSuchMethodException e) {
+            throw new IllegalArgumentException("Can't create the key extractor " + extractorType + " of " + method, e);
+        } catch (final InvocationTargetException e) {
+            throw new IllegalStateException(e.getTargetException());
+        }
+    }
+
+    private static final class CachedMethod {
+
+        private final Method method;
+
+        private final long timeout;
+
+        private final Cached.KeyExtractor extractor;
+
+        private final int hash;
+
+        private CachedMethod(final Method method, final long timeout, final Cached.KeyExtractor extractor) {
+            this.method = method;
+            this.timeout = timeout;
+            this.extractor = extractor;
+            this.hash = method.hashCode();
+        }
+    }
+
+    /**
+     * String and hash of a parameter which is not known to be immutable, it is what the keys used to be.
+     */
+    private static final class Snapshot {
+
+        private final String value;
+
+        private final int hash;
+
+        private Snapshot(final String value, final int hash) {
+            this.value = value;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!Snapshot.class.isInstance(o)) {
+                return false;
+            }
+            final Snapshot other = Snapshot.class.cast(o);
+            return hash == other.hash && value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
     }
 
-    // assumes toString() and hashCode() of params are representative
-    private String toKey(final Method method, final Object[] args) {
-        return method.getDeclaringClass().getName() + "#" + method.getName() + "("
-                + (args == null ? ""
-                        : Stream
-                                .of(args)
-                                .map(s -> String.valueOf(s) + "/" + (s == null ? 0 : s.hashCode()))
-                                .collect(joining(",")))
-                + ")";
+    /**
+     * Method identity and a snapshot of the parameters, or only the extracted key when the method has an extractor.
+     * The parameters needed to load (and refresh) the value are captured by the loader, not the key.
+     */
+    private static final class Key {
+
+        private final CachedMethod method;
+
+        private final Object value;
+
+        private final int hash;
+
+        private Key(final CachedMethod method, final Object value) {
+            this.method = method;
+            this.value = value;
+            this.hash = 31 * method.hash
+                    + (Object[].class.isInstance(value) ? Arrays.deepHashCode(Object[].class.cast(value))
+                            : Objects.hashCode(value));
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!Key.class.isInstance(o)) {
+                return false;
+            }
+            final Key other = Key.class.cast(o);
+            return hash == other.hash && method == other.method && Objects.deepEquals(value, other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        // only used for custom LocalCache implementations, assumes toString() and hashCode() of params are
+        // representative
+        @Override
+        public String toString() {
+            final Object[] values = value == null || Object[].class.isInstance(value) ? Object[].class.cast(value)
+                    : new Object[] { value };
+            return method.method.getDeclaringClass().getName() + "#" + method.method.getName() + "("
+                    + (values == null ? ""
+                            : Stream
+                                    .of(values)
+                                    .map(s -> String.valueOf(s) + "/" + (s == null ? 0 : s.hashCode()))
+                                    .collect(joining(",")))
+                    + ")";
+        }
     }
 }
@@ -20,6 +20,7 @@ import static java.util.Comparator.comparing;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Field;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -64,6 +65,7 @@ import org.talend.sdk.component.runtime.manager.service.http.HttpClientFactoryIm
 import org.talend.sdk.component.runtime.manager.util.Lazy;
 import org.talend.sdk.component.runtime.manager.util.MemoizingSupplier;
 import org.talend.sdk.component.runtime.manager.xbean.registry.EnrichedPropertyEditorRegistry;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
 import org.talend.sdk.component.runtime.record.json.RecordJsonGenerator;
 
 import lombok.RequiredArgsConstructor;
@@ -160,7 +162,15 @@ public class DefaultServiceProvider {
             return new LocalConfigurationService(containerConfigurations, id);
         }
         if (RecordBuilderFactory.class == api) {
-            return recordBuilderFactoryProvider.apply(id);
+            final RecordBuilderFactory factory = recordBuilderFactoryProvider.apply(id);
+            if (RecordBuilderFactoryImpl.class.isInstance(factory)
+                    && !Boolean.getBoolean("talend.component.manager.jmx.skip")) {
+                RecordBuilderFactoryImpl.class
+                        .cast(factory)
+                        .getSchemaPool()
+                        .registerMBean(ManagementFactory.getPlatformMBeanServer(), id);
+            }
+            return factory;
         }
         if (ProxyGenerator.class == api) {
             return proxyGenerator;
@@ -169,6 +179,9 @@ public class DefaultServiceProvider {
             final LocalCacheService service =
                     new LocalCacheService(id, System::currentTimeMillis, this.executorService);
             Injector.class.cast(services.get().get(Injector.class)).inject(service);
+            if (!Boolean.getBoolean("talend.component.manager.jmx.skip")) {
+                service.registerMBean(ManagementFactory.getPlatformMBeanServer());
+            }
             return service;
         }
         if (Injector.class == api) {
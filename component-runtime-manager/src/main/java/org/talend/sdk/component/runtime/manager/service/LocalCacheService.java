@@ -21,11 +21,19 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -33,6 +41,10 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.PreDestroy;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
 
 import org.talend.sdk.component.api.configuration.Option;
 import org.talend.sdk.component.api.service.cache.LocalCache;
@@ -40,18 +52,31 @@ import org.talend.sdk.component.api.service.configuration.Configuration;
 import org.talend.sdk.component.runtime.serialization.SerializableService;
 
 import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * Implementation of LocalCache with in memory concurrent map.
+ *
+ * The size is bounded ({@code defaultMaxSize}) with a W-TinyLFU policy: new entries go in a small LRU window
+ * and compete, using their estimated access frequency, with the entries of the main segmented LRU to stay in
+ * the cache. Reads are recorded in a lossy buffer and the policy is maintained under a lock taken with tryLock
+ * so readers and writers never wait for it. Timed entries are expired by a timer wheel ticked by a single task
+ * per cache.
  */
-public class LocalCacheService implements LocalCache, Serializable {
+@Slf4j
+public class LocalCacheService implements LocalCache, LocalCacheServiceMBean, Serializable {
+
+    private static final long TICK_MS = 50;
+
+    // resolving the configuration is costly, it is reused for this duration
+    private static final long CONFIGURATION_TTL = TimeUnit.SECONDS.toNanos(1);
 
     /** plugin name for this cache */
     private final String plugin;
 
     private final Supplier<Long> timer;
 
-    private final ConcurrentMap<String, ElementImpl> cache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, ElementImpl> cache = new ConcurrentHashMap<>();
 
     @Configuration("talend.component.manager.services.cache.eviction")
     private Supplier<CacheConfiguration> configuration;
@@ -59,11 +84,36 @@ public class LocalCacheService implements LocalCache, Serializable {
     // scheduler we use to evict tokens
     private transient Supplier<ScheduledExecutorService> threadServiceGetter;
 
+    private final transient Policy policy;
+
+    private transient volatile ConfigurationSnapshot configurationSnapshot;
+
+    // guarded by the policy lock
+    private transient ScheduledFuture<?> wakeupTask;
+
+    // the server the MBean was registered on, guarded by this
+    private transient MBeanServer jmxServer;
+
+    private transient ObjectName jmxName;
+
+    private final transient LongAdder hits = new LongAdder();
+
+    private final transient LongAdder misses = new LongAdder();
+
+    private final transient LongAdder evictions = new LongAdder();
+
+    private final transient LongAdder loads = new LongAdder();
+
+    private final transient LongAdder loadTime = new LongAdder();
+
+    private final transient LongAdder refreshes = new LongAdder();
+
     public LocalCacheService(final String plugin, final Supplier<Long> timer,
             final Supplier<ScheduledExecutorService> threadServiceGetter) {
         this.plugin = plugin;
         this.timer = timer;
         this.threadServiceGetter = threadServiceGetter;
+        this.policy = new Policy(timer.get());
     }
 
     /**
@@ -76,14 +126,15 @@ public class LocalCacheService implements LocalCache, Serializable {
         final String realKey = internalKey(key);
 
         // use compute to be able to call release.
-        cache.compute(realKey, (String oldKey, ElementImpl oldElement) -> {
+        cache.compute(realKey, (Object oldKey, ElementImpl oldElement) -> {
             if (oldElement != null && oldElement.canBeEvict()) {
                 // ok to evict, so do release.
-                oldElement.release();
+                release(oldElement);
                 return null;
             }
             return oldElement;
         });
+        afterWrite();
     }
 
     @Override
@@ -91,40 +142,78 @@ public class LocalCacheService implements LocalCache, Serializable {
         final String realKey = internalKey(key);
 
         // use compute to be able to call release.
-        cache.compute(realKey, (String oldKey, ElementImpl oldElement) -> {
+        cache.compute(realKey, (Object oldKey, ElementImpl oldElement) -> {
             if (oldElement != null && (Objects.equals(oldElement.getValue(), expected) || oldElement.canBeEvict())) {
                 // ok to evit, so do release.
-                oldElement.release();
+                release(oldElement);
                 return null;
             }
             return oldElement;
         });
-
+        afterWrite();
     }
 
     @Override
     public <T> T computeIfAbsent(final Class<T> expectedClass, final String key, final Predicate<Element> toRemove,
             final long timeoutMs, final Supplier<T> value) {
+        final String internalKey = internalKey(key);
+        final ElementImpl existing = findValid(internalKey);
+        if (existing != null) {
+            return existing.getValue(expectedClass);
+        }
+        return load(expectedClass, internalKey, toRemove, timeoutMs, value);
+    }
 
-        final Integer maxSize = this.getConfigValue(CacheConfiguration::getDefaultMaxSize, -1);
-        if (maxSize > 0 && this.cache.size() >= maxSize) {
-            this.clean(); // clean before add one element.
-            if (this.cache.size() >= maxSize) {
-                synchronized (this.cache) {
-                    while (this.cache.size() >= maxSize) {
-                        final String keyToRemove = this.cache.keySet().iterator().next();
-                        this.cache.remove(keyToRemove);
-                    }
-                }
-            }
+    /**
+     * Same as {@link #computeIfAbsent(Class, String, long, Supplier)} for a structured key: the key is used as it is,
+     * without the plugin prefix, so it must implement {@code equals} and {@code hashCode}, and the loader is only
+     * bound to the key on a miss. A hit does not allocate anything, it is the path used by {@code @Cached}.
+     *
+     * @param expectedClass the type of the cached value.
+     * @param key the cache key.
+     * @param timeoutMs the validity of the value in milliseconds, infinite if negative.
+     * @param loader the value provider, called with the key on a miss.
+     * @param <K> the key type.
+     * @param <T> the value type.
+     * @return the cached or loaded value.
+     */
+    public <K, T> T computeIfAbsentByKey(final Class<T> expectedClass, final K key, final long timeoutMs,
+            final Function<? super K, T> loader) {
+        final ElementImpl existing = findValid(key);
+        if (existing != null) {
+            return existing.getValue(expectedClass);
         }
+        return load(expectedClass, key, null, timeoutMs, () -> loader.apply(key));
+    }
 
-        final ScheduledFuture<?> task = timeoutMs > 0 ? this.evictionTask(key, timeoutMs) : null;
+    private ElementImpl findValid(final Object internalKey) {
+        final int maximum = getConfigSnapshot().maxSize;
+        if (policy.maximum != maximum) { // avoid a volatile write per hit
+            policy.maximum = maximum;
+        }
 
-        final long endOfValidity = this.calcEndOfValidity(timeoutMs);
-        final ElementImpl element =
-                this.addToMap(key, () -> new ElementImpl(value, toRemove, endOfValidity, task, this.timer));
+        final ElementImpl existing = cache.get(internalKey);
+        if (existing != null && !existing.mustBeRemoved()) {
+            hits.increment();
+            afterRead(existing);
+            return existing;
+        }
+        return null;
+    }
 
+    private <T> T load(final Class<T> expectedClass, final Object internalKey, final Predicate<Element> toRemove,
+            final long timeoutMs, final Supplier<T> value) {
+        final long endOfValidity = this.calcEndOfValidity(timeoutMs);
+        final AtomicBoolean created = new AtomicBoolean();
+        final ElementImpl element = this
+                .addToMap(internalKey, created,
+                        () -> new ElementImpl(internalKey, value, toRemove, timeoutMs, endOfValidity, this.timer));
+        if (created.get()) {
+            misses.increment();
+        } else {
+            hits.increment();
+            afterRead(element);
+        }
         return element.getValue(expectedClass);
     }
 
@@ -142,10 +231,28 @@ public class LocalCacheService implements LocalCache, Serializable {
         return this.computeIfAbsent(expectedClass, key, null, timeoutMs, value);
     }
 
-    private ElementImpl addToMap(final String key, final Supplier<ElementImpl> builder) {
-        final String internalKey = internalKey(key);
-        return cache.compute(internalKey, (String k, ElementImpl old) -> //
-        old == null || old.mustBeRemoved() ? builder.get() : old);
+    private ElementImpl addToMap(final Object internalKey, final AtomicBoolean created,
+            final Supplier<ElementImpl> builder) {
+        final ElementImpl element = cache.compute(internalKey, (Object k, ElementImpl old) -> {
+            if (old != null && !old.mustBeRemoved()) {
+                return old;
+            }
+            if (old != null) { // expired
+                release(old);
+                evictions.increment();
+            }
+            final long start = System.nanoTime();
+            final ElementImpl newElement = builder.get();
+            loadTime.add(System.nanoTime() - start);
+            loads.increment();
+            created.set(true);
+            return newElement;
+        });
+        if (created.get()) {
+            policy.writes.add(element);
+            afterWrite();
+        }
+        return element;
     }
 
     @Override
@@ -156,8 +263,19 @@ public class LocalCacheService implements LocalCache, Serializable {
 
     @PreDestroy
     public void release() {
-        this.cache.forEach((String k, ElementImpl e) -> e.release());
+        this.cache.forEach((Object k, ElementImpl e) -> e.removed = true);
         this.cache.clear();
+        policy.lock.lock();
+        try {
+            policy.clear();
+            if (wakeupTask != null) {
+                wakeupTask.cancel(false);
+                wakeupTask = null;
+            }
+        } finally {
+            policy.lock.unlock();
+        }
+        unregisterMBean();
     }
 
     private long calcEndOfValidity(final long timeoutMs) {
@@ -169,7 +287,7 @@ public class LocalCacheService implements LocalCache, Serializable {
     }
 
     public void clean() {
-        Stream<Entry<String, ElementImpl>> elements = //
+        Stream<Entry<Object, ElementImpl>> elements = //
                 this.cache
                         .entrySet() //
                         .stream() //
@@ -179,30 +297,232 @@ public class LocalCacheService implements LocalCache, Serializable {
         if (maxEviction > 0) {
             elements = elements.limit(maxEviction);
         }
-        final List<String> removableElements = elements.map(Entry::getKey).collect(Collectors.toList());// materialize
-                                                                                                        // before
-                                                                                                        // actually
-                                                                                                        // removing it
-        removableElements.forEach(this.cache::remove);
+        final List<ElementImpl> removableElements = elements.map(Entry::getValue).collect(Collectors.toList()); // materialize
+                                                                                                                // before
+                                                                                                                // actually
+                                                                                                                // removing
+                                                                                                                // it
+        removableElements.forEach(e -> removeIfSame(e, true));
+        afterWrite();
     }
 
-    private ScheduledExecutorService getThreadService() {
-        return this.threadServiceGetter.get();
+    @Override
+    public long getSize() {
+        return cache.size();
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRate() {
+        final long hitCount = hits.sum();
+        final long total = hitCount + misses.sum();
+        return total == 0 ? 1. : hitCount / (double) total;
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    @Override
+    public long getTotalLoadTime() {
+        return TimeUnit.NANOSECONDS.toMillis(loadTime.sum());
+    }
+
+    @Override
+    public double getAverageLoadTime() {
+        final long count = loads.sum();
+        return count == 0 ? 0 : loadTime.sum() / (count * 1_000_000.);
+    }
+
+    @Override
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    synchronized void registerMBean(final MBeanServer server) {
+        try {
+            final ObjectName name =
+                    new ObjectName("org.talend.sdk.component:type=cache,plugin=" + ObjectName.quote(plugin));
+            server.registerMBean(new StandardMBean(this, LocalCacheServiceMBean.class), name);
+            jmxServer = server;
+            jmxName = name;
+        } catch (final JMException e) {
+            log.warn(e.getMessage(), e);
+        }
+    }
+
+    private synchronized void unregisterMBean() {
+        final ObjectName name = jmxName;
+        if (name == null) {
+            return;
+        }
+        final MBeanServer server = jmxServer;
+        jmxName = null;
+        jmxServer = null;
+        try {
+            server.unregisterMBean(name);
+        } catch (final JMException e) {
+            log.warn(e.getMessage(), e);
+        }
     }
 
     /**
-     * Schedule an eviction task for a key.
-     * 
-     * @param key : key to evict from cache.
-     * @param delayMillis : delay in millis before triggered.
-     * @return result of task.
+     * Removes the element if it is still the one mapped to its key.
+     *
+     * @param element the element to remove.
+     * @param checkPredicate should the removal predicate of the element be tested.
+     * @return true if the element was removed.
+     */
+    private boolean removeIfSame(final ElementImpl element, final boolean checkPredicate) {
+        final AtomicBoolean removed = new AtomicBoolean();
+        cache.computeIfPresent(element.key, (k, current) -> {
+            if (current != element || (checkPredicate && !current.canBeEvict())) {
+                return current;
+            }
+            release(current);
+            removed.set(true);
+            return null;
+        });
+        return removed.get();
+    }
+
+    /**
+     * Marks the element as removed from the map and notifies the policy.
+     *
+     * @param element the removed element.
+     */
+    private void release(final ElementImpl element) {
+        element.removed = true;
+        policy.writes.add(element);
+    }
+
+    private void afterRead(final ElementImpl element) {
+        policy.recordRead(element);
+        if (policy.readsPending()) {
+            maintenance();
+        }
+        final long refreshAhead = getConfigSnapshot().refreshAhead;
+        if (refreshAhead > 0 && element.endOfValidity > 0 && element.endOfValidity - refreshAhead <= timer.get()
+                && element.refreshing.compareAndSet(false, true)) {
+            refresh(element);
+        }
+    }
+
+    private void afterWrite() {
+        maintenance();
+    }
+
+    private void refresh(final ElementImpl element) {
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        getThreadService().execute(() -> {
+            final Thread thread = Thread.currentThread();
+            final ClassLoader old = thread.getContextClassLoader();
+            thread.setContextClassLoader(loader);
+            try {
+                final long start = System.nanoTime();
+                final ElementImpl refreshed = new ElementImpl(element.key, element.loader, element.canBeRemoved,
+                        element.timeoutMs, calcEndOfValidity(element.timeoutMs), timer);
+                loadTime.add(System.nanoTime() - start);
+                loads.increment();
+                final AtomicBoolean replaced = new AtomicBoolean();
+                cache.computeIfPresent(element.key, (k, current) -> {
+                    if (current != element) {
+                        return current;
+                    }
+                    release(current);
+                    replaced.set(true);
+                    return refreshed;
+                });
+                if (replaced.get()) {
+                    refreshes.increment();
+                    policy.writes.add(refreshed);
+                    afterWrite();
+                }
+            } catch (final RuntimeException re) {
+                log.warn("Can't refresh " + element.key + ": " + re.getMessage(), re);
+                element.refreshing.set(false);
+            } finally {
+                thread.setContextClassLoader(old);
+            }
+        });
+    }
+
+    /**
+     * Applies the pending reads and writes to the policy and evicts the entries over the maximum size.
+     * It is skipped if another thread is already doing it, this one will then see the pending operations
+     * once it released the lock.
+     */
+    private void maintenance() {
+        while (policy.hasPendingOperations()) {
+            if (!policy.lock.tryLock()) {
+                return;
+            }
+            try {
+                policy.drain(this::onEvicted);
+                if (policy.wakeupChanged) {
+                    scheduleWakeup();
+                }
+            } finally {
+                policy.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Expires the timed entries, a single task per cache is scheduled at the next deadline of the wheel.
      */
-    private ScheduledFuture<?> evictionTask(final String key, final long delayMillis) {
-        return this
-                .getThreadService()
-                .schedule(() -> this.evict(key), //
-                        delayMillis, //
-                        TimeUnit.MILLISECONDS); //
+    private void wakeup() {
+        policy.lock.lock();
+        try {
+            policy.drain(this::onEvicted);
+            policy.expire(timer.get(), this::onExpired);
+            scheduleWakeup();
+        } finally {
+            policy.lock.unlock();
+        }
+    }
+
+    private void scheduleWakeup() { // under the policy lock
+        policy.wakeupChanged = false;
+        if (wakeupTask != null) {
+            wakeupTask.cancel(false);
+            wakeupTask = null;
+        }
+        if (policy.nextWakeup != Long.MAX_VALUE) {
+            wakeupTask = getThreadService()
+                    .schedule(this::wakeup, Math.max(0, policy.nextWakeup - timer.get()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void onEvicted(final ElementImpl element) {
+        if (removeIfSame(element, false)) {
+            evictions.increment();
+        }
+    }
+
+    private void onExpired(final ElementImpl element) {
+        if (removeIfSame(element, true)) {
+            evictions.increment();
+        }
+    }
+
+    private ScheduledExecutorService getThreadService() {
+        return this.threadServiceGetter.get();
     }
 
     private <T> T getConfigValue(final Function<CacheConfiguration, T> getter, final T defaultValue) {
@@ -213,7 +533,44 @@ public class LocalCacheService implements LocalCache, Serializable {
     }
 
     private CacheConfiguration getConfig() {
-        return this.configuration != null ? this.configuration.get() : null;
+        return getConfigSnapshot().configuration;
+    }
+
+    private ConfigurationSnapshot getConfigSnapshot() {
+        if (this.configuration == null) {
+            return ConfigurationSnapshot.NONE;
+        }
+        final long now = System.nanoTime();
+        final ConfigurationSnapshot snapshot = this.configurationSnapshot;
+        if (snapshot != null && now - snapshot.timestamp < CONFIGURATION_TTL) {
+            return snapshot;
+        }
+        final ConfigurationSnapshot newSnapshot = new ConfigurationSnapshot(now, this.configuration.get());
+        this.configurationSnapshot = newSnapshot;
+        return newSnapshot;
+    }
+
+    /**
+     * Resolved configuration, the values read on each access are unboxed to keep the hits allocation free.
+     */
+    private static class ConfigurationSnapshot {
+
+        private static final ConfigurationSnapshot NONE = new ConfigurationSnapshot(0, null);
+
+        private final long timestamp;
+
+        private final CacheConfiguration configuration;
+
+        private final int maxSize;
+
+        private final long refreshAhead;
+
+        private ConfigurationSnapshot(final long timestamp, final CacheConfiguration configuration) {
+            this.timestamp = timestamp;
+            this.configuration = configuration;
+            this.maxSize = configuration == null ? -1 : configuration.getDefaultMaxSize();
+            this.refreshAhead = configuration == null ? -1 : configuration.getRefreshAhead();
+        }
     }
 
     /**
@@ -230,6 +587,12 @@ public class LocalCacheService implements LocalCache, Serializable {
 
         @Option
         private int defaultMaxSize;
+
+        /**
+         * Duration (ms) before the end of validity of an entry where a read reloads it in background.
+         */
+        @Option
+        private long refreshAhead;
     }
 
     /**
@@ -237,29 +600,70 @@ public class LocalCacheService implements LocalCache, Serializable {
      */
     private static class ElementImpl implements Element {
 
+        private final Object key;
+
+        private final int hash;
+
         /** cached object */
         private final Object value;
 
+        /** value provider, used to refresh the object */
+        private final Supplier<?> loader;
+
         /** function, if exists, that authorize to remove object. */
         private final Predicate<Element> canBeRemoved;
 
+        private final long timeoutMs;
+
         /** give time object can be release (infinity if < 0) */
         private final long endOfValidity;
 
-        /** scheduled task to remove object if nedeed (to cancel if removed before) */
-        private final ScheduledFuture<?> removedTask;
-
         private final Supplier<Long> serviceTimer;
 
-        public <T> ElementImpl(final Supplier<T> value, final Predicate<Element> canBeRemoved, final long endOfValidity,
-                final ScheduledFuture<?> removedTask, final Supplier<Long> timer) {
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        /** set when removed from the map, the policy ignores/unlinks it */
+        private volatile boolean removed;
+
+        // policy state, guarded by the policy lock
+
+        private int queue;
+
+        private ElementImpl previous;
+
+        private ElementImpl next;
+
+        private ElementImpl previousInWheel;
+
+        private ElementImpl nextInWheel;
+
+        private <T> ElementImpl(final Object key, final Supplier<T> value, final Predicate<Element> canBeRemoved,
+                final long timeoutMs, final long endOfValidity, final Supplier<Long> timer) {
+            this.key = key;
+            this.hash = key.hashCode();
+            this.loader = value;
             this.value = value.get();
             this.canBeRemoved = canBeRemoved;
+            this.timeoutMs = timeoutMs;
             this.endOfValidity = endOfValidity;
-            this.removedTask = removedTask;
             this.serviceTimer = timer;
         }
 
+        private ElementImpl() { // list sentinel
+            this.key = null;
+            this.hash = 0;
+            this.value = null;
+            this.loader = null;
+            this.canBeRemoved = null;
+            this.timeoutMs = -1;
+            this.endOfValidity = -1;
+            this.serviceTimer = null;
+            this.previous = this;
+            this.next = this;
+            this.previousInWheel = this;
+            this.nextInWheel = this;
+        }
+
         @Override
         public <T> T getValue(final Class<T> expectedType) {
             if (this.value != null && !expectedType.isInstance(this.value)) {
@@ -283,15 +687,6 @@ public class LocalCacheService implements LocalCache, Serializable {
             return this.canBeRemoved == null || this.canBeRemoved.test(this);
         }
 
-        /**
-         * Release this object because removed.
-         */
-        public synchronized void release() {
-            if (this.removedTask != null) {
-                this.removedTask.cancel(false);
-            }
-        }
-
         @Override
         public boolean equals(final Object o) { // consider only value
             if (this == o) {
@@ -309,6 +704,391 @@ public class LocalCacheService implements LocalCache, Serializable {
         }
     }
 
+    /**
+     * W-TinyLFU eviction and timer wheel expiration, all the state is guarded by {@link #lock}
+     * except the read and write buffers.
+     */
+    private static class Policy {
+
+        private static final int NONE = 0;
+
+        private static final int WINDOW = 1;
+
+        private static final int PROBATION = 2;
+
+        private static final int PROTECTED = 3;
+
+        private static final int READ_BUFFER_SIZE = 128;
+
+        private static final int WHEEL_SIZE = 1024;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Queue<ElementImpl> writes = new ConcurrentLinkedQueue<>();
+
+        private final AtomicReferenceArray<ElementImpl> reads = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+
+        private final AtomicLong readCounter = new AtomicLong();
+
+        private final FrequencySketch sketch = new FrequencySketch();
+
+        private final ElementImpl window = new ElementImpl();
+
+        private final ElementImpl probation = new ElementImpl();
+
+        private final ElementImpl protectedQueue = new ElementImpl();
+
+        private final ElementImpl[] wheel = new ElementImpl[WHEEL_SIZE];
+
+        private volatile int maximum = -1;
+
+        private long nextWakeup = Long.MAX_VALUE;
+
+        private boolean wakeupChanged;
+
+        private int windowSize;
+
+        private int protectedSize;
+
+        private int size;
+
+        private long currentTick;
+
+        private volatile long drainedReads;
+
+        private Policy(final long now) {
+            for (int i = 0; i < wheel.length; i++) {
+                wheel[i] = new ElementImpl();
+            }
+            currentTick = now / TICK_MS;
+        }
+
+        private void recordRead(final ElementImpl element) { // lossy, a dropped read only lowers the frequency
+            reads.lazySet((int) (readCounter.getAndIncrement() & (READ_BUFFER_SIZE - 1)), element);
+        }
+
+        private boolean readsPending() {
+            return readCounter.get() - drainedReads >= READ_BUFFER_SIZE / 2;
+        }
+
+        private boolean hasPendingOperations() {
+            return !writes.isEmpty() || readsPending();
+        }
+
+        private void drain(final Consumer<ElementImpl> evict) {
+            drainedReads = readCounter.get();
+            for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                final ElementImpl element = reads.getAndSet(i, null);
+                if (element != null) {
+                    onRead(element);
+                }
+            }
+            ElementImpl element;
+            while ((element = writes.poll()) != null) {
+                onWrite(element);
+            }
+            evict(evict);
+        }
+
+        private void onRead(final ElementImpl element) {
+            if (element.removed || element.queue == NONE) {
+                return;
+            }
+            if (maximum > 0) {
+                sketch.increment(element.hash);
+            }
+            switch (element.queue) {
+            case WINDOW:
+                moveToTail(window, element);
+                break;
+            case PROBATION: // promote
+                unlink(element);
+                element.queue = PROTECTED;
+                protectedSize++;
+                linkLast(protectedQueue, element);
+                final int protectedMaximum = maximum > 0 ? Math.max(1, (maximum - windowMaximum()) * 4 / 5) : 0;
+                while (maximum > 0 && protectedSize > protectedMaximum) {
+                    final ElementImpl demoted = protectedQueue.next;
+                    unlink(demoted);
+                    protectedSize--;
+                    demoted.queue = PROBATION;
+                    linkLast(probation, demoted);
+                }
+                break;
+            case PROTECTED:
+                moveToTail(protectedQueue, element);
+                break;
+            default:
+            }
+        }
+
+        private void onWrite(final ElementImpl element) {
+            if (element.removed) {
+                remove(element);
+                return;
+            }
+            if (element.queue != NONE) {
+                return;
+            }
+            if (maximum > 0) {
+                sketch.ensureCapacity(maximum);
+                sketch.increment(element.hash);
+            }
+            element.queue = WINDOW;
+            windowSize++;
+            size++;
+            linkLast(window, element);
+            if (element.endOfValidity > 0) {
+                schedule(element);
+            }
+        }
+
+        private void evict(final Consumer<ElementImpl> evict) {
+            if (maximum <= 0) {
+                return;
+            }
+            // window overflow becomes candidate of the main space
+            final int windowMaximum = windowMaximum();
+            while (windowSize > windowMaximum) {
+                final ElementImpl candidate = window.next;
+                unlink(candidate);
+                windowSize--;
+                candidate.queue = PROBATION;
+                linkLast(probation, candidate);
+            }
+            while (size > maximum) {
+                final ElementImpl victim = firstOf(probation, protectedQueue, window);
+                final ElementImpl candidate = probation.previous != probation ? probation.previous : victim;
+                final ElementImpl loser =
+                        candidate == victim || sketch.frequency(candidate.hash) <= sketch.frequency(victim.hash)
+                                ? candidate
+                                : victim;
+                remove(loser);
+                evict.accept(loser);
+            }
+        }
+
+        private int windowMaximum() {
+            return Math.max(1, maximum / 100);
+        }
+
+        private void expire(final long now, final Consumer<ElementImpl> expired) {
+            // the bucket containing now is visited too but kept as current since it can still have entries
+            final long target = (now + TICK_MS - 1) / TICK_MS;
+            if (target < currentTick) {
+                return;
+            }
+            final long first = Math.max(currentTick, target - WHEEL_SIZE + 1);
+            for (long tick = first; tick <= target; tick++) {
+                final ElementImpl bucket = wheel[(int) (tick & (WHEEL_SIZE - 1))];
+                ElementImpl current = bucket.nextInWheel;
+                while (current != bucket) {
+                    final ElementImpl next = current.nextInWheel;
+                    if (current.removed) {
+                        unschedule(current);
+                    } else if (current.endOfValidity <= now) {
+                        unschedule(current); // expired once, if the predicate keeps it it stays until clean()
+                        expired.accept(current);
+                    }
+                    current = next;
+                }
+            }
+            currentTick = target;
+            nextWakeup = nextDeadline();
+        }
+
+        /**
+         * @return the first deadline of the wheel, the buckets are visited in order until one has entries
+         * for the current revolution.
+         */
+        private long nextDeadline() {
+            long later = Long.MAX_VALUE;
+            for (long tick = currentTick; tick < currentTick + WHEEL_SIZE; tick++) {
+                final ElementImpl bucket = wheel[(int) (tick & (WHEEL_SIZE - 1))];
+                final long end = tick * TICK_MS;
+                long deadline = Long.MAX_VALUE;
+                for (ElementImpl current = bucket.nextInWheel; current != bucket; current = current.nextInWheel) {
+                    if (current.endOfValidity <= end) {
+                        deadline = Math.min(deadline, current.endOfValidity);
+                    } else {
+                        later = Math.min(later, current.endOfValidity);
+                    }
+                }
+                if (deadline != Long.MAX_VALUE) {
+                    return Math.min(deadline, later);
+                }
+            }
+            return later;
+        }
+
+        private void schedule(final ElementImpl element) {
+            if (element.endOfValidity < nextWakeup) {
+                nextWakeup = element.endOfValidity;
+                wakeupChanged = true;
+            }
+            // rounded up to visit the bucket once the deadline is passed
+            final long tick = Math.max(currentTick, (element.endOfValidity + TICK_MS - 1) / TICK_MS);
+            final ElementImpl bucket = wheel[(int) (tick & (WHEEL_SIZE - 1))];
+            element.previousInWheel = bucket.previousInWheel;
+            element.nextInWheel = bucket;
+            bucket.previousInWheel.nextInWheel = element;
+            bucket.previousInWheel = element;
+        }
+
+        private void unschedule(final ElementImpl element) {
+            if (element.nextInWheel == null) {
+                return;
+            }
+            element.previousInWheel.nextInWheel = element.nextInWheel;
+            element.nextInWheel.previousInWheel = element.previousInWheel;
+            element.previousInWheel = null;
+            element.nextInWheel = null;
+        }
+
+        private void remove(final ElementImpl element) {
+            switch (element.queue) {
+            case WINDOW:
+                windowSize--;
+                break;
+            case PROTECTED:
+                protectedSize--;
+                break;
+            default:
+            }
+            if (element.queue != NONE) {
+                size--;
+                unlink(element);
+                element.queue = NONE;
+            }
+            unschedule(element);
+        }
+
+        private void clear() {
+            writes.clear();
+            for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                reads.set(i, null);
+            }
+            drainedReads = readCounter.get();
+            for (final ElementImpl head : new ElementImpl[] { window, probation, protectedQueue }) {
+                while (head.next != head) {
+                    remove(head.next);
+                }
+            }
+            for (final ElementImpl bucket : wheel) {
+                while (bucket.nextInWheel != bucket) {
+                    unschedule(bucket.nextInWheel);
+                }
+            }
+        }
+
+        private static ElementImpl firstOf(final ElementImpl... heads) {
+            for (final ElementImpl head : heads) {
+                if (head.next != head) {
+                    return head.next;
+                }
+            }
+            throw new IllegalStateException("No element to evict");
+        }
+
+        private static void moveToTail(final ElementImpl head, final ElementImpl element) {
+            unlink(element);
+            linkLast(head, element);
+        }
+
+        private static void linkLast(final ElementImpl head, final ElementImpl element) {
+            element.previous = head.previous;
+            element.next = head;
+            head.previous.next = element;
+            head.previous = element;
+        }
+
+        private static void unlink(final ElementImpl element) {
+            element.previous.next = element.next;
+            element.next.previous = element.previous;
+            element.previous = null;
+            element.next = null;
+        }
+    }
+
+    /**
+     * Count-min sketch of 4 bits counters estimating the access frequency of the keys,
+     * the counters are halved periodically to age the history.
+     */
+    private static class FrequencySketch {
+
+        private static final long[] SEEDS =
+                { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+        private static final long RESET_MASK = 0x7777777777777777L;
+
+        private long[] table = new long[0];
+
+        private int sampleSize;
+
+        private int additions;
+
+        private void ensureCapacity(final int maximum) {
+            final int capacity = Math.min(Math.max(maximum, 16), 1 << 30);
+            if (table.length >= capacity) {
+                return;
+            }
+            table = new long[Integer.highestOneBit(capacity - 1) << 1];
+            sampleSize = (int) Math.min(10L * maximum, Integer.MAX_VALUE);
+            additions = 0;
+        }
+
+        private int frequency(final int hash) {
+            if (table.length == 0) {
+                return 0;
+            }
+            final int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                final int index = indexOf(hash, i);
+                final int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        private void increment(final int hash) {
+            if (table.length == 0) {
+                return;
+            }
+            final int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                added |= incrementAt(indexOf(hash, i), start + i);
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        private boolean incrementAt(final int index, final int counter) {
+            final int offset = counter << 2;
+            final long mask = 0xfL << offset;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << offset;
+                return true;
+            }
+            return false;
+        }
+
+        private int indexOf(final int hash, final int i) {
+            long value = (hash + SEEDS[i]) * SEEDS[i];
+            value += value >>> 32;
+            return (int) value & (table.length - 1);
+        }
+
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions >>>= 1;
+        }
+    }
+
     Object writeReplace() throws ObjectStreamException {
         return new SerializableService(plugin, LocalCache.class.getName());
     }
@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service;
+
+/**
+ * Statistics of the {@link org.talend.sdk.component.api.service.cache.LocalCache} of a plugin.
+ */
+public interface LocalCacheServiceMBean {
+
+    long getSize();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRate();
+
+    /**
+     * @return number of entries removed because of the size limit or their timeout.
+     */
+    long getEvictionCount();
+
+    long getLoadCount();
+
+    /**
+     * @return time spent to compute the cached values in milliseconds.
+     */
+    long getTotalLoadTime();
+
+    /**
+     * @return average time to compute a cached value in milliseconds.
+     */
+    double getAverageLoadTime();
+
+    long getRefreshCount();
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Executes the asynchronous {@code @Request} calls ({@code CompletionStage} return types).
+ *
+ * The calls share a pool of daemon threads but each host (scheme, host and port) gets at most
+ * {@code maxPerHost} concurrent requests, the others wait in a FIFO queue of the host.
+ * Keeping this limit aligned on the JVM keep-alive cache ({@code http.maxConnections}) lets
+ * {@link java.net.HttpURLConnection} reuse its pooled connections instead of opening new ones.
+ * A host is forgotten as soon as it has no more running or waiting request so the registry only holds the
+ * hosts currently called.
+ */
+class AsyncHttpExecutor {
+
+    @Getter
+    private final int maxPerHost;
+
+    private final ExecutorService executor;
+
+    private final ConcurrentMap<String, Host> hosts = new ConcurrentHashMap<>();
+
+    AsyncHttpExecutor(final int threads, final int maxPerHost) {
+        this.maxPerHost = maxPerHost;
+        final AtomicInteger counter = new AtomicInteger();
+        final ThreadPoolExecutor pool =
+                new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), r -> {
+                    final Thread thread = new Thread(r, "talend-component-http-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = pool;
+    }
+
+    static AsyncHttpExecutor getInstance() {
+        return Lazy.INSTANCE;
+    }
+
+    <T> CompletableFuture<T> submit(final String url, final Supplier<T> task) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final String key = hostOf(url);
+        final Host[] host = new Host[1];
+        final Runnable call = () -> {
+            final Thread thread = Thread.currentThread();
+            final ClassLoader old = thread.getContextClassLoader();
+            thread.setContextClassLoader(loader);
+            T result = null;
+            Throwable error = null;
+            try {
+                result = task.get();
+            } catch (final RuntimeException | Error e) {
+                error = e;
+            } finally {
+                thread.setContextClassLoader(old);
+                host[0].release();
+            }
+            // completed once the slot is released to not hold it during the dependent stages
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(result);
+            }
+        };
+        do { // a host removed concurrently because it became idle can't be reused
+            host[0] = hosts.computeIfAbsent(key, Host::new);
+        } while (!host[0].offer(call));
+        return future;
+    }
+
+    int getRunning(final String url) {
+        final Host host = hosts.get(hostOf(url));
+        return host == null ? 0 : host.running;
+    }
+
+    int getHostCount() {
+        return hosts.size();
+    }
+
+    private static String hostOf(final String url) {
+        try {
+            final URL parsed = new URL(url);
+            return parsed.getProtocol() + "://" + parsed.getHost() + ':'
+                    + (parsed.getPort() < 0 ? parsed.getDefaultPort() : parsed.getPort());
+        } catch (final MalformedURLException e) {
+            return url;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private class Host {
+
+        private final String key;
+
+        private final Queue<Runnable> waiting = new ArrayDeque<>();
+
+        private volatile int running;
+
+        private boolean removed;
+
+        private boolean offer(final Runnable task) {
+            synchronized (this) {
+                if (removed) {
+                    return false;
+                }
+                if (running >= maxPerHost) {
+                    waiting.add(task);
+                    return true;
+                }
+                running++;
+            }
+            execute(task);
+            return true;
+        }
+
+        private void release() {
+            final Runnable next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    running--;
+                    if (running == 0) {
+                        removed = true;
+                        hosts.remove(key, this);
+                    }
+                    return;
+                }
+            }
+            execute(next);
+        }
+
+        private void execute(final Runnable task) {
+            executor.execute(task);
+        }
+    }
+
+    private static class Lazy {
+
+        private static final AsyncHttpExecutor INSTANCE = new AsyncHttpExecutor(
+                Integer
+                        .getInteger("talend.component.manager.http.async.threads",
+                                Math.max(4, Runtime.getRuntime().availableProcessors() * 2)),
+                Integer
+                        .getInteger("talend.component.manager.http.async.maxPerHost",
+                                Integer.getInteger("http.maxConnections", 5)));
+    }
+}
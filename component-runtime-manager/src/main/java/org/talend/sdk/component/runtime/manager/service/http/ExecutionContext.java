@@ -38,6 +38,7 @@ import org.talend.sdk.component.api.service.http.Decoder;
 import org.talend.sdk.component.api.service.http.HttpException;
 import org.talend.sdk.component.api.service.http.Response;
 import org.talend.sdk.component.runtime.manager.service.http.codec.CodecMatcher;
+import org.talend.sdk.component.runtime.manager.service.http.codec.JsonpDecoder;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -54,10 +55,19 @@ public class ExecutionContext implements BiFunction<String, Object[], Object> {
 
     private final Map<String, Decoder> decoders;
 
+    private final boolean isAsync;
+
     public Object apply(final String base, final Object[] params) {
+        final HttpRequest request = requestCreator.apply(base, params);
+        if (isAsync()) {
+            return AsyncHttpExecutor.getInstance().submit(request.getUrl(), () -> execute(request));
+        }
+        return execute(request);
+    }
+
+    private Object execute(final HttpRequest request) {
         HttpURLConnection urlConnection = null;
         try {
-            final HttpRequest request = requestCreator.apply(base, params);
             final String queryParams = String.join("&", request.getQueryParams());
             final URL url = new URL(request.getUrl() + (queryParams.isEmpty() ? "" : "?" + queryParams));
             urlConnection = HttpURLConnection.class.cast(url.openConnection());
@@ -94,10 +104,20 @@ public class ExecutionContext implements BiFunction<String, Object[], Object> {
                     }
                     return inputStream;
                 }
+                if (JsonpDecoder.isStreaming(getResponseType())) {
+                    final Decoder decoder = decoderMatcher.select(getDecoders(), contentType);
+                    final Object body = decoder.decode(inputStream, getResponseType());
+                    if (isResponse()) {
+                        return new StreamingResponse<>(responseCode, decoder, headers(urlConnection), null, body);
+                    }
+                    return body;
+                }
+                if (!isResponse() && byte[].class != getResponseType()) { // decoded directly from the connection
+                    return decoderMatcher.select(getDecoders(), contentType).decode(inputStream, getResponseType());
+                }
                 response = slurp(inputStream, urlConnection.getContentLength());
                 if (!isResponse()) {
-                    return byte[].class == getResponseType() ? response
-                            : decoderMatcher.select(getDecoders(), contentType).decode(response, getResponseType());
+                    return response;
                 }
                 return new ResponseImpl(responseCode,
                         byte[].class == getResponseType() ? PassthroughDecoder.INSTANCE
@@ -256,6 +276,22 @@ public class ExecutionContext implements BiFunction<String, Object[], Object> {
         }
     }
 
+    private static class StreamingResponse<T> extends BaseResponse<T> {
+
+        private final T body;
+
+        private StreamingResponse(final int status, final Decoder decoder, final Map<String, List<String>> headers,
+                final byte[] error, final T body) {
+            super(status, decoder, headers, error);
+            this.body = body;
+        }
+
+        @Override
+        public T body() {
+            return body;
+        }
+    }
+
     private static class InputStreamResponse<T> extends BaseResponse<InputStream> {
 
         private final InputStream inputStream;
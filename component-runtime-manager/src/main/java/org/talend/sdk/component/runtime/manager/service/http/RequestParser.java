@@ -43,11 +43,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 import javax.json.bind.Jsonb;
+import javax.json.stream.JsonParserFactory;
 
 import org.talend.sdk.component.api.service.http.Codec;
 import org.talend.sdk.component.api.service.http.Configurer;
@@ -99,7 +102,9 @@ public class RequestParser {
         this.reflections = reflections;
         this.services = services;
         this.jsonpEncoder = new JsonpEncoder(jsonb);
-        this.jsonpDecoder = new JsonpDecoder(jsonb);
+        this.jsonpDecoder = ofNullable(services.get(JsonParserFactory.class))
+                .map(factory -> new JsonpDecoder(jsonb, JsonParserFactory.class.cast(factory)))
+                .orElseGet(() -> new JsonpDecoder(jsonb));
 
     }
 
@@ -175,10 +180,18 @@ public class RequestParser {
             }
         }
 
-        final boolean isResponse = method.getReturnType() == Response.class;
-        final Type responseType =
-                isResponse ? ParameterizedType.class.cast(method.getGenericReturnType()).getActualTypeArguments()[0]
-                        : method.getReturnType();
+        final boolean isAsync =
+                method.getReturnType() == CompletionStage.class || method.getReturnType() == CompletableFuture.class;
+        final Type returnType =
+                isAsync ? ParameterizedType.class.cast(method.getGenericReturnType()).getActualTypeArguments()[0]
+                        : JsonpDecoder.isStreaming(method.getGenericReturnType()) ? method.getGenericReturnType()
+                                : method.getReturnType();
+        final boolean isResponse = returnType == Response.class || (ParameterizedType.class.isInstance(returnType)
+                && ParameterizedType.class.cast(returnType).getRawType() == Response.class);
+        final Type responseType = !isResponse ? returnType
+                : ParameterizedType.class
+                        .cast(isAsync ? returnType : method.getGenericReturnType())
+                        .getActualTypeArguments()[0];
         final Integer httpMethodIndex = httpMethod;
         final Function<Object[], String> httpMethodProvider = params -> httpMethodIndex == null ? request.method()
                 : ofNullable(params[httpMethodIndex]).map(String::valueOf).orElse(request.method());
@@ -194,7 +207,7 @@ public class RequestParser {
         return new ExecutionContext(
                 new HttpRequestCreator(httpMethodProvider, urlProvider, pathTemplate, pathProvider, queryParamsProvider,
                         headersProvider, payloadProvider, configurerInstance, configurerOptionsProvider),
-                responseType, isResponse, decoders);
+                responseType, isResponse, decoders, isAsync);
     }
 
     private BiFunction<String, Object[], Optional<byte[]>> buildPayloadProvider(final Map<String, Encoder> encoders,
@@ -15,26 +15,165 @@
  */
 package org.talend.sdk.component.runtime.manager.service.http.codec;
 
+import static java.util.Collections.emptyMap;
+
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import javax.json.JsonValue;
 import javax.json.bind.Jsonb;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
 
 import org.talend.sdk.component.api.service.http.Decoder;
 
-import lombok.AllArgsConstructor;
-
-@AllArgsConstructor
 public class JsonpDecoder implements Decoder {
 
     private final Jsonb jsonb;
 
+    private final JsonParserFactory parserFactory;
+
+    public JsonpDecoder(final Jsonb jsonb) {
+        this(jsonb, JsonProvider.provider().createParserFactory(emptyMap()));
+    }
+
+    public JsonpDecoder(final Jsonb jsonb, final JsonParserFactory parserFactory) {
+        this.jsonb = jsonb;
+        this.parserFactory = parserFactory;
+    }
+
     @Override
     public Object decode(final byte[] value, final Type expectedType) {
+        if (isStreaming(expectedType)) {
+            return decode(new ByteArrayInputStream(value), expectedType);
+        }
+        return jsonb.fromJson(new ByteArrayInputStream(value), toClass(expectedType));
+    }
+
+    @Override
+    public Object decode(final InputStream value, final Type expectedType) {
+        if (JsonParser.class == expectedType) {
+            return parserFactory.createParser(value);
+        }
+        if (isStreaming(expectedType)) {
+            final ParameterizedType pt = ParameterizedType.class.cast(expectedType);
+            final ArrayIterator iterator =
+                    new ArrayIterator(parserFactory.createParser(value), toClass(pt.getActualTypeArguments()[0]));
+            if (Iterator.class == pt.getRawType()) {
+                return iterator;
+            }
+            return StreamSupport
+                    .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                            false)
+                    .onClose(iterator::close);
+        }
+        try (final InputStream stream = value) {
+            return jsonb.fromJson(stream, toClass(expectedType));
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param type the response type.
+     * @return true if the type is decoded lazily from the payload ({@code JsonParser},
+     * {@code Stream<T>} or {@code Iterator<T>} of the elements of a JSON array).
+     */
+    public static boolean isStreaming(final Type type) {
+        return JsonParser.class == type || (ParameterizedType.class.isInstance(type)
+                && (Stream.class == ParameterizedType.class.cast(type).getRawType()
+                        || Iterator.class == ParameterizedType.class.cast(type).getRawType()));
+    }
+
+    private static Class<?> toClass(final Type expectedType) {
         if (!Class.class.isInstance(expectedType)) {
             throw new IllegalArgumentException("Unsupported type: " + expectedType);
         }
-        final Class<?> clazz = Class.class.cast(expectedType);
-        return jsonb.fromJson(new ByteArrayInputStream(value), clazz);
+        return Class.class.cast(expectedType);
+    }
+
+    /**
+     * Reads the elements of a JSON array one by one, the parser (and the response stream)
+     * is closed once the array is consumed.
+     */
+    private class ArrayIterator implements Iterator<Object>, AutoCloseable {
+
+        private final JsonParser parser;
+
+        private final Class<?> elementType;
+
+        private JsonValue next;
+
+        private boolean started;
+
+        private boolean closed;
+
+        private ArrayIterator(final JsonParser parser, final Class<?> elementType) {
+            this.parser = parser;
+            this.elementType = elementType;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+            try {
+                if (!started) {
+                    started = true;
+                    if (!parser.hasNext() || parser.next() != JsonParser.Event.START_ARRAY) {
+                        throw new IllegalArgumentException("Expected a JSON array");
+                    }
+                }
+                if (!parser.hasNext()) {
+                    close();
+                    return false;
+                }
+                final JsonParser.Event event = parser.next();
+                if (event == JsonParser.Event.END_ARRAY) {
+                    close();
+                    return false;
+                }
+                next = parser.getValue();
+                return true;
+            } catch (final RuntimeException re) {
+                close();
+                throw re;
+            }
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final JsonValue value = next;
+            next = null;
+            if (elementType.isInstance(value)) {
+                return value;
+            }
+            return jsonb.fromJson(value.toString(), elementType);
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                parser.close();
+            }
+        }
     }
 }
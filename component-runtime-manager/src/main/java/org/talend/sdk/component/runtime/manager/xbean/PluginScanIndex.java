@@ -0,0 +1,142 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.xbean;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores on disk the class names found by the annotation scanning of a plugin.
+ * The index is keyed by a checksum of the plugin module and of its dependencies
+ * so a plugin redeployed without changes (restart) can skip the scanning.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PluginScanIndex {
+
+    private static final String VERSION = "1";
+
+    private final Path directory;
+
+    /**
+     * @param module the root module of the plugin.
+     * @param dependencies the classpath files of the plugin.
+     * @return the index key or null if the module is not a plain file.
+     */
+    public String key(final Path module, final Stream<Path> dependencies) {
+        if (module == null || !Files.isRegularFile(module)) {
+            return null;
+        }
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(VERSION.getBytes(UTF_8));
+            final byte[] buffer = new byte[8192];
+            try (final InputStream stream = Files.newInputStream(module)) {
+                int read;
+                while ((read = stream.read(buffer)) >= 0) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            // dependencies are versioned artifacts, their name and size are enough
+            for (final Path dependency : dependencies.filter(it -> !it.equals(module)).collect(toList())) {
+                digest.update(dependency.getFileName().toString().getBytes(UTF_8));
+                digest
+                        .update(Long
+                                .toString(Files.isRegularFile(dependency) ? Files.size(dependency) : -1)
+                                .getBytes(UTF_8));
+            }
+            final StringBuilder key = new StringBuilder();
+            for (final byte b : digest.digest()) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (final IOException | NoSuchAlgorithmException e) {
+            log.debug(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * @param key the index key.
+     * @return the class names per category or null if there is no index for this key.
+     */
+    public Map<String, List<String>> load(final String key) {
+        final Path file = directory.resolve(key + ".properties");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        final Properties properties = new Properties();
+        try (final Reader reader = Files.newBufferedReader(file, UTF_8)) {
+            properties.load(reader);
+        } catch (final IOException e) {
+            log.warn("Can't read scan index " + file + ": " + e.getMessage());
+            return null;
+        }
+        if (!VERSION.equals(properties.getProperty("version"))) {
+            return null;
+        }
+        final Map<String, List<String>> index = new HashMap<>();
+        properties.stringPropertyNames().stream().filter(it -> !"version".equals(it)).forEach(category -> {
+            final String value = properties.getProperty(category).trim();
+            index
+                    .put(category, value.isEmpty() ? new ArrayList<>()
+                            : Stream.of(value.split(",")).map(String::trim).collect(toList()));
+        });
+        return index;
+    }
+
+    /**
+     * @param key the index key.
+     * @param index the class names per category.
+     */
+    public void save(final String key, final Map<String, ? extends Collection<String>> index) {
+        final Properties properties = new Properties();
+        properties.setProperty("version", VERSION);
+        index.forEach((category, names) -> properties.setProperty(category, String.join(",", names)));
+        try {
+            Files.createDirectories(directory);
+            final Path tmp = Files.createTempFile(directory, key, ".tmp");
+            try (final Writer writer = Files.newBufferedWriter(tmp, UTF_8)) {
+                properties.store(writer, "Plugin scan index");
+            }
+            Files
+                    .move(tmp, directory.resolve(key + ".properties"), StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            log.warn("Can't write scan index " + key + " in " + directory + ": " + e.getMessage());
+        }
+    }
+}
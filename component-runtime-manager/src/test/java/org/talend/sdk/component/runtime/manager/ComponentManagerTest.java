@@ -20,6 +20,7 @@ import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -179,9 +180,12 @@ class ComponentManagerTest {
         try (final ComponentManager manager = newManager()) {
             doCheckRegistry(plugin1, plugin2, manager);
             final Date plugin1CreatedDate = doCheckJmx(mBeanServer);
+            doCheckSchemaPoolJmx(mBeanServer, manager);
 
             // now remove a plugin and check the meta disappeared
             manager.removePlugin(plugin1.getName().replace(".jar", ""));
+            assertFalse(mBeanServer
+                    .isRegistered(new ObjectName("org.talend.sdk.component:type=schema-pool,plugin=\"plugin1\"")));
             assertEquals(1, manager.find(Stream::of).count());
             assertEquals("plugin2", manager.find(Stream::of).findFirst().get().getId());
 
@@ -323,6 +327,78 @@ class ComponentManagerTest {
         return container;
     }
 
+    @Test
+    void addPlugins(@TempDir final File temporaryFolder) throws Exception {
+        final File pluginFolder = new File(temporaryFolder, "test-plugins_" + UUID.randomUUID().toString());
+        pluginFolder.mkdirs();
+        final File plugin1 = pluginGenerator
+                .createPlugin(pluginFolder, "plugin1.jar", "org.apache.tomee:openejb-itests-beans:jar:7.0.5:runtime");
+        final File plugin2 = pluginGenerator
+                .createPlugin(pluginFolder, "plugin2.jar",
+                        "org.apache.tomee:arquillian-tomee-codi-tests:jar:7.0.5:runtime");
+
+        System.setProperty("talend.component.manager.plugins.parallelism", "2");
+        try (final ComponentManager manager = newManager()) {
+            assertEquals(asList("plugin1", "plugin2"),
+                    manager.addPlugins(asList(plugin1.getAbsolutePath(), plugin2.getAbsolutePath())));
+            doCheckRegistry(plugin1, plugin2, manager); // already deployed so just validates the registries
+        } finally {
+            System.clearProperty("talend.component.manager.plugins.parallelism");
+            doCleanup(pluginFolder);
+        }
+    }
+
+    @Test
+    void lazyDeployment(@TempDir final File temporaryFolder) throws Exception {
+        final File pluginFolder = new File(temporaryFolder, "test-plugins_" + UUID.randomUUID().toString());
+        pluginFolder.mkdirs();
+        final File plugin1 = pluginGenerator
+                .createPlugin(pluginFolder, "plugin1.jar", "org.apache.tomee:openejb-itests-beans:jar:7.0.5:runtime");
+        final File plugin2 = pluginGenerator
+                .createPlugin(pluginFolder, "plugin2.jar",
+                        "org.apache.tomee:arquillian-tomee-codi-tests:jar:7.0.5:runtime");
+
+        System.setProperty("talend.component.manager.plugins.lazy", "true");
+        try (final ComponentManager manager = newManager()) {
+            doCheckRegistry(plugin1, plugin2, manager);
+        } finally {
+            System.clearProperty("talend.component.manager.plugins.lazy");
+            doCleanup(pluginFolder);
+        }
+    }
+
+    @Test
+    void scanIndex(@TempDir final File temporaryFolder) throws Exception {
+        final File pluginFolder = new File(temporaryFolder, "test-plugins_" + UUID.randomUUID().toString());
+        pluginFolder.mkdirs();
+        final File plugin1 = pluginGenerator
+                .createPlugin(pluginFolder, "plugin1.jar", "org.apache.tomee:openejb-itests-beans:jar:7.0.5:runtime");
+        final File plugin2 = pluginGenerator
+                .createPlugin(pluginFolder, "plugin2.jar",
+                        "org.apache.tomee:arquillian-tomee-codi-tests:jar:7.0.5:runtime");
+        final File indexFolder = new File(temporaryFolder, "scan-index");
+
+        System.setProperty("talend.component.manager.plugins.scan.cache", indexFolder.getAbsolutePath());
+        try {
+            try (final ComponentManager manager = newManager()) { // scans and writes the index
+                doCheckRegistry(plugin1, plugin2, manager);
+            }
+            final File[] indices = indexFolder.listFiles((dir, name) -> name.endsWith(".properties"));
+            assertNotNull(indices);
+            assertEquals(2, indices.length);
+            final long[] lastModified = Stream.of(indices).mapToLong(File::lastModified).toArray();
+
+            try (final ComponentManager manager = newManager()) { // reuses the index
+                doCheckRegistry(plugin1, plugin2, manager);
+            }
+            assertEquals(2, indexFolder.listFiles((dir, name) -> name.endsWith(".properties")).length);
+            assertArrayEquals(lastModified, Stream.of(indices).mapToLong(File::lastModified).toArray());
+        } finally {
+            System.clearProperty("talend.component.manager.plugins.scan.cache");
+            doCleanup(pluginFolder);
+        }
+    }
+
     private void doCleanup(final File pluginFolder) {
         DynamicContainerFinder.LOADERS.clear();
         Stream.of(pluginFolder.listFiles()).forEach(File::delete);
@@ -331,6 +407,21 @@ class ComponentManagerTest {
         }
     }
 
+    private void doCheckSchemaPoolJmx(final MBeanServer mBeanServer, final ComponentManager manager) throws Exception {
+        final RecordBuilderFactory factory = RecordBuilderFactory.class
+                .cast(manager
+                        .findPlugin("plugin1")
+                        .get()
+                        .get(AllServices.class)
+                        .getServices()
+                        .get(RecordBuilderFactory.class));
+        factory.newRecordBuilder().withString("name", "first").build();
+        factory.newRecordBuilder().withString("name", "second").build();
+        final ObjectName name = new ObjectName("org.talend.sdk.component:type=schema-pool,plugin=\"plugin1\"");
+        assertTrue(mBeanServer.isRegistered(name));
+        assertEquals(1, mBeanServer.getAttribute(name, "Size"));
+    }
+
     private Date doCheckJmx(final MBeanServer mBeanServer) throws Exception {
         final ObjectName name = new ObjectName("org.talend.test:value=plugin1,type=plugin");
         assertTrue(mBeanServer.isRegistered(name));
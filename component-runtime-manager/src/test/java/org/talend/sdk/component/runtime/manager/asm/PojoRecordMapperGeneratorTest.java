@@ -0,0 +1,173 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.asm;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import routines.system.IPersistableRow;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.PojoRecordMapper;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+import org.talend.sdk.component.runtime.record.RecordConverters;
+
+class PojoRecordMapperGeneratorTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    void roundTrip() {
+        final RecordConverters.MappingMetaRegistry registry = new RecordConverters.MappingMetaRegistry();
+        final RecordConverters.MappingMeta meta = registry.find(Row.class, () -> factory);
+        assertNotNull(meta.getMapper());
+        assertEquals(Row.class.getName() + "$$TalendRecordMapper", meta.getMapper().getClass().getName());
+
+        final Row row = new Row();
+        row.name = "test";
+        row.age = 42;
+        row.count = 3L;
+        row.ratio = 1.5f;
+        row.amount = 2.5;
+        row.small = 4;
+        row.enabled = true;
+        row.initial = 'a';
+        row.price = new BigDecimal("10.5");
+        row.payload = new byte[] { 1, 2 };
+        row.created = new Date(1000);
+
+        final RecordConverters converters = new RecordConverters();
+        final Record record = converters.toRecord(registry, row, () -> null, () -> factory);
+        assertEquals("test", record.getString("name"));
+        assertEquals(42, record.getInt("age"));
+        assertEquals(3L, record.getLong("count"));
+        assertEquals(1.5f, record.getFloat("ratio"));
+        assertEquals(2.5, record.getDouble("amount"));
+        assertEquals(4, record.getInt("small"));
+        assertEquals(true, record.getBoolean("enabled"));
+        assertEquals("a", record.getString("initial"));
+        assertEquals("10.5", record.getString("price"));
+        assertFalse(record.getOptionalInt("missing").isPresent());
+
+        final Row copy = Row.class
+                .cast(converters
+                        .toType(registry, record, Row.class, () -> null, () -> null, () -> null, () -> factory));
+        assertEquals("test", copy.name);
+        assertEquals(42, copy.age);
+        assertEquals(3L, copy.count);
+        assertEquals(1.5f, copy.ratio);
+        assertEquals(2.5, copy.amount);
+        assertEquals(4, copy.small);
+        assertEquals(true, copy.enabled);
+        assertEquals('a', copy.initial.charValue());
+        assertEquals(new BigDecimal("10.5"), copy.price);
+        assertArrayEquals(new byte[] { 1, 2 }, copy.payload);
+        assertEquals(1000, copy.created.getTime());
+        assertNull(copy.missing);
+    }
+
+    @Test
+    void generate() throws NoSuchFieldException {
+        final Schema.Entry name = factory.newEntryBuilder().withName("name").withType(Schema.Type.STRING).build();
+        final Schema.Entry age = factory.newEntryBuilder().withName("age").withType(Schema.Type.INT).build();
+        final PojoRecordMapper mapper = new PojoRecordMapperGenerator()
+                .generate(Simple.class, asList(Simple.class.getField("name"), Simple.class.getField("age")),
+                        asList(name, age));
+        assertNotNull(mapper);
+        assertEquals(Simple.class.getName() + "$$TalendRecordMapper", mapper.getClass().getName());
+        assertSame(Simple.class.getClassLoader(), mapper.getClass().getClassLoader());
+
+        final Simple simple = new Simple();
+        simple.name = "test";
+        simple.age = 42;
+        final Record.Builder builder = factory
+                .newRecordBuilder(factory.newSchemaBuilder(Schema.Type.RECORD).withEntry(name).withEntry(age).build());
+        mapper.toRecord(simple, builder);
+        final Record record = builder.build();
+        assertEquals("test", record.getString("name"));
+        assertEquals(42, record.getInt("age"));
+
+        final Simple copy = Simple.class.cast(mapper.toInstance(record));
+        assertEquals("test", copy.name);
+        assertEquals(42, copy.age);
+    }
+
+    @Test
+    void fallbackToReflection() {
+        final RecordConverters.MappingMeta meta =
+                new RecordConverters.MappingMetaRegistry().find(WithList.class, () -> factory);
+        assertNull(meta.getMapper());
+        final WithList instance = new WithList();
+        instance.name = "test";
+        final Record record = new RecordConverters()
+                .toRecord(new RecordConverters.MappingMetaRegistry(), instance, () -> null, () -> factory);
+        assertEquals("test", record.getString("name"));
+        assertEquals(Schema.Type.RECORD, record.getSchema().getType());
+    }
+
+    public static class Row implements IPersistableRow<Row> {
+
+        public String name;
+
+        public int age;
+
+        public Long count;
+
+        public float ratio;
+
+        public Double amount;
+
+        public short small;
+
+        public boolean enabled;
+
+        public Character initial;
+
+        public BigDecimal price;
+
+        public byte[] payload;
+
+        public Date created;
+
+        public Integer missing;
+    }
+
+    public static class Simple {
+
+        public String name;
+
+        public int age;
+    }
+
+    public static class WithList implements IPersistableRow<WithList> {
+
+        public String name;
+
+        public List<String> values;
+    }
+}
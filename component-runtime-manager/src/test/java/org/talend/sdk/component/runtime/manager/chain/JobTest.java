@@ -271,6 +271,79 @@ class JobTest {
         }
     }
 
+    @Test
+    void parallelJoin(final TestInfo info, @TempDir final Path temporaryFolder) throws IOException {
+        final String testName = info.getTestMethod().get().getName();
+        final String plugin = testName + ".jar";
+        final File jar = pluginGenerator.createChainPlugin(temporaryFolder.toFile(), plugin);
+        final File out = new File(temporaryFolder.toFile(), testName + "-out.txt");
+
+        try (final ComponentManager manager = newTestManager(jar)) {
+
+            Job
+                    .components()
+                    .component("users", "db://input?__version=1&tableName=users")
+                    .component("address", "db://input?__version=1&tableName=address")
+                    .component("salary", "db://input?__version=1&tableName=salary")
+                    .component("concat", "processor://concat?__version=1")
+                    .component("concat_2", "processor://concat?__version=1")
+                    .component("outFile",
+                            "file://out?__version=1&configuration.file=" + encode(out.getAbsolutePath(), "utf-8"))
+                    .property("local.parallelism", 1) // shared writer
+                    .connections()
+                    .from("users")
+                    .to("concat", "str1")
+                    .from("address")
+                    .to("concat", "str2")
+                    .from("concat")
+                    .to("concat_2", "str1")
+                    .from("salary")
+                    .to("concat_2", "str2")
+                    .from("concat_2")
+                    .to("outFile")
+                    .build()
+                    .property(Job.ExecutorBuilder.class.getName(), "local")
+                    .property("local.parallelism", "4")
+                    .property("local.queueSize", "2")
+                    .property(GroupKeyProvider.class.getName(), (GroupKeyProvider) context -> {
+                        if (context.getComponentId().equals("users")) {
+                            return context.getData().get(String.class, "id");
+                        }
+
+                        return context.getData().get(String.class, "userId");
+                    })
+                    .run();
+
+            assertTrue(out.isFile());
+            assertEquals(asList("ava paris 2600.30", "emma strasbourg 1900", "liam lyon 3055", "sophia nantes 2000.5"),
+                    Files.readAllLines(out.toPath()).stream().sorted().collect(toList()));
+        }
+    }
+
+    @Test
+    void parallelMaxRecords(final TestInfo info, @TempDir final Path temporaryFolder) {
+        final String testName = info.getTestMethod().get().getName();
+        final String plugin = testName + ".jar";
+        final File jar = pluginGenerator.createChainPlugin(temporaryFolder.toFile(), plugin);
+        try (final ComponentManager manager = newTestManager(jar)) {
+            Job
+                    .components()
+                    .component("countdown", "lifecycle://countdown?__version=1&start=5")
+                    .component("square", "lifecycle://square?__version=1")
+                    .connections()
+                    .from("countdown")
+                    .to("square")
+                    .build()
+                    .property("local.parallelism", "2")
+                    .property("streaming.maxRecords", "2")
+                    .run();
+            final LocalPartitionMapper mapper =
+                    LocalPartitionMapper.class.cast(manager.findMapper("lifecycle", "countdown", 1, emptyMap()).get());
+            assertEquals(asList("start", "produce(4)", "produce(3)", "stop"),
+                    ((Supplier<List<String>>) mapper.getDelegate()).get());
+        }
+    }
+
     @Test
     void maxBatchSize(final TestInfo info, @TempDir final Path temporaryFolder) throws IOException {
         final String testName = info.getTestMethod().get().getName();
@@ -295,6 +368,56 @@ class JobTest {
         }
     }
 
+    @Test
+    void partialRecordBatch(final TestInfo info, @TempDir final Path temporaryFolder) throws IOException {
+        final String testName = info.getTestMethod().get().getName();
+        final String plugin = testName + ".jar";
+        final File jar = pluginGenerator.createChainPlugin(temporaryFolder.toFile(), plugin);
+        final File out = new File(temporaryFolder.toFile(), testName + "-out.txt");
+        try (final ComponentManager ignored = newTestManager(jar)) {
+            Job
+                    .components()
+                    .component("users", "db://input?__version=1&tableName=users")
+                    .component("outFile",
+                            "file://batchOut?configuration.$maxBatchSize=3&__version=1&configuration.file="
+                                    + encode(out.getAbsolutePath(), "utf-8"))
+                    .connections()
+                    .from("users")
+                    .to("outFile")
+                    .build()
+                    .run();
+
+            assertTrue(out.isFile());
+            assertEquals(asList("sophia emma liam", "ava"), Files.readAllLines(out.toPath()));
+        }
+    }
+
+    @Test
+    void spilledBuffers(final TestInfo info, @TempDir final Path temporaryFolder) throws IOException {
+        final String testName = info.getTestMethod().get().getName();
+        final String plugin = testName + ".jar";
+        final File jar = pluginGenerator.createChainPlugin(temporaryFolder.toFile(), plugin);
+        final File out = new File(temporaryFolder.toFile(), testName + "-out.txt");
+        try (final ComponentManager ignored = newTestManager(jar)) {
+            Job
+                    .components()
+                    .component("users", "db://input?__version=1&tableName=users")
+                    .component("outFile",
+                            "file://out?__version=1&configuration.file=" + encode(out.getAbsolutePath(), "utf-8"))
+                    .connections()
+                    .from("users")
+                    .to("outFile")
+                    .build()
+                    .property("local.buffer.capacity", "2")
+                    .property("local.buffer.maxInMemory", "0")
+                    .property("local.spillDirectory", temporaryFolder.toFile().getAbsolutePath())
+                    .run();
+
+            assertTrue(out.isFile());
+            assertEquals(asList("sophia", "emma", "liam", "ava"), Files.readAllLines(out.toPath()));
+        }
+    }
+
     @Test
     void contextualKeyProvider(final TestInfo info, @TempDir final Path temporaryFolder) throws IOException {
         final String testName = info.getTestMethod().get().getName();
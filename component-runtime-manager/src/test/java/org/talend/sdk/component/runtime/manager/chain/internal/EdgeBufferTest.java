@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+class EdgeBufferTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    void spill(@TempDir final Path temporaryFolder) {
+        try (final EdgeBuffer buffer = new EdgeBuffer("test", 4, 2, temporaryFolder.toFile(), factory)) {
+            for (int i = 0; i < 4; i++) {
+                buffer.add(Integer.toString(i), factory.newRecordBuilder().withInt("value", i).build());
+            }
+            assertTrue(buffer.isFull());
+            assertEquals(4, buffer.getBufferedRecords());
+            assertEquals(2, buffer.getInMemoryRecords());
+            assertEquals(2, buffer.getSpilledRecords());
+            assertTrue(buffer.getSpilledBytes() > 0);
+
+            for (int i = 0; i < 4; i++) {
+                assertEquals(Integer.toString(i), buffer.peekKey());
+                assertEquals(i, buffer.poll().getInt("value"));
+            }
+            assertNull(buffer.poll());
+            assertFalse(buffer.isFull());
+            assertTrue(buffer.isEmpty());
+            assertEquals(0, buffer.getSpilledRecords());
+            assertEquals(0, buffer.getSpilledBytes());
+        }
+        assertEquals(0, temporaryFolder.toFile().list().length);
+    }
+
+    @Test
+    void unbounded() {
+        try (final EdgeBuffer buffer = new EdgeBuffer("test", -1, -1, null, factory)) {
+            for (int i = 0; i < 100; i++) {
+                buffer.add(null, factory.newRecordBuilder().withInt("value", i).build());
+            }
+            assertFalse(buffer.isFull());
+            assertEquals(100, buffer.getInMemoryRecords());
+            assertEquals(0, buffer.getSpilledRecords());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+class JoinEngineTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    void hash() {
+        try (final JoinEngine join = new JoinEngine(asList("a", "b"), JoinEngine.Mode.HASH, -1, null, factory)) {
+            join.push("a", "1", record("a1"));
+            join.push("b", "2", record("b2"));
+            assertNull(join.poll());
+            join.push("b", "1", record("b1"));
+            assertMatch(join.poll(), "a1", "b1");
+            assertNull(join.poll());
+            join.push("a", "2", record("a2"));
+            assertMatch(join.poll(), "a2", "b2");
+            assertEquals(0, join.getPending());
+        }
+    }
+
+    @Test
+    void sortMerge() {
+        try (final JoinEngine join = new JoinEngine(asList("a", "b"), JoinEngine.Mode.SORT_MERGE, -1, null, factory)) {
+            join.push("a", "1", record("a1"));
+            join.push("b", "2", record("b2"));
+            assertNull(join.poll());
+            join.push("a", "2", record("a2"));
+            assertMatch(join.poll(), "a2", "b2");
+            join.push("b", "3", record("b3"));
+            join.push("a", "4", record("a4"));
+            join.push("b", "4", record("b4"));
+            assertMatch(join.poll(), "a4", "b4");
+            assertNull(join.poll());
+            assertEquals(2, join.getDropped());
+            assertEquals(0, join.getPending());
+        }
+    }
+
+    @Test
+    void pushBudget() {
+        try (final JoinEngine join = new JoinEngine(asList("a", "b"), JoinEngine.Mode.HASH, 3, null, factory)) {
+            assertEquals(3, join.getPushBudget());
+            join.push("a", "1", record("a1"));
+            join.push("a", "2", record("a2"));
+            assertEquals(1, join.getPushBudget());
+            join.push("a", "3", record("a3"));
+            assertEquals(1, join.getPushBudget()); // never 0 without a ready match, the join must progress
+            join.push("b", "1", record("b1"));
+            assertEquals(0, join.getPushBudget()); // the match must be consumed first
+            assertMatch(join.poll(), "a1", "b1");
+            assertTrue(join.getPushBudget() > 0);
+        }
+        try (final JoinEngine join = new JoinEngine(asList("a", "b"), JoinEngine.Mode.HASH, -1, null, factory)) {
+            assertEquals(Long.MAX_VALUE, join.getPushBudget());
+        }
+    }
+
+    @Test
+    void spill(@TempDir final Path temporaryFolder) {
+        final ZonedDateTime date = ZonedDateTime.of(2020, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC);
+        try (final JoinEngine join =
+                new JoinEngine(asList("a", "b"), JoinEngine.Mode.HASH, 2, temporaryFolder.toFile(), factory)) {
+            for (int i = 0; i < 5; i++) {
+                join
+                        .push("a", Integer.toString(i),
+                                factory
+                                        .newRecordBuilder()
+                                        .withString("name", "a" + i)
+                                        .withInt("int", i)
+                                        .withLong("long", i * 10L)
+                                        .withDouble("double", i / 2.)
+                                        .withBoolean("bool", i % 2 == 0)
+                                        .withBytes("bytes", new byte[] { (byte) i })
+                                        .withDateTime("date", date)
+                                        .withRecord("nested", record("n" + i))
+                                        .withArray(factory
+                                                .newEntryBuilder()
+                                                .withName("array")
+                                                .withType(Schema.Type.ARRAY)
+                                                .withElementSchema(factory.newSchemaBuilder(Schema.Type.STRING).build())
+                                                .build(), asList("x" + i, "y"))
+                                        .build());
+            }
+            assertTrue(join.getSpilled() > 0);
+            assertTrue(temporaryFolder.toFile().list().length > 0);
+            for (int i = 0; i < 5; i++) {
+                join.push("b", Integer.toString(i), record("b" + i));
+                final Record a = join.poll().get("a");
+                assertEquals("a" + i, a.getString("name"));
+                assertEquals(i, a.getInt("int"));
+                assertEquals(i * 10L, a.getLong("long"));
+                assertEquals(i / 2., a.getDouble("double"));
+                assertEquals(i % 2 == 0, a.getBoolean("bool"));
+                assertArrayEquals(new byte[] { (byte) i }, a.getBytes("bytes"));
+                assertEquals(date.toInstant(), a.getDateTime("date").toInstant());
+                assertEquals("n" + i, a.getRecord("nested").getString("name"));
+                assertEquals(asList("x" + i, "y"), a.getArray(String.class, "array"));
+            }
+            assertEquals(0, join.getPending());
+        }
+        assertEquals(0, temporaryFolder.toFile().list().length);
+    }
+
+    @Test
+    void spillReadyMatches(@TempDir final Path temporaryFolder) {
+        try (final JoinEngine join =
+                new JoinEngine(asList("a", "b"), JoinEngine.Mode.HASH, 2, temporaryFolder.toFile(), factory)) {
+            for (int i = 0; i < 3; i++) { // matches are not polled so they stay in the join
+                join.push("a", Integer.toString(i), record("a" + i));
+                join.push("b", Integer.toString(i), record("b" + i));
+            }
+            assertEquals(6, join.getPending());
+            assertTrue(join.getSpilled() > 0);
+            for (int i = 0; i < 3; i++) {
+                assertMatch(join.poll(), "a" + i, "b" + i);
+            }
+            assertNull(join.poll());
+            assertEquals(0, join.getPending());
+        }
+    }
+
+    private void assertMatch(final Map<String, Record> match, final String a, final String b) {
+        assertEquals(a, match.get("a").getString("name"));
+        assertEquals(b, match.get("b").getString("name"));
+    }
+
+    private Record record(final String name) {
+        return factory.newRecordBuilder().withString("name", name).build();
+    }
+}
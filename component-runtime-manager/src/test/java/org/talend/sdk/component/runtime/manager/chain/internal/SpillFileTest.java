@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.chain.internal;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+
+class SpillFileTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl("test");
+
+    @Test
+    void arrayItemTypes(@TempDir final Path temporaryFolder) {
+        final ZonedDateTime dateTime = ZonedDateTime.of(2020, 1, 2, 3, 4, 5, 6000000, ZoneId.of("Europe/Paris"));
+        final Date date = new Date(1234567L);
+        final Record nested = factory.newRecordBuilder().withString("name", "nested").build();
+        final List<Object> items = asList("s", (short) 1, (byte) 2, 3, 4L, 5.5f, 6.5, true, date, dateTime, null,
+                nested, asList((short) 7, "x"));
+        final Record record = factory
+                .newRecordBuilder()
+                .withArray(factory
+                        .newEntryBuilder()
+                        .withName("items")
+                        .withType(Schema.Type.ARRAY)
+                        .withElementSchema(factory.newSchemaBuilder(Schema.Type.STRING).build())
+                        .build(), items)
+                .build();
+        try (final SpillFile spill = new SpillFile(temporaryFolder.toFile(), factory)) {
+            final Collection<?> read = spill.read(spill.write(record)).getArray(Object.class, "items");
+            final List<Object> values = new ArrayList<>(read);
+            assertEquals(items.size(), values.size());
+            for (int i = 0; i < items.size(); i++) {
+                final Object expected = items.get(i);
+                final Object actual = values.get(i);
+                if (expected == null) {
+                    assertEquals(null, actual);
+                } else if (Record.class.isInstance(expected)) {
+                    assertEquals("nested", Record.class.cast(actual).getString("name"));
+                } else if (Collection.class.isInstance(expected)) {
+                    assertEquals(expected, actual);
+                    assertEquals(Short.class, Collection.class.cast(actual).iterator().next().getClass());
+                } else {
+                    assertEquals(expected.getClass(), actual.getClass(), expected::toString);
+                    assertEquals(expected, actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    void interleavedReadsAndWrites(@TempDir final Path temporaryFolder) {
+        // records bigger than the buffers and read in a random order to cover the buffer repositioning
+        final byte[] payload = new byte[100 * 1024];
+        try (final SpillFile spill = new SpillFile(temporaryFolder.toFile(), factory)) {
+            final long[] offsets = IntStream
+                    .range(0, 10)
+                    .mapToLong(i -> spill
+                            .write(factory
+                                    .newRecordBuilder()
+                                    .withInt("index", i)
+                                    .withBytes("payload", i % 2 == 0 ? payload : new byte[] { (byte) i })
+                                    .build()))
+                    .toArray();
+            for (final int i : new int[] { 0, 1, 2, 7, 3, 9, 8 }) {
+                assertEquals(i, spill.read(offsets[i]).getInt("index"));
+            }
+            final long offset = spill.write(factory.newRecordBuilder().withInt("index", 10).build());
+            assertEquals(10, spill.read(offset).getInt("index"));
+            assertArrayEquals(payload, spill.read(offsets[4]).getBytes("payload"));
+
+            spill.reset();
+            assertEquals(0, spill.getLength());
+            assertEquals(11,
+                    spill.read(spill.write(factory.newRecordBuilder().withInt("index", 11).build())).getInt("index"));
+        }
+    }
+}
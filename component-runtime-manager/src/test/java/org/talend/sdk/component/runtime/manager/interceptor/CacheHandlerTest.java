@@ -0,0 +1,186 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.interceptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.service.cache.Cached;
+import org.talend.sdk.component.api.service.cache.LocalCache;
+import org.talend.sdk.component.runtime.manager.service.LocalCacheService;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+class CacheHandlerTest {
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    private final LocalCacheService cache =
+            new LocalCacheService("CacheHandlerTest", System::currentTimeMillis, () -> executor);
+
+    @AfterEach
+    void release() {
+        cache.release();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void structuredKeys() throws NoSuchMethodException {
+        final AtomicInteger calls = new AtomicInteger();
+        final CacheHandler handler = new CacheHandler((m, args) -> calls.incrementAndGet(), cache);
+        final Method method = Service.class.getMethod("find", String.class, int[].class);
+
+        assertEquals(1, handler.invoke(method, new Object[] { "a", new int[] { 1, 2 } }));
+        assertEquals(1, handler.invoke(method, new Object[] { "a", new int[] { 1, 2 } })); // deep equals
+        assertEquals(2, handler.invoke(method, new Object[] { "a", new int[] { 1, 3 } }));
+        assertEquals(3, handler.invoke(method, new Object[] { null, null }));
+        assertEquals(3, handler.invoke(method, new Object[] { null, null }));
+        assertEquals(3, calls.get());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+
+        // the method is part of the key
+        final Method other = Service.class.getMethod("findOther", String.class, int[].class);
+        assertEquals(4, handler.invoke(other, new Object[] { "a", new int[] { 1, 2 } }));
+    }
+
+    @Test
+    void mutableParameters() throws NoSuchMethodException {
+        final AtomicInteger calls = new AtomicInteger();
+        final CacheHandler handler = new CacheHandler((m, args) -> calls.incrementAndGet(), cache);
+        final Method method = Service.class.getMethod("find", String.class, int[].class);
+
+        final int[] values = { 1, 2 };
+        assertEquals(1, handler.invoke(method, new Object[] { "a", values }));
+        values[1] = 3; // the key is a snapshot of the values at call time
+        assertEquals(2, handler.invoke(method, new Object[] { "a", values }));
+        assertEquals(1, handler.invoke(method, new Object[] { "a", new int[] { 1, 2 } }));
+        assertEquals(2, handler.invoke(method, new Object[] { "a", new int[] { 1, 3 } }));
+        assertEquals(2, calls.get());
+
+        final Method withConfig = Service.class.getMethod("withConfig", Config.class);
+        final Config config = new Config("first");
+        assertEquals(3, handler.invoke(withConfig, new Object[] { config }));
+        config.value = "second";
+        assertEquals(4, handler.invoke(withConfig, new Object[] { config }));
+        assertEquals(3, handler.invoke(withConfig, new Object[] { new Config("first") }));
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void keyExtractor() throws NoSuchMethodException {
+        final List<Object> loaded = new ArrayList<>();
+        final CacheHandler handler = new CacheHandler((m, args) -> {
+            loaded.add(args[1]);
+            return args[1];
+        }, cache);
+        final Method method = Service.class.getMethod("withExtractor", String.class, String.class);
+
+        assertEquals("first", handler.invoke(method, new Object[] { "id", "first" }));
+        assertEquals("first", handler.invoke(method, new Object[] { "id", "second" }));
+        assertEquals("third", handler.invoke(method, new Object[] { "id2", "third" }));
+        assertEquals(2, loaded.size());
+    }
+
+    @Test
+    void customCache() throws NoSuchMethodException {
+        final List<String> keys = new ArrayList<>();
+        final LocalCache custom = new LocalCache() {
+
+            @Override
+            public <T> T computeIfAbsent(final Class<T> expectedClass, final String key,
+                    final Predicate<Element> toRemove, final long timeoutMs, final Supplier<T> value) {
+                keys.add(key);
+                return value.get();
+            }
+
+            @Override
+            public <T> T computeIfAbsent(final Class<T> expectedClass, final String key,
+                    final Predicate<Element> toRemove, final Supplier<T> value) {
+                return computeIfAbsent(expectedClass, key, toRemove, -1, value);
+            }
+
+            @Override
+            public <T> T computeIfAbsent(final Class<T> expectedClass, final String key, final long timeoutMs,
+                    final Supplier<T> value) {
+                return computeIfAbsent(expectedClass, key, null, timeoutMs, value);
+            }
+
+            @Override
+            public <T> T computeIfAbsent(final Class<T> expectedClass, final String key, final Supplier<T> value) {
+                return computeIfAbsent(expectedClass, key, null, -1, value);
+            }
+
+            @Override
+            public void evict(final String key) {
+                // no-op
+            }
+
+            @Override
+            public void evictIfValue(final String key, final Object expected) {
+                // no-op
+            }
+        };
+        final CacheHandler handler = new CacheHandler((m, args) -> "ok", custom);
+        final Method method = Service.class.getMethod("withExtractor", String.class, String.class);
+        assertEquals("ok", handler.invoke(method, new Object[] { "id", "ignored" }));
+        assertEquals(1, keys.size());
+        assertEquals(Service.class.getName() + "#withExtractor(id/" + "id".hashCode() + ")", keys.get(0));
+    }
+
+    public interface Service {
+
+        @Cached
+        Object find(String name, int[] values);
+
+        @Cached
+        Object findOther(String name, int[] values);
+
+        @Cached(key = FirstParameter.class)
+        Object withExtractor(String id, String ignored);
+
+        @Cached
+        Object withConfig(Config config);
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @ToString
+    public static class Config {
+
+        private String value;
+    }
+
+    public static class FirstParameter implements Cached.KeyExtractor {
+
+        @Override
+        public Object extract(final Object[] parameters) {
+            return parameters[0];
+        }
+    }
+}
@@ -19,7 +19,9 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -34,13 +36,24 @@ import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import javax.json.JsonObject;
 import javax.json.bind.JsonbBuilder;
+import javax.json.stream.JsonParser;
 import javax.xml.bind.annotation.XmlRootElement;
 
 import org.apache.xbean.propertyeditor.PropertyEditorRegistry;
@@ -265,6 +278,46 @@ class HttpClientFactoryImplTest {
         }
     }
 
+    @Test
+    void streaming() throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/").setHandler(httpExchange -> {
+            httpExchange.getResponseHeaders().set("content-type", "application/json;charset=UTF-8");
+            final byte[] bytes =
+                    "[{\"name\":\"a\"},{\"name\":\"b\"},{\"name\":\"c\"}]".getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, bytes.length);
+            httpExchange.getResponseBody().write(bytes);
+            httpExchange.close();
+        });
+        try {
+            server.start();
+            final StreamingClient client = newDefaultFactory()
+                    .create(StreamingClient.class, "http://localhost:" + server.getAddress().getPort());
+
+            try (final Stream<Foo> foos = client.stream()) {
+                assertEquals(asList("a", "b", "c"), foos.map(Foo::getName).collect(toList()));
+            }
+
+            final Iterator<JsonObject> objects = client.iterator();
+            final Collection<String> names = new ArrayList<>();
+            objects.forEachRemaining(o -> names.add(o.getString("name")));
+            assertEquals(asList("a", "b", "c"), names);
+
+            try (final JsonParser parser = client.parser()) {
+                assertEquals(JsonParser.Event.START_ARRAY, parser.next());
+                assertEquals(3, parser.getArray().size());
+            }
+
+            final Response<Stream<Foo>> response = client.response();
+            assertEquals(HttpURLConnection.HTTP_OK, response.status());
+            try (final Stream<Foo> foos = response.body()) {
+                assertEquals(3, foos.count());
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
     @Test
     void decoderWithServices() throws IOException {
         final HttpServer server = createTestServer(HttpURLConnection.HTTP_OK);
@@ -307,6 +360,55 @@ class HttpClientFactoryImplTest {
         }
     }
 
+    @Test
+    void async() throws Exception {
+        final AtomicInteger concurrent = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+        final HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        final ExecutorService serverThreads = Executors.newFixedThreadPool(16);
+        server.setExecutor(serverThreads);
+        server.createContext("/").setHandler(httpExchange -> {
+            final int current = concurrent.incrementAndGet();
+            maxConcurrent.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            concurrent.decrementAndGet();
+            final String path = httpExchange.getRequestURI().getPath();
+            final byte[] bytes = path.getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(path.endsWith("/ko") ? 404 : 200, bytes.length);
+            httpExchange.getResponseBody().write(bytes);
+            httpExchange.close();
+        });
+        try {
+            server.start();
+            final AsyncClient client =
+                    newDefaultFactory().create(AsyncClient.class, "http://localhost:" + server.getAddress().getPort());
+            final List<CompletableFuture<String>> futures = IntStream
+                    .range(0, 20)
+                    .mapToObj(i -> client.get(Integer.toString(i)).toCompletableFuture())
+                    .collect(toList());
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals("/api/" + i, futures.get(i).get(1, MINUTES));
+            }
+            assertTrue(maxConcurrent.get() <= 5, () -> "max concurrent requests: " + maxConcurrent.get());
+
+            final Response<String> response = client.getResponse("ko").get(1, MINUTES);
+            assertEquals(404, response.status());
+            assertEquals("/api/ko", response.error(String.class));
+
+            final ExecutionException error =
+                    assertThrows(ExecutionException.class, () -> client.get("ko").toCompletableFuture().get());
+            assertTrue(HttpException.class.isInstance(error.getCause()));
+            assertEquals(404, HttpException.class.cast(error.getCause()).getResponse().status());
+        } finally {
+            server.stop(0);
+            serverThreads.shutdownNow();
+        }
+    }
+
     @Test
     void ignoreNullQueryParam() throws IOException {
         final HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
@@ -546,6 +648,30 @@ class HttpClientFactoryImplTest {
         String call(@ConfigurerOption("oauth1") final OAuth1.Configuration configuration);
     }
 
+    interface StreamingClient extends HttpClient {
+
+        @Request
+        Stream<Foo> stream();
+
+        @Request
+        Iterator<JsonObject> iterator();
+
+        @Request
+        JsonParser parser();
+
+        @Request
+        Response<Stream<Foo>> response();
+    }
+
+    interface AsyncClient extends HttpClient {
+
+        @Request(path = "/api/{id}")
+        CompletionStage<String> get(@Path("id") String id);
+
+        @Request(path = "/api/{id}")
+        CompletableFuture<Response<String>> getResponse(@Path("id") String id);
+    }
+
     interface RawClient extends HttpClient {
 
         @Request(path = "/api/{userId}")
@@ -29,6 +29,10 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
 import org.apache.xbean.propertyeditor.PropertyEditorRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -45,6 +49,7 @@ import org.talend.sdk.component.runtime.manager.serialization.DynamicContainerFi
 import org.talend.sdk.component.runtime.manager.util.MemoizingSupplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.talend.sdk.component.runtime.manager.test.Serializer.roundTrip;
 
@@ -56,6 +61,8 @@ class LocalCacheServiceTest {
 
     private int maxEviction;
 
+    private long refreshAhead;
+
     private Supplier<ScheduledExecutorService> executorGetter;
 
     private LocalConfiguration cacheConfig = new LocalConfiguration() {
@@ -65,6 +72,7 @@ class LocalCacheServiceTest {
             keys.add("test.talend.component.manager.services.cache.eviction.defaultEvictionTimeout");
             keys.add("test.talend.component.manager.services.cache.eviction.defaultMaxSize");
             keys.add("test.talend.component.manager.services.cache.eviction.maxDeletionPerEvictionRun");
+            keys.add("test.talend.component.manager.services.cache.eviction.refreshAhead");
         }
 
         @Override
@@ -78,6 +86,9 @@ class LocalCacheServiceTest {
             if ("test.talend.component.manager.services.cache.eviction.maxDeletionPerEvictionRun".equals(key)) {
                 return String.valueOf(maxEviction);
             }
+            if ("test.talend.component.manager.services.cache.eviction.refreshAhead".equals(key)) {
+                return String.valueOf(refreshAhead);
+            }
             throw new IllegalArgumentException("unknown key '" + key + "'");
         }
 
@@ -105,6 +116,7 @@ class LocalCacheServiceTest {
         this.defaultMaxSize = -1;
         this.interval = -1;
         this.maxEviction = -1;
+        this.refreshAhead = -1;
 
         final Map<Class<?>, Object> services = new HashMap<>(1);
         services
@@ -152,6 +164,17 @@ class LocalCacheServiceTest {
         assertEquals("renewed", cache.computeIfAbsent(String.class, "foo", () -> "renewed"));
     }
 
+    @Test
+    void jmx() throws Exception {
+        final MBeanServer server = MBeanServerFactory.newMBeanServer(); // not the platform one
+        final ObjectName name = new ObjectName("org.talend.sdk.component:type=cache,plugin=\"LocalCacheServiceTest\"");
+        cache.registerMBean(server);
+        assertEquals("bar", cache.computeIfAbsent(String.class, "foo", () -> "bar"));
+        assertEquals(1L, server.getAttribute(name, "MissCount"));
+        cache.release();
+        assertFalse(server.isRegistered(name));
+    }
+
     @Test
     void eviction() {
         assertEquals("bar", cache.computeIfAbsent(String.class, "foo", () -> "bar"));
@@ -291,6 +314,52 @@ class LocalCacheServiceTest {
         Assertions.assertEquals(10, this.cacheSize());
     }
 
+    @Test
+    void frequentEntriesSurvive() {
+        this.defaultMaxSize = 100;
+        for (int i = 0; i < 50; i++) {
+            for (int j = 0; j < 10; j++) {
+                cache.computeIfAbsent(String.class, "hot" + i, () -> "hot");
+            }
+        }
+        for (int i = 0; i < 1000; i++) {
+            cache.computeIfAbsent(String.class, "cold" + i, () -> "cold");
+        }
+        Assertions.assertEquals(100, this.cacheSize());
+        final long hotEntries =
+                this.internalCacheMap().keySet().stream().filter(k -> k.toString().contains("@hot")).count();
+        Assertions.assertEquals(50, hotEntries);
+        Assertions.assertTrue(cache.getEvictionCount() >= 950, () -> "evictions: " + cache.getEvictionCount());
+    }
+
+    @Test
+    void statistics() {
+        assertEquals("a", cache.computeIfAbsent(String.class, "a", () -> "a"));
+        assertEquals("a", cache.computeIfAbsent(String.class, "a", () -> "other"));
+        assertEquals("a", cache.computeIfAbsent(String.class, "a", () -> "other"));
+        assertEquals("b", cache.computeIfAbsent(String.class, "b", () -> "b"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.getLoadCount());
+        assertEquals(.5, cache.getHitRate());
+        assertEquals(2, cache.getSize());
+    }
+
+    @Test
+    void refreshAhead() throws InterruptedException {
+        this.refreshAhead = 10_000;
+        final AtomicInteger counter = new AtomicInteger();
+        assertEquals(1, cache.computeIfAbsent(Integer.class, "foo", 10_000L, counter::incrementAndGet).intValue());
+        // in the refresh window: the current value is returned and reloaded in background
+        assertEquals(1, cache.computeIfAbsent(Integer.class, "foo", 10_000L, counter::incrementAndGet).intValue());
+        final long end = System.currentTimeMillis() + 5000;
+        while (cache.getRefreshCount() == 0 && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, cache.getRefreshCount());
+        assertEquals(2, cache.computeIfAbsent(Integer.class, "foo", 10_000L, counter::incrementAndGet).intValue());
+    }
+
     private boolean isCacheEmpty() {
         return this.internalCacheMap().isEmpty();
     }
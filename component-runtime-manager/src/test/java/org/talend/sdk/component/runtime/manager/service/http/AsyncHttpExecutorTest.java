@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class AsyncHttpExecutorTest {
+
+    @Test
+    void limitPerHost() throws Exception {
+        final AsyncHttpExecutor executor = new AsyncHttpExecutor(8, 2);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger concurrent = new AtomicInteger();
+        final AtomicInteger maxConcurrent = new AtomicInteger();
+        final List<CompletableFuture<Integer>> futures =
+                IntStream.range(0, 6).mapToObj(i -> executor.submit("http://a:80/" + i, () -> {
+                    maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                    try {
+                        release.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    concurrent.decrementAndGet();
+                    return i;
+                })).collect(toList());
+        while (executor.getRunning("http://a") < 2) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i, futures.get(i).get(1, MINUTES).intValue());
+        }
+        assertTrue(maxConcurrent.get() <= 2, () -> "max concurrent calls: " + maxConcurrent.get());
+    }
+
+    @Test
+    void forgetIdleHosts() throws Exception {
+        final AsyncHttpExecutor executor = new AsyncHttpExecutor(4, 2);
+        final List<CompletableFuture<String>> futures = IntStream
+                .range(0, 200)
+                .mapToObj(i -> "http://host" + (i % 50) + ":8080/api")
+                .map(url -> executor.submit(url, () -> url))
+                .collect(toList());
+        for (final CompletableFuture<String> future : futures) {
+            future.get(1, MINUTES);
+        }
+        assertEquals(0, executor.getHostCount());
+
+        // a forgotten host is recreated on the next call
+        assertEquals("ok", executor.submit("http://host0:8080/api", () -> "ok").get(1, MINUTES));
+        assertEquals(0, executor.getHostCount());
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.xbean;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PluginScanIndexTest {
+
+    @Test
+    void roundTrip(@TempDir final Path folder) throws IOException {
+        final Path module = Files.write(folder.resolve("plugin.jar"), "v1".getBytes(StandardCharsets.UTF_8));
+        final PluginScanIndex index = new PluginScanIndex(folder.resolve("index"));
+        final String key = index.key(module, Stream.of(module));
+        assertNotNull(key);
+        assertNull(index.load(key));
+
+        final Map<String, List<String>> classes = new HashMap<>();
+        classes.put("services", asList("com.foo.Service1", "com.foo.Service2"));
+        classes.put("components", singletonList("com.foo.Component"));
+        classes.put("httpClients", emptyList());
+        index.save(key, classes);
+        assertEquals(classes, index.load(key));
+    }
+
+    @Test
+    void keyChangesWithContent(@TempDir final Path folder) throws IOException {
+        final Path module = Files.write(folder.resolve("plugin.jar"), "v1".getBytes(StandardCharsets.UTF_8));
+        final Path dependency = Files.write(folder.resolve("dep.jar"), "dep".getBytes(StandardCharsets.UTF_8));
+        final PluginScanIndex index = new PluginScanIndex(folder.resolve("index"));
+        final String key = index.key(module, Stream.of(module, dependency));
+        assertEquals(key, index.key(module, Stream.of(module, dependency)));
+        assertNotEquals(key, index.key(module, Stream.of(module)));
+
+        Files.write(module, "v2".getBytes(StandardCharsets.UTF_8));
+        assertNotEquals(key, index.key(module, Stream.of(module, dependency)));
+    }
+
+    @Test
+    void noKeyForExplodedModule(@TempDir final Path folder) {
+        assertNull(new PluginScanIndex(folder).key(folder, Stream.empty()));
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.test;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.Writer;
+import java.util.stream.IntStream;
+
+import javax.annotation.PreDestroy;
+
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.configuration.ui.layout.AutoLayout;
+import org.talend.sdk.component.api.processor.ElementListener;
+import org.talend.sdk.component.api.processor.Processor;
+import org.talend.sdk.component.api.record.RecordBatch;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@AllArgsConstructor
+@Processor(family = "file", name = "batchOut")
+public class BatchFileOutput implements Serializable {
+
+    private final Configuration configuration;
+
+    private final FileService service;
+
+    @ElementListener
+    public void write(final RecordBatch batch) throws IOException {
+        final RecordBatch.Column names = batch.getColumn("name");
+        final Writer writer = service.writerFor(new File(configuration.file).getAbsolutePath());
+        synchronized (writer) { // one line per batch
+            writer
+                    .write(IntStream.range(0, batch.size()).mapToObj(names::getString).collect(joining(" "))
+                            + System.lineSeparator());
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        final Writer writer = service.writerFor(new File(configuration.file).getAbsolutePath());
+        synchronized (writer) {
+            writer.close();
+        }
+    }
+
+    @Data
+    @AutoLayout
+    public static class Configuration {
+
+        @Option
+        private String file;
+    }
+}
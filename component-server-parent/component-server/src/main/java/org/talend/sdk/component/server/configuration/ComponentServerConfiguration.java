@@ -146,6 +146,12 @@ public class ComponentServerConfiguration {
     @ConfigProperty(name = "talend.component.server.cache.maxSize", defaultValue = "1000")
     private Integer maxCacheSize;
 
+    @Inject
+    @Documentation("How many sub-requests of a `/bulk` request can be executed concurrently, "
+            + "a negative value uses the number of available processors.")
+    @ConfigProperty(name = "talend.component.server.bulk.concurrency", defaultValue = "-1")
+    private Integer bulkConcurrency;
+
     @Inject
     @Documentation("Should the lastUpdated timestamp value of `/environment` "
             + "endpoint be updated with server start time.")
@@ -16,95 +16,150 @@
 package org.talend.sdk.component.server.front;
 
 import static java.util.Collections.emptyMap;
+import static java.util.Comparator.comparing;
 import static java.util.Optional.ofNullable;
 import static java.util.concurrent.CompletableFuture.completedFuture;
-import static java.util.stream.Collectors.joining;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
-import java.security.Principal;
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
 import javax.inject.Inject;
 import javax.json.bind.Jsonb;
-import javax.servlet.ServletContext;
-import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
-import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
 
-import org.apache.cxf.Bus;
-import org.apache.cxf.transport.http.DestinationRegistry;
-import org.apache.cxf.transport.servlet.ServletController;
-import org.apache.cxf.transport.servlet.servicelist.ServiceListGeneratorServlet;
+import org.apache.cxf.jaxrs.impl.ProvidersImpl;
+import org.apache.cxf.jaxrs.utils.HttpUtils;
+import org.apache.cxf.phase.PhaseInterceptorChain;
 import org.talend.sdk.component.server.api.BulkReadResource;
-import org.talend.sdk.component.server.front.cxf.CxfExtractor;
-import org.talend.sdk.component.server.front.memory.InMemoryRequest;
-import org.talend.sdk.component.server.front.memory.InMemoryResponse;
-import org.talend.sdk.component.server.front.memory.MemoryInputStream;
-import org.talend.sdk.component.server.front.memory.SimpleServletConfig;
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
 import org.talend.sdk.component.server.front.model.BulkRequests;
 import org.talend.sdk.component.server.front.model.BulkResponses;
 import org.talend.sdk.component.server.front.model.ErrorDictionary;
 import org.talend.sdk.component.server.front.model.error.ErrorPayload;
+import org.talend.sdk.component.server.front.security.CommandSecurityProvider;
 import org.talend.sdk.component.server.front.security.web.EndpointSecurityService;
 import org.talend.sdk.component.server.service.qualifier.ComponentServer;
+import org.talend.sdk.component.server.service.security.event.OnCommand;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Dispatches the sub-requests of a bulk request directly to the resource beans: the JAX-RS metadata of the
+ * resources are compiled once in a route table and each sub-request is invoked on a bounded executor.
+ * The aggregated response is serialized while the sub-requests complete, in the request order.
+ */
 @Slf4j
 @ApplicationScoped
 public class BulkReadResourceImpl implements BulkReadResource {
 
-    private static final CompletableFuture[] EMPTY_PROMISES = new CompletableFuture[0];
+    private static final Pattern PATH_PARAM =
+            Pattern.compile("\\{\\s*([^:}\\s]+)\\s*(?::\\s*((?:[^{}]|\\{[^{}]*})+))?}");
+
+    private static final String DEPRECATION_HEADER = "X-Talend-Warning";
+
+    private static final String DEPRECATION_MESSAGE =
+            "This endpoint is deprecated and will be removed without notice soon.";
 
     @Inject
-    private CxfExtractor cxf;
+    @Context
+    private HttpServletRequest request;
 
     @Inject
-    private Bus bus;
+    @ComponentServer
+    private Jsonb defaultMapper;
 
     @Inject
-    @Context
-    private ServletContext servletContext;
+    private EndpointSecurityService endpointSecurityService;
 
     @Inject
-    @Context
-    private HttpServletRequest httpServletRequest;
+    private ComponentServerConfiguration configuration;
 
     @Inject
-    @Context
-    private UriInfo uriInfo;
+    private Event<OnCommand> onCommandEvent;
 
     @Inject
-    @Context
-    private HttpServletRequest request;
+    private ActionResourceImpl actionResource;
 
     @Inject
-    @ComponentServer
-    private Jsonb defaultMapper;
+    private ComponentResourceImpl componentResource;
 
     @Inject
-    private EndpointSecurityService endpointSecurityService;
+    private ConfigurationTypeResourceImpl configurationTypeResource;
 
-    private ServletController controller;
+    @Inject
+    private DocumentationResourceImpl documentationResource;
+
+    @Inject
+    private EnvironmentResourceImpl environmentResource;
+
+    private ExecutorService executor;
+
+    private Map<String, List<Route>> routes;
 
     private final String appPrefix = "/api/v1";
 
@@ -121,112 +176,519 @@ public class BulkReadResourceImpl implements BulkReadResource {
                     "{\"code\":\"UNAUTHORIZED\",\"description\":\"Secured endpoint, ensure to pass the right token.\"}"
                             .getBytes(StandardCharsets.UTF_8));
 
+    private final BulkResponses.Result unauthorizedResponse =
+            new BulkResponses.Result(Response.Status.UNAUTHORIZED.getStatusCode(), emptyMap(),
+                    "{\"code\":\"UNAUTHORIZED\",\"description\":\"Invalid command credentials\"}"
+                            .getBytes(StandardCharsets.UTF_8));
+
     private final BulkResponses.Result invalidResponse =
             new BulkResponses.Result(Response.Status.BAD_REQUEST.getStatusCode(), emptyMap(),
                     "{\"code\":\"UNEXPECTED\",\"description\":\"unknownEndpoint.\"}".getBytes(StandardCharsets.UTF_8));
 
     @PostConstruct
     private void init() {
-        final DestinationRegistry registry = cxf.getRegistry();
-        controller = new ServletController(registry,
-                new SimpleServletConfig(servletContext, "Talend Component Kit Bulk Transport"),
-                new ServiceListGeneratorServlet(registry, bus));
+        final int concurrency = configuration.getBulkConcurrency() > 0 ? configuration.getBulkConcurrency()
+                : Runtime.getRuntime().availableProcessors();
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final AtomicInteger counter = new AtomicInteger();
+        final ThreadPoolExecutor pool =
+                new ThreadPoolExecutor(concurrency, concurrency, 1, MINUTES, new LinkedBlockingQueue<>(), task -> {
+                    final Thread thread = new Thread(task, "talend-component-server-bulk-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setContextClassLoader(loader);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+
+        routes = Stream
+                .of(toRoutes(actionResource, ActionResourceImpl.class),
+                        toRoutes(componentResource, ComponentResourceImpl.class),
+                        toRoutes(configurationTypeResource, ConfigurationTypeResourceImpl.class),
+                        toRoutes(documentationResource, DocumentationResourceImpl.class),
+                        toRoutes(environmentResource, EnvironmentResourceImpl.class))
+                .flatMap(Function.identity())
+                // same precedence than JAX-RS: the most literal characters first, then the most parameters
+                .sorted(comparing((Route route) -> route.literals)
+                        .thenComparing(route -> route.parameters.size())
+                        .reversed())
+                .collect(groupingBy(route -> route.verb, toList()));
+    }
+
+    @PreDestroy
+    private void destroy() {
+        executor.shutdownNow();
     }
 
     @Override
     public CompletionStage<BulkResponses> bulk(final BulkRequests requests) {
-        final Collection<CompletableFuture<BulkResponses.Result>> responses =
+        // the request proxies are bound to this thread so read what sub-requests need before going async
+        final Providers providers = new ProvidersImpl(PhaseInterceptorChain.getCurrentMessage());
+        final boolean skipCommandSecurity = Boolean.TRUE.equals(request.getAttribute(CommandSecurityProvider.SKIP));
+        final List<CompletableFuture<BulkResponses.Result>> responses =
                 ofNullable(requests.getRequests()).map(Collection::stream).orElseGet(Stream::empty).map(request -> {
                     if (isBlacklisted(request)) {
                         return completedFuture(forbiddenInBulkModeResponse);
                     }
                     if ("/api/v1/environment".equals(request.getPath())
-                            && !endpointSecurityService.isAllowed(httpServletRequest)) {
+                            && !endpointSecurityService.isAllowed(this.request)) {
                         return completedFuture(forbiddenResponse);
                     }
                     if (request.getPath() == null || !request.getPath().startsWith(appPrefix)
                             || request.getPath().contains("?")) {
                         return completedFuture(invalidResponse);
                     }
-                    return doExecute(request, uriInfo);
+                    final String path = normalize(request.getPath().substring(appPrefix.length()));
+                    return ofNullable(routes.get(ofNullable(request.getVerb()).orElse(HttpMethod.GET)))
+                            .map(Collection::stream)
+                            .orElseGet(Stream::empty)
+                            .map(route -> {
+                                final Matcher matcher = route.pattern.matcher(path);
+                                return matcher.matches()
+                                        ? execute(route, matcher, request, providers, skipCommandSecurity)
+                                        : null;
+                            })
+                            .filter(Objects::nonNull)
+                            .findFirst()
+                            .orElseGet(() -> completedFuture(invalidResponse));
                 }).collect(toList());
-        return CompletableFuture
-                .allOf(responses.toArray(EMPTY_PROMISES))
-                .handle((ignored, error) -> new BulkResponses(responses.stream().map(it -> {
-                    try {
-                        return it.get();
-                    } catch (final InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        throw new IllegalStateException(e);
-                    } catch (final ExecutionException e) {
-                        throw new WebApplicationException(Response
-                                .serverError()
-                                .entity(new ErrorPayload(ErrorDictionary.UNEXPECTED, e.getMessage()))
-                                .build());
-                    }
-                }).collect(toList())));
+        // the responses are written while they complete instead of waiting for the slowest one
+        return completedFuture(new BulkResponses(new CompletingResults(responses)));
     }
 
     private boolean isBlacklisted(final BulkRequests.Request request) {
         return blacklisted.stream().anyMatch(it -> request.getPath() == null || request.getPath().startsWith(it));
     }
 
-    private CompletableFuture<BulkResponses.Result> doExecute(final BulkRequests.Request inputRequest,
-            final UriInfo info) {
-        final Map<String, List<String>> headers =
-                ofNullable(inputRequest.getHeaders()).orElseGet(Collections::emptyMap);
-        final String path = ofNullable(inputRequest.getPath()).map(it -> it.substring(appPrefix.length())).orElse("/");
+    private CompletableFuture<BulkResponses.Result> execute(final Route route, final Matcher matcher,
+            final BulkRequests.Request request, final Providers providers, final boolean skipCommandSecurity) {
+        if (!skipCommandSecurity) {
+            final OnCommand onCommand = new OnCommand(route.resourceClass, route.resourceMethod);
+            onCommandEvent.fire(onCommand);
+            if (!onCommand.isValid()) {
+                return completedFuture(unauthorizedResponse);
+            }
+        }
+        final Map<String, String> pathParameters = route.parameters
+                .entrySet()
+                .stream()
+                .collect(toMap(Map.Entry::getKey, it -> HttpUtils.pathDecode(matcher.group(it.getValue()))));
+        final Call call = new Call(request, pathParameters, providers);
+        return CompletableFuture
+                .supplyAsync(() -> route.invoke(call), executor)
+                .thenCompose(this::toStage)
+                .thenApply(value -> toResult(route, value, providers))
+                .exceptionally(error -> onError(route, error, providers));
+    }
 
-        // theorically we should encode these params but should be ok this way for now - due to the param we can accept
-        final String queryString = ofNullable(inputRequest.getQueryParameters())
+    @SuppressWarnings("unchecked")
+    private CompletionStage<Object> toStage(final Object value) {
+        return CompletionStage.class.isInstance(value) ? CompletionStage.class.cast(value) : completedFuture(value);
+    }
+
+    private BulkResponses.Result onError(final Route route, final Throwable error, final Providers providers) {
+        Throwable cause = error;
+        while ((CompletionException.class.isInstance(cause) || ExecutionException.class.isInstance(cause)
+                || InvocationTargetException.class.isInstance(cause)) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        try {
+            return toResult(route, toResponse(cause, providers), providers);
+        } catch (final RuntimeException re) {
+            log.error(re.getMessage(), re);
+            return new BulkResponses.Result(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(), emptyMap(),
+                    defaultMapper
+                            .toJson(new ErrorPayload(ErrorDictionary.UNEXPECTED, cause.getMessage()))
+                            .getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Response toResponse(final Throwable error, final Providers providers) {
+        if (WebApplicationException.class.isInstance(error)) {
+            return WebApplicationException.class.cast(error).getResponse();
+        }
+        final ExceptionMapper<Throwable> mapper =
+                (ExceptionMapper<Throwable>) providers.getExceptionMapper(error.getClass());
+        if (mapper == null) {
+            log.error(error.getMessage(), error);
+            return Response
+                    .serverError()
+                    .entity(new ErrorPayload(ErrorDictionary.UNEXPECTED, error.getMessage()))
+                    .build();
+        }
+        return mapper.toResponse(error);
+    }
+
+    @SuppressWarnings("unchecked")
+    private BulkResponses.Result toResult(final Route route, final Object value, final Providers providers) {
+        final Response response =
+                Response.class.isInstance(value) ? Response.class.cast(value) : Response.ok(value).build();
+        final MediaType mediaType =
+                ofNullable(response.getMediaType()).filter(it -> !it.isWildcardType()).orElse(route.produces);
+        final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        headers.putAll(response.getHeaders());
+        headers.putSingle(HttpHeaders.CONTENT_TYPE, mediaType.toString());
+        if (route.deprecated) {
+            headers.putSingle(DEPRECATION_HEADER, DEPRECATION_MESSAGE);
+        }
+
+        final byte[] payload;
+        if (response.getEntity() == null) {
+            payload = new byte[0];
+        } else {
+            final Object entity;
+            final Type genericType;
+            if (GenericEntity.class.isInstance(response.getEntity())) {
+                final GenericEntity<?> genericEntity = GenericEntity.class.cast(response.getEntity());
+                entity = genericEntity.getEntity();
+                genericType = genericEntity.getType();
+            } else {
+                entity = response.getEntity();
+                genericType =
+                        value == entity || Response.class.isInstance(value) ? entity.getClass() : route.entityType;
+            }
+            final Class<Object> type = (Class<Object>) entity.getClass();
+            final MessageBodyWriter<Object> writer =
+                    providers.getMessageBodyWriter(type, genericType, route.annotations, mediaType);
+            if (writer == null) {
+                throw new IllegalStateException("No writer for " + type + " (" + mediaType + ")");
+            }
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            try {
+                writer.writeTo(entity, type, genericType, route.annotations, mediaType, headers, outputStream);
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+            payload = outputStream.toByteArray();
+        }
+        return new BulkResponses.Result(response.getStatus(), headers
+                .entrySet()
+                .stream()
+                .collect(toMap(Map.Entry::getKey, it -> it.getValue().stream().map(String::valueOf).collect(toList()))),
+                payload);
+    }
+
+    private Stream<Route> toRoutes(final Object instance, final Class<?> resourceClass) {
+        final Class<?> api = Stream
+                .of(resourceClass.getInterfaces())
+                .filter(it -> it.isAnnotationPresent(Path.class))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No JAX-RS interface for " + resourceClass));
+        return Stream.of(api.getMethods()).map(method -> {
+            final String verb = Stream
+                    .of(method.getAnnotations())
+                    .map(it -> it.annotationType().getAnnotation(HttpMethod.class))
+                    .filter(Objects::nonNull)
+                    .map(HttpMethod::value)
+                    .findFirst()
+                    .orElse(null);
+            if (verb == null) {
+                return null;
+            }
+            final Method resourceMethod;
+            try {
+                resourceMethod = resourceClass.getMethod(method.getName(), method.getParameterTypes());
+            } catch (final NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+            return new Route(verb, api, method, resourceClass, resourceMethod, instance);
+        }).filter(Objects::nonNull);
+    }
+
+    private static String normalize(final String path) {
+        final String value = path.replaceAll("/+", "/");
+        return value.length() > 1 && value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+    }
+
+    private static MediaType firstMediaType(final String[] values) {
+        return ofNullable(values)
+                .map(Stream::of)
+                .orElseGet(Stream::empty)
+                .flatMap(it -> Stream.of(it.split(",")))
+                .map(String::trim)
+                .filter(it -> !it.isEmpty())
+                .map(MediaType::valueOf)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static Function<List<String>, Object> toConverter(final Class<?> type, final Type genericType) {
+        if (type.isArray()) {
+            final Function<String, Object> converter = toConverter(type.getComponentType());
+            return values -> {
+                final Object array = Array.newInstance(type.getComponentType(), values.size());
+                for (int i = 0; i < values.size(); i++) {
+                    Array.set(array, i, converter.apply(values.get(i)));
+                }
+                return array;
+            };
+        }
+        if (List.class == type || Collection.class == type || Set.class == type) {
+            final Class<?> itemType = ParameterizedType.class.isInstance(genericType)
+                    && Class.class.isInstance(ParameterizedType.class.cast(genericType).getActualTypeArguments()[0])
+                            ? Class.class.cast(ParameterizedType.class.cast(genericType).getActualTypeArguments()[0])
+                            : String.class;
+            final Function<String, Object> converter = toConverter(itemType);
+            return values -> {
+                final Stream<Object> items = values.stream().map(converter);
+                return Set.class == type ? items.collect(toCollection(LinkedHashSet::new)) : items.collect(toList());
+            };
+        }
+        final Function<String, Object> converter = toConverter(type);
+        return values -> converter.apply(values.isEmpty() ? null : values.get(0));
+    }
+
+    private static Function<String, Object> toConverter(final Class<?> type) {
+        if (String.class == type) {
+            return value -> value;
+        }
+        final Object defaultValue = type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+        final Class<?> wrapper = MethodType.methodType(type).wrap().returnType();
+        final Function<String, Object> factory = Stream.of("valueOf", "fromString").map(name -> {
+            try {
+                final Method method = wrapper.getMethod(name, String.class);
+                return Modifier.isStatic(method.getModifiers()) && wrapper.isAssignableFrom(method.getReturnType())
+                        ? method
+                        : null;
+            } catch (final NoSuchMethodException e) {
+                return null;
+            }
+        }).filter(Objects::nonNull).findFirst().map(method -> (Function<String, Object>) value -> {
+            try {
+                return method.invoke(null, value);
+            } catch (final IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } catch (final InvocationTargetException e) {
+                throw new WebApplicationException(e.getTargetException(), Response.Status.NOT_FOUND);
+            }
+        }).orElseGet(() -> {
+            final Constructor<?> constructor;
+            try {
+                constructor = wrapper.getConstructor(String.class);
+            } catch (final NoSuchMethodException e) {
+                throw new IllegalArgumentException("Unsupported parameter type: " + type);
+            }
+            return value -> {
+                try {
+                    return constructor.newInstance(value);
+                } catch (final InstantiationException | IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                } catch (final InvocationTargetException e) {
+                    throw new WebApplicationException(e.getTargetException(), Response.Status.NOT_FOUND);
+                }
+            };
+        });
+        return value -> value == null ? defaultValue : factory.apply(value);
+    }
+
+    private static List<String> findHeader(final Map<String, List<String>> headers, final String name) {
+        return ofNullable(headers)
                 .map(Map::entrySet)
                 .map(Collection::stream)
                 .orElseGet(Stream::empty)
-                .flatMap(it -> ofNullable(it.getValue())
-                        .map(Collection::stream)
-                        .orElseGet(Stream::empty)
-                        .map(value -> it.getKey() + '=' + value))
-                .collect(joining("&"));
-
-        final int port = info.getBaseUri().getPort();
-        final Principal userPrincipal = request.getUserPrincipal(); // this is ap proxy so ready it early
-        final InMemoryRequest request = new InMemoryRequest(ofNullable(inputRequest.getVerb()).orElse(HttpMethod.GET),
-                headers, path, appPrefix + path, appPrefix, queryString, port < 0 ? 8080 : port, servletContext,
-                new MemoryInputStream(ofNullable(inputRequest.getPayload())
-                        .map(it -> it.getBytes(StandardCharsets.UTF_8))
-                        .map(ByteArrayInputStream::new)
-                        .map(InputStream.class::cast)
-                        .orElse(null)),
-                () -> userPrincipal, controller);
-        final BulkResponses.Result result = new BulkResponses.Result();
-        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        final CompletableFuture<BulkResponses.Result> promise = new CompletableFuture<>();
-        final InMemoryResponse response = new InMemoryResponse(() -> true, () -> {
-            result.setResponse(outputStream.toByteArray());
-            promise.complete(result);
-        }, bytes -> {
+                .filter(it -> name.equalsIgnoreCase(it.getKey()))
+                .map(Map.Entry::getValue)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElseGet(Collections::emptyList);
+    }
+
+    @RequiredArgsConstructor
+    private static class Call {
+
+        private final BulkRequests.Request request;
+
+        private final Map<String, String> pathParameters;
+
+        private final Providers providers;
+    }
+
+    /**
+     * A resource method compiled once: its path template as a regex and how to bind each of its parameters.
+     */
+    private static class Route {
+
+        private final String verb;
+
+        private final Pattern pattern;
+
+        private final int literals;
+
+        // path parameter name -> regex group name
+        private final Map<String, String> parameters = new HashMap<>();
+
+        private final Object instance;
+
+        private final Method method;
+
+        private final Class<?> resourceClass;
+
+        private final Method resourceMethod;
+
+        private final Annotation[] annotations;
+
+        private final Type entityType;
+
+        private final MediaType produces;
+
+        private final boolean deprecated;
+
+        private final List<Function<Call, Object>> binders;
+
+        private Route(final String verb, final Class<?> api, final Method method, final Class<?> resourceClass,
+                final Method resourceMethod, final Object instance) {
+            this.verb = verb;
+            this.method = method;
+            this.resourceClass = resourceClass;
+            this.resourceMethod = resourceMethod;
+            this.instance = instance;
+            this.annotations = method.getAnnotations();
+            this.deprecated = method.isAnnotationPresent(Deprecated.class) || api.isAnnotationPresent(Deprecated.class)
+                    || resourceMethod.isAnnotationPresent(Deprecated.class)
+                    || resourceClass.isAnnotationPresent(Deprecated.class);
+            this.produces = ofNullable(firstMediaType(ofNullable(method.getAnnotation(Produces.class))
+                    .map(Produces::value)
+                    .orElseGet(() -> ofNullable(api.getAnnotation(Produces.class)).map(Produces::value).orElse(null))))
+                            .orElse(APPLICATION_JSON_TYPE);
+            final MediaType consumes = ofNullable(firstMediaType(ofNullable(method.getAnnotation(Consumes.class))
+                    .map(Consumes::value)
+                    .orElseGet(() -> ofNullable(api.getAnnotation(Consumes.class)).map(Consumes::value).orElse(null))))
+                            .orElse(APPLICATION_JSON_TYPE);
+
+            final Type returnType = method.getGenericReturnType();
+            this.entityType = ParameterizedType.class.isInstance(returnType)
+                    && CompletionStage.class == ParameterizedType.class.cast(returnType).getRawType()
+                            ? ParameterizedType.class.cast(returnType).getActualTypeArguments()[0]
+                            : returnType;
+
+            final String template = normalize('/' + api.getAnnotation(Path.class).value() + '/'
+                    + ofNullable(method.getAnnotation(Path.class)).map(Path::value).orElse(""));
+            final StringBuilder regex = new StringBuilder();
+            final Matcher matcher = PATH_PARAM.matcher(template);
+            int literalCount = 0;
+            int start = 0;
+            while (matcher.find()) {
+                final String literal = template.substring(start, matcher.start());
+                literalCount += literal.length();
+                final String group = "p" + parameters.size();
+                parameters.put(matcher.group(1), group);
+                regex
+                        .append(Pattern.quote(literal))
+                        .append("(?<")
+                        .append(group)
+                        .append('>')
+                        .append(ofNullable(matcher.group(2)).map(String::trim).orElse("[^/]+"))
+                        .append(')');
+                start = matcher.end();
+            }
+            final String end = template.substring(start);
+            this.literals = literalCount + end.length();
+            this.pattern = Pattern.compile(regex.append(Pattern.quote(end)).toString());
+
+            this.binders = new ArrayList<>(method.getParameterCount());
+            final Class<?>[] types = method.getParameterTypes();
+            final Type[] genericTypes = method.getGenericParameterTypes();
+            final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+            for (int i = 0; i < types.length; i++) {
+                binders.add(toBinder(types[i], genericTypes[i], parameterAnnotations[i], consumes));
+            }
+        }
+
+        private Function<Call, Object> toBinder(final Class<?> type, final Type genericType,
+                final Annotation[] parameterAnnotations, final MediaType consumes) {
+            final List<String> defaultValue = Stream
+                    .of(parameterAnnotations)
+                    .filter(DefaultValue.class::isInstance)
+                    .map(it -> DefaultValue.class.cast(it).value())
+                    .collect(toList());
+            for (final Annotation annotation : parameterAnnotations) {
+                if (PathParam.class.isInstance(annotation)) {
+                    final String name = PathParam.class.cast(annotation).value();
+                    final Function<List<String>, Object> converter = toConverter(type, genericType);
+                    return call -> converter
+                            .apply(ofNullable(call.pathParameters.get(name))
+                                    .map(Collections::singletonList)
+                                    .orElse(defaultValue));
+                }
+                if (QueryParam.class.isInstance(annotation)) {
+                    final String name = QueryParam.class.cast(annotation).value();
+                    final Function<List<String>, Object> converter = toConverter(type, genericType);
+                    return call -> converter
+                            .apply(ofNullable(call.request.getQueryParameters())
+                                    .map(it -> it.get(name))
+                                    .filter(it -> !it.isEmpty())
+                                    .orElse(defaultValue));
+                }
+                if (HeaderParam.class.isInstance(annotation)) {
+                    final String name = HeaderParam.class.cast(annotation).value();
+                    final Function<List<String>, Object> converter = toConverter(type, genericType);
+                    return call -> {
+                        final List<String> values = findHeader(call.request.getHeaders(), name);
+                        return converter.apply(values.isEmpty() ? defaultValue : values);
+                    };
+                }
+            }
+            return call -> readBody(call, type, genericType, parameterAnnotations, consumes);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object readBody(final Call call, final Class<?> type, final Type genericType,
+                final Annotation[] parameterAnnotations, final MediaType consumes) {
+            final String payload = call.request.getPayload();
+            if (payload == null) {
+                return null;
+            }
+            final MediaType mediaType = findHeader(call.request.getHeaders(), HttpHeaders.CONTENT_TYPE)
+                    .stream()
+                    .findFirst()
+                    .map(MediaType::valueOf)
+                    .orElse(consumes);
+            final MessageBodyReader<Object> reader = call.providers
+                    .getMessageBodyReader((Class<Object>) type, genericType, parameterAnnotations, mediaType);
+            if (reader == null) {
+                throw new WebApplicationException(Response.Status.UNSUPPORTED_MEDIA_TYPE);
+            }
+            final MultivaluedMap<String, String> headers = new MultivaluedHashMap<>();
+            ofNullable(call.request.getHeaders()).ifPresent(headers::putAll);
             try {
-                outputStream.write(bytes);
+                return reader
+                        .readFrom((Class<Object>) type, genericType, parameterAnnotations, mediaType, headers,
+                                new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8)));
             } catch (final IOException e) {
+                throw new WebApplicationException(e, Response.Status.BAD_REQUEST);
+            }
+        }
+
+        private Object invoke(final Call call) {
+            final Object[] args = binders.stream().map(binder -> binder.apply(call)).toArray();
+            try {
+                return method.invoke(instance, args);
+            } catch (final IllegalAccessException e) {
                 throw new IllegalStateException(e);
+            } catch (final InvocationTargetException e) {
+                throw new CompletionException(e.getTargetException());
             }
-        }, (status, responseHeaders) -> {
-            result.setStatus(status);
-            result.setHeaders(headers);
-            return "";
-        });
-        request.setResponse(response);
-        try {
-            controller.invoke(request, response);
-        } catch (final ServletException e) {
-            result.setStatus(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode());
-            result
-                    .setResponse(defaultMapper
-                            .toJson(new ErrorPayload(ErrorDictionary.UNEXPECTED, e.getMessage()))
-                            .getBytes(StandardCharsets.UTF_8));
-            promise.complete(result);
-            throw new IllegalStateException(e);
         }
-        return promise;
+    }
+
+    /**
+     * Exposes the sub-request promises as the response list: each item is awaited when it is serialized so the
+     * aggregated payload is written progressively, in the request order, and never buffered as a whole.
+     */
+    @RequiredArgsConstructor
+    private static class CompletingResults extends AbstractList<BulkResponses.Result> {
+
+        private final List<CompletableFuture<BulkResponses.Result>> promises;
+
+        @Override
+        public BulkResponses.Result get(final int index) {
+            return promises.get(index).join();
+        }
+
+        @Override
+        public int size() {
+            return promises.size();
+        }
     }
 }
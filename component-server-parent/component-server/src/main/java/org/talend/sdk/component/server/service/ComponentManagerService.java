@@ -27,6 +27,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Properties;
@@ -148,7 +149,7 @@ public class ComponentManagerService {
                 .getComponentCoordinates()
                 .map(it -> Stream.of(it.split(",")).map(String::trim).filter(i -> !i.isEmpty()).collect(toList()))
                 .orElse(emptyList());
-        coords.forEach(this::deploy);
+        final Collection<String> plugins = new LinkedHashSet<>(coords);
         configuration
                 .getComponentRegistry()
                 .map(Collection::stream)
@@ -161,13 +162,10 @@ public class ComponentManagerService {
                     } catch (final IOException e) {
                         throw new IllegalArgumentException(e);
                     }
-                    properties
-                            .stringPropertyNames()
-                            .stream()
-                            .map(properties::getProperty)
-                            .filter(gav -> !coords.contains(gav))
-                            .forEach(this::deploy);
+                    properties.stringPropertyNames().stream().map(properties::getProperty).forEach(plugins::add);
                 });
+        // plugins are independent so they are deployed concurrently
+        instance.addPlugins(plugins, this::deploy);
         started = true;
     }
 
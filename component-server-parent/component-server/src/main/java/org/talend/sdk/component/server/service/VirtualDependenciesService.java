@@ -40,7 +40,6 @@ import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -84,7 +83,7 @@ public class VirtualDependenciesService {
     @Inject
     private ComponentServerConfiguration configuration;
 
-    private final Map<String, Enrichment> enrichmentsPerContainer = new HashMap<>();
+    private final Map<String, Enrichment> enrichmentsPerContainer = new ConcurrentHashMap<>();
 
     @Getter
     private final Map<Artifact, Path> artifactMapping = new ConcurrentHashMap<>();
@@ -19,6 +19,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.client.Entity.entity;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
@@ -124,6 +125,28 @@ class BulkReadResourceImplTest {
                 new String(results.get(2).getResponse(), StandardCharsets.UTF_8));
     }
 
+    @Test
+    void keepsOrder() { // sub-requests run concurrently but the responses must match the request order
+        final List<BulkRequests.Request> requests = IntStream.range(0, 32).mapToObj(i -> {
+            if (i % 2 == 0) {
+                return new BulkRequests.Request(HttpMethod.GET, null, emptyMap(), "/api/v1/component/index",
+                        emptyMap());
+            }
+            return new BulkRequests.Request(HttpMethod.GET, null, emptyMap(), "/api/v1/component/details",
+                    singletonMap("identifiers", singletonList("missing")));
+        }).collect(toList());
+        final BulkResponses responses = base
+                .path("bulk")
+                .request(APPLICATION_JSON_TYPE)
+                .post(entity(new BulkRequests(requests), APPLICATION_JSON_TYPE), BulkResponses.class);
+        final List<BulkResponses.Result> results = responses.getResponses();
+        assertEquals(requests.size(), results.size());
+        IntStream
+                .range(0, results.size())
+                .forEach(i -> assertEquals(i % 2 == 0 ? HttpServletResponse.SC_OK : HttpServletResponse.SC_BAD_REQUEST,
+                        results.get(i).getStatus()));
+    }
+
     @Test
     void forbidden() {
         final BulkResponses responses =
@@ -150,4 +173,24 @@ class BulkReadResourceImplTest {
         assertEquals(1, responses.getResponses().size());
         responses.getResponses().forEach(it -> assertEquals(HttpServletResponse.SC_BAD_REQUEST, it.getStatus()));
     }
+
+    @Test
+    void pathParameters() { // routes sharing their first segment must resolve their own resource method
+        final BulkResponses responses = base
+                .path("bulk")
+                .request(APPLICATION_JSON_TYPE)
+                .post(entity(new BulkRequests(asList(
+                        new BulkRequests.Request(HttpMethod.POST, "{}",
+                                singletonMap(HttpHeaders.CONTENT_TYPE, singletonList(APPLICATION_JSON)),
+                                "/api/v1/component/migrate/" + client.getJdbcId() + "/1", emptyMap()),
+                        new BulkRequests.Request(HttpMethod.GET, null, emptyMap(), "/api/v1/component/index",
+                                emptyMap()))),
+                        APPLICATION_JSON_TYPE), BulkResponses.class);
+        final List<BulkResponses.Result> results = responses.getResponses();
+        assertEquals(2, results.size());
+        results.forEach(it -> assertEquals(HttpServletResponse.SC_OK, it.getStatus()));
+        assertEquals("{\n  \"migrated\":\"true\"\n}",
+                new String(results.get(0).getResponse(), StandardCharsets.UTF_8).trim());
+        assertTrue(new String(results.get(1).getResponse(), StandardCharsets.UTF_8).contains("\"components\""));
+    }
 }
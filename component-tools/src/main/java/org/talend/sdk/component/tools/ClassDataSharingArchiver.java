@@ -0,0 +1,238 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.tools;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.talend.sdk.component.tools.exec.StartupTraining;
+
+import lombok.Data;
+
+/**
+ * Creates a class data sharing (AppCDS) archive for an application deploying component plugins:
+ * <ol>
+ * <li>a training JVM deploys the plugins with the {@code ComponentManager} (see {@link StartupTraining}) and dumps
+ * the list of the loaded classes,</li>
+ * <li>a second JVM dumps these classes in the archive,</li>
+ * <li>the JVM options to use the archive are written next to it ({@code <archive>.options}).</li>
+ * </ol>
+ *
+ * IMPORTANT: only the classes of the application classpath (runtime, framework) can be shared, the plugin classes
+ * are loaded by the plugin classloaders and stay loaded from their jars. The archive requires Java 11 and must be
+ * used with the same JVM and a classpath starting with the configured one.
+ */
+public class ClassDataSharingArchiver implements Runnable {
+
+    private final Configuration configuration;
+
+    private final Log log;
+
+    public ClassDataSharingArchiver(final Configuration configuration, final Object log) {
+        this.configuration = configuration;
+        try {
+            this.log = Log.class.isInstance(log) ? Log.class.cast(log) : new ReflectiveLog(log);
+        } catch (final NoSuchMethodException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public void run() {
+        final String java = findJava();
+        final File archive = configuration.getOutput().getAbsoluteFile();
+        archive.getParentFile().mkdirs();
+        final File classList = new File(archive.getParentFile(), archive.getName() + ".classlist");
+        final String classpath = toClasspath(configuration.getClasspath().stream());
+        // the training main is appended to be able to dump the archive with the application classpath only
+        final String trainingClasspath =
+                toClasspath(Stream.concat(configuration.getClasspath().stream(), Stream.of(findTrainingLocation())));
+
+        final List<String> training = trainingCommand(java, trainingClasspath);
+        training.add(1, "-Xshare:off");
+        training.add(2, "-XX:DumpLoadedClassList=" + classList.getAbsolutePath());
+        exec(training);
+        log.info("Dumped the loaded classes in " + classList);
+
+        final List<String> dump = new ArrayList<>();
+        dump.add(java);
+        dump.add("-Xshare:dump");
+        dump.add("-XX:SharedClassListFile=" + classList.getAbsolutePath());
+        dump.add("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+        dump.add("-cp");
+        dump.add(classpath);
+        exec(dump);
+
+        final List<String> options = getOptions(archive);
+        try {
+            Files.write(new File(archive.getParentFile(), archive.getName() + ".options").toPath(), options, UTF_8);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        log
+                .info("Created " + archive + ", use it with the JVM options: " + String.join(" ", options)
+                        + " and a classpath starting with " + classpath);
+
+        if (configuration.getBenchmarkIterations() > 0) {
+            benchmark(java, trainingClasspath, options);
+        }
+    }
+
+    private List<String> getOptions(final File archive) {
+        final List<String> options = new ArrayList<>();
+        options.add("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+        options.add("-Xshare:auto");
+        return options;
+    }
+
+    private void benchmark(final String java, final String classpath, final List<String> options) {
+        final List<String> withoutArchive = trainingCommand(java, classpath);
+        final List<String> withArchive = trainingCommand(java, classpath);
+        withArchive.addAll(1, options);
+
+        // warm up the file system caches then interleave the runs to not bias one of the measures
+        exec(withoutArchive);
+        exec(withArchive);
+        long without = 0;
+        long with = 0;
+        for (int i = 0; i < configuration.getBenchmarkIterations(); i++) {
+            without += measure(withoutArchive);
+            with += measure(withArchive);
+        }
+        without = TimeUnit.NANOSECONDS.toMillis(without) / configuration.getBenchmarkIterations();
+        with = TimeUnit.NANOSECONDS.toMillis(with) / configuration.getBenchmarkIterations();
+        log
+                .info(String
+                        .format("Startup benchmark (%d iterations): %dms without the archive, %dms with (%.1f%%)",
+                                configuration.getBenchmarkIterations(), without, with,
+                                without == 0 ? 0. : (with - without) * 100. / without));
+    }
+
+    private long measure(final List<String> command) {
+        final long start = System.nanoTime();
+        exec(command);
+        return System.nanoTime() - start;
+    }
+
+    private List<String> trainingCommand(final String java, final String classpath) {
+        final List<String> command = new ArrayList<>();
+        command.add(java);
+        command.add("-cp");
+        command.add(classpath);
+        command.add(StartupTraining.class.getName());
+        command.add(configuration.getMavenRepository().getAbsolutePath());
+        command.addAll(configuration.getPlugins());
+        return command;
+    }
+
+    private void exec(final List<String> command) {
+        log.debug("Executing " + command);
+        try {
+            final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            final List<String> output;
+            try (final BufferedReader reader =
+                    new BufferedReader(new InputStreamReader(process.getInputStream(), UTF_8))) {
+                output = reader.lines().peek(log::debug).collect(toList());
+            }
+            final int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new IllegalStateException(
+                        "Command " + command + " failed (exit code=" + exitCode + "):\n" + String.join("\n", output));
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String findJava() {
+        final File javaHome = configuration.getJavaHome() == null ? new File(System.getProperty("java.home"))
+                : configuration.getJavaHome();
+        final File release = new File(javaHome, "release");
+        if (release.exists()) {
+            final Properties properties = new Properties();
+            try (final InputStream stream = Files.newInputStream(release.toPath())) {
+                properties.load(stream);
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+            final String version = properties.getProperty("JAVA_VERSION", "").replace("\"", "");
+            if (version.startsWith("1.")) {
+                throw new IllegalArgumentException(
+                        "Application class data sharing requires Java 11, " + javaHome + " is " + version);
+            }
+        }
+        final File java = new File(javaHome, "bin/java");
+        return (java.exists() ? java : new File(javaHome, "bin/java.exe")).getAbsolutePath();
+    }
+
+    private File findTrainingLocation() {
+        try {
+            return new File(StartupTraining.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (final URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toClasspath(final Stream<File> files) {
+        return files.map(File::getAbsolutePath).distinct().collect(joining(File.pathSeparator));
+    }
+
+    @Data
+    public static class Configuration {
+
+        /**
+         * JVM used for the training and the dump (must be the one using the archive), default to the current one.
+         */
+        private File javaHome;
+
+        /**
+         * The application classpath (without the plugins), it must contain the component-runtime-manager.
+         */
+        private Collection<File> classpath;
+
+        private File mavenRepository;
+
+        /**
+         * The plugins to deploy during the training (paths or plugin locations in the maven repository).
+         */
+        private Collection<String> plugins;
+
+        private File output;
+
+        /**
+         * If positive, the training is run this number of times with and without the archive to compare the startup.
+         */
+        private int benchmarkIterations;
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.tools.exec;
+
+import static java.util.Collections.emptyMap;
+import static java.util.stream.Collectors.toList;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.talend.sdk.component.runtime.manager.ComponentFamilyMeta;
+import org.talend.sdk.component.runtime.manager.ComponentManager;
+import org.talend.sdk.component.runtime.manager.ContainerComponentRegistry;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Deploys plugins and instantiates their components to load the classes a job or the server use at startup.
+ * It is the training run used to build class data sharing archives.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class StartupTraining {
+
+    public static void main(final String[] args) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException(
+                    "Usage: java " + StartupTraining.class.getName() + " <maven repository> <plugin>...");
+        }
+        final long start = System.nanoTime();
+        final List<ComponentFamilyMeta.BaseMeta<?>> components;
+        try (final ComponentManager manager =
+                new ComponentManager(new File(args[0]), "TALEND-INF/dependencies.txt", null)) {
+            Stream.of(args).skip(1).forEach(manager::addPlugin);
+            components = manager
+                    .find(c -> Stream.of(c.get(ContainerComponentRegistry.class)))
+                    .flatMap(r -> r.getComponents().values().stream())
+                    .flatMap(f -> Stream.<ComponentFamilyMeta
+                            .BaseMeta<?>> concat(f.getPartitionMappers().values().stream(),
+                                    f.getProcessors().values().stream()))
+                    .collect(toList());
+            components.forEach(StartupTraining::train);
+        }
+        System.out
+                .println("Trained " + components.size() + " components in "
+                        + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+    }
+
+    private static void train(final ComponentFamilyMeta.BaseMeta<?> component) {
+        component.getParameterMetas().get();
+        try { // without configuration it can fail but the classes used to create it are loaded anyway
+            component.getInstantiator().apply(emptyMap());
+        } catch (final RuntimeException e) {
+            // no-op
+        }
+    }
+}
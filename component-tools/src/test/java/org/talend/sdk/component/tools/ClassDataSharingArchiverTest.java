@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.tools;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ClassDataSharingArchiverTest {
+
+    @Test
+    void rejectJava8(@TempDir final File temporaryFolder) throws IOException {
+        final File javaHome = new File(temporaryFolder, "jdk8");
+        javaHome.mkdirs();
+        Files.write(new File(javaHome, "release").toPath(), singletonList("JAVA_VERSION=\"1.8.0_392\""), UTF_8);
+
+        final ClassDataSharingArchiver.Configuration configuration = newConfiguration(temporaryFolder);
+        configuration.setJavaHome(javaHome);
+        final IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> new ClassDataSharingArchiver(configuration, new ComponentValidatorTest.TestLog()).run());
+        assertEquals("Application class data sharing requires Java 11, " + javaHome + " is 1.8.0_392",
+                error.getMessage());
+        assertEquals(0, temporaryFolder.listFiles(File::isFile).length);
+    }
+
+    // uses the current JVM if it is a Java 11 one, else set -Dtalend.cds.javaHome=/path/to/jdk11 to run it
+    @Test
+    void createArchive(@TempDir final File temporaryFolder) throws IOException {
+        final String javaHome = System
+                .getProperty("talend.cds.javaHome",
+                        System.getProperty("java.version").startsWith("1.") ? null : System.getProperty("java.home"));
+        assumeTrue(javaHome != null && !javaHome.isEmpty(), "No Java 11 home configured");
+
+        final ClassDataSharingArchiver.Configuration configuration = newConfiguration(temporaryFolder);
+        configuration.setJavaHome(new File(javaHome));
+        new ClassDataSharingArchiver(configuration, new ComponentValidatorTest.TestLog()).run();
+
+        final File archive = configuration.getOutput();
+        assertTrue(archive.isFile());
+        final List<String> classList =
+                Files.readAllLines(new File(temporaryFolder, "test.jsa.classlist").toPath(), UTF_8);
+        assertTrue(classList.contains("org/talend/sdk/component/runtime/manager/ComponentManager"));
+        assertEquals(asOptions(archive),
+                Files.readAllLines(new File(temporaryFolder, "test.jsa.options").toPath(), UTF_8));
+    }
+
+    private List<String> asOptions(final File archive) {
+        return Stream.of("-XX:SharedArchiveFile=" + archive.getAbsolutePath(), "-Xshare:auto").collect(toList());
+    }
+
+    private ClassDataSharingArchiver.Configuration newConfiguration(final File temporaryFolder) throws IOException {
+        // an empty plugin is enough to load the component manager classes
+        final File plugin = new File(temporaryFolder, "plugin/empty.jar");
+        plugin.getParentFile().mkdirs();
+        new JarOutputStream(Files.newOutputStream(plugin.toPath())).close();
+
+        final ClassDataSharingArchiver.Configuration configuration = new ClassDataSharingArchiver.Configuration();
+        // only jars can be archived (directories are rejected by the dump)
+        configuration
+                .setClasspath(Stream
+                        .of(System
+                                .getProperty("surefire.test.class.path", System.getProperty("java.class.path"))
+                                .split(File.pathSeparator))
+                        .map(File::new)
+                        .filter(File::isFile)
+                        .collect(toList()));
+        configuration.setMavenRepository(new File(temporaryFolder, "m2"));
+        configuration.setPlugins(singletonList(plugin.getAbsolutePath()));
+        configuration.setOutput(new File(temporaryFolder, "test.jsa"));
+        return configuration;
+    }
+}
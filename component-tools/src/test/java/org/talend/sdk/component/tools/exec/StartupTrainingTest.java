@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.tools.exec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.talend.test.activeif.ActiveIfComponent;
+
+class StartupTrainingTest {
+
+    @Test
+    void missingPlugin() {
+        assertThrows(IllegalArgumentException.class, () -> StartupTraining.main(new String[] { "m2" }));
+    }
+
+    @Test
+    void train(@TempDir final File temporaryFolder) throws IOException {
+        final File plugin = createPlugin(temporaryFolder);
+        final ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        final PrintStream originalStdout = System.out;
+        System.setOut(new PrintStream(stdout));
+        try {
+            StartupTraining
+                    .main(new String[] { new File(temporaryFolder, "m2").getAbsolutePath(), plugin.getAbsolutePath() });
+        } finally {
+            System.setOut(originalStdout);
+        }
+        final String output = stdout.toString("UTF-8").trim();
+        assertTrue(output.startsWith("Trained 1 components in "), output);
+    }
+
+    // a plugin with a single emitter (wrapped in a partition mapper)
+    static File createPlugin(final File temporaryFolder) throws IOException {
+        final File plugin = new File(temporaryFolder, "plugin.jar");
+        final File classes =
+                new File(ActiveIfComponent.class.getProtectionDomain().getCodeSource().getLocation().getFile(),
+                        ActiveIfComponent.class.getPackage().getName().replace('.', '/'));
+        final File[] files = classes.listFiles();
+        assertEquals(2, files.length); // component and configuration
+        try (final JarOutputStream jar = new JarOutputStream(Files.newOutputStream(plugin.toPath()))) {
+            for (final File file : files) {
+                jar
+                        .putNextEntry(new JarEntry(ActiveIfComponent.class.getPackage().getName().replace('.', '/')
+                                + '/' + file.getName()));
+                Files.copy(file.toPath(), jar);
+                jar.closeEntry();
+            }
+        }
+        return plugin;
+    }
+}
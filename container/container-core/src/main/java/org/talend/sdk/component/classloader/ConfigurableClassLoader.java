@@ -38,8 +38,15 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.security.CodeSource;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.cert.Certificate;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -49,10 +56,14 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
 import java.util.jar.Manifest;
@@ -92,7 +103,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
     private final Map<String, Collection<Resource>> resources = new HashMap<>();
 
-    private final Collection<ClassFileTransformer> transformers = new ArrayList<>();
+    private final Collection<ClassFileTransformer> transformers = new CopyOnWriteArrayList<>();
 
     private final WeakHashMap<Closeable, Void> closeables = new WeakHashMap<>();
 
@@ -104,12 +115,33 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
     private volatile URLClassLoader temporaryCopy;
 
+    // the URLConnection would reopen the jar for each class since caches are disabled
+    private final ConcurrentMap<String, JarFile> jars = new ConcurrentHashMap<>();
+
+    private final LongAdder loadedClasses = new LongAdder();
+
+    private final LongAdder readBytes = new LongAdder();
+
+    private final LongAdder defineDuration = new LongAdder();
+
+    private final LongAdder transformDuration = new LongAdder();
+
     public ConfigurableClassLoader(final String id, final URL[] urls, final ClassLoader parent,
             final Predicate<String> parentFilter, final Predicate<String> childFirstFilter,
             final String[] nestedDependencies, final String[] jvmPrefixes) {
+        this(id, urls, parent, parentFilter, childFirstFilter, nestedDependencies, jvmPrefixes, null);
+    }
+
+    /**
+     * @param nestedDependenciesCache if not null the nested dependencies are extracted in this directory and mapped
+     * in memory instead of being loaded in the heap.
+     */
+    public ConfigurableClassLoader(final String id, final URL[] urls, final ClassLoader parent,
+            final Predicate<String> parentFilter, final Predicate<String> childFirstFilter,
+            final String[] nestedDependencies, final String[] jvmPrefixes, final Path nestedDependenciesCache) {
         this(id, urls, parent, parentFilter, childFirstFilter, emptyMap(), jvmPrefixes);
         if (nestedDependencies != null) {
-            loadNestedDependencies(parent, nestedDependencies);
+            loadNestedDependencies(parent, nestedDependencies, nestedDependenciesCache);
         }
     }
 
@@ -131,8 +163,8 @@ public class ConfigurableClassLoader extends URLClassLoader {
                 .toArray(String[]::new);
     }
 
-    // load all in memory to avoid perf issues - should we try offheap?
-    private void loadNestedDependencies(final ClassLoader parent, final String[] nestedDependencies) {
+    // load all in memory to avoid perf issues or map them from a local cache when configured
+    private void loadNestedDependencies(final ClassLoader parent, final String[] nestedDependencies, final Path cache) {
         final byte[] buffer = new byte[8192]; // should be good for most cases
         final ByteArrayOutputStream out = new ByteArrayOutputStream(buffer.length);
         Stream.of(nestedDependencies).map(d -> NESTED_MAVEN_REPOSITORY + d).forEach(resource -> {
@@ -159,6 +191,15 @@ public class ConfigurableClassLoader extends URLClassLoader {
             } catch (final IOException e) {
                 throw new IllegalStateException(e);
             }
+            if (cache != null) {
+                try {
+                    mapNestedDependency(url, urlConnection, resource, manifest, codeSource, cache)
+                            .forEach((k, v) -> this.resources.computeIfAbsent(k, i -> new ArrayList<>()).add(v));
+                    return;
+                } catch (final IOException e) {
+                    log.warn("Can't map {}, will load it in memory: {}", url, e.getMessage());
+                }
+            }
             try (final JarInputStream jarInputStream = new JarInputStream(urlConnection.getInputStream())) {
                 ZipEntry entry;
                 while ((entry = jarInputStream.getNextEntry()) != null) {
@@ -174,7 +215,9 @@ public class ConfigurableClassLoader extends URLClassLoader {
                             out.write(buffer, 0, read);
                         }
 
-                        resources.put(entry.getName(), new Resource(resource, out.toByteArray(), manifest, codeSource));
+                        resources
+                                .put(entry.getName(),
+                                        new Resource(resource, out.toByteArray(), null, null, manifest, codeSource));
                     }
                 }
             } catch (final IOException e) {
@@ -184,6 +227,127 @@ public class ConfigurableClassLoader extends URLClassLoader {
         });
     }
 
+    private Map<String, Resource> mapNestedDependency(final URL url, final URLConnection connection,
+            final String resource, final Manifest manifest, final CodeSource codeSource, final Path cache)
+            throws IOException {
+        final MappedJar jar = new MappedJar(extractNestedDependency(connection, cache));
+        final Map<String, Resource> resources = new HashMap<>();
+        for (final MappedJar.Entry entry : jar.getEntries()) {
+            // like JarInputStream, don't expose the manifest as an entry
+            if (entry.isDirectory() || JarFile.MANIFEST_NAME.equals(entry.getName())) {
+                continue;
+            }
+            if (isBlacklisted(entry.getName())) {
+                logUnexpectedDependency(url, entry.getName());
+                continue;
+            }
+            resources.put(entry.getName(), new Resource(resource, null, jar, entry, manifest, codeSource));
+        }
+        return resources;
+    }
+
+    // keyed by the nested entry identity (jar, entry, size and CRC read from the central directory) to share the
+    // extraction between the classloaders and restarts without reading the entry again, content addressed otherwise
+    private Path extractNestedDependency(final URLConnection connection, final Path cache) throws IOException {
+        Files.createDirectories(cache);
+        final String identity = getNestedIdentity(connection);
+        if (identity != null) {
+            final Path target = cache.resolve(hex(sha256().digest(identity.getBytes(StandardCharsets.UTF_8))) + ".jar");
+            if (!Files.exists(target)) {
+                final Path tmp = Files.createTempFile(cache, "nested", ".tmp");
+                try {
+                    try (final InputStream stream = connection.getInputStream()) {
+                        Files.copy(stream, tmp, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    moveToCache(tmp, target);
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+            }
+            return target;
+        }
+
+        final Path tmp = Files.createTempFile(cache, "nested", ".tmp");
+        try {
+            final MessageDigest digest = sha256();
+            try (final InputStream stream = new DigestInputStream(connection.getInputStream(), digest)) {
+                Files.copy(stream, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            final Path target = cache.resolve(hex(digest.digest()) + ".jar");
+            if (!Files.exists(target)) {
+                moveToCache(tmp, target);
+            }
+            return target;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private String getNestedIdentity(final URLConnection connection) throws IOException {
+        if (!JarURLConnection.class.isInstance(connection)) {
+            return null;
+        }
+        final JarURLConnection juc = JarURLConnection.class.cast(connection);
+        final JarEntry entry = juc.getJarEntry();
+        if (entry == null || entry.getSize() < 0 || entry.getCrc() < 0) {
+            return null;
+        }
+        return juc.getJarFileURL().toExternalForm() + "!/" + juc.getEntryName() + '#' + entry.getSize() + '#'
+                + Long.toHexString(entry.getCrc());
+    }
+
+    private void moveToCache(final Path tmp, final Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final FileAlreadyExistsException e) {
+            // extracted concurrently, same content
+        }
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String hex(final byte[] bytes) {
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * @return the size in bytes of the nested dependencies loaded in the heap.
+     */
+    public long getNestedHeapSize() {
+        return resources
+                .values()
+                .stream()
+                .flatMap(Collection::stream)
+                .filter(it -> it.bytes != null)
+                .mapToLong(it -> it.bytes.length)
+                .sum();
+    }
+
+    /**
+     * @return the size in bytes of the nested dependencies mapped in memory.
+     */
+    public long getNestedMappedSize() {
+        return resources
+                .values()
+                .stream()
+                .flatMap(Collection::stream)
+                .map(it -> it.jar)
+                .filter(Objects::nonNull)
+                .distinct()
+                .mapToLong(MappedJar::size)
+                .sum();
+    }
+
     public Class<?> registerBytecode(final String name, final byte[] bytes) {
         final Class<?> value = super.defineClass(name, bytes, 0, bytes.length);
         resolveClass(value);
@@ -211,19 +375,53 @@ public class ConfigurableClassLoader extends URLClassLoader {
         transformers.add(transformer);
     }
 
-    public synchronized URLClassLoader createTemporaryCopy() {
+    public URLClassLoader createTemporaryCopy() {
+        final URLClassLoader existing = temporaryCopy;
+        if (existing != null) {
+            return existing;
+        }
         final ConfigurableClassLoader self = this;
-        return temporaryCopy == null ? temporaryCopy = new ConfigurableClassLoader(id, creationUrls, getParent(),
-                parentFilter, childFirstFilter, resources, fullPathJvmPrefixes) {
-
-            @Override
-            public synchronized void close() throws IOException {
-                super.close();
-                synchronized (self) {
-                    self.temporaryCopy = null;
+        synchronized (this) {
+            return temporaryCopy == null ? temporaryCopy = new ConfigurableClassLoader(id, creationUrls, getParent(),
+                    parentFilter, childFirstFilter, resources, fullPathJvmPrefixes) {
+
+                @Override
+                public synchronized void close() throws IOException {
+                    super.close();
+                    synchronized (self) {
+                        self.temporaryCopy = null;
+                    }
                 }
-            }
-        } : temporaryCopy;
+            } : temporaryCopy;
+        }
+    }
+
+    /**
+     * @return the number of classes defined by this loader.
+     */
+    public long getLoadedClassCount() {
+        return loadedClasses.sum();
+    }
+
+    /**
+     * @return the bytes of bytecode read to define the classes of this loader.
+     */
+    public long getClassBytesRead() {
+        return readBytes.sum();
+    }
+
+    /**
+     * @return the time spent in defining classes, in nanoseconds.
+     */
+    public long getClassDefinitionDuration() {
+        return defineDuration.sum();
+    }
+
+    /**
+     * @return the time spent in the class transformers, in nanoseconds.
+     */
+    public long getClassTransformationDuration() {
+        return transformDuration.sum();
     }
 
     @Override
@@ -246,6 +444,14 @@ public class ConfigurableClassLoader extends URLClassLoader {
             });
             closeables.clear();
         }
+        jars.values().forEach(jar -> {
+            try {
+                jar.close();
+            } catch (final IOException ex) {
+                log.warn(ex.getMessage(), ex);
+            }
+        });
+        jars.clear();
         super.close();
     }
 
@@ -359,8 +565,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
         return ofNullable(doGetResourceAsStream(name))
                 .orElseGet(() -> ofNullable(resources.get(name))
                         .filter(s -> s.size() > 0)
-                        .map(s -> s.iterator().next().resource)
-                        .map(ByteArrayInputStream::new)
+                        .map(s -> s.iterator().next().openStream())
                         .orElse(null));
     }
 
@@ -451,11 +656,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
                 }
             })).orElseGet(Stream::empty),
                     ofNullable(resources.get(name))
-                            .map(s -> s
-                                    .stream()
-                                    .map(it -> it.resource)
-                                    .map(ByteArrayInputStream::new)
-                                    .map(InputStream.class::cast))
+                            .map(s -> s.stream().map(Resource::openStream))
                             .orElseGet(Stream::empty))
                     .collect(toList());
         } catch (final IOException e) {
@@ -725,6 +926,10 @@ public class ConfigurableClassLoader extends URLClassLoader {
             try {
                 final URLConnection connection = url.openConnection();
                 connection.setUseCaches(false);
+                final JarURLConnection jarConnection =
+                        JarURLConnection.class.isInstance(connection) ? JarURLConnection.class.cast(connection) : null;
+                final JarFile jar = jarConnection == null ? null : findJar(jarConnection.getJarFileURL());
+                final JarEntry entry = jar == null ? null : jar.getJarEntry(jarConnection.getEntryName());
 
                 // package
                 final int i = name.lastIndexOf('.');
@@ -732,35 +937,36 @@ public class ConfigurableClassLoader extends URLClassLoader {
                     final String pckName = name.substring(0, i);
                     final Package pck = super.getPackage(pckName);
                     if (pck == null) {
-                        if (!JarURLConnection.class.isInstance(connection)) {
+                        if (jarConnection == null) {
                             doDefinePackage(null, null, pckName);
                         } else {
-                            final JarURLConnection urlConnection = JarURLConnection.class.cast(connection);
-                            doDefinePackage(urlConnection.getManifest(), urlConnection.getJarFileURL(), pckName);
+                            doDefinePackage(entry != null ? jar.getManifest() : jarConnection.getManifest(),
+                                    jarConnection.getJarFileURL(), pckName);
                         }
                     }
                 }
 
                 // read the class and transform it
                 byte[] bytes;
-                try (final ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-                    byte[] buffer = new byte[1024];
-                    int read;
+                final Certificate[] certificates;
+                if (entry != null) {
+                    try (final InputStream stream = jar.getInputStream(entry)) {
+                        bytes = readFully(stream, entry.getSize());
+                    }
+                    // only available once the entry is fully read
+                    certificates = ofNullable(entry.getCertificates()).orElse(NO_CERTIFICATES);
+                } else {
                     try (final InputStream stream = connection.getInputStream()) {
-                        while ((read = stream.read(buffer)) >= 0) {
-                            if (read == 0) {
-                                continue;
-                            }
-                            outputStream.write(buffer, 0, read);
-                        }
+                        bytes = readFully(stream, connection.getContentLengthLong());
                     }
-                    bytes = outputStream.toByteArray();
+                    certificates = jarConnection != null ? jarConnection.getCertificates() : NO_CERTIFICATES;
                 }
-                final Certificate[] certificates = JarURLConnection.class.isInstance(connection)
-                        ? JarURLConnection.class.cast(connection).getCertificates()
-                        : NO_CERTIFICATES;
+                readBytes.add(bytes.length);
                 bytes = doTransform(resourceName, bytes);
+                final long start = System.nanoTime();
                 clazz = super.defineClass(name, bytes, 0, bytes.length, new CodeSource(url, certificates));
+                defineDuration.add(System.nanoTime() - start);
+                loadedClasses.increment();
             } catch (final IOException e) {
                 log.warn(e.getMessage(), e);
                 return null;
@@ -775,8 +981,13 @@ public class ConfigurableClassLoader extends URLClassLoader {
                     doDefinePackage(resource.manifest, null, name.substring(0, i));
                 }
 
-                final byte[] bytes = doTransform(resourceName, resource.resource);
+                final byte[] resourceBytes = resource.getBytes();
+                readBytes.add(resourceBytes.length);
+                final byte[] bytes = doTransform(resourceName, resourceBytes);
+                final long start = System.nanoTime();
                 clazz = defineClass(name, bytes, 0, bytes.length, resource.codeSource);
+                defineDuration.add(System.nanoTime() - start);
+                loadedClasses.increment();
             }
         }
         if (postLoad(resolve, clazz)) {
@@ -785,10 +996,56 @@ public class ConfigurableClassLoader extends URLClassLoader {
         return null;
     }
 
+    private JarFile findJar(final URL jarFileUrl) {
+        return jars.computeIfAbsent(jarFileUrl.toExternalForm(), key -> {
+            final Path path = toPath(jarFileUrl);
+            if (path == null || !Files.isRegularFile(path)) {
+                return null;
+            }
+            try {
+                return new JarFile(path.toFile());
+            } catch (final IOException e) {
+                log.debug(e.getMessage(), e);
+                return null;
+            }
+        });
+    }
+
+    private static byte[] readFully(final InputStream stream, final long size) throws IOException {
+        if (size >= 0 && size < Integer.MAX_VALUE) { // size known so read it directly in the target array
+            final byte[] bytes = new byte[(int) size];
+            int offset = 0;
+            int read;
+            while (offset < bytes.length && (read = stream.read(bytes, offset, bytes.length - offset)) >= 0) {
+                offset += read;
+            }
+            if (offset == bytes.length && stream.read() < 0) {
+                return bytes;
+            }
+            // size was wrong, unlikely, continue with a growing buffer
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(Math.max(offset * 2, 8192));
+            outputStream.write(bytes, 0, offset);
+            copy(stream, outputStream);
+            return outputStream.toByteArray();
+        }
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(8192);
+        copy(stream, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static void copy(final InputStream stream, final ByteArrayOutputStream outputStream) throws IOException {
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = stream.read(buffer)) >= 0) {
+            outputStream.write(buffer, 0, read);
+        }
+    }
+
     private byte[] doTransform(final String resourceName, final byte[] inBytes) {
         if (transformers.isEmpty()) {
             return inBytes;
         }
+        final long start = System.nanoTime();
         byte[] bytes = inBytes;
         for (final ClassFileTransformer transformer : transformers) {
             try {
@@ -798,6 +1055,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
                 break;
             }
         }
+        transformDuration.add(System.nanoTime() - start);
         return bytes;
     }
 
@@ -826,11 +1084,23 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
         private final String entry;
 
-        private final byte[] resource;
+        private final byte[] bytes;
+
+        private final MappedJar jar;
+
+        private final MappedJar.Entry jarEntry;
 
         private final Manifest manifest;
 
         private final CodeSource codeSource;
+
+        private byte[] getBytes() {
+            return bytes != null ? bytes : jar.read(jarEntry);
+        }
+
+        private InputStream openStream() {
+            return new ByteArrayInputStream(getBytes());
+        }
     }
 
     @RequiredArgsConstructor(access = PRIVATE)
@@ -860,7 +1130,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
         @Override
         public InputStream getInputStream() {
-            return new ByteArrayInputStream(resource.resource);
+            return resource.openStream();
         }
     }
 
@@ -0,0 +1,182 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.classloader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A read-only jar mapped in memory, its central directory is indexed once and the entries are read on demand.
+ * ZIP64 archives are not supported (an {@link IOException} is thrown).
+ */
+class MappedJar {
+
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+
+    private static final int CENTRAL_DIRECTORY_HEADER = 0x02014b50;
+
+    private static final int LOCAL_FILE_HEADER = 0x04034b50;
+
+    @Getter
+    private final Path path;
+
+    private final MappedByteBuffer buffer;
+
+    @Getter
+    private final List<Entry> entries;
+
+    MappedJar(final Path path) throws IOException {
+        this.path = path;
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(path + " is too big to be mapped");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        entries = readCentralDirectory();
+    }
+
+    long size() {
+        return buffer.capacity();
+    }
+
+    byte[] read(final Entry entry) {
+        final ByteBuffer view = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        final int header = entry.localHeaderOffset;
+        if (view.getInt(header) != LOCAL_FILE_HEADER) {
+            throw new IllegalStateException("Invalid local header for " + entry.name + " in " + path);
+        }
+        view
+                .position(header + 30 + Short.toUnsignedInt(view.getShort(header + 26))
+                        + Short.toUnsignedInt(view.getShort(header + 28)));
+        switch (entry.method) {
+        case ZipEntry.STORED: {
+            final byte[] bytes = new byte[entry.size];
+            view.get(bytes);
+            return bytes;
+        }
+        case ZipEntry.DEFLATED: {
+            // nowrap inflater needs an extra dummy byte
+            final byte[] compressed = new byte[entry.compressedSize + 1];
+            view.get(compressed, 0, entry.compressedSize);
+            final byte[] bytes = new byte[entry.size];
+            final Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(compressed);
+                int read = 0;
+                while (read < bytes.length && !inflater.finished()) {
+                    final int inflated = inflater.inflate(bytes, read, bytes.length - read);
+                    if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    read += inflated;
+                }
+                if (read != bytes.length) {
+                    throw new IllegalStateException("Truncated entry " + entry.name + " in " + path);
+                }
+                return bytes;
+            } catch (final DataFormatException e) {
+                throw new IllegalStateException("Invalid entry " + entry.name + " in " + path, e);
+            } finally {
+                inflater.end();
+            }
+        }
+        default:
+            throw new IllegalStateException("Unsupported compression for " + entry.name + " in " + path);
+        }
+    }
+
+    private List<Entry> readCentralDirectory() throws IOException {
+        final int end = findEndOfCentralDirectory();
+        final int count = Short.toUnsignedInt(buffer.getShort(end + 10));
+        final long offset = Integer.toUnsignedLong(buffer.getInt(end + 16));
+        if (count == 0xFFFF || offset == 0xFFFFFFFFL) {
+            throw new IOException("ZIP64 is not supported: " + path);
+        }
+        final List<Entry> result = new ArrayList<>(count);
+        int position = (int) offset;
+        for (int i = 0; i < count; i++) {
+            if (buffer.getInt(position) != CENTRAL_DIRECTORY_HEADER) {
+                throw new IOException("Invalid central directory in " + path);
+            }
+            final int method = Short.toUnsignedInt(buffer.getShort(position + 10));
+            final long compressedSize = Integer.toUnsignedLong(buffer.getInt(position + 20));
+            final long size = Integer.toUnsignedLong(buffer.getInt(position + 24));
+            final int nameLength = Short.toUnsignedInt(buffer.getShort(position + 28));
+            final int extraLength = Short.toUnsignedInt(buffer.getShort(position + 30));
+            final int commentLength = Short.toUnsignedInt(buffer.getShort(position + 32));
+            final long localHeaderOffset = Integer.toUnsignedLong(buffer.getInt(position + 42));
+            if (compressedSize == 0xFFFFFFFFL || size == 0xFFFFFFFFL || localHeaderOffset == 0xFFFFFFFFL) {
+                throw new IOException("ZIP64 is not supported: " + path);
+            }
+
+            final byte[] name = new byte[nameLength];
+            final ByteBuffer view = buffer.duplicate();
+            view.position(position + 46);
+            view.get(name);
+            result
+                    .add(new Entry(new String(name, UTF_8), method, (int) compressedSize, (int) size,
+                            (int) localHeaderOffset));
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+        return result;
+    }
+
+    private int findEndOfCentralDirectory() throws IOException {
+        final int min = Math.max(0, buffer.capacity() - 22 - 0xFFFF);
+        for (int i = buffer.capacity() - 22; i >= min; i--) {
+            if (buffer.getInt(i) == END_OF_CENTRAL_DIRECTORY) {
+                return i;
+            }
+        }
+        throw new IOException("No central directory in " + path);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class Entry {
+
+        private final String name;
+
+        private final int method;
+
+        private final int compressedSize;
+
+        private final int size;
+
+        private final int localHeaderOffset;
+
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+}
@@ -44,6 +44,7 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.logging.Level;
@@ -114,7 +115,8 @@ public class ContainerManager implements Lifecycle {
                 ofNullable(classLoaderConfiguration.getParent()).orElseGet(ContainerManager.class::getClassLoader),
                 ofNullable(classLoaderConfiguration.getClassesFilter()).orElseGet(() -> name -> true),
                 ofNullable(classLoaderConfiguration.getParentClassesFilter()).orElseGet(() -> name -> true),
-                classLoaderConfiguration.isSupportsResourceDependencies(), nestedPluginMappingResource);
+                classLoaderConfiguration.isSupportsResourceDependencies(), nestedPluginMappingResource,
+                classLoaderConfiguration.getNestedDependenciesCache());
         if (classLoaderConfiguration.isSupportsResourceDependencies()) {
             try (final InputStream mappingStream =
                     classLoaderConfiguration.getParent().getResourceAsStream(nestedPluginMappingResource)) {
@@ -388,6 +390,9 @@ public class ContainerManager implements Lifecycle {
 
         private final String nestedPluginMappingResource;
 
+        // if set, nested jars are extracted there and mapped in memory instead of being loaded in the heap
+        private final Path nestedDependenciesCache;
+
         // note: we can add if needed resource filters too (to filter META-INF/services
         // for instance)
     }
@@ -430,6 +435,7 @@ public class ContainerManager implements Lifecycle {
                 throw new IllegalStateException("ContainerManager already closed");
             }
 
+            final long start = System.nanoTime();
             final String moduleLocation = classLoaderConfiguration.isSupportsResourceDependencies()
                     ? nestedContainerMapping.getOrDefault(module, module)
                     : module;
@@ -464,6 +470,7 @@ public class ContainerManager implements Lifecycle {
                 }
             };
             container.setState(Container.State.CREATED);
+            final long classLoaderCreated = System.nanoTime();
             container.set(ContainerBuilder.class, this);
             container.set(Actions.class, new Actions(container));
 
@@ -495,7 +502,10 @@ public class ContainerManager implements Lifecycle {
             }
 
             container.setState(Container.State.DEPLOYED);
-            info("Created container " + id);
+            final long end = System.nanoTime();
+            info("Created container " + id + " in " + TimeUnit.NANOSECONDS.toMillis(end - start) + "ms (classloader="
+                    + TimeUnit.NANOSECONDS.toMillis(classLoaderCreated - start) + "ms, listeners="
+                    + TimeUnit.NANOSECONDS.toMillis(end - classLoaderCreated) + "ms)");
             return container;
         }
 
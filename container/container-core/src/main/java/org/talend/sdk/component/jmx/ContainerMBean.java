@@ -15,7 +15,10 @@
  */
 package org.talend.sdk.component.jmx;
 
+import static java.util.Optional.ofNullable;
+
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import javax.management.Attribute;
@@ -32,6 +35,7 @@ import javax.management.MBeanOperationInfo;
 import javax.management.MBeanParameterInfo;
 import javax.management.ReflectionException;
 
+import org.talend.sdk.component.classloader.ConfigurableClassLoader;
 import org.talend.sdk.component.container.Container;
 import org.talend.sdk.component.container.ContainerManager;
 
@@ -57,6 +61,22 @@ public class ContainerMBean implements DynamicMBean {
             return delegate.isClosed();
         case "created":
             return delegate.getCreated();
+        case "nestedHeapSize":
+            return ofNullable(delegate.getLoader()).map(ConfigurableClassLoader::getNestedHeapSize).orElse(0L);
+        case "nestedMappedSize":
+            return ofNullable(delegate.getLoader()).map(ConfigurableClassLoader::getNestedMappedSize).orElse(0L);
+        case "loadedClasses":
+            return ofNullable(delegate.getLoader()).map(ConfigurableClassLoader::getLoadedClassCount).orElse(0L);
+        case "classBytesRead":
+            return ofNullable(delegate.getLoader()).map(ConfigurableClassLoader::getClassBytesRead).orElse(0L);
+        case "classDefinitionTime":
+            return ofNullable(delegate.getLoader())
+                    .map(l -> TimeUnit.NANOSECONDS.toMillis(l.getClassDefinitionDuration()))
+                    .orElse(0L);
+        case "classTransformationTime":
+            return ofNullable(delegate.getLoader())
+                    .map(l -> TimeUnit.NANOSECONDS.toMillis(l.getClassTransformationDuration()))
+                    .orElse(0L);
         default:
             throw new AttributeNotFoundException(attribute);
         }
@@ -112,7 +132,20 @@ public class ContainerMBean implements DynamicMBean {
                         new MBeanAttributeInfo("closed", boolean.class.getName(), "Is the container already closed",
                                 true, false, false),
                         new MBeanAttributeInfo("created", Date.class.getName(), "When was the container created", true,
-                                false, false) },
+                                false, false),
+                        new MBeanAttributeInfo("nestedHeapSize", long.class.getName(),
+                                "Bytes of the nested dependencies loaded in the heap", true, false, false),
+                        new MBeanAttributeInfo("nestedMappedSize", long.class.getName(),
+                                "Bytes of the nested dependencies mapped in memory from the local cache", true, false,
+                                false),
+                        new MBeanAttributeInfo("loadedClasses", long.class.getName(),
+                                "Number of classes defined by the container classloader", true, false, false),
+                        new MBeanAttributeInfo("classBytesRead", long.class.getName(),
+                                "Bytes of bytecode read to define the classes", true, false, false),
+                        new MBeanAttributeInfo("classDefinitionTime", long.class.getName(),
+                                "Time spent in defining classes (ms)", true, false, false),
+                        new MBeanAttributeInfo("classTransformationTime", long.class.getName(),
+                                "Time spent in transforming classes (ms)", true, false, false) },
                 new MBeanConstructorInfo[0],
                 new MBeanOperationInfo[] { new MBeanOperationInfo("reload",
                         "Reloads the container (ie stops it, recreates the classloader from the same files and starts it. Allows to kind of hot reload a plugin.",
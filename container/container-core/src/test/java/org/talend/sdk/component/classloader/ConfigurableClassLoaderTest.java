@@ -33,8 +33,12 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.JarURLConnection;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.net.URLConnection;
+import java.net.URLStreamHandler;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.spi.FileSystemProvider;
@@ -42,9 +46,15 @@ import java.util.Enumeration;
 import java.util.List;
 import java.util.ServiceLoader;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.jar.JarOutputStream;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import java.util.zip.ZipEntry;
@@ -79,6 +89,35 @@ class ConfigurableClassLoaderTest {
         }
     }
 
+    @Test
+    void concurrentLoading() throws Exception {
+        final ClassLoader parent = ConfigurableClassLoaderTest.class.getClassLoader();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try (final ConfigurableClassLoader loader =
+                new ConfigurableClassLoader("",
+                        new URL[] { new File(Constants.DEPENDENCIES_LOCATION,
+                                "org/apache/tomee/ziplock/7.0.5/ziplock-7.0.5.jar").toURI().toURL() },
+                        parent, name -> true, name -> false, null, new String[0])) {
+            final List<Future<List<Class<?>>>> loadings = IntStream
+                    .range(0, 32)
+                    .mapToObj(i -> executor
+                            .submit(() -> asList(loader.loadClass("org.apache.ziplock.JarLocation"),
+                                    loader.loadClass("org.apache.ziplock.Archive"))))
+                    .collect(toList());
+            final List<Class<?>> expected = loadings.get(0).get();
+            for (final Future<List<Class<?>>> loading : loadings) {
+                assertEquals(expected, loading.get());
+            }
+            assertEquals(loader, expected.get(0).getClassLoader());
+            assertTrue(loader.getLoadedClassCount() >= 2);
+            assertTrue(loader.getClassBytesRead() > 0);
+            assertTrue(loader.getClassDefinitionDuration() > 0);
+            assertEquals(0, loader.getClassTransformationDuration());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void childLoading() {
         Stream.of(true, false).forEach(parentFirst -> {
@@ -219,6 +258,82 @@ class ConfigurableClassLoaderTest {
         }
     }
 
+    @Test
+    void mappedNestedJars(@TempDir final File temporaryFolder) throws Exception {
+        final File nestedJar = createNestedJar(temporaryFolder, "org.apache.tomee:ziplock:jar:7.0.5");
+        final File cache = new File(temporaryFolder, "cache");
+        final String[] nested = { "org/apache/tomee/ziplock/7.0.5/ziplock-7.0.5.jar" };
+        try (final URLClassLoader parent = new URLClassLoader(new URL[] { nestedJar.toURI().toURL() },
+                Thread.currentThread().getContextClassLoader());
+                final ConfigurableClassLoader loader = new ConfigurableClassLoader("", new URL[0], parent, name -> true,
+                        name -> true, nested, new String[0], cache.toPath());
+                final ConfigurableClassLoader other = new ConfigurableClassLoader("", new URL[0], parent, name -> true,
+                        name -> true, nested, new String[0], cache.toPath())) {
+            final Class<?> aClass = loader.loadClass("org.apache.ziplock.JarLocation");
+            assertTrue(File.class
+                    .isInstance(aClass
+                            .getMethod("jarLocation", Class.class)
+                            .invoke(null, ConfigurableClassLoaderTest.class)));
+
+            final String resource = "org/apache/ziplock/JarLocation.class";
+            final URL url = loader.getResource(resource);
+            assertEquals("nested", url.getProtocol());
+            assertEquals(4666, slurp(url.openStream()).length, 256);
+            assertEquals(4666, slurp(loader.getResourceAsStream(resource)).length, 256);
+            assertNull(loader.getResource("META-INF/MANIFEST.MF"));
+
+            assertEquals(0, loader.getNestedHeapSize());
+            assertTrue(loader.getNestedMappedSize() > 0);
+            assertEquals(loader.getNestedMappedSize(), other.getNestedMappedSize());
+            assertEquals(1, cache.listFiles().length); // keyed on the nested entry, extracted once
+        } finally {
+            if (!nestedJar.delete()) {
+                nestedJar.deleteOnExit();
+            }
+        }
+    }
+
+    @Test
+    void mappedNestedJarsAreReadOnce(@TempDir final File temporaryFolder) throws Exception {
+        final File nestedJar = createNestedJar(temporaryFolder, "org.apache.tomee:ziplock:jar:7.0.5");
+        final File cache = new File(temporaryFolder, "cache");
+        final String[] nested = { "org/apache/tomee/ziplock/7.0.5/ziplock-7.0.5.jar" };
+        final AtomicInteger reads = new AtomicInteger();
+        try (final URLClassLoader parent = new URLClassLoader(new URL[] { nestedJar.toURI().toURL() },
+                Thread.currentThread().getContextClassLoader()) {
+
+            @Override
+            public URL getResource(final String name) {
+                final URL url = super.getResource(name);
+                try {
+                    return url == null ? null : new URL(null, url.toExternalForm(), new URLStreamHandler() {
+
+                        @Override
+                        protected URLConnection openConnection(final URL u) throws IOException {
+                            return new CountingJarURLConnection(u, reads);
+                        }
+                    });
+                } catch (final MalformedURLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }) {
+            for (int i = 0; i < 3; i++) {
+                try (final ConfigurableClassLoader loader = new ConfigurableClassLoader("", new URL[0], parent,
+                        name -> true, name -> true, nested, new String[0], cache.toPath())) {
+                    assertNotNull(loader.loadClass("org.apache.ziplock.JarLocation"));
+                    assertEquals(0, loader.getNestedHeapSize());
+                }
+            }
+            assertEquals(1, reads.get()); // extracted once, then found from the entry size and CRC
+            assertEquals(1, cache.listFiles().length);
+        } finally {
+            if (!nestedJar.delete()) {
+                nestedJar.deleteOnExit();
+            }
+        }
+    }
+
     @Test
     void noNestedJarsMissingResources() throws IOException {
         try (final URLClassLoader parent =
@@ -388,4 +503,34 @@ class ConfigurableClassLoaderTest {
         }
         return tmp;
     }
+
+    private static class CountingJarURLConnection extends JarURLConnection {
+
+        private final JarURLConnection delegate;
+
+        private final AtomicInteger reads;
+
+        private CountingJarURLConnection(final URL url, final AtomicInteger reads) throws IOException {
+            super(url);
+            this.delegate = JarURLConnection.class.cast(new URL(url.toExternalForm()).openConnection());
+            this.reads = reads;
+        }
+
+        @Override
+        public JarFile getJarFile() throws IOException {
+            return delegate.getJarFile();
+        }
+
+        @Override
+        public void connect() throws IOException {
+            delegate.connect();
+            connected = true;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            reads.incrementAndGet();
+            return delegate.getInputStream();
+        }
+    }
 }
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.classloader;
+
+import static java.util.Collections.list;
+import static java.util.stream.Collectors.toMap;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.test.Constants;
+
+class MappedJarTest {
+
+    @Test
+    void readEntries() throws IOException {
+        final File file = new File(Constants.DEPENDENCIES_LOCATION, "org/apache/tomee/ziplock/7.0.5/ziplock-7.0.5.jar");
+        final MappedJar mapped = new MappedJar(file.toPath());
+        assertEquals(file.length(), mapped.size());
+
+        final Map<String, MappedJar.Entry> entries =
+                mapped.getEntries().stream().collect(toMap(MappedJar.Entry::getName, Function.identity()));
+        try (final JarFile jar = new JarFile(file)) {
+            final Map<String, ZipEntry> expected =
+                    list(jar.entries()).stream().collect(toMap(ZipEntry::getName, Function.identity()));
+            assertEquals(expected.keySet(), entries.keySet());
+            for (final ZipEntry entry : expected.values()) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                try (final InputStream stream = jar.getInputStream(entry)) {
+                    assertArrayEquals(slurp(stream), mapped.read(entries.get(entry.getName())), entry.getName());
+                }
+            }
+        }
+    }
+
+    private byte[] slurp(final InputStream stream) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+        int read;
+        while ((read = stream.read(buffer)) >= 0) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
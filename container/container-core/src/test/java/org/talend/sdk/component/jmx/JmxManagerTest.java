@@ -58,6 +58,12 @@ class JmxManagerTest {
         try {
             assertTrue(mBeanServer.isRegistered(name));
             assertFalse(Boolean.class.cast(mBeanServer.getAttribute(name, "closed")));
+            assertEquals(0L, mBeanServer.getAttribute(name, "nestedMappedSize"));
+            assertTrue(Long.class.isInstance(mBeanServer.getAttribute(name, "nestedHeapSize")));
+            assertEquals(0L, mBeanServer.getAttribute(name, "loadedClasses"));
+            assertEquals(0L, mBeanServer.getAttribute(name, "classBytesRead"));
+            assertTrue(Long.class.isInstance(mBeanServer.getAttribute(name, "classDefinitionTime")));
+            assertTrue(Long.class.isInstance(mBeanServer.getAttribute(name, "classTransformationTime")));
 
             final Object created = mBeanServer.getAttribute(name, "created");
             assertTrue(Date.class.isInstance(created));
@@ -19,6 +19,7 @@ import static java.util.Collections.emptyMap;
 import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
 import static java.util.Spliterators.spliteratorUnknownSize;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
@@ -28,8 +29,15 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Spliterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -55,13 +63,17 @@ import lombok.RequiredArgsConstructor;
 
 public final class Kitap implements Runnable {
 
+    private static final int STDOUT_BUFFER_SIZE = 64 * 1024;
+
+    private static final Object END_OF_PARTITIONS = new Object();
+
     private final SingerArgs args;
 
     private final Singer singer;
 
     private final JsonBuilderFactory jsonBuilderFactory = Json.createBuilderFactory(emptyMap());
 
-    private final RecordJsonMapper recordJsonMapper;
+    private final RecordJsonWriter recordJsonWriter;
 
     public Kitap(final String... args) {
         this(new SingerArgs(args), new Singer());
@@ -70,7 +82,7 @@ public final class Kitap implements Runnable {
     public Kitap(final SingerArgs args, final Singer singer) {
         this.args = args;
         this.singer = singer;
-        this.recordJsonMapper = new RecordJsonMapper(jsonBuilderFactory, singer);
+        this.recordJsonWriter = new RecordJsonWriter(singer);
     }
 
     @Override
@@ -163,8 +175,123 @@ public final class Kitap implements Runnable {
 
     private void readAll(final JsonObject config, final JsonObject stream, final String streamName,
             final Mapper mapper) {
+        final int parallelism = args.getConfig().getInt("parallelism", 1);
+        if (parallelism > 1) {
+            readAllInParallel(mapper, parallelism, args.getConfig().getInt("queueSize", 1024),
+                    singer.withBufferedStdout(STDOUT_BUFFER_SIZE), config, stream, streamName);
+        } else {
+            records(mapper).forEach(recordWriter(singer, config, stream, streamName));
+        }
+    }
+
+    // partitions are read concurrently but a single thread writes the messages so a SCHEMA is always emitted
+    // before the RECORDs using it, records of a partition keep their order
+    private void readAllInParallel(final Mapper mapper, final int parallelism, final int queueSize, final Singer output,
+            final JsonObject config, final JsonObject stream, final String streamName) {
+        final Queue<Mapper> partitions = new ConcurrentLinkedQueue<>(createPartitions(mapper));
+        final int readers = Math.min(parallelism, partitions.size());
+        final BlockingQueue<Object> records = new ArrayBlockingQueue<>(queueSize);
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CountDownLatch stoppedReaders = new CountDownLatch(readers);
+        final Consumer<Throwable> onError = e -> {
+            if (!error.compareAndSet(null, e)) {
+                error.get().addSuppressed(e);
+            }
+            cancelled.set(true);
+        };
+
+        for (int i = 0; i < readers; i++) {
+            final Thread reader = new Thread(() -> {
+                try {
+                    Mapper partition;
+                    while (!cancelled.get() && (partition = partitions.poll()) != null) {
+                        final Input input = partition.create();
+                        input.start();
+                        try {
+                            Object next;
+                            while (!cancelled.get() && (next = input.next()) != null) {
+                                offer(records, next, cancelled);
+                            }
+                        } finally {
+                            input.stop();
+                        }
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    onError.accept(e);
+                } catch (final RuntimeException | Error e) {
+                    onError.accept(e);
+                } finally {
+                    try {
+                        offer(records, END_OF_PARTITIONS, cancelled);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    stoppedReaders.countDown();
+                }
+            }, "kitap-partition-reader-" + (i + 1));
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        final Thread writer = new Thread(() -> {
+            final Consumer<Record> recordWriter = recordWriter(output, config, stream, streamName);
+            try {
+                int remaining = readers;
+                while (remaining > 0 && !cancelled.get()) {
+                    final Object next = records.poll(100, MILLISECONDS);
+                    if (next == END_OF_PARTITIONS) {
+                        remaining--;
+                    } else if (next != null) {
+                        recordWriter.accept(Record.class.cast(next));
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                onError.accept(e);
+            } catch (final RuntimeException | Error e) {
+                onError.accept(e);
+            } finally {
+                output.flush();
+            }
+        }, "kitap-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        try {
+            writer.join();
+            stoppedReaders.await();
+        } catch (final InterruptedException e) {
+            cancelled.set(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        final Throwable failure = error.get();
+        if (RuntimeException.class.isInstance(failure)) {
+            throw RuntimeException.class.cast(failure);
+        }
+        if (Error.class.isInstance(failure)) {
+            throw Error.class.cast(failure);
+        }
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    private void offer(final BlockingQueue<Object> queue, final Object value, final AtomicBoolean cancelled)
+            throws InterruptedException {
+        while (!cancelled.get()) {
+            if (queue.offer(value, 100, MILLISECONDS)) {
+                return;
+            }
+        }
+    }
+
+    private Consumer<Record> recordWriter(final Singer output, final JsonObject config, final JsonObject stream,
+            final String streamName) {
         final AtomicReference<Schema> lastSchema = new AtomicReference<>();
-        records(mapper).peek(record -> {
+        return record -> {
             final Schema newSchema = record.getSchema();
             if (!newSchema.equals(lastSchema.get())) {
                 final JsonArray keys = config != null && config.containsKey("keys") ? config.getJsonArray("keys")
@@ -174,10 +301,11 @@ public final class Kitap implements Runnable {
                                 : jsonBuilderFactory.createArrayBuilder().build();
                 final JsonObject schema = ofNullable(stream.getJsonObject("schema"))
                         .orElseGet(() -> new JsonSchemaGenerator(newSchema.getEntries(), jsonBuilderFactory).get());
-                singer.writeSchema(streamName, schema, keys, bookmarks);
+                output.writeSchema(streamName, schema, keys, bookmarks);
                 lastSchema.set(newSchema);
             }
-        }).forEach(record -> singer.writeRecord(streamName, recordJsonMapper.apply(record)));
+            output.writeRecord(streamName, generator -> recordJsonWriter.accept(record, generator));
+        };
     }
 
     private Stream<Record> records(final Mapper mapper) {
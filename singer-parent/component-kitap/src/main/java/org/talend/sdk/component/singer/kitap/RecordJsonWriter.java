@@ -0,0 +1,196 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.singer.kitap;
+
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+import javax.json.stream.JsonGenerator;
+
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.singer.java.Singer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Streaming flavor of {@link RecordJsonMapper}: it writes the record in a {@link JsonGenerator} without creating
+ * any intermediate JSON model. The writers of the fields are computed once per schema (and reused until the schema
+ * changes).
+ *
+ * IMPORTANT: this class is not thread safe.
+ */
+@RequiredArgsConstructor
+public class RecordJsonWriter implements BiConsumer<Record, JsonGenerator> {
+
+    private final Singer singer;
+
+    private final ObjectWriter root = new ObjectWriter();
+
+    @Override
+    public void accept(final Record record, final JsonGenerator generator) {
+        root.write(record, generator);
+    }
+
+    private FieldWriter compile(final Schema.Entry entry) {
+        final String name = entry.getName();
+        switch (entry.getType()) {
+        case INT:
+            return (record, generator) -> {
+                final Integer value = record.get(Integer.class, name);
+                if (value != null) {
+                    generator.write(name, value);
+                }
+            };
+        case LONG:
+            return (record, generator) -> {
+                final Long value = record.get(Long.class, name);
+                if (value != null) {
+                    generator.write(name, value);
+                }
+            };
+        case FLOAT:
+            return (record, generator) -> {
+                final Float value = record.get(Float.class, name);
+                if (value != null) {
+                    generator.write(name, value.doubleValue());
+                }
+            };
+        case DOUBLE:
+            return (record, generator) -> {
+                final Double value = record.get(Double.class, name);
+                if (value != null) {
+                    generator.write(name, value);
+                }
+            };
+        case BOOLEAN:
+            return (record, generator) -> {
+                final Boolean value = record.get(Boolean.class, name);
+                if (value != null) {
+                    generator.write(name, value);
+                }
+            };
+        case STRING:
+            return (record, generator) -> {
+                final String value = record.get(String.class, name);
+                if (value != null) {
+                    generator.write(name, value);
+                }
+            };
+        case DATETIME:
+            return (record, generator) -> {
+                final ZonedDateTime value = record.get(ZonedDateTime.class, name);
+                if (value != null) {
+                    generator.write(name, singer.formatDate(value));
+                }
+            };
+        case BYTES:
+            return (record, generator) -> {
+                final byte[] value = record.get(byte[].class, name);
+                if (value != null) {
+                    generator.write(name, Base64.getEncoder().encodeToString(value));
+                }
+            };
+        case RECORD:
+            final ObjectWriter nested = new ObjectWriter();
+            return (record, generator) -> {
+                final Record value = record.get(Record.class, name);
+                if (value != null) {
+                    generator.writeKey(name);
+                    nested.write(value, generator);
+                }
+            };
+        case ARRAY:
+            final ValueWriter elementWriter = compileElement(entry);
+            return (record, generator) -> {
+                final Collection<?> value = record.get(Collection.class, name);
+                if (value != null) {
+                    generator.writeStartArray(name);
+                    for (final Object item : value) {
+                        if (item == null) {
+                            generator.writeNull();
+                        } else {
+                            elementWriter.write(item, generator);
+                        }
+                    }
+                    generator.writeEnd();
+                }
+            };
+        default:
+            throw new IllegalStateException("Unsupported entry type: " + entry);
+        }
+    }
+
+    private ValueWriter compileElement(final Schema.Entry entry) {
+        switch (entry.getElementSchema().getType()) {
+        case INT:
+        case LONG:
+            return (value, generator) -> generator.write(Number.class.cast(value).longValue());
+        case FLOAT:
+        case DOUBLE:
+            return (value, generator) -> generator.write(Number.class.cast(value).doubleValue());
+        case BOOLEAN:
+            return (value, generator) -> generator.write(Boolean.class.cast(value));
+        case STRING:
+            return (value, generator) -> generator.write(String.valueOf(value));
+        case DATETIME:
+            return (value, generator) -> generator.write(singer.formatDate(ZonedDateTime.class.cast(value)));
+        case BYTES:
+            return (value, generator) -> generator.write(Base64.getEncoder().encodeToString(byte[].class.cast(value)));
+        case RECORD:
+            final ObjectWriter nested = new ObjectWriter();
+            return (value, generator) -> nested.write(Record.class.cast(value), generator);
+        default: // array of array is not yet supported (as in RecordService)
+            throw new IllegalStateException("Unsupported entry type: " + entry);
+        }
+    }
+
+    private interface FieldWriter {
+
+        void write(Record record, JsonGenerator generator);
+    }
+
+    private interface ValueWriter {
+
+        void write(Object value, JsonGenerator generator);
+    }
+
+    private class ObjectWriter {
+
+        private Schema schema;
+
+        private FieldWriter[] fields;
+
+        private void write(final Record record, final JsonGenerator generator) {
+            final Schema recordSchema = record.getSchema();
+            if (recordSchema != schema && !recordSchema.equals(schema)) {
+                fields = recordSchema
+                        .getEntries()
+                        .stream()
+                        .map(RecordJsonWriter.this::compile)
+                        .toArray(FieldWriter[]::new);
+                schema = recordSchema;
+            }
+            generator.writeStartObject();
+            for (final FieldWriter field : fields) {
+                field.write(record, generator);
+            }
+            generator.writeEnd();
+        }
+    }
+}
@@ -19,6 +19,8 @@ import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertLinesMatch;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 
 import java.io.BufferedReader;
@@ -33,7 +35,16 @@ import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
@@ -52,6 +63,12 @@ class KitapTest {
 
     private static Path config;
 
+    private static Path parallelConfig;
+
+    private static Path partitionsConfig;
+
+    private static Path failingPartitionConfig;
+
     private static IO testIO;
 
     private static ByteArrayOutputStream stdout;
@@ -71,6 +88,27 @@ class KitapTest {
                                 .getBytes(StandardCharsets.UTF_8),
                         StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
 
+        parallelConfig = tempDir.resolve("parallel-config.json");
+        Files
+                .write(parallelConfig,
+                        "{\"parallelism\":2,\"queueSize\":4,\"component\":{\"family\":\"kitaptest\",\"name\":\"kitapsource\",\"version\":1,\"configuration\":{\"configuration.recordCount\":10}}}"
+                                .getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+        partitionsConfig = tempDir.resolve("partitions-config.json");
+        Files
+                .write(partitionsConfig,
+                        "{\"parallelism\":2,\"queueSize\":4,\"component\":{\"family\":\"kitaptest\",\"name\":\"kitappartitions\",\"version\":1,\"configuration\":{\"configuration.partitions\":3,\"configuration.recordCount\":20}}}"
+                                .getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+        failingPartitionConfig = tempDir.resolve("failing-partition-config.json");
+        Files
+                .write(failingPartitionConfig,
+                        "{\"parallelism\":2,\"queueSize\":4,\"component\":{\"family\":\"kitaptest\",\"name\":\"kitappartitions\",\"version\":1,\"configuration\":{\"configuration.partitions\":3,\"configuration.recordCount\":20,\"configuration.failingPartition\":1}}}"
+                                .getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
         testIO = new IO();
         stdout = new ByteArrayOutputStream();
         final PrintStream stdoutPs = new PrintStream(stdout);
@@ -148,4 +186,74 @@ class KitapTest {
                     actuals, actuals::toString);
         }
     }
+
+    @Test
+    void readAllInParallel() throws IOException {
+        final Kitap kitap = new Kitap(new SingerArgs("--config", parallelConfig.toAbsolutePath().toString()),
+                new Singer(new IO(), () -> CONSTANT_DATE));
+        kitap.run();
+        flushIO.run();
+
+        try (final BufferedReader reader = new BufferedReader(new StringReader(stdout.toString("UTF-8")))) {
+            final List<String> actuals = reader.lines().collect(toList());
+            assertEquals(11, actuals.size(), actuals::toString);
+            assertEquals(
+                    "{\"type\":\"SCHEMA\",\"stream\":\"default\",\"schema\":{\"type\":[\"null\",\"object\"],\"additionalProperties\":false,\"properties\":{\"record_number\":{\"type\":[\"integer\"]}}},\"key_properties\":[],\"bookmark_properties\":[]}",
+                    actuals.get(0));
+            for (int i = 1; i <= 10; i++) {
+                assertEquals(
+                        "{\"type\":\"RECORD\",\"stream\":\"default\",\"time_extracted\":\"2019-08-23T15:11:00.000Z\","
+                                + "\"record\":{\"record_number\":" + i + "}}",
+                        actuals.get(i));
+            }
+        }
+    }
+
+    @Test
+    void readPartitionsInParallel() throws IOException {
+        final Kitap kitap = new Kitap(new SingerArgs("--config", partitionsConfig.toAbsolutePath().toString()),
+                new Singer(new IO(), () -> CONSTANT_DATE));
+        kitap.run();
+        flushIO.run();
+
+        final Map<Integer, List<Integer>> recordNumbers = new TreeMap<>();
+        Set<String> currentSchema = null;
+        try (final BufferedReader reader = new BufferedReader(new StringReader(stdout.toString("UTF-8")))) {
+            final List<JsonObject> messages = reader.lines().map(this::parse).collect(toList());
+            for (final JsonObject message : messages) {
+                switch (message.getString("type")) {
+                case "SCHEMA":
+                    currentSchema = message.getJsonObject("schema").getJsonObject("properties").keySet();
+                    break;
+                case "RECORD":
+                    final JsonObject record = message.getJsonObject("record");
+                    // the last emitted SCHEMA is the one of the record
+                    assertEquals(currentSchema, record.keySet(), messages::toString);
+                    recordNumbers
+                            .computeIfAbsent(record.getInt("partition"), k -> new ArrayList<>())
+                            .add(record.getInt("record_number"));
+                    break;
+                default:
+                    fail("Unexpected message: " + message);
+                }
+            }
+        }
+        final List<Integer> expectedNumbers = IntStream.rangeClosed(1, 20).boxed().collect(toList());
+        assertEquals(asList(0, 1, 2), new ArrayList<>(recordNumbers.keySet()));
+        recordNumbers.forEach((partition, numbers) -> assertEquals(expectedNumbers, numbers, "partition " + partition));
+    }
+
+    @Test
+    void failingPartitionInParallel() {
+        final Kitap kitap = new Kitap(new SingerArgs("--config", failingPartitionConfig.toAbsolutePath().toString()),
+                new Singer(new IO(), () -> CONSTANT_DATE));
+        final IllegalStateException error = assertThrows(IllegalStateException.class, kitap::run);
+        assertEquals("Partition 1 failed", error.getMessage());
+    }
+
+    private JsonObject parse(final String line) {
+        try (final JsonReader reader = Json.createReader(new StringReader(line))) {
+            return reader.readObject();
+        }
+    }
 }
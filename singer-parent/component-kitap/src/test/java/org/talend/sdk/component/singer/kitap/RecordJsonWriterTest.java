@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.singer.kitap;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.record.Schema;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.record.RecordBuilderFactoryImpl;
+import org.talend.sdk.component.singer.java.IO;
+import org.talend.sdk.component.singer.java.Singer;
+
+class RecordJsonWriterTest {
+
+    private final RecordBuilderFactory factory = new RecordBuilderFactoryImpl(null);
+
+    private final JsonGeneratorFactory generatorFactory = Json.createGeneratorFactory(emptyMap());
+
+    private final RecordJsonWriter writer = new RecordJsonWriter(new Singer(new IO(), ZonedDateTime::now));
+
+    @Test
+    void write() {
+        final Schema.Entry array = factory
+                .newEntryBuilder()
+                .withType(Schema.Type.ARRAY)
+                .withName("array")
+                .withElementSchema(factory.newSchemaBuilder(Schema.Type.STRING).build())
+                .build();
+        assertEquals("{" + "\"name\":\"hello\"," + "\"age\":1," + "\"toggle\":true,"
+                + "\"date\":\"2019-08-23T16:31:00.000Z\"," + "\"lg\":2," + "\"bytes\":\"dGVzdA==\","
+                + "\"nested\":{\"value\":\"set\",\"nested2\":{\"l2\":2}}," + "\"array\":[\"value-from-array\"]}",
+                write(factory
+                        .newRecordBuilder()
+                        .withString("name", "hello")
+                        .withInt("age", 1)
+                        .withBoolean("toggle", true)
+                        .withDateTime("date", ZonedDateTime.of(2019, 8, 23, 16, 31, 0, 0, ZoneId.of("UTC")))
+                        .withLong("lg", 2L)
+                        .withBytes("bytes", "test".getBytes(StandardCharsets.UTF_8))
+                        .withRecord("nested",
+                                factory
+                                        .newRecordBuilder()
+                                        .withString("value", "set")
+                                        .withRecord("nested2", factory.newRecordBuilder().withInt("l2", 2).build())
+                                        .build())
+                        .withArray(array, singleton("value-from-array"))
+                        .build()));
+    }
+
+    @Test
+    void schemaChange() {
+        final Schema.Entry numbers = factory
+                .newEntryBuilder()
+                .withType(Schema.Type.ARRAY)
+                .withName("numbers")
+                .withElementSchema(factory.newSchemaBuilder(Schema.Type.DOUBLE).build())
+                .build();
+        assertEquals("{\"value\":1.5}", write(factory.newRecordBuilder().withDouble("value", 1.5).build()));
+        assertEquals("{\"value\":2.5}", write(factory.newRecordBuilder().withDouble("value", 2.5).build()));
+        assertEquals("{\"value\":\"other\",\"numbers\":[1.0,2.5]}", write(
+                factory.newRecordBuilder().withString("value", "other").withArray(numbers, asList(1., 2.5)).build()));
+    }
+
+    @Test
+    void sameAsMapper() {
+        final Record nested = factory.newRecordBuilder().withString("value", "set").withFloat("ratio", 0.1f).build();
+        final Record record = factory
+                .newRecordBuilder()
+                .withString("name", "hello")
+                .withString(nullable("nullString", Schema.Type.STRING), null)
+                .withBytes(nullable("nullBytes", Schema.Type.BYTES), null)
+                .withDateTime(nullable("nullDate", Schema.Type.DATETIME), (ZonedDateTime) null)
+                .withRecord("nested", nested)
+                .withFloat("float", 1.1f)
+                .withDouble("double", 2.2)
+                .withArray(array("floats", Schema.Type.FLOAT), asList(1.1f, 2.5f))
+                .withArray(array("ints", Schema.Type.INT), asList(1, Integer.MAX_VALUE))
+                .withArray(array("longs", Schema.Type.LONG), asList(1L, Long.MAX_VALUE))
+                .withArray(array("booleans", Schema.Type.BOOLEAN), asList(true, false))
+                .withArray(array("dates", Schema.Type.DATETIME),
+                        singleton(ZonedDateTime.of(2019, 8, 23, 16, 31, 0, 0, ZoneId.of("UTC"))))
+                .withArray(array("bytes", Schema.Type.BYTES), singleton("test".getBytes(StandardCharsets.UTF_8)))
+                .withArray(factory
+                        .newEntryBuilder()
+                        .withType(Schema.Type.ARRAY)
+                        .withName("records")
+                        .withElementSchema(nested.getSchema())
+                        .build(), asList(nested, nested))
+                .build();
+        final Singer singer = new Singer(new IO(), ZonedDateTime::now);
+        // nested records are not written at the same place so compare the JSON models
+        final JsonObject expected = new RecordJsonMapper(Json.createBuilderFactory(emptyMap()), singer).apply(record);
+        assertEquals(expected, parse(write(record)));
+        assertEquals(expected, parse(write(record))); // compiled writers
+    }
+
+    private Schema.Entry nullable(final String name, final Schema.Type type) {
+        return factory.newEntryBuilder().withType(type).withName(name).withNullable(true).build();
+    }
+
+    private Schema.Entry array(final String name, final Schema.Type type) {
+        return factory
+                .newEntryBuilder()
+                .withType(Schema.Type.ARRAY)
+                .withName(name)
+                .withElementSchema(factory.newSchemaBuilder(type).build())
+                .build();
+    }
+
+    private JsonObject parse(final String json) {
+        try (final JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.readObject();
+        }
+    }
+
+    private String write(final Record record) {
+        final StringWriter output = new StringWriter();
+        try (final JsonGenerator generator = generatorFactory.createGenerator(output)) {
+            writer.accept(record, generator);
+        }
+        return output.toString();
+    }
+}
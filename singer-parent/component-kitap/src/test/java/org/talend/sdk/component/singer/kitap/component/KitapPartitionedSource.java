@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.singer.kitap.component;
+
+import static java.util.stream.Collectors.toList;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.talend.sdk.component.api.component.Version;
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Assessor;
+import org.talend.sdk.component.api.input.Emitter;
+import org.talend.sdk.component.api.input.PartitionMapper;
+import org.talend.sdk.component.api.input.PartitionSize;
+import org.talend.sdk.component.api.input.Producer;
+import org.talend.sdk.component.api.input.Split;
+import org.talend.sdk.component.api.record.Record;
+import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+
+import lombok.RequiredArgsConstructor;
+
+// odd partitions emit a different schema than even ones to check the SCHEMA messages of interleaved partitions
+@Version
+@PartitionMapper(family = "kitaptest", name = "kitappartitions")
+public class KitapPartitionedSource implements Serializable {
+
+    private final RecordBuilderFactory factory;
+
+    private final Configuration configuration;
+
+    private final int partition;
+
+    public KitapPartitionedSource(final RecordBuilderFactory factory,
+            @Option("configuration") final Configuration configuration) {
+        this(factory, configuration, -1);
+    }
+
+    private KitapPartitionedSource(final RecordBuilderFactory factory, final Configuration configuration,
+            final int partition) {
+        this.factory = factory;
+        this.configuration = configuration;
+        this.partition = partition;
+    }
+
+    @Assessor
+    public long estimateSize() {
+        return configuration.partitions;
+    }
+
+    @Split
+    public List<KitapPartitionedSource> split(@PartitionSize final long size) {
+        return IntStream
+                .range(0, configuration.partitions)
+                .mapToObj(i -> new KitapPartitionedSource(factory, configuration, i))
+                .collect(toList());
+    }
+
+    @Emitter
+    public PartitionInput createWorker() {
+        return new PartitionInput(factory, configuration, partition);
+    }
+
+    @RequiredArgsConstructor
+    public static class PartitionInput implements Serializable {
+
+        private final RecordBuilderFactory factory;
+
+        private final Configuration configuration;
+
+        private final int partition;
+
+        private int emitted;
+
+        @Producer
+        public Record next() {
+            if (emitted == configuration.recordCount) {
+                return null;
+            }
+            if (partition == configuration.failingPartition && emitted == configuration.recordCount / 2) {
+                throw new IllegalStateException("Partition " + partition + " failed");
+            }
+            emitted++;
+            final Record.Builder builder =
+                    factory.newRecordBuilder().withInt("partition", partition).withInt("record_number", emitted);
+            if (partition % 2 == 1) {
+                builder.withString("label", "odd");
+            }
+            return builder.build();
+        }
+    }
+
+    public static class Configuration implements Serializable {
+
+        @Option
+        private int partitions = 1;
+
+        @Option
+        private int recordCount = 1;
+
+        @Option
+        private int failingPartition = -1;
+    }
+}
@@ -18,15 +18,25 @@ package org.talend.sdk.component.singer.java;
 import static java.util.Collections.emptyMap;
 import static java.util.Objects.requireNonNull;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import javax.json.Json;
 import javax.json.JsonArray;
 import javax.json.JsonBuilderFactory;
 import javax.json.JsonObject;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
 
 import lombok.RequiredArgsConstructor;
 
@@ -42,6 +52,12 @@ public class Singer {
     private final DateTimeFormatter rfc339 =
             DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneId.of("UTC"));
 
+    private final JsonGeneratorFactory generatorFactory = Json.createGeneratorFactory(emptyMap());
+
+    private final ConcurrentMap<String, String> recordPrefixes = new ConcurrentHashMap<>();
+
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream();
+
     public Singer() {
         this(new IO(), ZonedDateTime::now);
     }
@@ -69,20 +85,74 @@ public class Singer {
     }
 
     public synchronized void writeRecord(final String stream, final JsonObject record) {
-        final JsonObject json = builderFactory
-                .createObjectBuilder()
-                .add("type", "RECORD")
-                .add("stream", requireNonNull(stream, "stream can't be null"))
-                .add("time_extracted", formatDate(dateTimeSupplier.get()))
-                .add("record", record)
-                .build();
-        runIo.getStdout().println(json);
+        // the envelope is always the same for a stream so avoid to rebuild it as a JsonObject for each record
+        final String prefix = recordPrefixes
+                .computeIfAbsent(requireNonNull(stream, "stream can't be null"),
+                        s -> "{\"type\":\"RECORD\",\"stream\":" + Json.createValue(s) + ",\"time_extracted\":\"");
+        runIo
+                .getStdout()
+                .println(new StringBuilder(prefix)
+                        .append(formatDate(dateTimeSupplier.get()))
+                        .append("\",\"record\":")
+                        .append(record)
+                        .append('}'));
+    }
+
+    /**
+     * Writes a RECORD message streaming the record in the envelope, it avoids to create a {@link JsonObject}
+     * for each record.
+     * The message is generated in a buffer and only copied to stdout once complete so a failing callback
+     * does not leave a truncated line in the output.
+     *
+     * @param stream the stream name.
+     * @param recordWriter the callback writing the record object (start and end of the object included).
+     */
+    public synchronized void writeRecord(final String stream, final Consumer<JsonGenerator> recordWriter) {
+        requireNonNull(stream, "stream can't be null");
+        try {
+            // same encoding than println()
+            try (final JsonGenerator generator =
+                    generatorFactory.createGenerator(recordBuffer, Charset.defaultCharset())) {
+                generator
+                        .writeStartObject()
+                        .write("type", "RECORD")
+                        .write("stream", stream)
+                        .write("time_extracted", formatDate(dateTimeSupplier.get()))
+                        .writeKey("record");
+                recordWriter.accept(generator);
+                generator.writeEnd();
+            }
+            final PrintStream stdout = runIo.getStdout();
+            recordBuffer.writeTo(stdout);
+            stdout.println();
+        } catch (final IOException e) { // PrintStream does not throw, kept for the signature
+            throw new IllegalStateException(e);
+        } finally {
+            recordBuffer.reset();
+        }
     }
 
     public synchronized void stdout(final String message) {
         runIo.getStdout().println(message);
     }
 
+    public synchronized void flush() {
+        runIo.getStdout().flush();
+    }
+
+    /**
+     * Creates a singer writing through a buffer of the current stdout.
+     * Messages are only visible once the buffer is full or {@link #flush()} is called.
+     *
+     * @param bufferSize the buffer size in bytes.
+     * @return a singer instance sharing the same stdout but buffering the messages.
+     */
+    public Singer withBufferedStdout(final int bufferSize) {
+        return new Singer(new IO(runIo.getStdin(),
+                new PrintStream(new BufferedOutputStream(runIo.getStdout(), bufferSize), false), runIo.getStderr()),
+                dateTimeSupplier);
+    }
+
     public synchronized void stderr(final String message) {
         runIo.getStderr().println(message);
     }
@@ -16,6 +16,7 @@
 package org.talend.sdk.component.singer.java;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.ByteArrayOutputStream;
@@ -38,6 +39,26 @@ class SingerTest {
                 "{\"type\":\"RECORD\",\"stream\":\"test_stream\",\"time_extracted\":\"2019-08-23T11:26:00.000Z\",\"record\":{\"id\":1,\"name\":\"Test\"}}");
     }
 
+    @Test
+    void writeStreamedRecord() throws UnsupportedEncodingException {
+        write(s -> {
+            s.writeRecord("test_stream", g -> g.writeStartObject().write("id", 1).write("name", "Test").writeEnd());
+            s.writeRecord("test_stream", g -> g.writeStartObject().write("id", 2).writeEnd());
+        }, "{\"type\":\"RECORD\",\"stream\":\"test_stream\",\"time_extracted\":\"2019-08-23T11:26:00.000Z\",\"record\":{\"id\":1,\"name\":\"Test\"}}\n"
+                + "{\"type\":\"RECORD\",\"stream\":\"test_stream\",\"time_extracted\":\"2019-08-23T11:26:00.000Z\",\"record\":{\"id\":2}}");
+    }
+
+    @Test
+    void failingStreamedRecord() throws UnsupportedEncodingException {
+        write(s -> {
+            assertThrows(IllegalStateException.class, () -> s.writeRecord("test_stream", g -> {
+                g.writeStartObject().write("id", 1);
+                throw new IllegalStateException("failed");
+            }));
+            s.writeRecord("test_stream", g -> g.writeStartObject().write("id", 2).writeEnd());
+        }, "{\"type\":\"RECORD\",\"stream\":\"test_stream\",\"time_extracted\":\"2019-08-23T11:26:00.000Z\",\"record\":{\"id\":2}}");
+    }
+
     @Test
     void writeShema() throws UnsupportedEncodingException {
         write(s -> s
@@ -52,6 +73,19 @@ class SingerTest {
                 "{\"type\":\"STATE\",\"value\":{\"offset\":1}}");
     }
 
+    @Test
+    void bufferedStdout() throws UnsupportedEncodingException {
+        final ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        final Singer singer = new Singer(new IO(System.in, new PrintStream(stdout), faillingPrintStream()),
+                () -> ZonedDateTime.of(2019, 8, 23, 11, 26, 0, 0, ZoneId.of("UTC"))).withBufferedStdout(1024);
+        singer.writeRecord("test_stream", Json.createObjectBuilder().add("id", 1).build());
+        assertEquals(0, stdout.size());
+        singer.flush();
+        assertEquals(
+                "{\"type\":\"RECORD\",\"stream\":\"test_stream\",\"time_extracted\":\"2019-08-23T11:26:00.000Z\",\"record\":{\"id\":1}}",
+                stdout.toString("UTF-8").trim());
+    }
+
     private void write(final Consumer<Singer> singerConsumer, final String expected)
             throws UnsupportedEncodingException {
         final ByteArrayOutputStream stdout = new ByteArrayOutputStream();
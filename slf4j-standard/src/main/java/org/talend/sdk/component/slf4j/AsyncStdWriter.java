@@ -0,0 +1,237 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.slf4j;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Writes the log messages from a background thread.
+ * Loggers push the messages in a bounded lock-free ring buffer (multiple producers, single consumer) and the writer
+ * thread drains it, concatenating the consecutive messages of the same stream to flush them once.
+ *
+ * When the buffer is full, the logger either waits for some space or drops the message (a warning reports the
+ * number of dropped messages).
+ */
+final class AsyncStdWriter implements Runnable {
+
+    private static final int MAX_BATCH = 512;
+
+    private static final int MAX_RETAINED_BUFFER = 1024 * 1024;
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicReferenceArray<Event> events;
+
+    private final boolean dropOnOverflow;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final Object consumerLock = new Object();
+
+    private final StringBuilder batch = new StringBuilder(8192);
+
+    private final Thread writer;
+
+    private final Thread shutdownHook;
+
+    private long head; // guarded by consumerLock
+
+    private volatile boolean running = true;
+
+    private volatile boolean waiting;
+
+    AsyncStdWriter(final int bufferSize, final boolean dropOnOverflow) {
+        this.capacity = Integer.highestOneBit(Math.max(2, bufferSize) * 2 - 1);
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.events = new AtomicReferenceArray<>(capacity);
+        this.dropOnOverflow = dropOnOverflow;
+
+        this.writer = new Thread(this, "talend-slf4j-standard-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        this.shutdownHook = new Thread(this::close, "talend-slf4j-standard-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    void write(final PrintStream out, final long timestamp, final String thread, final String level,
+            final String message, final Throwable throwable) {
+        final Event event = new Event(out, timestamp, thread, level, message, throwable);
+        while (!offer(event)) {
+            if (!running) { // no more writer thread, do it ourself
+                drain();
+            } else if (dropOnOverflow) {
+                dropped.incrementAndGet();
+                return;
+            } else {
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(10_000);
+            }
+        }
+        if (!running) {
+            drain();
+        } else if (waiting) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            if (!drain()) {
+                waiting = true;
+                if (isEmpty()) { // producers unpark the writer when they see it waiting
+                    LockSupport.park(this);
+                }
+                waiting = false;
+            }
+        }
+        drain();
+    }
+
+    void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (final IllegalStateException ise) {
+            // shutdown in progress, the hook is (or will be) running
+        }
+        LockSupport.unpark(writer);
+        try {
+            writer.join(5000);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+    }
+
+    private boolean offer(final Event event) {
+        long position = tail.get();
+        while (true) {
+            final int index = (int) (position & mask);
+            final long delta = sequences.get(index) - position;
+            if (delta == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    events.lazySet(index, event);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (delta < 0) { // full
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private Event poll() {
+        final int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        final Event event = events.get(index);
+        events.lazySet(index, null);
+        sequences.set(index, head + capacity);
+        head++;
+        return event;
+    }
+
+    private boolean isEmpty() {
+        synchronized (consumerLock) {
+            return sequences.get((int) (head & mask)) != head + 1;
+        }
+    }
+
+    private boolean drain() {
+        synchronized (consumerLock) {
+            PrintStream current = null;
+            int count = 0;
+            Event event;
+            while ((event = poll()) != null) {
+                if (event.out != current || count == MAX_BATCH) {
+                    flush(current);
+                    current = event.out;
+                    count = 0;
+                }
+                StdLogger.format(batch, event.timestamp, event.thread, event.level, event.message);
+                batch.append(System.lineSeparator());
+                if (event.throwable != null) {
+                    final StringWriter stack = new StringWriter();
+                    event.throwable.printStackTrace(new PrintWriter(stack));
+                    batch.append(stack.getBuffer());
+                }
+                count++;
+            }
+            flush(current);
+
+            final long droppedMessages = dropped.getAndSet(0);
+            if (droppedMessages > 0) {
+                System.err.println("[WARN] " + droppedMessages + " log messages were dropped");
+                System.err.flush();
+            }
+            return current != null;
+        }
+    }
+
+    private void flush(final PrintStream out) {
+        if (out == null || batch.length() == 0) {
+            return;
+        }
+        out.print(batch);
+        out.flush();
+        batch.setLength(0);
+        if (batch.capacity() > MAX_RETAINED_BUFFER) {
+            batch.trimToSize();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Event {
+
+        private final PrintStream out;
+
+        private final long timestamp;
+
+        private final String thread;
+
+        private final String level;
+
+        private final String message;
+
+        private final Throwable throwable;
+    }
+}
@@ -18,6 +18,7 @@ package org.talend.sdk.component.slf4j;
 import static java.util.Locale.ROOT;
 
 import java.io.PrintStream;
+import java.time.Instant;
 
 import org.slf4j.helpers.MarkerIgnoringBase;
 import org.slf4j.helpers.MessageFormatter;
@@ -39,8 +40,17 @@ public class StdLogger extends MarkerIgnoringBase {
 
     private final boolean error;
 
-    StdLogger(final String name) {
+    private final boolean timestamp;
+
+    private final boolean threadName;
+
+    private final AsyncStdWriter asyncWriter;
+
+    StdLogger(final String name, final boolean timestamp, final boolean threadName, final AsyncStdWriter asyncWriter) {
         this.name = name;
+        this.timestamp = timestamp;
+        this.threadName = threadName;
+        this.asyncWriter = asyncWriter;
 
         final String level = System.getProperty(getClass().getName() + ".level", "info");
         switch (level.toLowerCase(ROOT)) {
@@ -95,7 +105,7 @@ public class StdLogger extends MarkerIgnoringBase {
         if (!trace) {
             return;
         }
-        log("TRACE", MessageFormatter.format(format, arg1, arg1).getMessage(), null, System.out);
+        log("TRACE", MessageFormatter.format(format, arg1, arg2).getMessage(), null, System.out);
     }
 
     @Override
@@ -140,7 +150,7 @@ public class StdLogger extends MarkerIgnoringBase {
         if (!debug) {
             return;
         }
-        log("DEBUG", MessageFormatter.format(format, arg1, arg1).getMessage(), null, System.out);
+        log("DEBUG", MessageFormatter.format(format, arg1, arg2).getMessage(), null, System.out);
     }
 
     @Override
@@ -185,7 +195,7 @@ public class StdLogger extends MarkerIgnoringBase {
         if (!info) {
             return;
         }
-        log("INFO", MessageFormatter.format(format, arg1, arg1).getMessage(), null, System.out);
+        log("INFO", MessageFormatter.format(format, arg1, arg2).getMessage(), null, System.out);
     }
 
     @Override
@@ -230,7 +240,7 @@ public class StdLogger extends MarkerIgnoringBase {
         if (!warn) {
             return;
         }
-        log("WARN", MessageFormatter.format(format, arg1, arg1).getMessage(), null, System.out);
+        log("WARN", MessageFormatter.format(format, arg1, arg2).getMessage(), null, System.out);
     }
 
     @Override
@@ -275,7 +285,7 @@ public class StdLogger extends MarkerIgnoringBase {
         if (!error) {
             return;
         }
-        log("ERROR", MessageFormatter.format(format, arg1, arg1).getMessage(), null, System.err);
+        log("ERROR", MessageFormatter.format(format, arg1, arg2).getMessage(), null, System.err);
     }
 
     @Override
@@ -295,15 +305,27 @@ public class StdLogger extends MarkerIgnoringBase {
     }
 
     private void log(final String level, final String message, final Throwable throwable, final PrintStream out) {
-        final StringBuilder builder = new StringBuilder(message.length() + level.length() + 3)
-                .append('[')
-                .append(level)
-                .append("] ")
-                .append(message);
-        out.println(builder);
+        final long date = timestamp ? System.currentTimeMillis() : -1;
+        final String thread = threadName ? Thread.currentThread().getName() : null;
+        if (asyncWriter != null) {
+            asyncWriter.write(out, date, thread, level, message, throwable);
+            return;
+        }
+        out.println(format(new StringBuilder(message.length() + level.length() + 3), date, thread, level, message));
         if (throwable != null) {
             throwable.printStackTrace(out);
         }
         out.flush();
     }
+
+    static StringBuilder format(final StringBuilder builder, final long timestamp, final String thread,
+            final String level, final String message) {
+        if (timestamp >= 0) {
+            builder.append('[').append(Instant.ofEpochMilli(timestamp)).append(']');
+        }
+        if (thread != null) {
+            builder.append('[').append(thread).append(']');
+        }
+        return builder.append('[').append(level).append("] ").append(message);
+    }
 }
@@ -20,8 +20,20 @@ import org.slf4j.Logger;
 
 public class StdLoggerFactory implements ILoggerFactory {
 
+    private static final String PREFIX = StdLogger.class.getName() + '.';
+
+    private final boolean timestamp = Boolean.getBoolean(PREFIX + "timestamp");
+
+    private final boolean threadName = Boolean.getBoolean(PREFIX + "threadName");
+
+    private final AsyncStdWriter asyncWriter =
+            Boolean.getBoolean(PREFIX + "async")
+                    ? new AsyncStdWriter(Integer.getInteger(PREFIX + "async.bufferSize", 8192),
+                            "drop".equalsIgnoreCase(System.getProperty(PREFIX + "async.overflow", "block")))
+                    : null;
+
     @Override
     public Logger getLogger(final String name) {
-        return new StdLogger(name);
+        return new StdLogger(name, timestamp, threadName, asyncWriter);
     }
 }
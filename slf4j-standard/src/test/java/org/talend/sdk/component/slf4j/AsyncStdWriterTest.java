@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.slf4j;
+
+import static java.lang.System.lineSeparator;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class AsyncStdWriterTest {
+
+    @Test
+    void writeInOrder() throws InterruptedException {
+        final ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        final PrintStream out = System.out;
+        System.setOut(new PrintStream(stdout));
+        try {
+            final AsyncStdWriter writer = new AsyncStdWriter(16, false);
+            final StdLogger logger = new StdLogger("test", false, false, writer);
+            final Thread[] threads = IntStream.range(0, 4).mapToObj(t -> new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    logger.info("{}-{}", t, i);
+                }
+            })).toArray(Thread[]::new);
+            for (final Thread thread : threads) {
+                thread.start();
+            }
+            for (final Thread thread : threads) {
+                thread.join();
+            }
+            writer.close();
+        } finally {
+            System.setOut(out);
+        }
+
+        final List<String> lines = Stream.of(new String(stdout.toByteArray()).split(lineSeparator())).collect(toList());
+        assertEquals(4000, lines.size());
+        for (int t = 0; t < 4; t++) { // messages of a thread keep their order
+            final String prefix = "[INFO] " + t + '-';
+            final List<String> threadLines = lines.stream().filter(it -> it.startsWith(prefix)).collect(toList());
+            assertEquals(1000, threadLines.size());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(prefix + i, threadLines.get(i));
+            }
+        }
+    }
+
+    @Test
+    void idleWriterWaitsForMessages() throws InterruptedException {
+        final AsyncStdWriter writer = new AsyncStdWriter(16, false);
+        try {
+            final Thread thread = Thread
+                    .getAllStackTraces()
+                    .keySet()
+                    .stream()
+                    .filter(it -> "talend-slf4j-standard-writer".equals(it.getName()) && it.isAlive())
+                    .findFirst()
+                    .orElseThrow(IllegalStateException::new);
+            final long end = System.currentTimeMillis() + 5000;
+            while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < end) {
+                Thread.sleep(10);
+            }
+            assertEquals(Thread.State.WAITING, thread.getState()); // no timed polling when idle
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    void format() {
+        final ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+        final PrintStream err = System.err;
+        System.setErr(new PrintStream(stderr));
+        try {
+            final AsyncStdWriter writer = new AsyncStdWriter(16, false);
+            new StdLogger("test", true, true, writer).error("failed", new IllegalStateException("oops"));
+            writer.close();
+        } finally {
+            System.setErr(err);
+        }
+        final String output = new String(stderr.toByteArray());
+        assertTrue(
+                output
+                        .matches("(?s)\\[\\d{4}-\\d{2}-\\d{2}T[^]]+Z]\\[" + Thread.currentThread().getName()
+                                + "]\\[ERROR] failed" + lineSeparator() + "java.lang.IllegalStateException: oops.*"),
+                output);
+    }
+
+    @Test
+    void dropOnOverflow() throws InterruptedException {
+        final ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        final ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+        final PrintStream out = System.out;
+        final PrintStream err = System.err;
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        System.setOut(new PrintStream(stdout) {
+
+            @Override
+            public void print(final Object obj) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.print(obj);
+            }
+        });
+        System.setErr(new PrintStream(stderr));
+        try {
+            final AsyncStdWriter writer = new AsyncStdWriter(2, true);
+            final StdLogger logger = new StdLogger("test", false, false, writer);
+            logger.info("first");
+            writing.await(); // the writer is now blocked so the buffer overflows
+            for (int i = 0; i < 100; i++) {
+                logger.info("message");
+            }
+            release.countDown();
+            writer.close();
+        } finally {
+            System.setOut(out);
+            System.setErr(err);
+        }
+        assertEquals("[INFO] first" + lineSeparator() + "[INFO] message" + lineSeparator() + "[INFO] message"
+                + lineSeparator(), new String(stdout.toByteArray()));
+        assertEquals("[WARN] 98 log messages were dropped" + lineSeparator(), new String(stderr.toByteArray()));
+    }
+}
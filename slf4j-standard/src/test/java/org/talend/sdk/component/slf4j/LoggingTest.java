@@ -59,6 +59,12 @@ class LoggingTest {
         assertEquals(0, stderr.size());
     }
 
+    @Test
+    void twoArguments() {
+        LoggerFactory.getLogger(LoggingTest.class.getName()).info("{} and {}", "first", "second");
+        assertEquals("[INFO] first and second" + lineSeparator(), new String(stdout.toByteArray()));
+    }
+
     @Test
     void error() {
         LoggerFactory.getLogger(LoggingTest.class.getName()).error("test");
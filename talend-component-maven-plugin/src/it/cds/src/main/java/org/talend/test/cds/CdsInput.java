@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.test.cds;
+
+import java.io.Serializable;
+
+import org.talend.sdk.component.api.configuration.Option;
+import org.talend.sdk.component.api.input.Emitter;
+import org.talend.sdk.component.api.input.Producer;
+
+@Emitter(family = "cds", name = "input")
+public class CdsInput implements Serializable {
+
+    public CdsInput(@Option("configuration") final Configuration configuration) {
+        // no-op
+    }
+
+    @Producer
+    public Object next() {
+        return null;
+    }
+
+    public static class Configuration implements Serializable {
+
+        @Option
+        private String value;
+    }
+}
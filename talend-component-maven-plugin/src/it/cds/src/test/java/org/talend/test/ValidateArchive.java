@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.test;
+
+import static org.apache.ziplock.JarLocation.jarLocation;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ValidateArchive {
+    @Test
+    public void assertArchive() throws IOException {
+        final File target = jarLocation(ValidateArchive.class).getParentFile();
+        final File archive = new File(target, "cds-it.jsa");
+        assertTrue(archive.isFile());
+
+        // the component manager was resolved as runtime classpath and used by the training
+        final List<String> classList =
+                Files.readAllLines(new File(target, "cds-it.jsa.classlist").toPath(), StandardCharsets.UTF_8);
+        assertTrue(classList.contains("org/talend/sdk/component/runtime/manager/ComponentManager"));
+
+        final List<String> options =
+                Files.readAllLines(new File(target, "cds-it.jsa.options").toPath(), StandardCharsets.UTF_8);
+        assertEquals(2, options.size());
+        assertEquals("-XX:SharedArchiveFile=" + archive.getAbsolutePath(), options.get(0));
+    }
+}
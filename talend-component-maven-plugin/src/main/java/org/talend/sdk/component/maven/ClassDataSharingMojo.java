@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2006-2020 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.maven;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.apache.maven.plugins.annotations.LifecyclePhase.PACKAGE;
+import static org.apache.maven.plugins.annotations.ResolutionScope.COMPILE_PLUS_RUNTIME;
+import static org.eclipse.aether.util.artifact.JavaScopes.RUNTIME;
+import static org.eclipse.aether.util.filter.DependencyFilterUtils.classpathFilter;
+import static org.talend.sdk.component.maven.api.Audience.Type.PUBLIC;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.DependencyResolutionException;
+import org.talend.sdk.component.maven.api.Audience;
+import org.talend.sdk.component.tools.ClassDataSharingArchiver;
+
+/**
+ * Creates a class data sharing archive (AppCDS) of the runtime classes loaded when deploying the component.
+ * It requires a Java 11 JVM.
+ */
+@Audience(PUBLIC)
+@Mojo(name = "cds-archive", defaultPhase = PACKAGE, requiresDependencyResolution = COMPILE_PLUS_RUNTIME,
+        threadSafe = true)
+public class ClassDataSharingMojo extends AudienceAwareMojo {
+
+    @Parameter(defaultValue = "false", property = "talend.cds.skip")
+    private boolean skip;
+
+    @Parameter(defaultValue = "${project.build.outputDirectory}")
+    private File classes;
+
+    @Parameter(defaultValue = "${settings.localRepository}", property = "talend.cds.mavenRepository")
+    private File repository;
+
+    /**
+     * The JVM which will use the archive.
+     */
+    @Parameter(defaultValue = "${java.home}", property = "talend.cds.javaHome")
+    private File javaHome;
+
+    /**
+     * The application (runtime) classpath, default to the component manager of the plugin version and its runtime
+     * dependencies.
+     */
+    @Parameter(property = "talend.cds.classpath")
+    private List<File> classpath;
+
+    @Parameter(defaultValue = "${repositorySystemSession}")
+    private RepositorySystemSession repositorySystemSession;
+
+    @Parameter(defaultValue = "${project.remoteProjectRepositories}")
+    private List<RemoteRepository> remoteRepositories;
+
+    @Component
+    private RepositorySystem repositorySystem;
+
+    /**
+     * The plugins to deploy to train the archive, default to the current module.
+     */
+    @Parameter(property = "talend.cds.plugins")
+    private List<String> plugins;
+
+    @Parameter(defaultValue = "${project.build.directory}/${project.artifactId}.jsa", property = "talend.cds.output")
+    private File output;
+
+    /**
+     * Number of startups to run with and without the archive to compare them, 0 to skip this benchmark.
+     */
+    @Parameter(defaultValue = "0", property = "talend.cds.benchmarkIterations")
+    private int benchmarkIterations;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        super.execute();
+        if (skip) {
+            getLog().info(getClass().getSimpleName() + " is skipped");
+            return;
+        }
+
+        final ClassDataSharingArchiver.Configuration configuration = new ClassDataSharingArchiver.Configuration();
+        configuration.setJavaHome(javaHome);
+        configuration.setClasspath(classpath == null || classpath.isEmpty() ? resolveRuntimeClasspath() : classpath);
+        configuration.setMavenRepository(repository);
+        configuration
+                .setPlugins(plugins == null || plugins.isEmpty() ? singletonList(classes.getAbsolutePath()) : plugins);
+        configuration.setOutput(output);
+        configuration.setBenchmarkIterations(benchmarkIterations);
+        try {
+            new ClassDataSharingArchiver(configuration, getLog()).run();
+        } catch (final IllegalArgumentException | IllegalStateException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+    }
+
+    private List<File> resolveRuntimeClasspath() throws MojoExecutionException {
+        final Artifact manager = new DefaultArtifact(GAV.GROUP, "component-runtime-manager", "jar", GAV.VERSION);
+        final DependencyRequest request =
+                new DependencyRequest(new CollectRequest(new Dependency(manager, RUNTIME), remoteRepositories),
+                        classpathFilter(RUNTIME));
+        try {
+            return repositorySystem
+                    .resolveDependencies(repositorySystemSession, request)
+                    .getArtifactResults()
+                    .stream()
+                    .map(it -> it.getArtifact().getFile())
+                    .collect(toList());
+        } catch (final DependencyResolutionException e) {
+            throw new MojoExecutionException("Can't resolve " + manager + ", please set the classpath parameter", e);
+        }
+    }
+}